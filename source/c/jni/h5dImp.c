@@ -962,6 +962,118 @@ Java_hdf_hdf5lib_H5_H5Dwrite_1double
     return (jint)status;
 } /* end Java_hdf_hdf5lib_H5_H5Dwrite_1double */
 
+/*
+ * Returns the number of bytes that a transfer of the selection given by
+ * mem_sid / file_sid of dataset did with memory type mem_type_id requires,
+ * or a negative value on failure.
+ */
+static hssize_t
+H5Dget_transfer_size
+    (hid_t did, hid_t mem_type_id, hid_t mem_sid, hid_t file_sid)
+{
+    hid_t    sid = mem_sid;
+    hssize_t npoints = -1;
+    size_t   type_size;
+
+    if (sid == H5S_ALL)
+        sid = file_sid;
+    if (sid == H5S_ALL) {
+        if ((sid = H5Dget_space(did)) < 0)
+            return -1;
+        npoints = H5Sget_select_npoints(sid);
+        H5Sclose(sid);
+    } /* end if */
+    else
+        npoints = H5Sget_select_npoints(sid);
+
+    if (npoints < 0)
+        return -1;
+    if ((type_size = H5Tget_size(mem_type_id)) == 0)
+        return -1;
+
+    return npoints * (hssize_t)type_size;
+} /* end H5Dget_transfer_size */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Dread_buffer
+ * Signature: (JJJJJLjava/nio/ByteBuffer;J)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Dread_1buffer
+    (JNIEnv *env, jclass clss, jlong dataset_id, jlong mem_type_id, jlong mem_space_id,
+          jlong file_space_id, jlong xfer_plist_id, jobject buf, jlong buf_offset)
+{
+    herr_t   status = -1;
+    char    *buffP;
+    jlong    capacity;
+    hssize_t size;
+
+    if (buf == NULL) {
+        h5nullArgument(env, "H5Dread_buffer:  buf is NULL");
+    } /* end if */
+    else if ((buffP = (char*)ENVPTR->GetDirectBufferAddress(ENVPAR buf)) == NULL) {
+        h5badArgument(env, "H5Dread_buffer:  buf is not a direct buffer");
+    } /* end else if */
+    else if ((size = H5Dget_transfer_size((hid_t)dataset_id, (hid_t)mem_type_id, (hid_t)mem_space_id,
+                    (hid_t)file_space_id)) < 0) {
+        h5libraryError(env);
+    } /* end else if */
+    else if ((capacity = ENVPTR->GetDirectBufferCapacity(ENVPAR buf)) < 0 || buf_offset < 0
+                    || capacity - buf_offset < (jlong)size) {
+        h5badArgument(env, "H5Dread_buffer:  buf is too small");
+    } /* end else if */
+    else {
+        status = H5Dread((hid_t)dataset_id, (hid_t)mem_type_id, (hid_t)mem_space_id,
+                        (hid_t)file_space_id, (hid_t)xfer_plist_id, buffP + buf_offset);
+
+        if (status < 0)
+            h5libraryError(env);
+    } /* end else */
+
+    return (jint)status;
+} /* end Java_hdf_hdf5lib_H5__1H5Dread_1buffer */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Dwrite_buffer
+ * Signature: (JJJJJLjava/nio/ByteBuffer;J)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Dwrite_1buffer
+    (JNIEnv *env, jclass clss, jlong dataset_id, jlong mem_type_id, jlong mem_space_id,
+          jlong file_space_id, jlong xfer_plist_id, jobject buf, jlong buf_offset)
+{
+    herr_t   status = -1;
+    char    *buffP;
+    jlong    capacity;
+    hssize_t size;
+
+    if (buf == NULL) {
+        h5nullArgument(env, "H5Dwrite_buffer:  buf is NULL");
+    } /* end if */
+    else if ((buffP = (char*)ENVPTR->GetDirectBufferAddress(ENVPAR buf)) == NULL) {
+        h5badArgument(env, "H5Dwrite_buffer:  buf is not a direct buffer");
+    } /* end else if */
+    else if ((size = H5Dget_transfer_size((hid_t)dataset_id, (hid_t)mem_type_id, (hid_t)mem_space_id,
+                    (hid_t)file_space_id)) < 0) {
+        h5libraryError(env);
+    } /* end else if */
+    else if ((capacity = ENVPTR->GetDirectBufferCapacity(ENVPAR buf)) < 0 || buf_offset < 0
+                    || capacity - buf_offset < (jlong)size) {
+        h5badArgument(env, "H5Dwrite_buffer:  buf is too small");
+    } /* end else if */
+    else {
+        status = H5Dwrite((hid_t)dataset_id, (hid_t)mem_type_id, (hid_t)mem_space_id,
+                        (hid_t)file_space_id, (hid_t)xfer_plist_id, buffP + buf_offset);
+
+        if (status < 0)
+            h5libraryError(env);
+    } /* end else */
+
+    return (jint)status;
+} /* end Java_hdf_hdf5lib_H5__1H5Dwrite_1buffer */
+
 /*
  * Class:     hdf_hdf5lib_H5
  * Method:    H5Dread_string
@@ -1860,6 +1972,387 @@ Java_hdf_hdf5lib_H5_H5Dset_1extent
     }
 } /* end Java_hdf_hdf5lib_H5_H5Dset_1extent */
 
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Dget_chunk_storage_size
+ * Signature: (J[J)J
+ */
+JNIEXPORT jlong JNICALL
+Java_hdf_hdf5lib_H5_H5Dget_1chunk_1storage_1size
+    (JNIEnv *env, jclass clss, jlong dataset_id, jlongArray offset)
+{
+    hsize_t   chunk_bytes = 0;
+    hsize_t  *offs;
+    jlong    *offsetP;
+    jsize     rank;
+    jboolean  isCopy;
+    herr_t    status;
+    int       i;
+
+    if (offset == NULL) {
+        h5nullArgument(env, "H5Dget_chunk_storage_size:  offset is NULL");
+        return -1;
+    } /* end if */
+    rank = ENVPTR->GetArrayLength(ENVPAR offset);
+    if (rank <= 0) {
+        h5badArgument(env, "H5Dget_chunk_storage_size:  rank <= 0");
+        return -1;
+    } /* end if */
+    offsetP = ENVPTR->GetLongArrayElements(ENVPAR offset, &isCopy);
+    if (offsetP == NULL) {
+        h5JNIFatalError(env, "H5Dget_chunk_storage_size:  offset not pinned");
+        return -1;
+    } /* end if */
+    offs = (hsize_t*)HDmalloc((size_t)rank * sizeof(hsize_t));
+    if (offs == NULL) {
+        ENVPTR->ReleaseLongArrayElements(ENVPAR offset, offsetP, JNI_ABORT);
+        h5JNIFatalError(env, "H5Dget_chunk_storage_size:  failed to allocate offset");
+        return -1;
+    } /* end if */
+    for (i = 0; i < rank; i++)
+        offs[i] = (hsize_t)offsetP[i];
+    ENVPTR->ReleaseLongArrayElements(ENVPAR offset, offsetP, JNI_ABORT);
+
+    status = H5Dget_chunk_storage_size((hid_t)dataset_id, offs, &chunk_bytes);
+    HDfree(offs);
+    if (status < 0) {
+        h5libraryError(env);
+        return -1;
+    } /* end if */
+
+    return (jlong)chunk_bytes;
+} /* end Java_hdf_hdf5lib_H5_H5Dget_1chunk_1storage_1size */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Dread_chunk
+ * Signature: (JJ[J[I[B)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Dread_1chunk
+    (JNIEnv *env, jclass clss, jlong dataset_id, jlong dxpl_id, jlongArray offset,
+          jintArray filter_mask, jbyteArray buf)
+{
+    herr_t    status = -1;
+    hsize_t   chunk_bytes = 0;
+    hsize_t  *offs;
+    jlong    *offsetP;
+    jbyte    *buffP;
+    jsize     rank;
+    jboolean  isCopy;
+    uint32_t  filters = 0;
+    jint      mask;
+    int       i;
+
+    if (offset == NULL) {
+        h5nullArgument(env, "H5Dread_chunk:  offset is NULL");
+        return -1;
+    } /* end if */
+    if (filter_mask == NULL) {
+        h5nullArgument(env, "H5Dread_chunk:  filter_mask is NULL");
+        return -1;
+    } /* end if */
+    if (ENVPTR->GetArrayLength(ENVPAR filter_mask) < 1) {
+        h5badArgument(env, "H5Dread_chunk:  filter_mask has length 0");
+        return -1;
+    } /* end if */
+    if (buf == NULL) {
+        h5nullArgument(env, "H5Dread_chunk:  buf is NULL");
+        return -1;
+    } /* end if */
+    rank = ENVPTR->GetArrayLength(ENVPAR offset);
+    if (rank <= 0) {
+        h5badArgument(env, "H5Dread_chunk:  rank <= 0");
+        return -1;
+    } /* end if */
+    offsetP = ENVPTR->GetLongArrayElements(ENVPAR offset, &isCopy);
+    if (offsetP == NULL) {
+        h5JNIFatalError(env, "H5Dread_chunk:  offset not pinned");
+        return -1;
+    } /* end if */
+    offs = (hsize_t*)HDmalloc((size_t)rank * sizeof(hsize_t));
+    if (offs == NULL) {
+        ENVPTR->ReleaseLongArrayElements(ENVPAR offset, offsetP, JNI_ABORT);
+        h5JNIFatalError(env, "H5Dread_chunk:  failed to allocate offset");
+        return -1;
+    } /* end if */
+    for (i = 0; i < rank; i++)
+        offs[i] = (hsize_t)offsetP[i];
+    ENVPTR->ReleaseLongArrayElements(ENVPAR offset, offsetP, JNI_ABORT);
+
+    /* H5Dread_chunk() doesn't know the size of buf, so check that the chunk fits. */
+    if (H5Dget_chunk_storage_size((hid_t)dataset_id, offs, &chunk_bytes) < 0) {
+        HDfree(offs);
+        h5libraryError(env);
+        return -1;
+    } /* end if */
+    if ((hsize_t)ENVPTR->GetArrayLength(ENVPAR buf) < chunk_bytes) {
+        HDfree(offs);
+        h5badArgument(env, "H5Dread_chunk:  buf is too small");
+        return -1;
+    } /* end if */
+
+    buffP = ENVPTR->GetByteArrayElements(ENVPAR buf, &isCopy);
+    if (buffP == NULL) {
+        HDfree(offs);
+        h5JNIFatalError(env, "H5Dread_chunk:  buf not pinned");
+        return -1;
+    } /* end if */
+
+    status = H5Dread_chunk((hid_t)dataset_id, (hid_t)dxpl_id, offs, &filters, buffP);
+    HDfree(offs);
+
+    if (status < 0) {
+        ENVPTR->ReleaseByteArrayElements(ENVPAR buf, buffP, JNI_ABORT);
+        h5libraryError(env);
+        return -1;
+    } /* end if */
+    ENVPTR->ReleaseByteArrayElements(ENVPAR buf, buffP, 0);
+    mask = (jint)filters;
+    ENVPTR->SetIntArrayRegion(ENVPAR filter_mask, 0, 1, &mask);
+
+    return (jint)status;
+} /* end Java_hdf_hdf5lib_H5__1H5Dread_1chunk */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Dwrite_chunk
+ * Signature: (JJI[J[BI)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Dwrite_1chunk
+    (JNIEnv *env, jclass clss, jlong dataset_id, jlong dxpl_id, jint filter_mask,
+          jlongArray offset, jbyteArray buf, jint data_size)
+{
+    herr_t    status = -1;
+    hsize_t  *offs;
+    jlong    *offsetP;
+    jbyte    *buffP;
+    jsize     rank;
+    jboolean  isCopy;
+    int       i;
+
+    if (offset == NULL) {
+        h5nullArgument(env, "H5Dwrite_chunk:  offset is NULL");
+        return -1;
+    } /* end if */
+    if (buf == NULL) {
+        h5nullArgument(env, "H5Dwrite_chunk:  buf is NULL");
+        return -1;
+    } /* end if */
+    if (data_size < 0 || data_size > ENVPTR->GetArrayLength(ENVPAR buf)) {
+        h5badArgument(env, "H5Dwrite_chunk:  data_size is out of range");
+        return -1;
+    } /* end if */
+    rank = ENVPTR->GetArrayLength(ENVPAR offset);
+    if (rank <= 0) {
+        h5badArgument(env, "H5Dwrite_chunk:  rank <= 0");
+        return -1;
+    } /* end if */
+    offsetP = ENVPTR->GetLongArrayElements(ENVPAR offset, &isCopy);
+    if (offsetP == NULL) {
+        h5JNIFatalError(env, "H5Dwrite_chunk:  offset not pinned");
+        return -1;
+    } /* end if */
+    offs = (hsize_t*)HDmalloc((size_t)rank * sizeof(hsize_t));
+    if (offs == NULL) {
+        ENVPTR->ReleaseLongArrayElements(ENVPAR offset, offsetP, JNI_ABORT);
+        h5JNIFatalError(env, "H5Dwrite_chunk:  failed to allocate offset");
+        return -1;
+    } /* end if */
+    for (i = 0; i < rank; i++)
+        offs[i] = (hsize_t)offsetP[i];
+    ENVPTR->ReleaseLongArrayElements(ENVPAR offset, offsetP, JNI_ABORT);
+
+    buffP = ENVPTR->GetByteArrayElements(ENVPAR buf, &isCopy);
+    if (buffP == NULL) {
+        HDfree(offs);
+        h5JNIFatalError(env, "H5Dwrite_chunk:  buf not pinned");
+        return -1;
+    } /* end if */
+
+    status = H5Dwrite_chunk((hid_t)dataset_id, (hid_t)dxpl_id, (uint32_t)filter_mask, offs,
+            (size_t)data_size, buffP);
+    HDfree(offs);
+
+    /* free the buffer without copying back */
+    ENVPTR->ReleaseByteArrayElements(ENVPAR buf, buffP, JNI_ABORT);
+
+    if (status < 0)
+        h5libraryError(env);
+
+    return (jint)status;
+} /* end Java_hdf_hdf5lib_H5__1H5Dwrite_1chunk */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Dget_num_chunks
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL
+Java_hdf_hdf5lib_H5_H5Dget_1num_1chunks
+    (JNIEnv *env, jclass clss, jlong dataset_id, jlong fspace_id)
+{
+    hsize_t nchunks = 0;
+
+    if (H5Dget_num_chunks((hid_t)dataset_id, (hid_t)fspace_id, &nchunks) < 0)
+        h5libraryError(env);
+
+    return (jlong)nchunks;
+} /* end Java_hdf_hdf5lib_H5_H5Dget_1num_1chunks */
+
+/*
+ * Copies the chunk information returned by H5Dget_chunk_info() or
+ * H5Dget_chunk_info_by_coord() to the Java arrays that are not NULL.
+ */
+static void
+H5Dcopy_chunk_info_to_java
+    (JNIEnv *env, jint filters, jlong addr, jlong size,
+          jintArray filter_mask, jlongArray addr_size)
+{
+    jlong addr_sizeP[2];
+
+    if (filter_mask != NULL)
+        ENVPTR->SetIntArrayRegion(ENVPAR filter_mask, 0, 1, &filters);
+    if (addr_size != NULL) {
+        addr_sizeP[0] = addr;
+        addr_sizeP[1] = size;
+        ENVPTR->SetLongArrayRegion(ENVPAR addr_size, 0, 2, addr_sizeP);
+    } /* end if */
+} /* end H5Dcopy_chunk_info_to_java */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Dget_chunk_info
+ * Signature: (JJJ[J[I[J)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5_H5Dget_1chunk_1info
+    (JNIEnv *env, jclass clss, jlong dataset_id, jlong fspace_id, jlong index,
+          jlongArray offset, jintArray filter_mask, jlongArray addr_size)
+{
+    herr_t    status = -1;
+    hsize_t  *offs = NULL;
+    jlong    *offsetP;
+    jsize     rank = 0;
+    jboolean  isCopy;
+    unsigned  filters = 0;
+    haddr_t   addr = HADDR_UNDEF;
+    hsize_t   size = 0;
+    int       i;
+
+    if (filter_mask != NULL && ENVPTR->GetArrayLength(ENVPAR filter_mask) < 1) {
+        h5badArgument(env, "H5Dget_chunk_info:  filter_mask has length 0");
+        return -1;
+    } /* end if */
+    if (addr_size != NULL && ENVPTR->GetArrayLength(ENVPAR addr_size) < 2) {
+        h5badArgument(env, "H5Dget_chunk_info:  addr_size has length < 2");
+        return -1;
+    } /* end if */
+    if (offset != NULL) {
+        rank = ENVPTR->GetArrayLength(ENVPAR offset);
+        if (rank <= 0) {
+            h5badArgument(env, "H5Dget_chunk_info:  rank <= 0");
+            return -1;
+        } /* end if */
+        offs = (hsize_t*)HDmalloc((size_t)rank * sizeof(hsize_t));
+        if (offs == NULL) {
+            h5JNIFatalError(env, "H5Dget_chunk_info:  failed to allocate offset");
+            return -1;
+        } /* end if */
+    } /* end if */
+
+    status = H5Dget_chunk_info((hid_t)dataset_id, (hid_t)fspace_id, (hsize_t)index, offs,
+            &filters, &addr, &size);
+    if (status < 0) {
+        if (offs != NULL)
+            HDfree(offs);
+        h5libraryError(env);
+        return -1;
+    } /* end if */
+
+    if (offs != NULL) {
+        offsetP = ENVPTR->GetLongArrayElements(ENVPAR offset, &isCopy);
+        if (offsetP == NULL) {
+            HDfree(offs);
+            h5JNIFatalError(env, "H5Dget_chunk_info:  offset not pinned");
+            return -1;
+        } /* end if */
+        for (i = 0; i < rank; i++)
+            offsetP[i] = (jlong)offs[i];
+        ENVPTR->ReleaseLongArrayElements(ENVPAR offset, offsetP, 0);
+        HDfree(offs);
+    } /* end if */
+    H5Dcopy_chunk_info_to_java(env, (jint)filters, (addr == HADDR_UNDEF) ? -1 : (jlong)addr,
+            (jlong)size, filter_mask, addr_size);
+
+    return (jint)status;
+} /* end Java_hdf_hdf5lib_H5_H5Dget_1chunk_1info */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Dget_chunk_info_by_coord
+ * Signature: (J[J[I[J)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5_H5Dget_1chunk_1info_1by_1coord
+    (JNIEnv *env, jclass clss, jlong dataset_id, jlongArray offset,
+          jintArray filter_mask, jlongArray addr_size)
+{
+    herr_t    status = -1;
+    hsize_t  *offs;
+    jlong    *offsetP;
+    jsize     rank;
+    jboolean  isCopy;
+    unsigned  filters = 0;
+    haddr_t   addr = HADDR_UNDEF;
+    hsize_t   size = 0;
+    int       i;
+
+    if (offset == NULL) {
+        h5nullArgument(env, "H5Dget_chunk_info_by_coord:  offset is NULL");
+        return -1;
+    } /* end if */
+    if (filter_mask != NULL && ENVPTR->GetArrayLength(ENVPAR filter_mask) < 1) {
+        h5badArgument(env, "H5Dget_chunk_info_by_coord:  filter_mask has length 0");
+        return -1;
+    } /* end if */
+    if (addr_size != NULL && ENVPTR->GetArrayLength(ENVPAR addr_size) < 2) {
+        h5badArgument(env, "H5Dget_chunk_info_by_coord:  addr_size has length < 2");
+        return -1;
+    } /* end if */
+    rank = ENVPTR->GetArrayLength(ENVPAR offset);
+    if (rank <= 0) {
+        h5badArgument(env, "H5Dget_chunk_info_by_coord:  rank <= 0");
+        return -1;
+    } /* end if */
+    offsetP = ENVPTR->GetLongArrayElements(ENVPAR offset, &isCopy);
+    if (offsetP == NULL) {
+        h5JNIFatalError(env, "H5Dget_chunk_info_by_coord:  offset not pinned");
+        return -1;
+    } /* end if */
+    offs = (hsize_t*)HDmalloc((size_t)rank * sizeof(hsize_t));
+    if (offs == NULL) {
+        ENVPTR->ReleaseLongArrayElements(ENVPAR offset, offsetP, JNI_ABORT);
+        h5JNIFatalError(env, "H5Dget_chunk_info_by_coord:  failed to allocate offset");
+        return -1;
+    } /* end if */
+    for (i = 0; i < rank; i++)
+        offs[i] = (hsize_t)offsetP[i];
+    ENVPTR->ReleaseLongArrayElements(ENVPAR offset, offsetP, JNI_ABORT);
+
+    status = H5Dget_chunk_info_by_coord((hid_t)dataset_id, offs, &filters, &addr, &size);
+    HDfree(offs);
+    if (status < 0) {
+        h5libraryError(env);
+        return -1;
+    } /* end if */
+    H5Dcopy_chunk_info_to_java(env, (jint)filters, (addr == HADDR_UNDEF) ? -1 : (jlong)addr,
+            (jlong)size, filter_mask, addr_size);
+
+    return (jint)status;
+} /* end Java_hdf_hdf5lib_H5_H5Dget_1chunk_1info_1by_1coord */
+
 static herr_t
 H5D_iterate_cb
     (void* elem, hid_t elem_id, unsigned ndim, const hsize_t *point, void *op_data) {
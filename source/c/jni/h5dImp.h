@@ -202,6 +202,24 @@ JNIEXPORT jint JNICALL
 Java_hdf_hdf5lib_H5_H5Dwrite_1double
   (JNIEnv*, jclass, jlong, jlong, jlong, jlong, jlong, jdoubleArray, jboolean);
 
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Dread_buffer
+ * Signature: (JJJJJLjava/nio/ByteBuffer;J)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Dread_1buffer
+  (JNIEnv*, jclass, jlong, jlong, jlong, jlong, jlong, jobject, jlong);
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Dwrite_buffer
+ * Signature: (JJJJJLjava/nio/ByteBuffer;J)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Dwrite_1buffer
+  (JNIEnv*, jclass, jlong, jlong, jlong, jlong, jlong, jobject, jlong);
+
 /*
  * Class:     hdf_hdf5lib_H5
  * Method:    H5DreadVL
@@ -382,6 +400,60 @@ JNIEXPORT void JNICALL
 Java_hdf_hdf5lib_H5_H5Drefresh
   (JNIEnv*, jclass, jlong);
 
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Dget_chunk_storage_size
+ * Signature: (J[J)J
+ */
+JNIEXPORT jlong JNICALL
+Java_hdf_hdf5lib_H5_H5Dget_1chunk_1storage_1size
+  (JNIEnv*, jclass, jlong, jlongArray);
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Dread_chunk
+ * Signature: (JJ[J[I[B)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Dread_1chunk
+  (JNIEnv*, jclass, jlong, jlong, jlongArray, jintArray, jbyteArray);
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Dwrite_chunk
+ * Signature: (JJI[J[BI)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Dwrite_1chunk
+  (JNIEnv*, jclass, jlong, jlong, jint, jlongArray, jbyteArray, jint);
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Dget_num_chunks
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL
+Java_hdf_hdf5lib_H5_H5Dget_1num_1chunks
+  (JNIEnv*, jclass, jlong, jlong);
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Dget_chunk_info
+ * Signature: (JJJ[J[I[J)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5_H5Dget_1chunk_1info
+  (JNIEnv*, jclass, jlong, jlong, jlong, jlongArray, jintArray, jlongArray);
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Dget_chunk_info_by_coord
+ * Signature: (J[J[I[J)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5_H5Dget_1chunk_1info_1by_1coord
+  (JNIEnv*, jclass, jlong, jlongArray, jintArray, jlongArray);
+
 #ifdef __cplusplus
 } /* end extern "C" */
 #endif /* __cplusplus */
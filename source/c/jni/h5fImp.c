@@ -24,6 +24,7 @@ extern "C" {
 #include <jni.h>
 #include <stdio.h>
 #include <stdlib.h>
+#include <string.h>
 #include "hdf5.h"
 #include "h5fImp.h"
 #include "h5util.h"
@@ -414,6 +415,87 @@ Java_hdf_hdf5lib_H5_H5Fget_1filesize
     return (jlong) size;
 } /* end Java_hdf_hdf5lib_H5_H5Fget_1filesize */
 
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Fget_file_image
+ * Signature: (J[B)J
+ */
+JNIEXPORT jlong JNICALL
+Java_hdf_hdf5lib_H5_H5Fget_1file_1image
+    (JNIEnv *env, jclass clss, jlong file_id, jbyteArray buf)
+{
+    ssize_t  size = -1;
+    jbyte   *buffP;
+    jboolean isCopy;
+
+    if (buf == NULL) {
+        /* Only query the size of the image. */
+        size = H5Fget_file_image((hid_t)file_id, NULL, 0);
+        if (size < 0)
+            h5libraryError(env);
+        return (jlong)size;
+    } /* end if */
+
+    buffP = ENVPTR->GetByteArrayElements(ENVPAR buf, &isCopy);
+    if (buffP == NULL) {
+        h5JNIFatalError(env, "H5Fget_file_image:  buf not pinned");
+        return -1;
+    } /* end if */
+    size = H5Fget_file_image((hid_t)file_id, buffP, (size_t)ENVPTR->GetArrayLength(ENVPAR buf));
+    if (size < 0) {
+        ENVPTR->ReleaseByteArrayElements(ENVPAR buf, buffP, JNI_ABORT);
+        h5libraryError(env);
+        return -1;
+    } /* end if */
+    ENVPTR->ReleaseByteArrayElements(ENVPAR buf, buffP, 0);
+
+    return (jlong)size;
+} /* end Java_hdf_hdf5lib_H5_H5Fget_1file_1image */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Fget_mdc_config
+ * Signature: (J)Lhdf/hdf5lib/structs/H5AC_cache_config_t;
+ */
+JNIEXPORT jobject JNICALL
+Java_hdf_hdf5lib_H5_H5Fget_1mdc_1config
+    (JNIEnv *env, jclass cls, jlong file_id)
+{
+    H5AC_cache_config_t cacheinfo;
+
+    memset(&cacheinfo, 0, sizeof(H5AC_cache_config_t));
+    cacheinfo.version = H5AC__CURR_CACHE_CONFIG_VERSION;
+
+    if (H5Fget_mdc_config((hid_t)file_id, &cacheinfo) < 0) {
+        h5libraryError(env);
+        return NULL;
+    } /* end if */
+
+    return h5jni_cache_config_to_java(env, &cacheinfo);
+} /* end Java_hdf_hdf5lib_H5_H5Fget_1mdc_1config */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Fset_mdc_config
+ * Signature: (JLhdf/hdf5lib/structs/H5AC_cache_config_t;)V
+ */
+JNIEXPORT void JNICALL
+Java_hdf_hdf5lib_H5_H5Fset_1mdc_1config
+    (JNIEnv *env, jclass cls, jlong file_id, jobject cache_config)
+{
+    H5AC_cache_config_t cacheinfo;
+
+    if (cache_config == NULL) {
+        h5nullArgument(env, "H5Fset_mdc_config:  cache_config is NULL");
+        return;
+    } /* end if */
+    if (h5jni_java_to_cache_config(env, cache_config, &cacheinfo) < 0)
+        return;
+
+    if (H5Fset_mdc_config((hid_t)file_id, &cacheinfo) < 0)
+        h5libraryError(env);
+} /* end Java_hdf_hdf5lib_H5_H5Fset_1mdc_1config */
+
 /*
  * Class:     hdf_hdf5lib_H5
  * Method:    H5Fget_mdc_hit_rate
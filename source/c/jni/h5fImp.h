@@ -165,6 +165,33 @@ JNIEXPORT jlong JNICALL
 Java_hdf_hdf5lib_H5_H5Fget_1filesize
   (JNIEnv*, jclass, jlong);
 
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Fget_file_image
+ * Signature: (J[B)J
+ */
+JNIEXPORT jlong JNICALL
+Java_hdf_hdf5lib_H5_H5Fget_1file_1image
+  (JNIEnv*, jclass, jlong, jbyteArray);
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Fget_mdc_config
+ * Signature: (J)Lhdf/hdf5lib/structs/H5AC_cache_config_t;
+ */
+JNIEXPORT jobject JNICALL
+Java_hdf_hdf5lib_H5_H5Fget_1mdc_1config
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Fset_mdc_config
+ * Signature: (JLhdf/hdf5lib/structs/H5AC_cache_config_t;)V
+ */
+JNIEXPORT void JNICALL
+Java_hdf_hdf5lib_H5_H5Fset_1mdc_1config
+  (JNIEnv *, jclass, jlong, jobject);
+
 /*
  * Class:     hdf_hdf5lib_H5
  * Method:    H5Fget_mdc_hit_rate
@@ -2101,6 +2101,80 @@ Java_hdf_hdf5lib_H5_H5Pget_1fapl_1core
     return (jint)status;
 } /* end Java_hdf_hdf5lib_H5_H5Pget_1fapl_1core */
 
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Pset_file_image
+ * Signature: (J[BII)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Pset_1file_1image
+    (JNIEnv *env, jclass clss, jlong fapl_id, jbyteArray buf, jint buf_offset, jint buf_len)
+{
+    herr_t   retVal = -1;
+    jbyte   *buffP;
+    jboolean isCopy;
+
+    if (buf == NULL) {
+        h5nullArgument(env, "H5Pset_file_image:  buf is NULL");
+        return -1;
+    } /* end if */
+    if (buf_offset < 0 || buf_len < 0 || buf_offset > ENVPTR->GetArrayLength(ENVPAR buf) - buf_len) {
+        h5badArgument(env, "H5Pset_file_image:  buf_offset or buf_len out of range");
+        return -1;
+    } /* end if */
+    buffP = ENVPTR->GetByteArrayElements(ENVPAR buf, &isCopy);
+    if (buffP == NULL) {
+        h5JNIFatalError(env, "H5Pset_file_image:  buf not pinned");
+        return -1;
+    } /* end if */
+
+    /* The library makes its own copy of the image. */
+    retVal = H5Pset_file_image((hid_t)fapl_id, buffP + buf_offset, (size_t)buf_len);
+
+    /* free the buffer without copying back */
+    ENVPTR->ReleaseByteArrayElements(ENVPAR buf, buffP, JNI_ABORT);
+    if (retVal < 0)
+        h5libraryError(env);
+
+    return (jint)retVal;
+} /* end Java_hdf_hdf5lib_H5__1H5Pset_1file_1image */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Pset_file_image_buffer
+ * Signature: (JLjava/nio/ByteBuffer;JJ)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Pset_1file_1image_1buffer
+    (JNIEnv *env, jclass clss, jlong fapl_id, jobject buf, jlong buf_offset, jlong buf_len)
+{
+    herr_t  retVal = -1;
+    jbyte  *buffP;
+    jlong   capacity;
+
+    if (buf == NULL) {
+        h5nullArgument(env, "H5Pset_file_image:  buf is NULL");
+        return -1;
+    } /* end if */
+    buffP = (jbyte*)ENVPTR->GetDirectBufferAddress(ENVPAR buf);
+    if (buffP == NULL) {
+        h5badArgument(env, "H5Pset_file_image:  buf is not a direct buffer");
+        return -1;
+    } /* end if */
+    capacity = ENVPTR->GetDirectBufferCapacity(ENVPAR buf);
+    if (buf_offset < 0 || buf_len < 0 || buf_offset > capacity - buf_len) {
+        h5badArgument(env, "H5Pset_file_image:  buf_offset or buf_len out of range");
+        return -1;
+    } /* end if */
+
+    /* The library makes its own copy of the image. */
+    retVal = H5Pset_file_image((hid_t)fapl_id, buffP + buf_offset, (size_t)buf_len);
+    if (retVal < 0)
+        h5libraryError(env);
+
+    return (jint)retVal;
+} /* end Java_hdf_hdf5lib_H5__1H5Pset_1file_1image_1buffer */
+
 /*
  * Class:     hdf_hdf5lib_H5
  * Method:    H5Pset_family_offset
@@ -4051,6 +4125,56 @@ Java_hdf_hdf5lib_H5_H5Pget_1elink_1file_1cache_1size
 } /* end Java_hdf_hdf5lib_H5_H5Pget_1elink_1file_1cache_1size */
 
 
+/*
+ * Creates a Java H5AC_cache_config_t from the metadata cache configuration cacheinfo.
+ * Shared by H5Pget_mdc_config and H5Fget_mdc_config.
+ */
+jobject
+h5jni_cache_config_to_java
+    (JNIEnv *env, H5AC_cache_config_t *cacheinfo)
+{
+    jvalue     args[30];
+    jstring    j_str = NULL;
+    jobject    ret_obj = NULL;
+
+    args[0].i = cacheinfo->version;
+    args[1].z = cacheinfo->rpt_fcn_enabled;
+    args[2].z = cacheinfo->open_trace_file;
+    args[3].z = cacheinfo->close_trace_file;
+    if (cacheinfo->trace_file_name != NULL) {
+        j_str = ENVPTR->NewStringUTF(ENVPAR cacheinfo->trace_file_name);
+    } /* end if */
+    args[4].l = j_str;
+    args[5].z = cacheinfo->evictions_enabled;
+    args[6].z = cacheinfo->set_initial_size;
+    args[7].j = (jlong)cacheinfo->initial_size;
+    args[8].d = cacheinfo->min_clean_fraction;
+    args[9].j = (jlong)cacheinfo->max_size;
+    args[10].j = (jlong)cacheinfo->min_size;
+    args[11].j = cacheinfo->epoch_length;
+    args[12].i = cacheinfo->incr_mode;
+    args[13].d = cacheinfo->lower_hr_threshold;
+    args[14].d = cacheinfo->increment;
+    args[15].z = cacheinfo->apply_max_increment;
+    args[16].j = (jlong)cacheinfo->max_increment;
+    args[17].i = cacheinfo->flash_incr_mode;
+    args[18].d = cacheinfo->flash_multiple;
+    args[19].d = cacheinfo->flash_threshold;
+    args[20].i = cacheinfo->decr_mode;
+    args[21].d = cacheinfo->upper_hr_threshold;
+    args[22].d = cacheinfo->decrement;
+    args[23].z = cacheinfo->apply_max_decrement;
+    args[24].j = (jlong)cacheinfo->max_decrement;
+    args[25].i = cacheinfo->epochs_before_eviction;
+    args[26].z = cacheinfo->apply_empty_reserve;
+    args[27].d = cacheinfo->empty_reserve;
+    args[28].j = (jlong)cacheinfo->dirty_bytes_threshold;
+    args[29].i = cacheinfo->metadata_write_strategy;
+    CALL_CONSTRUCTOR("hdf/hdf5lib/structs/H5AC_cache_config_t", "(IZZZLjava/lang/String;ZZJDJJJIDDZJIDDIDDZJIZDJI)V", args);
+
+    return ret_obj;
+} /* end h5jni_cache_config_to_java */
+
 /*
  * Class:     hdf_hdf5lib_H5
  * Method:    H5Pget_mdc_config
@@ -4062,8 +4186,6 @@ Java_hdf_hdf5lib_H5_H5Pget_1mdc_1config
 {
     H5AC_cache_config_t cacheinfo;
     herr_t     status = -1;
-    jvalue     args[30];
-    jstring    j_str = NULL;
     jobject    ret_obj = NULL;
 
     HDmemset(&cacheinfo, 0, sizeof(H5AC_cache_config_t));
@@ -4075,402 +4197,382 @@ Java_hdf_hdf5lib_H5_H5Pget_1mdc_1config
        h5libraryError(env);
     } /* end if */
     else {
-        args[0].i = cacheinfo.version;
-        args[1].z = cacheinfo.rpt_fcn_enabled;
-        args[2].z = cacheinfo.open_trace_file;
-        args[3].z = cacheinfo.close_trace_file;
-        if (cacheinfo.trace_file_name != NULL) {
-            j_str = ENVPTR->NewStringUTF(ENVPAR cacheinfo.trace_file_name);
-        } /* end if */
-        args[4].l = j_str;
-        args[5].z = cacheinfo.evictions_enabled;
-        args[6].z = cacheinfo.set_initial_size;
-        args[7].j = (jlong)cacheinfo.initial_size;
-        args[8].d = cacheinfo.min_clean_fraction;
-        args[9].j = (jlong)cacheinfo.max_size;
-        args[10].j = (jlong)cacheinfo.min_size;
-        args[11].j = cacheinfo.epoch_length;
-        args[12].i = cacheinfo.incr_mode;
-        args[13].d = cacheinfo.lower_hr_threshold;
-        args[14].d = cacheinfo.increment;
-        args[15].z = cacheinfo.apply_max_increment;
-        args[16].j = (jlong)cacheinfo.max_increment;
-        args[17].i = cacheinfo.flash_incr_mode;
-        args[18].d = cacheinfo.flash_multiple;
-        args[19].d = cacheinfo.flash_threshold;
-        args[20].i = cacheinfo.decr_mode;
-        args[21].d = cacheinfo.upper_hr_threshold;
-        args[22].d = cacheinfo.decrement;
-        args[23].z = cacheinfo.apply_max_decrement;
-        args[24].j = (jlong)cacheinfo.max_decrement;
-        args[25].i = cacheinfo.epochs_before_eviction;
-        args[26].z = cacheinfo.apply_empty_reserve;
-        args[27].d = cacheinfo.empty_reserve;
-        args[28].j = (jlong)cacheinfo.dirty_bytes_threshold;
-        args[29].i = cacheinfo.metadata_write_strategy;
-        CALL_CONSTRUCTOR("hdf/hdf5lib/structs/H5AC_cache_config_t", "(IZZZLjava/lang/String;ZZJDJJJIDDZJIDDIDDZJIZDJI)V", args);
+        ret_obj = h5jni_cache_config_to_java(env, &cacheinfo);
     } /* end else */
     return ret_obj;
 } /* end Java_hdf_hdf5lib_H5_H5Pget_1mdc_1config */
 
 /*
- * Class:     hdf_hdf5lib_H5
- * Method:    H5Pset_mdc_config
- * Signature: (JLhdf/hdf5lib/structs/H5AC_cache_config_t;)V
+ * Loads the metadata cache configuration cacheinfo from the Java H5AC_cache_config_t cache_config.
+ * Shared by H5Pset_mdc_config and H5Fset_mdc_config.
+ * Returns a negative value and raises a Java exception on failure.
  */
-JNIEXPORT void JNICALL
-Java_hdf_hdf5lib_H5_H5Pset_1mdc_1config
-    (JNIEnv *env, jclass clss, jlong plist, jobject cache_config)
+herr_t
+h5jni_java_to_cache_config
+    (JNIEnv *env, jobject cache_config, H5AC_cache_config_t *cacheinfo)
 {
-    herr_t      status = -1;
     jclass      cls;
     jfieldID    fid;
     jstring     j_str;
     const char *str;
-    H5AC_cache_config_t cacheinfo;
 
     cls = ENVPTR->GetObjectClass(ENVPAR cache_config);
     fid = ENVPTR->GetFieldID(ENVPAR cls, "version", "I");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  version");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  version");
+        return -1;
     } /* end if */
-    cacheinfo.version = ENVPTR->GetIntField(ENVPAR cache_config, fid);
+    cacheinfo->version = ENVPTR->GetIntField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading version failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading version failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "rpt_fcn_enabled", "Z");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  rpt_fcn_enabled");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  rpt_fcn_enabled");
+        return -1;
     } /* end if */
-    cacheinfo.rpt_fcn_enabled = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
+    cacheinfo->rpt_fcn_enabled = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading rpt_fcn_enabled failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading rpt_fcn_enabled failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "open_trace_file", "Z");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  open_trace_file");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  open_trace_file");
+        return -1;
     } /* end if */
-    cacheinfo.open_trace_file = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
+    cacheinfo->open_trace_file = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading open_trace_file failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading open_trace_file failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "close_trace_file", "Z");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  close_trace_file");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  close_trace_file");
+        return -1;
     } /* end if */
-    cacheinfo.close_trace_file = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
+    cacheinfo->close_trace_file = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading close_trace_file failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading close_trace_file failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "trace_file_name", "Ljava/lang/String;");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  trace_file_name");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  trace_file_name");
+        return -1;
     } /* end if */
     j_str = (jstring)ENVPTR->GetObjectField(ENVPAR cache_config, fid);
     str = ENVPTR->GetStringUTFChars(ENVPAR j_str, NULL);
     if (str == NULL) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: out of memory trace_file_name");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: out of memory trace_file_name");
+        return -1;
     } /* end if */
-    strncpy(cacheinfo.trace_file_name, str, 1025);
+    strncpy(cacheinfo->trace_file_name, str, 1025);
     ENVPTR->ReleaseStringUTFChars(ENVPAR j_str, str);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading trace_file_name failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading trace_file_name failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "evictions_enabled", "Z");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  evictions_enabled");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  evictions_enabled");
+        return -1;
     } /* end if */
-    cacheinfo.evictions_enabled = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
+    cacheinfo->evictions_enabled = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading evictions_enabled failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading evictions_enabled failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "set_initial_size", "Z");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  set_initial_size");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  set_initial_size");
+        return -1;
     } /* end if */
-    cacheinfo.set_initial_size = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
+    cacheinfo->set_initial_size = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading set_initial_size failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading set_initial_size failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "initial_size", "J");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  initial_size");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  initial_size");
+        return -1;
     } /* end if */
-    cacheinfo.initial_size = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
+    cacheinfo->initial_size = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading initial_size failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading initial_size failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "min_clean_fraction", "D");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  min_clean_fraction");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  min_clean_fraction");
+        return -1;
     } /* end if */
-    cacheinfo.min_clean_fraction = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
+    cacheinfo->min_clean_fraction = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading min_clean_fraction failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading min_clean_fraction failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "max_size", "J");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  max_size");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  max_size");
+        return -1;
     } /* end if */
-    cacheinfo.max_size = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
+    cacheinfo->max_size = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading max_size failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading max_size failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "min_size", "J");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  min_size");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  min_size");
+        return -1;
     } /* end if */
-    cacheinfo.min_size = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
+    cacheinfo->min_size = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading min_size failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading min_size failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "epoch_length", "J");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  epoch_length");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  epoch_length");
+        return -1;
     }
-    cacheinfo.epoch_length = (long int)ENVPTR->GetLongField(ENVPAR cache_config, fid);
+    cacheinfo->epoch_length = (long int)ENVPTR->GetLongField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading epoch_length failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading epoch_length failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "incr_mode", "I");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  incr_mode");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  incr_mode");
+        return -1;
     } /* end if */
-    cacheinfo.incr_mode = ENVPTR->GetIntField(ENVPAR cache_config, fid); /*(enum H5C_cache_incr_mode) */
+    cacheinfo->incr_mode = ENVPTR->GetIntField(ENVPAR cache_config, fid); /*(enum H5C_cache_incr_mode) */
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading incr_mode failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading incr_mode failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "lower_hr_threshold", "D");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  lower_hr_threshold");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  lower_hr_threshold");
+        return -1;
     } /* end if */
-    cacheinfo.lower_hr_threshold = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
+    cacheinfo->lower_hr_threshold = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading lower_hr_threshold failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading lower_hr_threshold failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "increment", "D");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  increment");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  increment");
+        return -1;
     } /* end if */
-    cacheinfo.increment = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
+    cacheinfo->increment = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading increment failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading increment failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "apply_max_increment", "Z");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  apply_max_increment");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  apply_max_increment");
+        return -1;
     } /* end if */
-    cacheinfo.apply_max_increment = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
+    cacheinfo->apply_max_increment = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading apply_max_increment failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading apply_max_increment failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "max_increment", "J");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  max_increment");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  max_increment");
+        return -1;
     } /* end if */
-    cacheinfo.max_increment = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
+    cacheinfo->max_increment = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading max_increment failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading max_increment failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "flash_incr_mode", "I");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  flash_incr_mode");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  flash_incr_mode");
+        return -1;
     } /* end if */
-    cacheinfo.flash_incr_mode = ENVPTR->GetIntField(ENVPAR cache_config, fid); /*(enum H5C_cache_flash_incr_mode) */
+    cacheinfo->flash_incr_mode = ENVPTR->GetIntField(ENVPAR cache_config, fid); /*(enum H5C_cache_flash_incr_mode) */
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading flash_incr_mode failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading flash_incr_mode failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "flash_multiple", "D");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  flash_multiple");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  flash_multiple");
+        return -1;
     } /* end if */
-    cacheinfo.flash_multiple = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
+    cacheinfo->flash_multiple = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading flash_multiple failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading flash_multiple failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "flash_threshold", "D");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  flash_threshold");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  flash_threshold");
+        return -1;
     } /* end if */
-    cacheinfo.flash_threshold = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
+    cacheinfo->flash_threshold = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading flash_threshold failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading flash_threshold failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "decr_mode", "I");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  decr_mode");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  decr_mode");
+        return -1;
     } /* end if */
-    cacheinfo.decr_mode = ENVPTR->GetIntField(ENVPAR cache_config, fid); /*(enum H5C_cache_decr_mode) */
+    cacheinfo->decr_mode = ENVPTR->GetIntField(ENVPAR cache_config, fid); /*(enum H5C_cache_decr_mode) */
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading decr_mode failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading decr_mode failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "upper_hr_threshold", "D");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  upper_hr_threshold");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  upper_hr_threshold");
+        return -1;
     } /* end if */
-    cacheinfo.upper_hr_threshold = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
+    cacheinfo->upper_hr_threshold = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading upper_hr_threshold failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading upper_hr_threshold failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "decrement", "D");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  decrement");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  decrement");
+        return -1;
     } /* end if */
-    cacheinfo.decrement = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
+    cacheinfo->decrement = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading decrement failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading decrement failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "apply_max_decrement", "Z");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  apply_max_decrement");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  apply_max_decrement");
+        return -1;
     } /* end if */
-    cacheinfo.apply_max_decrement = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
+    cacheinfo->apply_max_decrement = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading apply_max_decrement failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading apply_max_decrement failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "max_decrement", "J");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  max_decrement");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  max_decrement");
+        return -1;
     } /* end if */
-    cacheinfo.max_decrement = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
+    cacheinfo->max_decrement = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading max_decrement failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading max_decrement failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "epochs_before_eviction", "I");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  epochs_before_eviction");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  epochs_before_eviction");
+        return -1;
     } /* end if */
-    cacheinfo.epochs_before_eviction = ENVPTR->GetIntField(ENVPAR cache_config, fid);
+    cacheinfo->epochs_before_eviction = ENVPTR->GetIntField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading epochs_before_eviction failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading epochs_before_eviction failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "apply_empty_reserve", "Z");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  apply_empty_reserve");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  apply_empty_reserve");
+        return -1;
     } /* end if */
-    cacheinfo.apply_empty_reserve = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
+    cacheinfo->apply_empty_reserve = ENVPTR->GetBooleanField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading apply_empty_reserve failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading apply_empty_reserve failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "empty_reserve", "D");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  empty_reserve");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  empty_reserve");
+        return -1;
     } /* end if */
-    cacheinfo.empty_reserve = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
+    cacheinfo->empty_reserve = ENVPTR->GetDoubleField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading empty_reserve failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading empty_reserve failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "dirty_bytes_threshold", "J");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  dirty_bytes_threshold");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  dirty_bytes_threshold");
+        return -1;
     } /* end if */
-    cacheinfo.dirty_bytes_threshold = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
+    cacheinfo->dirty_bytes_threshold = (size_t)ENVPTR->GetLongField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading dirty_bytes_threshold failed");
-        return;
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading dirty_bytes_threshold failed");
+        return -1;
     } /* end if */
 
     fid = ENVPTR->GetFieldID(ENVPAR cls, "metadata_write_strategy", "I");
     if(fid == 0) {
-        h5badArgument(env, "H5Pset_mdc_config:  metadata_write_strategy");
-        return;
+        h5badArgument(env, "H5AC_cache_config_t:  metadata_write_strategy");
+        return -1;
     } /* end if */
-    cacheinfo.metadata_write_strategy = ENVPTR->GetIntField(ENVPAR cache_config, fid);
+    cacheinfo->metadata_write_strategy = ENVPTR->GetIntField(ENVPAR cache_config, fid);
     if(ENVPTR->ExceptionOccurred(ENVONLY)) {
-        h5JNIFatalError(env, "H5Pset_mdc_config: loading metadata_write_strategy failed");
+        h5JNIFatalError(env, "H5AC_cache_config_t: loading metadata_write_strategy failed");
+        return -1;
     } /* end if */
-    else {
-        status = H5Pset_mdc_config((hid_t)plist, &cacheinfo);
 
-        if (status < 0)
+    return 0;
+} /* end h5jni_java_to_cache_config */
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    H5Pset_mdc_config
+ * Signature: (JLhdf/hdf5lib/structs/H5AC_cache_config_t;)V
+ */
+JNIEXPORT void JNICALL
+Java_hdf_hdf5lib_H5_H5Pset_1mdc_1config
+    (JNIEnv *env, jclass clss, jlong plist, jobject cache_config)
+{
+    H5AC_cache_config_t cacheinfo;
+
+    if (h5jni_java_to_cache_config(env, cache_config, &cacheinfo) < 0)
+        return;
+
+    if (H5Pset_mdc_config((hid_t)plist, &cacheinfo) < 0)
         h5libraryError(env);
-    }
 } /* end Java_hdf_hdf5lib_H5_H5Pset_1mdc_1config */
 
 /*
@@ -597,6 +597,24 @@ JNIEXPORT jint JNICALL
 Java_hdf_hdf5lib_H5_H5Pget_1fapl_1core
 (JNIEnv *, jclass, jlong, jlongArray, jbooleanArray);
 
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Pset_file_image
+ * Signature: (J[BII)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Pset_1file_1image
+(JNIEnv *, jclass, jlong, jbyteArray, jint, jint);
+
+/*
+ * Class:     hdf_hdf5lib_H5
+ * Method:    _H5Pset_file_image_buffer
+ * Signature: (JLjava/nio/ByteBuffer;JJ)I
+ */
+JNIEXPORT jint JNICALL
+Java_hdf_hdf5lib_H5__1H5Pset_1file_1image_1buffer
+(JNIEnv *, jclass, jlong, jobject, jlong, jlong);
+
 /*
  * Class:     hdf_hdf5lib_H5
  * Method:    H5Pset_family_offset
@@ -48,6 +48,10 @@ extern int     h5str_dump_simple_dset(FILE *stream, hid_t dset, int binary_order
 extern int     h5str_dump_region_blocks_data(h5str_t *str, hid_t region, hid_t region_obj);
 extern int     h5str_dump_region_points_data(h5str_t *str, hid_t region, hid_t region_obj);
 
+/* Conversion of the metadata cache configuration, implemented in h5pImp.c */
+extern jobject h5jni_cache_config_to_java(JNIEnv *env, H5AC_cache_config_t *cacheinfo);
+extern herr_t  h5jni_java_to_cache_config(JNIEnv *env, jobject cache_config, H5AC_cache_config_t *cacheinfo);
+
 /*
  * Class:     hdf_hdf5lib_H5
  * Method:    H5AreadComplex
@@ -20,16 +20,32 @@ import static hdf.hdf5lib.H5.*;
 import static ch.systemsx.cisd.hdf5.hdf5lib.HDFHelper.H5Pset_mdc_image_config;
 import static ch.systemsx.cisd.hdf5.hdf5lib.HDFHelper.H5Pget_mdc_image_enabled;
 import static hdf.hdf5lib.HDF5Constants.H5_INDEX_NAME;
+import static hdf.hdf5lib.HDF5Constants.H5_ITER_INC;
 import static hdf.hdf5lib.HDF5Constants.H5_ITER_NATIVE;
+import static hdf.hdf5lib.HDF5Constants.H5C_decr_age_out_with_threshold;
+import static hdf.hdf5lib.HDF5Constants.H5C_decr_off;
+import static hdf.hdf5lib.HDF5Constants.H5C_flash_incr_add_space;
+import static hdf.hdf5lib.HDF5Constants.H5C_flash_incr_off;
+import static hdf.hdf5lib.HDF5Constants.H5C_incr_off;
+import static hdf.hdf5lib.HDF5Constants.H5C_incr_threshold;
 import static hdf.hdf5lib.HDF5Constants.H5D_CHUNKED;
 import static hdf.hdf5lib.HDF5Constants.H5D_COMPACT;
+import static hdf.hdf5lib.HDF5Constants.H5D_CONTIGUOUS;
 import static hdf.hdf5lib.HDF5Constants.H5D_FILL_TIME_ALLOC;
+import static hdf.hdf5lib.HDF5Constants.H5D_FILL_VALUE_USER_DEFINED;
 import static hdf.hdf5lib.HDF5Constants.H5F_ACC_RDONLY;
 import static hdf.hdf5lib.HDF5Constants.H5F_ACC_RDWR;
 import static hdf.hdf5lib.HDF5Constants.H5F_ACC_TRUNC;
+import static hdf.hdf5lib.HDF5Constants.H5F_OBJ_ATTR;
+import static hdf.hdf5lib.HDF5Constants.H5F_OBJ_DATASET;
+import static hdf.hdf5lib.HDF5Constants.H5F_OBJ_DATATYPE;
+import static hdf.hdf5lib.HDF5Constants.H5F_OBJ_GROUP;
+import static hdf.hdf5lib.HDF5Constants.H5F_OBJ_LOCAL;
 import static hdf.hdf5lib.HDF5Constants.H5F_SCOPE_GLOBAL;
+import static hdf.hdf5lib.HDF5Constants.H5O_INFO_BASIC;
 import static hdf.hdf5lib.HDF5Constants.H5O_TYPE_GROUP;
 import static hdf.hdf5lib.HDF5Constants.H5P_ATTRIBUTE_CREATE;
+import static hdf.hdf5lib.HDF5Constants.H5P_DATASET_ACCESS;
 import static hdf.hdf5lib.HDF5Constants.H5P_DATASET_CREATE;
 import static hdf.hdf5lib.HDF5Constants.H5P_DEFAULT;
 import static hdf.hdf5lib.HDF5Constants.H5P_FILE_ACCESS;
@@ -55,10 +71,13 @@ import static hdf.hdf5lib.HDF5Constants.H5T_STD_I32LE;
 import static hdf.hdf5lib.HDF5Constants.H5T_STD_I8LE;
 import static hdf.hdf5lib.HDF5Constants.H5T_STR_NULLPAD;
 import static hdf.hdf5lib.HDF5Constants.H5T_VARIABLE;
+import static hdf.hdf5lib.HDF5Constants.H5Z_FILTER_DEFLATE;
 import static hdf.hdf5lib.HDF5Constants.H5Z_SO_FLOAT_DSCALE;
 import static hdf.hdf5lib.HDF5Constants.H5Z_SO_INT;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -66,9 +85,19 @@ import java.util.List;
 import hdf.hdf5lib.H5;
 import hdf.hdf5lib.HDF5Constants;
 import hdf.hdf5lib.HDFNativeData;
+import hdf.hdf5lib.callbacks.H5A_iterate_cb;
+import hdf.hdf5lib.callbacks.H5A_iterate_t;
+import hdf.hdf5lib.callbacks.H5L_iterate_cb;
+import hdf.hdf5lib.callbacks.H5L_iterate_t;
+import hdf.hdf5lib.callbacks.H5O_iterate_cb;
+import hdf.hdf5lib.callbacks.H5O_iterate_t;
 import hdf.hdf5lib.exceptions.HDF5Exception;
 import hdf.hdf5lib.exceptions.HDF5JavaException;
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
 
+import hdf.hdf5lib.structs.H5AC_cache_config_t;
+import hdf.hdf5lib.structs.H5A_info_t;
+import hdf.hdf5lib.structs.H5L_info_t;
 import hdf.hdf5lib.structs.H5O_info_t;
 import ch.systemsx.cisd.base.convert.NativeData;
 import ch.systemsx.cisd.base.mdarray.MDAbstractArray;
@@ -105,6 +134,10 @@ class HDF5
 
     private final boolean autoDereference;
 
+    private HDF5DataSetCache dataSetCacheOrNull;
+
+    private HDF5InformationCache informationCacheOrNull;
+
     public HDF5(final CleanUpRegistry fileRegistry, final CleanUpCallable runner,
             final boolean performNumericConversions, final boolean useUTF8CharEncoding,
             final boolean autoDereference)
@@ -157,10 +190,12 @@ class HDF5
     //
 
     public long createFile(String fileName, FileFormatVersionBounds fileFormatVersionBounds, 
-            Boolean mdcGenerateImage, ICleanUpRegistry registry)
+            Boolean mdcGenerateImage, HDF5FileAccessProperties accessProperties,
+            ICleanUpRegistry registry)
     {
         final long fileAccessPropertyListId =
-                createFileAccessPropertyListId(fileFormatVersionBounds, mdcGenerateImage, registry);
+                createFileAccessPropertyListId(fileFormatVersionBounds, mdcGenerateImage,
+                        accessProperties, registry);
         final long fileId =
                 H5Fcreate(fileName, H5F_ACC_TRUNC, H5P_DEFAULT, fileAccessPropertyListId);
         registry.registerCleanUp(new Runnable()
@@ -175,7 +210,8 @@ class HDF5
     }
 
     private long createFileAccessPropertyListId(FileFormatVersionBounds fileFormatVersionBounds, 
-            boolean mdcGenerateImage, ICleanUpRegistry registry)
+            boolean mdcGenerateImage, HDF5FileAccessProperties accessProperties,
+            ICleanUpRegistry registry)
     {
         long fileAccessPropertyListId = H5P_DEFAULT;
         // MDC image generation is incompatible with low file format bound EARLIEST, thus raise it to V1_8.
@@ -195,7 +231,8 @@ class HDF5
                     throw new IllegalStateException("Unhandled case switch");
             }
         }
-        if (fileFormatVersionBounds != FileFormatVersionBounds.getDefault() || mdcGenerateImage)
+        if (fileFormatVersionBounds != FileFormatVersionBounds.getDefault() || mdcGenerateImage
+                || accessProperties.isDefault() == false)
         {
             final long fapl = H5Pcreate(H5P_FILE_ACCESS);
             registry.registerCleanUp(new Runnable()
@@ -217,9 +254,128 @@ class HDF5
             {
                 H5Pset_mdc_image_config(fileAccessPropertyListId, mdcGenerateImage);
             }
+            setFileAccessProperties(fileAccessPropertyListId, accessProperties);
         }
         return fileAccessPropertyListId;
     }
+
+    private void setFileAccessProperties(long fileAccessPropertyListId,
+            HDF5FileAccessProperties accessProperties)
+    {
+        if (accessProperties.isInMemory())
+        {
+            H5Pset_fapl_core(fileAccessPropertyListId, accessProperties.getInMemoryIncrement(),
+                    accessProperties.isInMemoryBackingStore());
+        }
+        setCacheProperties(fileAccessPropertyListId, accessProperties);
+    }
+
+    private void setCacheProperties(long fileAccessPropertyListId,
+            HDF5FileAccessProperties accessProperties)
+    {
+        final HDF5ChunkCacheSpec chunkCacheOrNull = accessProperties.tryGetChunkCache();
+        if (chunkCacheOrNull != null)
+        {
+            // The number of metadata cache elements is ignored by the HDF5 library.
+            H5Pset_cache(fileAccessPropertyListId, 0, chunkCacheOrNull.getNumberOfSlots(),
+                    chunkCacheOrNull.getSizeInBytes(), chunkCacheOrNull.getPreemptionPolicy());
+        }
+        final HDF5MetadataCacheSpec metadataCacheOrNull = accessProperties.tryGetMetadataCache();
+        if (metadataCacheOrNull != null)
+        {
+            final H5AC_cache_config_t config = H5Pget_mdc_config(fileAccessPropertyListId);
+            applyMetadataCacheSpec(metadataCacheOrNull, config);
+            H5Pset_mdc_config(fileAccessPropertyListId, config);
+        }
+    }
+
+    private static void applyMetadataCacheSpec(HDF5MetadataCacheSpec spec,
+            H5AC_cache_config_t config)
+    {
+        config.set_initial_size = true;
+        config.initial_size = spec.getInitialSize();
+        config.min_size = spec.getMinSize();
+        config.max_size = spec.getMaxSize();
+        switch (spec.getEvictionPolicy())
+        {
+            case ADAPTIVE:
+                config.evictions_enabled = true;
+                config.incr_mode = H5C_incr_threshold;
+                config.flash_incr_mode = H5C_flash_incr_add_space;
+                config.decr_mode = H5C_decr_age_out_with_threshold;
+                break;
+            case FIXED_SIZE:
+                config.evictions_enabled = true;
+                config.incr_mode = H5C_incr_off;
+                config.flash_incr_mode = H5C_flash_incr_off;
+                config.decr_mode = H5C_decr_off;
+                break;
+            case NO_EVICTION:
+                // The HDF5 library requires automatic resizing to be off if evictions are
+                // disabled.
+                config.evictions_enabled = false;
+                config.incr_mode = H5C_incr_off;
+                config.flash_incr_mode = H5C_flash_incr_off;
+                config.decr_mode = H5C_decr_off;
+                break;
+            default:
+                throw new IllegalStateException("Unhandled case switch");
+        }
+    }
+
+    /**
+     * Returns the current configuration of the metadata cache of the file <var>fileId</var>.
+     */
+    public HDF5MetadataCacheSpec getMetadataCacheSpec(long fileId)
+    {
+        final H5AC_cache_config_t config = H5Fget_mdc_config(fileId);
+        final HDF5MetadataCacheSpec.EvictionPolicy evictionPolicy;
+        if (config.evictions_enabled == false)
+        {
+            evictionPolicy = HDF5MetadataCacheSpec.EvictionPolicy.NO_EVICTION;
+        } else if (config.incr_mode == H5C_incr_off && config.decr_mode == H5C_decr_off
+                && config.flash_incr_mode == H5C_flash_incr_off)
+        {
+            evictionPolicy = HDF5MetadataCacheSpec.EvictionPolicy.FIXED_SIZE;
+        } else
+        {
+            evictionPolicy = HDF5MetadataCacheSpec.EvictionPolicy.ADAPTIVE;
+        }
+        // The HDF5 library reports the current size of the cache as initial size.
+        final long initialSize =
+                Math.min(Math.max(config.initial_size, config.min_size), config.max_size);
+        return new HDF5MetadataCacheSpec(initialSize, config.min_size, config.max_size,
+                evictionPolicy);
+    }
+
+    /**
+     * Returns the current statistics of the metadata cache of the file <var>fileId</var>.
+     */
+    public HDF5MetadataCacheStatistics getMetadataCacheStatistics(long fileId)
+    {
+        final long[] sizes = new long[3];
+        final int numberOfEntries = H5Fget_mdc_size(fileId, sizes);
+        return new HDF5MetadataCacheStatistics(H5Fget_mdc_hit_rate(fileId), sizes[0], sizes[1],
+                sizes[2], numberOfEntries);
+    }
+
+    /**
+     * Resets the hit rate statistics of the metadata cache of the file <var>fileId</var>.
+     */
+    public void resetMetadataCacheStatistics(long fileId)
+    {
+        H5Freset_mdc_hit_rate_stats(fileId);
+    }
+
+    /**
+     * Returns the number of data sets, groups, data types and attributes that are currently open
+     * through the file <var>fileId</var>.
+     */
+    public long getNumberOfOpenObjects(long fileId)
+    {
+        return H5Fget_obj_count(fileId, H5F_OBJ_DATASET | H5F_OBJ_GROUP | H5F_OBJ_DATATYPE
+                | H5F_OBJ_ATTR | H5F_OBJ_LOCAL);
+    }
     
     /**
      * @return if the generation of a metadata image is enabled for <code>fileId</code>.
@@ -231,9 +387,46 @@ class HDF5
         
     }
 
-    public long openFileReadOnly(String fileName, ICleanUpRegistry registry)
+    public long openFileReadOnly(String fileName, HDF5FileAccessProperties accessProperties,
+            ICleanUpRegistry registry)
+    {
+        final long fileAccessPropertyListId =
+                createFileAccessPropertyListId(FileFormatVersionBounds.getDefault(), false,
+                        accessProperties, registry);
+        final long fileId = H5Fopen(fileName, H5F_ACC_RDONLY, fileAccessPropertyListId);
+        registry.registerCleanUp(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    H5Fclose(fileId);
+                }
+            });
+        return fileId;
+    }
+
+    /**
+     * Opens the file image <var>image</var> (the remaining bytes of the buffer) read-only with the
+     * core driver. The file is never written to disk, <var>fileName</var> is only used to identify
+     * the file and needs to be unique among the open files. The in-memory settings of
+     * <var>accessProperties</var> are ignored, the cache settings are applied.
+     */
+    public long openFileImageReadOnly(String fileName, ByteBuffer image,
+            HDF5FileAccessProperties accessProperties, ICleanUpRegistry registry)
     {
-        final long fileId = H5Fopen(fileName, H5F_ACC_RDONLY, H5P_DEFAULT);
+        final long fileAccessPropertyListId = H5Pcreate(H5P_FILE_ACCESS);
+        final long fileId;
+        try
+        {
+            H5Pset_fapl_core(fileAccessPropertyListId, Math.max(image.remaining(), 1), false);
+            H5Pset_file_image(fileAccessPropertyListId, image);
+            setCacheProperties(fileAccessPropertyListId, accessProperties);
+            fileId = H5Fopen(fileName, H5F_ACC_RDONLY, fileAccessPropertyListId);
+        } finally
+        {
+            // The file has its own copy of the image, so we can drop the one in the property list.
+            H5Pclose(fileAccessPropertyListId);
+        }
         registry.registerCleanUp(new Runnable()
             {
                 @Override
@@ -245,10 +438,29 @@ class HDF5
         return fileId;
     }
 
+    /**
+     * Returns the image of the file <var>fileId</var>, that is the bytes that the file would have on
+     * disk.
+     */
+    public byte[] getFileImage(long fileId)
+    {
+        final long size = H5Fget_file_image(fileId, null);
+        if (size > Integer.MAX_VALUE)
+        {
+            throw new HDF5JavaException("File image of " + size
+                    + " bytes is too large for a byte array.");
+        }
+        final byte[] image = new byte[(int) size];
+        H5Fget_file_image(fileId, image);
+        return image;
+    }
+
     public long openFileReadWrite(String fileName, FileFormatVersionBounds fileFormatVersionBounds, 
-            Boolean mdcGenerateImage, ICleanUpRegistry registry)
+            Boolean mdcGenerateImage, HDF5FileAccessProperties accessProperties,
+            ICleanUpRegistry registry)
     {
-        final long fileAccessPropertyListId = createFileAccessPropertyListId(fileFormatVersionBounds, mdcGenerateImage, registry);
+        final long fileAccessPropertyListId = createFileAccessPropertyListId(fileFormatVersionBounds, mdcGenerateImage, 
+                accessProperties, registry);
         final File f = new File(fileName);
         if (f.exists() && f.isFile() == false)
         {
@@ -296,6 +508,14 @@ class HDF5
     public int deleteObject(long fileId, String path)
     {
         checkMaxLength(path);
+        if (dataSetCacheOrNull != null)
+        {
+            dataSetCacheOrNull.invalidateSubtree(path);
+        }
+        if (informationCacheOrNull != null)
+        {
+            informationCacheOrNull.invalidateSubtree(path);
+        }
         H5Ldelete(fileId, path, H5P_DEFAULT);
         return 0;
     }
@@ -313,6 +533,16 @@ class HDF5
     {
         checkMaxLength(srcLinkPath);
         checkMaxLength(dstLinkPath);
+        if (dataSetCacheOrNull != null)
+        {
+            dataSetCacheOrNull.invalidateSubtree(srcLinkPath);
+            dataSetCacheOrNull.invalidateSubtree(dstLinkPath);
+        }
+        if (informationCacheOrNull != null)
+        {
+            informationCacheOrNull.invalidateSubtree(srcLinkPath);
+            informationCacheOrNull.invalidateSubtree(dstLinkPath);
+        }
         final int success = 0;
         H5Lmove(fileId, srcLinkPath, fileId, dstLinkPath, lcplCreateIntermediateGroups,
                 H5P_DEFAULT);
@@ -489,6 +719,47 @@ class HDF5
         return runner.call(dataDimensionRunnable);
     }
 
+    /**
+     * Returns the names of up to <var>maxCount</var> members of <var>groupName</var>, starting with
+     * the member at <var>startIndex</var> in increasing name order. Fewer than <var>maxCount</var>
+     * names are returned only at the end of the group.
+     */
+    public List<String> getGroupMembers(final long fileId, final String groupName,
+            final long startIndex, final int maxCount)
+    {
+        checkMaxLength(groupName);
+        final ICallableWithCleanUp<List<String>> groupMembersRunnable =
+                new ICallableWithCleanUp<List<String>>()
+                    {
+                        @Override
+                        public List<String> call(ICleanUpRegistry registry)
+                        {
+                            final long groupId = openGroup(fileId, groupName, registry);
+                            final long numberOfLinks = H5Gget_info(groupId).nlinks;
+                            final List<String> names = new ArrayList<String>();
+                            if (startIndex < numberOfLinks)
+                            {
+                                H5Literate(groupId, H5_INDEX_NAME, H5_ITER_INC, startIndex,
+                                        new H5L_iterate_cb()
+                                            {
+                                                @Override
+                                                public int callback(long group, String name,
+                                                        H5L_info_t info, H5L_iterate_t data)
+                                                {
+                                                    names.add(name);
+                                                    // A positive value stops the iteration.
+                                                    return (names.size() < maxCount) ? 0 : 1;
+                                                }
+                                            }, new H5L_iterate_t()
+                                            {
+                                            });
+                            }
+                            return names;
+                        }
+                    };
+        return runner.call(groupMembersRunnable);
+    }
+
     public List<HDF5LinkInformation> getGroupMemberLinkInfo(final long fileId,
             final String groupName, final boolean includeInternal,
             final String houseKeepingNameSuffix)
@@ -533,6 +804,39 @@ class HDF5
         return runner.call(dataDimensionRunnable);
     }
 
+    /**
+     * Visits all objects reachable from <var>locationId</var> (including <var>locationId</var>
+     * itself, which is visited with the name <code>"."</code>) in one native traversal, each object
+     * once, in increasing name order. Only the basic fields of the object information are filled
+     * in.
+     */
+    public void visitObjects(long locationId, H5O_iterate_cb callback)
+    {
+        H5Ovisit(locationId, H5_INDEX_NAME, H5_ITER_INC, callback, new H5O_iterate_t()
+            {
+            }, H5O_INFO_BASIC);
+    }
+
+    /**
+     * Visits all links reachable from group <var>groupId</var> in one native traversal, in
+     * increasing name order. Symbolic links are not followed.
+     */
+    public void visitLinks(long groupId, H5L_iterate_cb callback)
+    {
+        H5Lvisit(groupId, H5_INDEX_NAME, H5_ITER_INC, callback, new H5L_iterate_t()
+            {
+            });
+    }
+
+    /**
+     * Returns the type id of the object that the hard link <var>name</var> relative to
+     * <var>locationId</var> points to.
+     */
+    public int getObjectTypeIdOfHardLink(long locationId, String name)
+    {
+        return H5Oget_info_by_name(locationId, name, H5O_INFO_BASIC, H5P_DEFAULT).type;
+    }
+
     public List<HDF5LinkInformation> getGroupMemberTypeInfo(final long fileId,
             final String groupName, final boolean includeInternal,
             final String houseKeepingNameSuffix)
@@ -847,6 +1151,110 @@ class HDF5
         }
     }
 
+    /**
+     * Returns the address in the file of the data of <var>dataSetId</var> if it is stored as one
+     * contiguous byte range, that is if the data set has a contiguous layout, no filters and no
+     * external storage, and its storage has been allocated. Returns -1 otherwise.
+     */
+    public long tryGetContiguousStorageAddress(long dataSetId, ICleanUpRegistry registry)
+    {
+        final long dataSetCreationPropertyListId = getCreationPropertyList(dataSetId, registry);
+        if (H5Pget_layout(dataSetCreationPropertyListId) != H5D_CONTIGUOUS
+                || H5Pget_nfilters(dataSetCreationPropertyListId) != 0
+                || H5Pget_external_count(dataSetCreationPropertyListId) != 0)
+        {
+            return -1L;
+        }
+        try
+        {
+            final long address = H5Dget_offset(dataSetId);
+            return (address < 0) ? -1L : address;
+        } catch (HDF5LibraryException ex)
+        {
+            // Storage not allocated.
+            return -1L;
+        }
+    }
+
+    /**
+     * Returns the chunk sizes of <var>dataSetId</var> of rank <var>rank</var> if it has a chunked
+     * layout, or <code>null</code> otherwise.
+     */
+    public int[] tryGetChunkSizes(long dataSetId, int rank, ICleanUpRegistry registry)
+    {
+        final long dataSetCreationPropertyListId = getCreationPropertyList(dataSetId, registry);
+        if (H5Pget_layout(dataSetCreationPropertyListId) != H5D_CHUNKED)
+        {
+            return null;
+        }
+        final long[] chunkSizes = new long[rank];
+        H5Pget_chunk(dataSetCreationPropertyListId, rank, chunkSizes);
+        return MDAbstractArray.toInt(chunkSizes);
+    }
+
+    /**
+     * Returns the ids of the filters in the filter pipeline of <var>dataSetId</var>, in the order
+     * in which they are applied on writing.
+     */
+    public int[] getFilterIds(long dataSetId, ICleanUpRegistry registry)
+    {
+        final long dataSetCreationPropertyListId = getCreationPropertyList(dataSetId, registry);
+        final int[] filterIds = new int[H5Pget_nfilters(dataSetCreationPropertyListId)];
+        final int[] flags = new int[1];
+        final int[] filterConfig = new int[1];
+        final String[] name = new String[1];
+        for (int i = 0; i < filterIds.length; ++i)
+        {
+            final int[] clientData = new int[8];
+            final long[] clientDataLength = new long[]
+                { clientData.length };
+            filterIds[i] =
+                    H5Pget_filter(dataSetCreationPropertyListId, i, flags, clientDataLength,
+                            clientData, 120, name, filterConfig);
+        }
+        return filterIds;
+    }
+
+    /**
+     * Returns the compression level of the deflate filter of <var>dataSetId</var>, which needs to
+     * be part of its filter pipeline.
+     */
+    public int getDeflateLevel(long dataSetId, ICleanUpRegistry registry)
+    {
+        final long dataSetCreationPropertyListId = getCreationPropertyList(dataSetId, registry);
+        final int[] clientData = new int[1];
+        H5Pget_filter_by_id(dataSetCreationPropertyListId, H5Z_FILTER_DEFLATE, new int[1],
+                new long[]
+                    { clientData.length }, clientData, 120, new String[1], new int[1]);
+        return clientData[0];
+    }
+
+    /**
+     * Returns <code>true</code> if the fill value of <var>dataSetId</var>, converted to
+     * <var>memoryTypeId</var>, consists of zero bytes only (which includes the case of no fill
+     * value being defined).
+     */
+    public boolean isFillValueZero(long dataSetId, long memoryTypeId, ICleanUpRegistry registry)
+    {
+        final long dataSetCreationPropertyListId = getCreationPropertyList(dataSetId, registry);
+        final int[] status = new int[1];
+        H5Pfill_value_defined(dataSetCreationPropertyListId, status);
+        if (status[0] != H5D_FILL_VALUE_USER_DEFINED)
+        {
+            return true;
+        }
+        final byte[] fillValue = new byte[(int) H5Tget_size(memoryTypeId)];
+        H5Pget_fill_value(dataSetCreationPropertyListId, memoryTypeId, fillValue);
+        for (byte b : fillValue)
+        {
+            if (b != 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private long getCreationPropertyList(long dataSetId, ICleanUpRegistry registry)
     {
         final long dataSetCreationPropertyListId = H5Dget_create_plist(dataSetId);
@@ -930,10 +1338,42 @@ class HDF5
     }
 
     public long openDataSet(long fileId, String path, ICleanUpRegistry registry)
+    {
+        return openDataSet(fileId, path, null, registry);
+    }
+
+    /**
+     * Opens the data set <var>path</var> with a raw data chunk cache of
+     * <var>chunkCacheOrNull</var>, or the default chunk cache of the file, if
+     * <var>chunkCacheOrNull</var> is <code>null</code>.
+     * <p>
+     * <i>Note: the chunk cache can not be set on data sets opened by reference.</i>
+     */
+    public long openDataSet(long fileId, String path, HDF5ChunkCacheSpec chunkCacheOrNull,
+            ICleanUpRegistry registry)
     {
         checkMaxLength(path);
-        final long dataSetId = isReference(path) ? H5Oopen_by_addr(fileId, Long.parseLong(path.substring(1)))
-                : H5Dopen(fileId, path, H5P_DEFAULT);
+        final long dataSetId;
+        if (isReference(path))
+        {
+            dataSetId = H5Oopen_by_addr(fileId, Long.parseLong(path.substring(1)));
+        } else if (chunkCacheOrNull != null)
+        {
+            final long dataSetAccessPropertyListId = H5Pcreate(H5P_DATASET_ACCESS);
+            try
+            {
+                H5Pset_chunk_cache(dataSetAccessPropertyListId,
+                        chunkCacheOrNull.getNumberOfSlots(), chunkCacheOrNull.getSizeInBytes(),
+                        chunkCacheOrNull.getPreemptionPolicy());
+                dataSetId = H5Dopen(fileId, path, dataSetAccessPropertyListId);
+            } finally
+            {
+                H5Pclose(dataSetAccessPropertyListId);
+            }
+        } else
+        {
+            dataSetId = H5Dopen(fileId, path, H5P_DEFAULT);
+        }
         if (registry != null)
         {
             registry.registerCleanUp(new Runnable()
@@ -975,8 +1415,11 @@ class HDF5
         final long[] dataDimensions = dimsMaxDims[0];
         final long[] maxDimensions = dimsMaxDims[1];
         final HDF5StorageLayout layout = getLayout(dataSetId, registry);
-        extendDataSet(dataSetId, dataSpaceId, rank, layout, dataDimensions, newDimensions, maxDimensions,
-                overwriteMode, registry);
+        if (extendDataSet(dataSetId, dataSpaceId, rank, layout, dataDimensions, newDimensions,
+                maxDimensions, overwriteMode, registry))
+        {
+            invalidateCachedDataSet(path, null);
+        }
         return dataSetId;
     }
 
@@ -984,9 +1427,14 @@ class HDF5
             boolean overwriteMode, ICleanUpRegistry registry)
                     throws HDF5SpaceRankMismatch, HDF5JavaException
     {
-        return extendDataSet(dataSet.getDataSetId(), dataSet.getDataSpaceId(),
+        final boolean extended = extendDataSet(dataSet.getDataSetId(), dataSet.getDataSpaceId(),
                 dataSet.getRank(), dataSet.getLayout(), dataSet.getDimensions(), newDimensions,
                 dataSet.getMaxDimensions(), overwriteMode, registry);
+        if (extended)
+        {
+            invalidateCachedDataSet(dataSet.getDataSetPath(), dataSet);
+        }
+        return extended;
     }
 
     public boolean extendDataSet(long dataSetId, long dataSpaceId, int rank,
@@ -1046,6 +1494,7 @@ class HDF5
                 {
                     setDataSetExtentChunked(dataSetId,
                             computeNewDimensions(oldDimensions, newDimensions, overwriteMode));
+                    invalidateCachedDataSet(dataSet.getDataSetPath(), dataSet);
                     return true;
                 } else
                 {
@@ -1070,6 +1519,61 @@ class HDF5
         return false;
     }
 
+    /**
+     * Sets the cache of data set handles to keep consistent on deleting, moving and extending data
+     * sets.
+     */
+    void setDataSetCache(HDF5DataSetCache dataSetCache)
+    {
+        this.dataSetCacheOrNull = dataSetCache;
+    }
+
+    /**
+     * Sets the cache of object information to keep consistent on deleting, moving and extending
+     * data sets and on changing attributes.
+     */
+    void setInformationCache(HDF5InformationCache informationCache)
+    {
+        this.informationCacheOrNull = informationCache;
+    }
+
+    /**
+     * Invalidates the cached handle of the data set <var>path</var> after it has changed its
+     * dimensions, unless the change has been made through the handle <var>keepOrNull</var>. The
+     * cached information about the data set is invalidated in any case.
+     */
+    void invalidateCachedDataSet(String path, HDF5DataSet keepOrNull)
+    {
+        if (dataSetCacheOrNull != null && isReference(path) == false)
+        {
+            dataSetCacheOrNull.invalidate(path, keepOrNull);
+        }
+        if (informationCacheOrNull != null)
+        {
+            informationCacheOrNull.invalidate(path);
+        }
+    }
+
+    /**
+     * Invalidates the cached information about the object <var>objectOrAttributeId</var>, or about
+     * the object the attribute <var>objectOrAttributeId</var> is attached to, after an attribute
+     * has been changed.
+     */
+    private void invalidateCachedInformation(long objectOrAttributeId)
+    {
+        if (informationCacheOrNull != null)
+        {
+            final String pathOrNull = H5Iget_name(objectOrAttributeId);
+            if (pathOrNull == null)
+            {
+                informationCacheOrNull.clear();
+            } else
+            {
+                informationCacheOrNull.invalidate(pathOrNull);
+            }
+        }
+    }
+
     long[] computeNewDimensions(long[] oldDimensions, long[] newDimensions,
             boolean cutDownExtendIfNecessary)
     {
@@ -1226,6 +1730,199 @@ class HDF5
                 numericConversionXferPropertyListID, data);
     }
 
+    /**
+     * Reads the data set into the direct buffer <var>data</var>, starting at its current position.
+     * The position of <var>data</var> is not changed.
+     */
+    public void readDataSet(long dataSetId, long nativeDataTypeId, long memorySpaceId,
+            long fileSpaceId, ByteBuffer data)
+    {
+        checkDirectBuffer(data);
+        H5Dread(dataSetId, nativeDataTypeId, memorySpaceId, fileSpaceId,
+                numericConversionXferPropertyListID, data);
+    }
+
+    /**
+     * Writes the data set from the direct buffer <var>data</var>, starting at its current position.
+     * The position of <var>data</var> is not changed.
+     */
+    public void writeDataSet(long dataSetId, long nativeDataTypeId, long memorySpaceId,
+            long fileSpaceId, ByteBuffer data)
+    {
+        checkDirectBuffer(data);
+        H5Dwrite(dataSetId, nativeDataTypeId, memorySpaceId, fileSpaceId, H5P_DEFAULT, data);
+    }
+
+    private static void checkDirectBuffer(ByteBuffer data)
+    {
+        if (data.isDirect() == false)
+        {
+            throw new HDF5JavaException("Only direct buffers are supported.");
+        }
+    }
+
+    /**
+     * Returns the raw data chunk cache that the data set <var>dataSetId</var> has been opened with.
+     */
+    public HDF5ChunkCacheSpec getChunkCache(long dataSetId)
+    {
+        final long dataSetAccessPropertyListId = H5Dget_access_plist(dataSetId);
+        try
+        {
+            final long[] numberOfSlots = new long[1];
+            final long[] sizeInBytes = new long[1];
+            final double[] preemptionPolicy = new double[1];
+            H5Pget_chunk_cache(dataSetAccessPropertyListId, numberOfSlots, sizeInBytes,
+                    preemptionPolicy);
+            return new HDF5ChunkCacheSpec(sizeInBytes[0], numberOfSlots[0], preemptionPolicy[0]);
+        } finally
+        {
+            H5Pclose(dataSetAccessPropertyListId);
+        }
+    }
+
+    /**
+     * Returns the number of bytes that the chunk at <var>chunkOffset</var> occupies in the file.
+     */
+    public long getChunkStorageSize(long dataSetId, long[] chunkOffset)
+    {
+        return H5Dget_chunk_storage_size(dataSetId, chunkOffset);
+    }
+
+    /**
+     * Reads the chunk at <var>chunkOffset</var> as stored in the file, bypassing the filter
+     * pipeline.
+     */
+    public HDF5RawChunk readRawChunk(long dataSetId, long[] chunkOffset)
+    {
+        final byte[] data = new byte[(int) getChunkStorageSize(dataSetId, chunkOffset)];
+        final int[] filterMask = new int[1];
+        H5Dread_chunk(dataSetId, H5P_DEFAULT, chunkOffset, filterMask, data);
+        return new HDF5RawChunk(chunkOffset, filterMask[0], data);
+    }
+
+    /**
+     * Writes the first <var>size</var> bytes of <var>data</var> as chunk at
+     * <var>chunkOffset</var>, bypassing the filter pipeline.
+     */
+    public void writeRawChunk(long dataSetId, long[] chunkOffset, int filterMask, byte[] data,
+            int size)
+    {
+        H5Dwrite_chunk(dataSetId, H5P_DEFAULT, filterMask, chunkOffset, data, size);
+    }
+
+    /**
+     * Returns the information about all allocated chunks of the data set, in the order of their
+     * coordinates in the grid of chunks.
+     * <p>
+     * <code>H5Dget_chunk_info()</code> walks the chunk index from its start on each call, so the
+     * chunks are looked up by their coordinates with <code>H5Dget_chunk_info_by_coord()</code>
+     * instead. Only if the grid of chunks has more positions than the square of the number of
+     * allocated chunks (very sparse data sets), enumerating the chunks by index is cheaper and is
+     * used.
+     */
+    public HDF5ChunkIndex.ChunkInfo[] getChunkInfos(long dataSetId, long[] dimensions,
+            int[] chunkSizes)
+    {
+        final int numberOfChunks = (int) H5Dget_num_chunks(dataSetId, H5S_ALL);
+        if (numberOfChunks == 0)
+        {
+            return new HDF5ChunkIndex.ChunkInfo[0];
+        }
+        final long[] numberOfChunksPerDimension = new long[dimensions.length];
+        long numberOfChunkPositions = 1;
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            numberOfChunksPerDimension[i] = (dimensions[i] + chunkSizes[i] - 1) / chunkSizes[i];
+            numberOfChunkPositions *= numberOfChunksPerDimension[i];
+        }
+        if (numberOfChunkPositions <= (long) numberOfChunks * numberOfChunks)
+        {
+            final HDF5ChunkIndex.ChunkInfo[] chunks =
+                    getChunkInfosByCoordinates(dataSetId, numberOfChunksPerDimension,
+                            chunkSizes, numberOfChunks);
+            if (chunks != null)
+            {
+                return chunks;
+            }
+        }
+        return getChunkInfosByIndex(dataSetId, chunkSizes, numberOfChunks);
+    }
+
+    /**
+     * Looks up all positions of the grid of chunks in row-major order. Returns <code>null</code>,
+     * if not all <var>numberOfChunks</var> allocated chunks are found within the grid.
+     */
+    private HDF5ChunkIndex.ChunkInfo[] getChunkInfosByCoordinates(long dataSetId,
+            long[] numberOfChunksPerDimension, int[] chunkSizes, int numberOfChunks)
+    {
+        final int rank = numberOfChunksPerDimension.length;
+        final HDF5ChunkIndex.ChunkInfo[] chunks = new HDF5ChunkIndex.ChunkInfo[numberOfChunks];
+        final long[] chunkCoordinates = new long[rank];
+        int count = 0;
+        while (count < numberOfChunks)
+        {
+            final HDF5ChunkIndex.ChunkInfo chunkOrNull =
+                    tryGetChunkInfo(dataSetId, chunkCoordinates, chunkSizes);
+            if (chunkOrNull != null)
+            {
+                chunks[count++] = chunkOrNull;
+            }
+            int dim = rank - 1;
+            while (dim >= 0 && ++chunkCoordinates[dim] == numberOfChunksPerDimension[dim])
+            {
+                chunkCoordinates[dim--] = 0;
+            }
+            if (dim < 0)
+            {
+                break;
+            }
+        }
+        return (count == numberOfChunks) ? chunks : null;
+    }
+
+    private HDF5ChunkIndex.ChunkInfo[] getChunkInfosByIndex(long dataSetId, int[] chunkSizes,
+            int numberOfChunks)
+    {
+        final HDF5ChunkIndex.ChunkInfo[] chunks = new HDF5ChunkIndex.ChunkInfo[numberOfChunks];
+        final int[] filterMask = new int[1];
+        final long[] addressAndSize = new long[2];
+        for (int i = 0; i < numberOfChunks; ++i)
+        {
+            final long[] offset = new long[chunkSizes.length];
+            H5Dget_chunk_info(dataSetId, H5S_ALL, i, offset, filterMask, addressAndSize);
+            chunks[i] =
+                    new HDF5ChunkIndex.ChunkInfo(offset, HDF5ChunkIndex.toChunkCoordinates(
+                            offset, chunkSizes), filterMask[0], addressAndSize[0],
+                            addressAndSize[1]);
+        }
+        Arrays.sort(chunks, HDF5ChunkIndex.CHUNK_COORDINATES_COMPARATOR);
+        return chunks;
+    }
+
+    /**
+     * Returns the information about the chunk at <var>chunkCoordinates</var> in the grid of
+     * chunks, or <code>null</code>, if this chunk is not allocated.
+     */
+    public HDF5ChunkIndex.ChunkInfo tryGetChunkInfo(long dataSetId, long[] chunkCoordinates,
+            int[] chunkSizes)
+    {
+        final long[] offset = new long[chunkCoordinates.length];
+        for (int i = 0; i < offset.length; ++i)
+        {
+            offset[i] = chunkCoordinates[i] * chunkSizes[i];
+        }
+        final int[] filterMask = new int[1];
+        final long[] addressAndSize = new long[2];
+        H5Dget_chunk_info_by_coord(dataSetId, offset, filterMask, addressAndSize);
+        if (addressAndSize[0] == -1L)
+        {
+            return null;
+        }
+        return new HDF5ChunkIndex.ChunkInfo(offset, chunkCoordinates.clone(), filterMask[0],
+                addressAndSize[0], addressAndSize[1]);
+    }
+
     public void readDataSetVL(long dataSetId, long dataTypeId, String[] data)
     {
         H5DreadVL(dataSetId, dataTypeId, H5S_ALL, H5S_ALL, H5P_DEFAULT, data);
@@ -1261,6 +1958,7 @@ class HDF5
             long dataSpaceIdOrMinusOne, ICleanUpRegistry registry)
     {
         checkMaxLength(attributeName);
+        invalidateCachedInformation(locationId);
         final long dataSpaceId =
                 (dataSpaceIdOrMinusOne == -1) ? H5Screate(H5S_SCALAR) : dataSpaceIdOrMinusOne;
         if (dataSpaceIdOrMinusOne == -1)
@@ -1300,6 +1998,7 @@ class HDF5
     public int deleteAttribute(long locationId, String attributeName)
     {
         checkMaxLength(attributeName);
+        invalidateCachedInformation(locationId);
         final int success = H5Adelete(locationId, attributeName);
         return success;
     }
@@ -1319,25 +2018,25 @@ class HDF5
         return attributeId;
     }
 
-    public List<String> getAttributeNames(long locationId, ICleanUpRegistry registry)
+    /**
+     * Returns the names of all attributes of <var>locationId</var>, in the native order of the
+     * name index, as obtained from one iteration over the attributes.
+     */
+    public List<String> getAttributeNames(long locationId)
     {
-        final H5O_info_t info = H5Oget_info(locationId);
-        final int numberOfAttributes = (int) info.num_attrs;
-        final List<String> attributeNames = new LinkedList<String>();
-        for (int i = 0; i < numberOfAttributes; ++i)
-        {
-            final long attributeId =
-                    H5Aopen_by_idx(locationId, ".", H5_INDEX_NAME, H5_ITER_NATIVE, (long) i, H5P_DEFAULT, H5P_DEFAULT);
-            registry.registerCleanUp(new Runnable()
+        final List<String> attributeNames = new ArrayList<String>();
+        H5Aiterate(locationId, H5_INDEX_NAME, H5_ITER_NATIVE, 0L, new H5A_iterate_cb()
+            {
+                @Override
+                public int callback(long location, String name, H5A_info_t info,
+                        H5A_iterate_t data)
                 {
-                    @Override
-                    public void run()
-                    {
-                        H5Aclose(attributeId);
-                    }
-                });
-            attributeNames.add(H5Aget_name(attributeId));
-        }
+                    attributeNames.add(name);
+                    return 0;
+                }
+            }, new H5A_iterate_t()
+            {
+            });
         return attributeNames;
     }
 
@@ -1390,36 +2089,43 @@ class HDF5
 
     public void writeAttribute(long attributeId, long dataTypeId, byte[] value)
     {
+        invalidateCachedInformation(attributeId);
         H5Awrite(attributeId, dataTypeId, value);
     }
 
     public void writeAttribute(long attributeId, long dataTypeId, short[] value)
     {
+        invalidateCachedInformation(attributeId);
         H5Awrite(attributeId, dataTypeId, value);
     }
 
     public void writeAttribute(long attributeId, long dataTypeId, int[] value)
     {
+        invalidateCachedInformation(attributeId);
         H5Awrite(attributeId, dataTypeId, value);
     }
 
     public void writeAttribute(long attributeId, long dataTypeId, long[] value)
     {
+        invalidateCachedInformation(attributeId);
         H5Awrite(attributeId, dataTypeId, value);
     }
 
     public void writeAttribute(long attributeId, long dataTypeId, float[] value)
     {
+        invalidateCachedInformation(attributeId);
         H5Awrite(attributeId, dataTypeId, value);
     }
 
     public void writeAttribute(long attributeId, long dataTypeId, double[] value)
     {
+        invalidateCachedInformation(attributeId);
         H5Awrite(attributeId, dataTypeId, value);
     }
 
     public void writeAttributeStringVL(long attributeId, long dataTypeId, String[] value)
     {
+        invalidateCachedInformation(attributeId);
         H5AwriteVL(attributeId, dataTypeId, value);
     }
 
@@ -1891,6 +2597,14 @@ class HDF5
         return H5Tget_class(dataTypeId);
     }
 
+    /**
+     * Returns the byte order of an atomic data type.
+     */
+    public int getDataTypeOrder(long dataTypeId)
+    {
+        return H5Tget_order(dataTypeId);
+    }
+
     public CharacterEncoding getCharacterEncoding(long dataTypeId)
     {
         final int cValue = H5Tget_cset(dataTypeId);
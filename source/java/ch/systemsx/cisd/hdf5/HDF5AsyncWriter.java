@@ -0,0 +1,479 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+import ch.systemsx.cisd.base.exceptions.CheckedExceptionTunnel;
+import ch.systemsx.cisd.base.exceptions.InterruptedExceptionUnchecked;
+import ch.systemsx.cisd.base.mdarray.MDByteArray;
+import ch.systemsx.cisd.base.mdarray.MDDoubleArray;
+import ch.systemsx.cisd.base.mdarray.MDFloatArray;
+import ch.systemsx.cisd.base.mdarray.MDIntArray;
+import ch.systemsx.cisd.base.mdarray.MDLongArray;
+import ch.systemsx.cisd.base.mdarray.MDShortArray;
+
+/**
+ * An implementation of {@link IHDF5AsyncWriter} that performs the writes on a dedicated thread.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5AsyncWriter implements IHDF5AsyncWriter
+{
+    /** A write operation together with the future to complete when it is performed. */
+    private static final class QueuedWrite
+    {
+        private final IWriteOperation operation;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<Void>();
+
+        QueuedWrite(IWriteOperation operation)
+        {
+            this.operation = operation;
+        }
+    }
+
+    /** Tells the I/O thread to stop. */
+    private static final QueuedWrite EXIT = new QueuedWrite(null);
+
+    private final IHDF5Writer writer;
+
+    private final String filePath;
+
+    private final BlockingQueue<QueuedWrite> queue;
+
+    private final Backpressure backpressure;
+
+    private final BufferHandling bufferHandling;
+
+    private final Thread ioThread;
+
+    /** The exception of the first write that failed, or <code>null</code>. */
+    private volatile Throwable failureOrNull;
+
+    /**
+     * Guards the queue against submissions after closing: held for reading while submitting, for
+     * writing while closing.
+     */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates an asynchronous writer for <var>writer</var> with a queue of
+     * <var>queueCapacity</var> writes, which blocks the submitting thread when the queue is full
+     * and takes ownership of the arrays submitted.
+     */
+    public HDF5AsyncWriter(IHDF5Writer writer, int queueCapacity)
+    {
+        this(writer, queueCapacity, Backpressure.BLOCK, BufferHandling.TAKE_OWNERSHIP);
+    }
+
+    /**
+     * Creates an asynchronous writer for <var>writer</var> with a queue of
+     * <var>queueCapacity</var> writes.
+     * 
+     * @param backpressure What to do when a write is submitted while the queue is full.
+     * @param bufferHandling Whether to take ownership of or to copy the arrays submitted.
+     */
+    public HDF5AsyncWriter(IHDF5Writer writer, int queueCapacity, Backpressure backpressure,
+            BufferHandling bufferHandling)
+    {
+        assert writer != null;
+        assert backpressure != null;
+        assert bufferHandling != null;
+
+        if (queueCapacity <= 0)
+        {
+            throw new IllegalArgumentException("Queue capacity needs to be positive, but is "
+                    + queueCapacity + ".");
+        }
+        this.writer = writer;
+        this.filePath = writer.file().getFile().getPath();
+        this.queue = new ArrayBlockingQueue<QueuedWrite>(queueCapacity);
+        this.backpressure = backpressure;
+        this.bufferHandling = bufferHandling;
+        this.ioThread = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    performWrites();
+                }
+            }, "HDF5 Async Writer " + writer.file().getFile().getName());
+        this.ioThread.setDaemon(true);
+        this.ioThread.start();
+    }
+
+    private void performWrites()
+    {
+        while (true)
+        {
+            final QueuedWrite write;
+            try
+            {
+                write = queue.take();
+            } catch (InterruptedException ex)
+            {
+                // Only close() may stop this thread.
+                continue;
+            }
+            if (write == EXIT)
+            {
+                return;
+            }
+            final Throwable previousFailureOrNull = failureOrNull;
+            if (previousFailureOrNull != null)
+            {
+                write.future.completeExceptionally(previousFailureOrNull);
+                continue;
+            }
+            try
+            {
+                write.operation.write(writer);
+                write.future.complete(null);
+            } catch (Throwable th)
+            {
+                failureOrNull = th;
+                write.future.completeExceptionally(th);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> submit(IWriteOperation operation)
+    {
+        assert operation != null;
+
+        final QueuedWrite write = new QueuedWrite(operation);
+        closeLock.readLock().lock();
+        try
+        {
+            checkOpen();
+            final Throwable failure = failureOrNull;
+            if (failure != null)
+            {
+                write.future.completeExceptionally(failure);
+            } else if (backpressure == Backpressure.FAIL)
+            {
+                if (queue.offer(write) == false)
+                {
+                    throw new RejectedExecutionException("Write queue of file '"
+                            + filePath + "' is full.");
+                }
+            } else
+            {
+                put(write);
+            }
+        } finally
+        {
+            closeLock.readLock().unlock();
+        }
+        return write.future;
+    }
+
+    private void put(QueuedWrite write)
+    {
+        try
+        {
+            queue.put(write);
+        } catch (InterruptedException ex)
+        {
+            throw new InterruptedExceptionUnchecked(ex);
+        }
+    }
+
+    private boolean copy()
+    {
+        return bufferHandling == BufferHandling.COPY;
+    }
+
+    @Override
+    public CompletableFuture<Void> writeArrayBlockWithOffset(final String objectPath,
+            float[] data, final int dataSize, final long offset)
+    {
+        final float[] dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.float32().writeArrayBlockWithOffset(objectPath, dataToWrite, dataSize,
+                            offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeArrayBlockWithOffset(final String objectPath,
+            double[] data, final int dataSize, final long offset)
+    {
+        final double[] dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.float64().writeArrayBlockWithOffset(objectPath, dataToWrite, dataSize,
+                            offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeArrayBlockWithOffset(final String objectPath,
+            int[] data, final int dataSize, final long offset)
+    {
+        final int[] dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.int32().writeArrayBlockWithOffset(objectPath, dataToWrite, dataSize,
+                            offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeArrayBlockWithOffset(final String objectPath,
+            long[] data, final int dataSize, final long offset)
+    {
+        final long[] dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.int64().writeArrayBlockWithOffset(objectPath, dataToWrite, dataSize,
+                            offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeArrayBlockWithOffset(final String objectPath,
+            short[] data, final int dataSize, final long offset)
+    {
+        final short[] dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.int16().writeArrayBlockWithOffset(objectPath, dataToWrite, dataSize,
+                            offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeArrayBlockWithOffset(final String objectPath,
+            byte[] data, final int dataSize, final long offset)
+    {
+        final byte[] dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.int8().writeArrayBlockWithOffset(objectPath, dataToWrite, dataSize,
+                            offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(final String objectPath,
+            MDFloatArray data, final long[] offset)
+    {
+        final MDFloatArray dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.float32().writeMDArrayBlockWithOffset(objectPath, dataToWrite, offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(final String objectPath,
+            MDDoubleArray data, final long[] offset)
+    {
+        final MDDoubleArray dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.float64().writeMDArrayBlockWithOffset(objectPath, dataToWrite, offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(final String objectPath,
+            MDIntArray data, final long[] offset)
+    {
+        final MDIntArray dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.int32().writeMDArrayBlockWithOffset(objectPath, dataToWrite, offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(final String objectPath,
+            MDLongArray data, final long[] offset)
+    {
+        final MDLongArray dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.int64().writeMDArrayBlockWithOffset(objectPath, dataToWrite, offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(final String objectPath,
+            MDShortArray data, final long[] offset)
+    {
+        final MDShortArray dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.int16().writeMDArrayBlockWithOffset(objectPath, dataToWrite, offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(final String objectPath,
+            MDByteArray data, final long[] offset)
+    {
+        final MDByteArray dataToWrite = copy() ? data.clone() : data;
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.int8().writeMDArrayBlockWithOffset(objectPath, dataToWrite, offset);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> flush()
+    {
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.file().flush();
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> flushSyncBlocking()
+    {
+        return submit(new IWriteOperation()
+            {
+                @Override
+                public void write(IHDF5Writer w)
+                {
+                    w.file().flushSyncBlocking();
+                }
+            });
+    }
+
+    @Override
+    public int getNumberOfQueuedWrites()
+    {
+        return queue.size();
+    }
+
+    private void checkOpen()
+    {
+        if (closed)
+        {
+            throw new HDF5JavaException("Asynchronous writer of file '" + filePath
+                    + "' is closed.");
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        closeLock.writeLock().lock();
+        try
+        {
+            if (closed)
+            {
+                return;
+            }
+            closed = true;
+        } finally
+        {
+            closeLock.writeLock().unlock();
+        }
+        boolean interrupted = false;
+        while (true)
+        {
+            try
+            {
+                queue.put(EXIT);
+                ioThread.join();
+                break;
+            } catch (InterruptedException ex)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+        final Throwable failure = failureOrNull;
+        if (failure != null)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(failure);
+        }
+    }
+
+}
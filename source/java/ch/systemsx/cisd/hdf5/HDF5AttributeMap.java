@@ -0,0 +1,261 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+/**
+ * All (non-internal) attributes of an object, read in one pass.
+ * <p>
+ * The values are of the Java type the typed readers return for the attribute:
+ * <ul>
+ * <li>Integers: <code>Byte</code>, <code>Short</code>, <code>Integer</code> or <code>Long</code>
+ * (by element size, unsigned integers as the signed type of the same size) for scalars,
+ * <code>byte[]</code>, <code>short[]</code>, <code>int[]</code> or <code>long[]</code> for arrays
+ * of rank 1, <code>MDByteArray</code> ... <code>MDLongArray</code> for arrays of higher rank.</li>
+ * <li>Floating point numbers: <code>Float</code> or <code>Double</code>, <code>float[]</code> or
+ * <code>double[]</code>, <code>MDFloatArray</code> or <code>MDDoubleArray</code>.</li>
+ * <li>Strings: <code>String</code>, <code>String[]</code> or
+ * <code>MDArray&lt;String&gt;</code>.</li>
+ * <li>Booleans: <code>Boolean</code>.</li>
+ * <li>Enumerations: {@link HDF5EnumerationValue}, {@link HDF5EnumerationValueArray} or
+ * {@link HDF5EnumerationValueMDArray}.</li>
+ * <li>All other attributes (compounds, bit fields, opaque values, references): the raw
+ * <code>byte[]</code> in native byte order.</li>
+ * </ul>
+ * The type information, including the type variant (e.g. for time stamps), is available from
+ * {@link #getTypeInformation(String)}.
+ * <p>
+ * Obtain an object of this class by calling
+ * {@link IHDF5ObjectReadOnlyInfoProviderHandler#readAllAttributes(String)}. The map cannot be
+ * modified. Array values are not copied, they belong to the caller.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5AttributeMap
+{
+    private final String objectPath;
+
+    private final Map<String, Object> values;
+
+    private final Map<String, HDF5DataTypeInformation> typeInformation;
+
+    HDF5AttributeMap(String objectPath, LinkedHashMap<String, Object> values,
+            Map<String, HDF5DataTypeInformation> typeInformation)
+    {
+        assert values.keySet().equals(typeInformation.keySet());
+
+        this.objectPath = objectPath;
+        this.values = Collections.unmodifiableMap(values);
+        this.typeInformation = typeInformation;
+    }
+
+    /**
+     * Returns the path of the object the attributes belong to.
+     */
+    public String getObjectPath()
+    {
+        return objectPath;
+    }
+
+    /**
+     * Returns the names of the attributes.
+     */
+    public List<String> getNames()
+    {
+        return new ArrayList<String>(values.keySet());
+    }
+
+    /**
+     * Returns the number of attributes.
+     */
+    public int size()
+    {
+        return values.size();
+    }
+
+    /**
+     * Returns <code>true</code>, if the object has an attribute <var>attributeName</var>.
+     */
+    public boolean contains(String attributeName)
+    {
+        return values.containsKey(attributeName);
+    }
+
+    /**
+     * Returns the attributes as an unmodifiable map from attribute name to value.
+     */
+    public Map<String, Object> asMap()
+    {
+        return values;
+    }
+
+    /**
+     * Returns the type information of attribute <var>attributeName</var>.
+     * 
+     * @throws IllegalArgumentException If the object has no attribute <var>attributeName</var>.
+     */
+    public HDF5DataTypeInformation getTypeInformation(String attributeName)
+    {
+        checkContains(attributeName);
+        return typeInformation.get(attributeName);
+    }
+
+    /**
+     * Returns the value of attribute <var>attributeName</var>.
+     * 
+     * @throws IllegalArgumentException If the object has no attribute <var>attributeName</var>.
+     */
+    public Object getValue(String attributeName)
+    {
+        checkContains(attributeName);
+        return values.get(attributeName);
+    }
+
+    /**
+     * Returns the value of the string attribute <var>attributeName</var>.
+     * 
+     * @throws IllegalArgumentException If the object has no attribute <var>attributeName</var>.
+     * @throws HDF5JavaException If the attribute is not a scalar string.
+     */
+    public String getString(String attributeName)
+    {
+        return getValue(attributeName, String.class);
+    }
+
+    /**
+     * Returns the value of the boolean attribute <var>attributeName</var>.
+     * 
+     * @throws IllegalArgumentException If the object has no attribute <var>attributeName</var>.
+     * @throws HDF5JavaException If the attribute is not a scalar boolean.
+     */
+    public boolean getBoolean(String attributeName)
+    {
+        return getValue(attributeName, Boolean.class);
+    }
+
+    /**
+     * Returns the value of the integer attribute <var>attributeName</var> as an <code>int</code>.
+     * 
+     * @throws IllegalArgumentException If the object has no attribute <var>attributeName</var>.
+     * @throws HDF5JavaException If the attribute is not a scalar integer of at most 4 bytes.
+     */
+    public int getInt(String attributeName)
+    {
+        final Object value = getValue(attributeName);
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte)
+        {
+            return ((Number) value).intValue();
+        }
+        throw wrongType(attributeName, value, "int");
+    }
+
+    /**
+     * Returns the value of the integer attribute <var>attributeName</var> as a <code>long</code>.
+     * 
+     * @throws IllegalArgumentException If the object has no attribute <var>attributeName</var>.
+     * @throws HDF5JavaException If the attribute is not a scalar integer.
+     */
+    public long getLong(String attributeName)
+    {
+        final Object value = getValue(attributeName);
+        if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte)
+        {
+            return ((Number) value).longValue();
+        }
+        throw wrongType(attributeName, value, "long");
+    }
+
+    /**
+     * Returns the value of the numeric attribute <var>attributeName</var> as a
+     * <code>double</code>.
+     * 
+     * @throws IllegalArgumentException If the object has no attribute <var>attributeName</var>.
+     * @throws HDF5JavaException If the attribute is not a scalar number.
+     */
+    public double getDouble(String attributeName)
+    {
+        final Object value = getValue(attributeName);
+        if (value instanceof Number)
+        {
+            return ((Number) value).doubleValue();
+        }
+        throw wrongType(attributeName, value, "double");
+    }
+
+    /**
+     * Returns the value of the enumeration attribute <var>attributeName</var>.
+     * 
+     * @throws IllegalArgumentException If the object has no attribute <var>attributeName</var>.
+     * @throws HDF5JavaException If the attribute is not a scalar enumeration.
+     */
+    public HDF5EnumerationValue getEnum(String attributeName)
+    {
+        return getValue(attributeName, HDF5EnumerationValue.class);
+    }
+
+    /**
+     * Returns the value of attribute <var>attributeName</var> as an instance of
+     * <var>valueClass</var>, e.g. <code>double[].class</code>.
+     * 
+     * @throws IllegalArgumentException If the object has no attribute <var>attributeName</var>.
+     * @throws HDF5JavaException If the value is not an instance of <var>valueClass</var>.
+     */
+    public <T> T getValue(String attributeName, Class<T> valueClass)
+    {
+        final Object value = getValue(attributeName);
+        if (valueClass.isInstance(value) == false)
+        {
+            throw wrongType(attributeName, value, valueClass.getSimpleName());
+        }
+        return valueClass.cast(value);
+    }
+
+    private void checkContains(String attributeName)
+    {
+        if (values.containsKey(attributeName) == false)
+        {
+            throw new IllegalArgumentException("Object '" + objectPath
+                    + "' has no attribute '" + attributeName + "'.");
+        }
+    }
+
+    private HDF5JavaException wrongType(String attributeName, Object value, String typeName)
+    {
+        return new HDF5JavaException("Attribute '" + attributeName + "' of object '" + objectPath
+                + "' is of type '" + value.getClass().getSimpleName() + "', not '" + typeName
+                + "'.");
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public String toString()
+    {
+        return "HDF5AttributeMap [objectPath=" + objectPath + ", names=" + values.keySet() + "]";
+    }
+
+}
@@ -28,13 +28,18 @@ import static ch.systemsx.cisd.hdf5.HDF5Utils.getVariableLengthStringDataTypePat
 import static ch.systemsx.cisd.hdf5.HDF5Utils.removeInternalNames;
 import static hdf.hdf5lib.HDF5Constants.H5S_ALL;
 import static hdf.hdf5lib.HDF5Constants.H5T_ARRAY;
+import static hdf.hdf5lib.HDF5Constants.H5T_COMPOUND;
 import static hdf.hdf5lib.HDF5Constants.H5T_ENUM;
+import static hdf.hdf5lib.HDF5Constants.H5T_FLOAT;
+import static hdf.hdf5lib.HDF5Constants.H5T_INTEGER;
 import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT32;
 import static hdf.hdf5lib.HDF5Constants.H5T_STRING;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -96,6 +101,21 @@ class HDF5BaseReader
 
     protected final File hdf5File;
 
+    /** The image to read the file from, or <code>null</code>, if the file is read from disk. */
+    protected final ByteBuffer fileImageOrNull;
+
+    protected final HDF5FileAccessProperties fileAccessProperties;
+
+    /** Serves reads from memory mapped regions of the file, or <code>null</code>, if disabled. */
+    private HDF5MemoryMappedDataSets memoryMappedDataSetsOrNull;
+
+    /** Decompresses chunks of whole data set reads in parallel, or <code>null</code>, if disabled. */
+    private HDF5ParallelChunkReader parallelChunkReaderOrNull;
+
+    private HDF5DataSetCache dataSetCacheOrNull;
+
+    private HDF5InformationCache informationCacheOrNull;
+
     protected final CleanUpCallable runner;
 
     protected final CleanUpRegistry fileRegistry;
@@ -122,7 +142,11 @@ class HDF5BaseReader
         }
     }
 
-    private final List<DataTypeContainer> namedDataTypeList;
+    /**
+     * Index of the named data types by their fingerprint, see {@link #getDataTypeFingerprint(long)}.
+     * The lists are in the order the data types have been read.
+     */
+    private final Map<List<Object>, List<DataTypeContainer>> namedDataTypeIndex;
 
     protected final HDF5 h5;
 
@@ -152,23 +176,52 @@ class HDF5BaseReader
     {
         this(hdf5File, performNumericConversions, false, autoDereference, fileFormat, mdcGenerateImage, 
                 overwrite,
-                preferredHouseKeepingNameSuffix);
+                preferredHouseKeepingNameSuffix, new HDF5FileAccessProperties());
     }
 
     HDF5BaseReader(File hdf5File, boolean performNumericConversions, boolean useUTF8CharEncoding,
             boolean autoDereference, FileFormatVersionBounds fileFormat, MDCImageGeneration mdcGenerateImage, 
-            boolean overwrite, String preferredHouseKeepingNameSuffix)
+            boolean overwrite, String preferredHouseKeepingNameSuffix,
+            HDF5FileAccessProperties fileAccessProperties)
+    {
+        this(hdf5File, null, performNumericConversions, useUTF8CharEncoding, autoDereference,
+                fileFormat, mdcGenerateImage, overwrite, preferredHouseKeepingNameSuffix,
+                fileAccessProperties);
+    }
+
+    /**
+     * Creates a reader for the file image <var>fileImage</var>, <var>imageName</var> is only used to
+     * identify the file.
+     */
+    HDF5BaseReader(String imageName, ByteBuffer fileImage, boolean performNumericConversions,
+            boolean useUTF8CharEncoding, boolean autoDereference,
+            String preferredHouseKeepingNameSuffix, HDF5FileAccessProperties fileAccessProperties)
+    {
+        this(new File(imageName), fileImage, performNumericConversions, useUTF8CharEncoding,
+                autoDereference, FileFormatVersionBounds.getDefault(),
+                MDCImageGeneration.NO_GENERATE_MDC_IMAGE, false, preferredHouseKeepingNameSuffix,
+                fileAccessProperties);
+    }
+
+    private HDF5BaseReader(File hdf5File, ByteBuffer fileImageOrNull,
+            boolean performNumericConversions, boolean useUTF8CharEncoding,
+            boolean autoDereference, FileFormatVersionBounds fileFormat,
+            MDCImageGeneration mdcGenerateImage, boolean overwrite,
+            String preferredHouseKeepingNameSuffix, HDF5FileAccessProperties fileAccessProperties)
     {
         assert hdf5File != null;
         assert preferredHouseKeepingNameSuffix != null;
+        assert fileAccessProperties != null;
 
         this.readOnly = true;
         this.performNumericConversions = performNumericConversions;
         this.hdf5File = hdf5File.getAbsoluteFile();
+        this.fileImageOrNull = fileImageOrNull;
+        this.fileAccessProperties = fileAccessProperties;
         this.runner = new CleanUpCallable();
         this.fileRegistry = CleanUpRegistry.createSynchonized();
         this.namedDataTypeMap = new HashMap<String, Long>();
-        this.namedDataTypeList = new ArrayList<DataTypeContainer>();
+        this.namedDataTypeIndex = new HashMap<List<Object>, List<DataTypeContainer>>();
         this.encodingForNewDataSets =
                 useUTF8CharEncoding ? CharacterEncoding.UTF8 : CharacterEncoding.ASCII;
         this.h5 =
@@ -216,6 +269,11 @@ class HDF5BaseReader
 
     long openFile(FileFormatVersionBounds fileFormat, MDCImageGeneration mdcGenerateImage, boolean overwrite)
     {
+        if (fileImageOrNull != null)
+        {
+            return h5.openFileImageReadOnly(hdf5File.getPath(), fileImageOrNull,
+                    fileAccessProperties, fileRegistry);
+        }
         if (hdf5File.exists() == false)
         {
             throw new HDF5FileNotFoundException(hdf5File, "Path does not exit.");
@@ -232,7 +290,7 @@ class HDF5BaseReader
         {
             throw new HDF5FileNotFoundException(hdf5File, "Path is not a valid HDF5 file.");
         }
-        return h5.openFileReadOnly(hdf5File.getPath(), fileRegistry);
+        return h5.openFileReadOnly(hdf5File.getPath(), fileAccessProperties, fileRegistry);
     }
 
     void checkOpen() throws HDF5JavaException
@@ -262,11 +320,159 @@ class HDF5BaseReader
         }
     }
 
+    /**
+     * Enables serving reads of contiguous, unfiltered data sets from memory mapped regions of the
+     * file. Has no effect for file images.
+     */
+    void enableMemoryMapping()
+    {
+        if (fileImageOrNull != null || memoryMappedDataSetsOrNull != null)
+        {
+            return;
+        }
+        final HDF5MemoryMappedDataSets memoryMappedDataSets = new HDF5MemoryMappedDataSets(this);
+        fileRegistry.registerCleanUp(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    memoryMappedDataSets.close();
+                }
+            });
+        this.memoryMappedDataSetsOrNull = memoryMappedDataSets;
+    }
+
+    /**
+     * Returns the data set <var>objectPath</var> mapped into memory, if memory mapping is enabled
+     * and the data set can be read with <var>memoryTypeId</var> from the mapped region, or
+     * <code>null</code> otherwise.
+     */
+    HDF5MemoryMappedDataSets.MappedDataSet tryGetMemoryMapped(String objectPath,
+            long memoryTypeId)
+    {
+        return (memoryMappedDataSetsOrNull == null) ? null : memoryMappedDataSetsOrNull.tryGet(
+                objectPath, memoryTypeId);
+    }
+
+    /**
+     * Enables decompressing the chunks of reads of whole deflated data sets on
+     * <var>numberOfThreads</var> threads.
+     */
+    void enableParallelDecompression(int numberOfThreads)
+    {
+        if (parallelChunkReaderOrNull != null)
+        {
+            return;
+        }
+        final HDF5ParallelChunkReader parallelChunkReader =
+                new HDF5ParallelChunkReader(this, numberOfThreads);
+        fileRegistry.registerCleanUp(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    parallelChunkReader.close();
+                }
+            });
+        this.parallelChunkReaderOrNull = parallelChunkReader;
+    }
+
+    /**
+     * Returns the plan for reading the data set <var>objectPath</var> as a whole with
+     * <var>memoryTypeId</var> with parallel decompression, if parallel decompression is enabled
+     * and applicable to the data set, or <code>null</code> otherwise.
+     */
+    HDF5ParallelChunkReader.Plan tryPlanParallelRead(String objectPath, long memoryTypeId)
+    {
+        return (parallelChunkReaderOrNull == null) ? null : parallelChunkReaderOrNull.tryPlan(
+                objectPath, memoryTypeId);
+    }
+
+    /**
+     * Reads the data set of <var>plan</var> into <var>data</var> with parallel decompression.
+     */
+    void readParallel(HDF5ParallelChunkReader.Plan plan, Object data)
+    {
+        parallelChunkReaderOrNull.read(plan, data);
+    }
+
+    /**
+     * Enables a cache of up to <var>maxSize</var> open data set handles that path-based methods of
+     * the primitive readers and writers use instead of opening the data set on each call.
+     */
+    void enableDataSetCache(int maxSize)
+    {
+        if (dataSetCacheOrNull != null)
+        {
+            return;
+        }
+        final HDF5DataSetCache dataSetCache = new HDF5DataSetCache(this, maxSize);
+        fileRegistry.registerCleanUp(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    dataSetCache.clear();
+                }
+            });
+        h5.setDataSetCache(dataSetCache);
+        this.dataSetCacheOrNull = dataSetCache;
+    }
+
+    /**
+     * Enables a cache of the information about up to <var>maxSize</var> objects (data set
+     * information, dimensions, type variants and object information), keyed by path.
+     */
+    void enableInformationCache(int maxSize)
+    {
+        if (informationCacheOrNull != null)
+        {
+            return;
+        }
+        final HDF5InformationCache informationCache = new HDF5InformationCache(maxSize);
+        fileRegistry.registerCleanUp(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    informationCache.clear();
+                }
+            });
+        h5.setInformationCache(informationCache);
+        this.informationCacheOrNull = informationCache;
+    }
+
+    /**
+     * Returns the information cache, if it is enabled, or <code>null</code> otherwise.
+     */
+    HDF5InformationCache tryGetInformationCache()
+    {
+        return informationCacheOrNull;
+    }
+
+    /**
+     * Returns the cached handle of the data set <var>objectPath</var>, if the data set cache is
+     * enabled, or <code>null</code> otherwise.
+     */
+    HDF5DataSet tryGetCachedDataSet(String objectPath)
+    {
+        return (dataSetCacheOrNull == null) ? null : dataSetCacheOrNull.tryGet(objectPath);
+    }
+
     boolean isClosed()
     {
         return state == State.CLOSED;
     }
 
+    /**
+     * Returns the number of clean-ups registered for closing this file, e.g. of open
+     * {@link HDF5DataSet}s.
+     */
+    int getNumberOfFileCleanUps()
+    {
+        return fileRegistry.size();
+    }
+
     String tryGetHouseKeepingNameSuffix()
     {
         final ICallableWithCleanUp<String> readRunnable = new ICallableWithCleanUp<String>()
@@ -301,6 +507,12 @@ class HDF5BaseReader
     }
 
     public HDF5DataSet openDataSet(final String objectPath)
+    {
+        return openDataSet(objectPath, null);
+    }
+
+    public HDF5DataSet openDataSet(final String objectPath,
+            final HDF5ChunkCacheSpec chunkCacheOrNull)
     {
         final ICallableWithCleanUp<HDF5DataSet> openDataSetCallable =
                 new ICallableWithCleanUp<HDF5DataSet>()
@@ -308,22 +520,13 @@ class HDF5BaseReader
                         @Override
                         public HDF5DataSet call(ICleanUpRegistry registry)
                         {
-                            final long dataSetId = h5.openDataSet(fileId, objectPath, null);
+                            final long dataSetId =
+                                    h5.openDataSet(fileId, objectPath, chunkCacheOrNull, null);
                             final HDF5StorageLayout layout = h5.getLayout(dataSetId, registry);
                             final long dataSpaceId = h5.getDataSpaceForDataSet(dataSetId, null);
                             final long[] dimensions = h5.getDataSpaceDimensions(dataSpaceId);
-                            final HDF5DataSet dataSet =
-                                    new HDF5DataSet(HDF5BaseReader.this, objectPath, dataSetId, dataSpaceId, 
-                                            dimensions, null, layout, true);
-                            fileRegistry.registerCleanUp(new Runnable()
-                                {
-                                    @Override
-                                    public void run()
-                                    {
-                                        dataSet.close();
-                                    }
-                                });
-                            return dataSet;
+                            return new HDF5DataSet(HDF5BaseReader.this, objectPath, dataSetId,
+                                    dataSpaceId, dimensions, null, layout, true);
                         }
                     };
         return runner.call(openDataSetCallable);
@@ -378,16 +581,61 @@ class HDF5BaseReader
 
     String tryGetDataTypePath(long dataTypeId)
     {
-        for (DataTypeContainer namedDataType : namedDataTypeList)
+        if (namedDataTypeIndex.isEmpty() == false)
         {
-            if (h5.dataTypesAreEqual(dataTypeId, namedDataType.typeId))
+            final List<DataTypeContainer> candidatesOrNull =
+                    namedDataTypeIndex.get(getDataTypeFingerprint(dataTypeId));
+            if (candidatesOrNull != null)
             {
-                return namedDataType.typePath;
+                for (DataTypeContainer namedDataType : candidatesOrNull)
+                {
+                    if (h5.dataTypesAreEqual(dataTypeId, namedDataType.typeId))
+                    {
+                        return namedDataType.typePath;
+                    }
+                }
             }
         }
         return h5.tryGetDataTypePath(dataTypeId);
     }
 
+    /**
+     * Returns a fingerprint of the structure of the data type <var>dataTypeId</var>: its class, its
+     * size, the byte order for integer and float types and the (sorted) member names for enum and
+     * compound types. Data types that are equal have equal fingerprints, so only data types with the same
+     * fingerprint need to be compared by the library.
+     */
+    private List<Object> getDataTypeFingerprint(long dataTypeId)
+    {
+        final int classType = h5.getClassType(dataTypeId);
+        final List<Object> fingerprint = new ArrayList<Object>(3);
+        fingerprint.add(classType);
+        fingerprint.add(h5.getDataTypeSize(dataTypeId));
+        if (classType == H5T_INTEGER || classType == H5T_FLOAT)
+        {
+            fingerprint.add(h5.getDataTypeOrder(dataTypeId));
+        } else if (classType == H5T_ENUM || classType == H5T_COMPOUND)
+        {
+            // The library compares members sorted by name, so the member order must not matter.
+            final String[] memberNames = h5.getNamesForEnumOrCompoundMembers(dataTypeId);
+            Arrays.sort(memberNames);
+            fingerprint.add(Arrays.asList(memberNames));
+        }
+        return fingerprint;
+    }
+
+    private void addToNamedDataTypeIndex(long dataTypeId, String dataTypePath)
+    {
+        final List<Object> fingerprint = getDataTypeFingerprint(dataTypeId);
+        List<DataTypeContainer> namedDataTypes = namedDataTypeIndex.get(fingerprint);
+        if (namedDataTypes == null)
+        {
+            namedDataTypes = new ArrayList<DataTypeContainer>(1);
+            namedDataTypeIndex.put(fingerprint, namedDataTypes);
+        }
+        namedDataTypes.add(new DataTypeContainer(dataTypeId, dataTypePath));
+    }
+
     void renameNamedDataType(String oldPath, String newPath)
     {
         final Long typeIdOrNull = namedDataTypeMap.remove(oldPath);
@@ -395,12 +643,20 @@ class HDF5BaseReader
         {
             namedDataTypeMap.put(newPath, typeIdOrNull);
         }
-        for (int i = 0; i < namedDataTypeList.size(); ++i)
+        if (informationCacheOrNull != null)
+        {
+            // The data type paths of data sets using the type are cached.
+            informationCacheOrNull.clear();
+        }
+        for (List<DataTypeContainer> namedDataTypes : namedDataTypeIndex.values())
         {
-            final DataTypeContainer c = namedDataTypeList.get(i);
-            if (c.typePath.equals(oldPath))
+            for (int i = 0; i < namedDataTypes.size(); ++i)
             {
-                namedDataTypeList.set(i, new DataTypeContainer(c.typeId, newPath));
+                final DataTypeContainer c = namedDataTypes.get(i);
+                if (c.typePath.equals(oldPath))
+                {
+                    namedDataTypes.set(i, new DataTypeContainer(c.typeId, newPath));
+                }
             }
         }
     }
@@ -489,7 +745,7 @@ class HDF5BaseReader
             {
                 final long dataTypeId = h5.openDataType(fileId, dataTypeSubPath, fileRegistry);
                 namedDataTypeMap.put(dataTypeSubPath, dataTypeId);
-                namedDataTypeList.add(new DataTypeContainer(dataTypeId, dataTypeSubPath));
+                addToNamedDataTypeIndex(dataTypeId, dataTypeSubPath);
             }
         }
     }
@@ -1046,6 +1302,17 @@ class HDF5BaseReader
     {
         assert dataSetPath != null;
 
+        final List<Object> cacheKey =
+                Arrays.<Object> asList("dataSetInformation", options.knowsDataTypePath(),
+                        options.knowsDataTypeVariant(), fillDimensions);
+        final HDF5InformationCache cacheOrNull = informationCacheOrNull;
+        final Object cachedInfo =
+                (cacheOrNull != null) ? cacheOrNull.lookup(dataSetPath, cacheKey) : null;
+        if (cacheOrNull != null && HDF5InformationCache.isMissing(cachedInfo) == false)
+        {
+            // The cached object is mutable through its arrays, thus hand out copies only.
+            return ((HDF5DataSetInformation) cachedInfo).copy();
+        }
         final ICallableWithCleanUp<HDF5DataSetInformation> informationDeterminationRunnable =
                 new ICallableWithCleanUp<HDF5DataSetInformation>()
                     {
@@ -1076,7 +1343,13 @@ class HDF5BaseReader
                             return dataSetInfo;
                         }
                     };
-        return runner.call(informationDeterminationRunnable);
+        final HDF5DataSetInformation dataSetInfo = runner.call(informationDeterminationRunnable);
+        if (cacheOrNull == null)
+        {
+            return dataSetInfo;
+        }
+        cacheOrNull.put(dataSetPath, cacheKey, dataSetInfo);
+        return dataSetInfo.copy();
     }
 
     /**
@@ -1090,6 +1363,14 @@ class HDF5BaseReader
     {
         assert dataSetPath != null;
 
+        final List<Object> cacheKey = Collections.<Object> singletonList("spaceDimensions");
+        final HDF5InformationCache cacheOrNull = informationCacheOrNull;
+        final Object cachedDimensions =
+                (cacheOrNull != null) ? cacheOrNull.lookup(dataSetPath, cacheKey) : null;
+        if (cacheOrNull != null && HDF5InformationCache.isMissing(cachedDimensions) == false)
+        {
+            return ((long[]) cachedDimensions).clone();
+        }
         final ICallableWithCleanUp<long[]> informationDeterminationRunnable =
                 new ICallableWithCleanUp<long[]>()
                     {
@@ -1100,7 +1381,12 @@ class HDF5BaseReader
                             return h5.getDimensions(dataSetId, false, registry);
                         }
                     };
-        return runner.call(informationDeterminationRunnable);
+        final long[] dimensions = runner.call(informationDeterminationRunnable);
+        if (cacheOrNull != null)
+        {
+            cacheOrNull.put(dataSetPath, cacheKey, dimensions.clone());
+        }
+        return dimensions;
     }
 
     /**
@@ -1140,6 +1426,14 @@ class HDF5BaseReader
     {
         assert dataSetPath != null;
 
+        final List<Object> cacheKey = Collections.<Object> singletonList("spaceRank");
+        final HDF5InformationCache cacheOrNull = informationCacheOrNull;
+        final Object cachedRank =
+                (cacheOrNull != null) ? cacheOrNull.lookup(dataSetPath, cacheKey) : null;
+        if (cacheOrNull != null && HDF5InformationCache.isMissing(cachedRank) == false)
+        {
+            return (Integer) cachedRank;
+        }
         final ICallableWithCleanUp<Integer> informationDeterminationRunnable =
                 new ICallableWithCleanUp<Integer>()
                     {
@@ -1150,13 +1444,22 @@ class HDF5BaseReader
                             return h5.getRank(dataSetId, false, registry);
                         }
                     };
-        return runner.call(informationDeterminationRunnable);
+        final Integer rank = runner.call(informationDeterminationRunnable);
+        return (cacheOrNull == null) ? rank : cacheOrNull.put(dataSetPath, cacheKey, rank);
     }
 
     HDF5DataTypeVariant tryGetTypeVariant(final String objectPath)
     {
         assert objectPath != null;
 
+        final List<Object> cacheKey = Collections.<Object> singletonList("typeVariant");
+        final HDF5InformationCache cacheOrNull = informationCacheOrNull;
+        final Object cachedTypeVariant =
+                (cacheOrNull != null) ? cacheOrNull.lookup(objectPath, cacheKey) : null;
+        if (cacheOrNull != null && HDF5InformationCache.isMissing(cachedTypeVariant) == false)
+        {
+            return (HDF5DataTypeVariant) cachedTypeVariant;
+        }
         final ICallableWithCleanUp<HDF5DataTypeVariant> readRunnable =
                 new ICallableWithCleanUp<HDF5DataTypeVariant>()
                     {
@@ -1168,7 +1471,9 @@ class HDF5BaseReader
                         }
                     };
 
-        return runner.call(readRunnable);
+        final HDF5DataTypeVariant typeVariantOrNull = runner.call(readRunnable);
+        return (cacheOrNull == null) ? typeVariantOrNull : cacheOrNull.put(objectPath, cacheKey,
+                typeVariantOrNull);
     }
 
     HDF5DataTypeVariant tryGetTypeVariant(final String objectPath, final String attributeName)
@@ -112,17 +112,25 @@ final class HDF5BaseWriter extends HDF5BaseReader
             });
     }
 
-    private final RandomAccessFile fileForSyncing;
+    /** The file to call <code>fsync(2)</code> on, or <code>null</code> if the file is in memory. */
+    private final RandomAccessFile fileForSyncingOrNull;
 
     private enum Command
     {
         SYNC, CLOSE_ON_EXIT, CLOSE_SYNC, EXIT
     }
 
-    private final BlockingQueue<Command> commandQueue;
+    /**
+     * The commands for the sync thread, or <code>null</code> if the file is in memory without a
+     * backing store.
+     */
+    private final BlockingQueue<Command> commandQueueOrNull;
 
     private final Set<Flushable> flushables = new LinkedHashSet<Flushable>();
 
+    /** Compresses the chunks of block writes in parallel, or <code>null</code>, if disabled. */
+    private HDF5ParallelChunkWriter parallelChunkWriterOrNull;
+
     final boolean useExtentableDataTypes;
 
     final boolean overwriteFile;
@@ -139,29 +147,45 @@ final class HDF5BaseWriter extends HDF5BaseReader
             boolean autoDereference, FileFormatVersionBounds fileFormat, MDCImageGeneration mdcGenerateImage, 
             boolean useExtentableDataTypes, boolean overwriteFile, boolean keepDataSetIfExists,
             boolean useSimpleDataSpaceForAttributes, String preferredHouseKeepingNameSuffix,
-            SyncMode syncMode)
+            SyncMode syncMode, HDF5FileAccessProperties fileAccessProperties)
     {
         super(hdf5File, performNumericConversions, useUTF8CharEncoding, autoDereference,
-                fileFormat, mdcGenerateImage, overwriteFile, preferredHouseKeepingNameSuffix);
+                fileFormat, mdcGenerateImage, overwriteFile, preferredHouseKeepingNameSuffix,
+                fileAccessProperties);
         this.readOnly = false;
-        try
+        if (fileAccessProperties.isInMemory()
+                && fileAccessProperties.isInMemoryBackingStore() == false)
         {
-            this.fileForSyncing = new RandomAccessFile(hdf5File, "rw");
-        } catch (FileNotFoundException ex)
+            // The file is never written to disk, so there is nothing to sync.
+            this.fileForSyncingOrNull = null;
+            this.syncMode = SyncMode.NO_SYNC;
+        } else
         {
-            // Should not be happening as openFile() was called in super()
-            throw new HDF5JavaException("Cannot open RandomAccessFile: " + ex.getMessage());
+            try
+            {
+                this.fileForSyncingOrNull = new RandomAccessFile(hdf5File, "rw");
+            } catch (FileNotFoundException ex)
+            {
+                // Should not be happening as openFile() was called in super()
+                throw new HDF5JavaException("Cannot open RandomAccessFile: " + ex.getMessage());
+            }
+            this.syncMode = syncMode;
         }
         this.fileFormat = fileFormat;
         this.useExtentableDataTypes = useExtentableDataTypes;
         this.overwriteFile = overwriteFile;
         this.keepDataSetIfExists = keepDataSetIfExists;
         this.useSimpleDataSpaceForAttributes = useSimpleDataSpaceForAttributes;
-        this.syncMode = syncMode;
         readNamedDataTypes();
         saveNonDefaultHouseKeepingNameSuffix();
-        commandQueue = new LinkedBlockingQueue<Command>();
-        setupSyncThread();
+        if (fileForSyncingOrNull != null)
+        {
+            commandQueueOrNull = new LinkedBlockingQueue<Command>();
+            setupSyncThread();
+        } else
+        {
+            commandQueueOrNull = null;
+        }
     }
 
     private void setupSyncThread()
@@ -175,7 +199,7 @@ final class HDF5BaseWriter extends HDF5BaseReader
                     {
                         try
                         {
-                            switch (commandQueue.take())
+                            switch (commandQueueOrNull.take())
                             {
                                 case SYNC:
                                     syncNow();
@@ -194,7 +218,7 @@ final class HDF5BaseWriter extends HDF5BaseReader
                             // Shutdown has been triggered by showdownNow(), add
                             // <code>CLOSEHDF</code> to queue.
                             // (Note that a close() on a closed RandomAccessFile is harmless.)
-                            commandQueue.add(Command.CLOSE_ON_EXIT);
+                            commandQueueOrNull.add(Command.CLOSE_ON_EXIT);
                         }
                     }
                 }
@@ -205,6 +229,18 @@ final class HDF5BaseWriter extends HDF5BaseReader
     long openFile(FileFormatVersionBounds fileFormatInit, MDCImageGeneration mdcGenerateImage, boolean overwriteInit)
     {
         boolean generateMDCImage = mdcGenerateImage.isGenerateImageForNewFile();
+        if (fileAccessProperties.isInMemory()
+                && fileAccessProperties.isInMemoryBackingStore() == false)
+        {
+            // The file will never be written to disk.
+            if (hdf5File.exists() && hdf5File.isFile() && overwriteInit == false)
+            {
+                return h5.openFileReadWrite(hdf5File.getPath(), fileFormatInit, generateMDCImage,
+                        fileAccessProperties, fileRegistry);
+            }
+            return h5.createFile(hdf5File.getPath(), fileFormatInit, generateMDCImage,
+                    fileAccessProperties, fileRegistry);
+        }
         if (hdf5File.exists() && overwriteInit == false)
         {
             if (hdf5File.canWrite() == false)
@@ -215,7 +251,8 @@ final class HDF5BaseWriter extends HDF5BaseReader
             {
                 generateMDCImage = HDF5Factory.hasMDCImage(hdf5File);
             }
-            return h5.openFileReadWrite(hdf5File.getPath(), fileFormatInit, generateMDCImage, fileRegistry);
+            return h5.openFileReadWrite(hdf5File.getPath(), fileFormatInit, generateMDCImage,
+                    fileAccessProperties, fileRegistry);
         } else
         {
             final File directory = hdf5File.getParentFile();
@@ -227,7 +264,8 @@ final class HDF5BaseWriter extends HDF5BaseReader
             {
                 throw new HDF5FileNotFoundException(directory, "Directory is not writable.");
             }
-            return h5.createFile(hdf5File.getPath(), fileFormatInit, generateMDCImage, fileRegistry);
+            return h5.createFile(hdf5File.getPath(), fileFormatInit, generateMDCImage,
+                    fileAccessProperties, fileRegistry);
         }
     }
 
@@ -236,6 +274,10 @@ final class HDF5BaseWriter extends HDF5BaseReader
      */
     private void syncNow()
     {
+        if (fileForSyncingOrNull == null)
+        {
+            return;
+        }
         try
         {
             // Implementation note 1: Unix will call fsync(), , Windows: FlushFileBuffers()
@@ -243,7 +285,7 @@ final class HDF5BaseWriter extends HDF5BaseReader
             // might be better in terms of performance as if shutdownNow() already has been
             // triggered on the syncExecutor and thus this thread has already been interrupted,
             // channel methods would throw a ClosedByInterruptException at us no matter what we do.
-            fileForSyncing.getFD().sync();
+            fileForSyncingOrNull.getFD().sync();
         } catch (IOException ex)
         {
             final String msg =
@@ -277,9 +319,13 @@ final class HDF5BaseWriter extends HDF5BaseReader
 
     private void closeSync()
     {
+        if (fileForSyncingOrNull == null)
+        {
+            return;
+        }
         try
         {
-            fileForSyncing.close();
+            fileForSyncingOrNull.close();
         } catch (IOException ex)
         {
             throw new HDF5JavaException("Error closing file: " + ex.getMessage());
@@ -296,6 +342,45 @@ final class HDF5BaseWriter extends HDF5BaseReader
         return flushables.remove(flushable);
     }
 
+    /**
+     * Enables compressing the chunks of block writes of deflated data sets on
+     * <var>numberOfThreads</var> threads.
+     */
+    void enableParallelCompression(int numberOfThreads)
+    {
+        if (parallelChunkWriterOrNull != null)
+        {
+            return;
+        }
+        final HDF5ParallelChunkWriter parallelChunkWriter =
+                new HDF5ParallelChunkWriter(this, numberOfThreads);
+        fileRegistry.registerCleanUp(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    parallelChunkWriter.close();
+                }
+            });
+        this.parallelChunkWriterOrNull = parallelChunkWriter;
+    }
+
+    /**
+     * Writes the block of <var>blockDimensions</var> in <var>data</var> at <var>offset</var> of
+     * <var>dataSetId</var> with parallel compression, if parallel compression is enabled and
+     * applicable to the data set and block.
+     * 
+     * @return <code>true</code>, if the block has been written, <code>false</code>, if it still
+     *         needs to be written.
+     */
+    boolean tryWriteParallel(long dataSetId, long memoryTypeId, long[] offset,
+            long[] blockDimensions, Object data, ICleanUpRegistry registry)
+    {
+        return (parallelChunkWriterOrNull != null)
+                && parallelChunkWriterOrNull.tryWrite(dataSetId, memoryTypeId, offset,
+                        blockDimensions, data, registry);
+    }
+
     void flushExternals()
     {
         for (Flushable f : flushables)
@@ -324,7 +409,7 @@ final class HDF5BaseWriter extends HDF5BaseReader
             h5.flushFile(fileId);
             if (NON_BLOCKING_SYNC_MODES.contains(syncMode))
             {
-                commandQueue.add(Command.SYNC);
+                commandQueueOrNull.add(Command.SYNC);
             } else if (BLOCKING_SYNC_MODES.contains(syncMode))
             {
                 syncNow();
@@ -354,7 +439,7 @@ final class HDF5BaseWriter extends HDF5BaseReader
                 super.close();
                 if (SyncMode.SYNC == syncMode)
                 {
-                    commandQueue.add(Command.SYNC);
+                    commandQueueOrNull.add(Command.SYNC);
                 } else if (SyncMode.SYNC_BLOCK == syncMode)
                 {
                     syncNow();
@@ -363,13 +448,16 @@ final class HDF5BaseWriter extends HDF5BaseReader
                 if (EnumSet.complementOf(NON_BLOCKING_SYNC_MODES).contains(syncMode))
                 {
                     closeSync();
-                    commandQueue.add(Command.EXIT);
+                    if (commandQueueOrNull != null)
+                    {
+                        commandQueueOrNull.add(Command.EXIT);
+                    }
                 } else
                 {
                     // End syncer thread and avoid a race condition for non-blocking sync modes as
                     // the
                     // syncer thread still may want to use the fileForSynching
-                    commandQueue.add(Command.CLOSE_SYNC);
+                    commandQueueOrNull.add(Command.CLOSE_SYNC);
                 }
             }
         }
@@ -1087,14 +1175,7 @@ final class HDF5BaseWriter extends HDF5BaseReader
                                             features.tryGetProposedLayout());
                             final HDF5DataSet dataSet = h5.createDataSetDetached(HDF5BaseWriter.this, dimensions, 
                                             definitiveChunkSizeOrNull, storageDataTypeId, features, objectPath, layout, registry);
-                            fileRegistry.registerCleanUp(new Runnable()
-                            {
-                                @Override
-                                public void run()
-                                {
-                                    dataSet.close();
-                                }
-                            });
+                            // The data set registers itself for being closed with the file.
                             return dataSet;
                         }
                     };
@@ -1238,6 +1319,7 @@ final class HDF5BaseWriter extends HDF5BaseReader
         assert newDimensions != null;
 
         final long dataSetId = h5.openDataSet(fileId, objectPath, registry);
+        h5.invalidateCachedDataSet(objectPath, null);
         try
         {
             h5.setDataSetExtentChunked(dataSetId, newDimensions);
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import static hdf.hdf5lib.H5.H5Sclose;
+
+import java.util.Arrays;
+
+import ch.systemsx.cisd.hdf5.cleanup.CleanUpRegistry;
+import ch.systemsx.cisd.hdf5.cleanup.ICleanUpRegistry;
+
+/**
+ * A cursor that iterates over the blocks of a data set, refilling the same array on each step.
+ * <p>
+ * The data set, its data space and the memory space are kept open for the whole scan and no
+ * objects are allocated per block, which makes this the method of choice for scanning very large
+ * data sets. A typical pattern is:
+ * 
+ * <pre>
+ *    try (final HDF5DataSet ds = reader.object().openDataSet("/path/to/dataset");
+ *            final HDF5BlockCursor&lt;double[]&gt; cursor =
+ *                    reader.float64().blockCursor(ds, new int[] { 1024 * 1024 }))
+ *    {
+ *        final double[] data = cursor.getData();
+ *        while (cursor.next())
+ *        {
+ *            ... work with the first cursor.getBlockDimension(0) elements of data ...
+ *        }
+ *    }
+ * </pre>
+ * 
+ * The blocks are visited in row-major order. Blocks at the upper border of a dimension can be
+ * smaller than the block dimensions, see {@link #getBlockDimension(int)}. The data of such a block
+ * are stored in the array laid out by the full block dimensions, that is the array is treated as
+ * a row-major array of the full block dimensions and only the corner of the actual block
+ * dimensions is filled.
+ * <p>
+ * <i>Close the cursor after usage. Closing the cursor does not close the data set.</i>
+ * 
+ * @author Bernd Rinn
+ */
+public abstract class HDF5BlockCursor<T> implements AutoCloseable
+{
+    private final HDF5BaseReader baseReader;
+
+    private final HDF5DataSet dataSet;
+
+    private final T data;
+
+    private final int[] blockDimensions;
+
+    private final long[] dimensions;
+
+    private final long[] numberOfBlocks;
+
+    private final long[] index;
+
+    private final long[] offset;
+
+    private final long[] effectiveBlockDimensions;
+
+    private final long[] memoryOffset;
+
+    private final long totalNumberOfBlocks;
+
+    private long blockNumber;
+
+    private long memorySpaceId;
+
+    private CleanUpRegistry.Registration memorySpaceRegistration;
+
+    HDF5BlockCursor(final HDF5BaseReader baseReader, HDF5DataSet dataSet, int[] blockDimensions,
+            T data, int dataLength)
+    {
+        assert baseReader != null;
+        assert dataSet != null;
+        assert blockDimensions != null;
+        assert data != null;
+
+        baseReader.checkOpen();
+        baseReader.h5.checkRank(blockDimensions.length, dataSet.getRank());
+        final int blockLength = getBlockLength(blockDimensions);
+        final int rank = blockDimensions.length;
+        final long[] memoryDimensions = new long[rank];
+        long numberOfBlocksTotal = 1;
+        this.dimensions = dataSet.getDimensions().clone();
+        this.numberOfBlocks = new long[rank];
+        for (int i = 0; i < rank; ++i)
+        {
+            memoryDimensions[i] = blockDimensions[i];
+            numberOfBlocks[i] = (dimensions[i] + blockDimensions[i] - 1) / blockDimensions[i];
+            numberOfBlocksTotal *= numberOfBlocks[i];
+        }
+        if (dataLength < blockLength)
+        {
+            throw new IllegalArgumentException("Array of length " + dataLength
+                    + " is too small for blocks of " + blockLength + " elements.");
+        }
+        this.baseReader = baseReader;
+        this.dataSet = dataSet;
+        this.data = data;
+        this.blockDimensions = blockDimensions.clone();
+        this.index = new long[rank];
+        this.offset = new long[rank];
+        this.effectiveBlockDimensions = new long[rank];
+        this.memoryOffset = new long[rank];
+        this.totalNumberOfBlocks = numberOfBlocksTotal;
+        this.blockNumber = -1;
+        this.memorySpaceId =
+                baseReader.h5.createSimpleDataSpace(memoryDimensions, new ICleanUpRegistry()
+                    {
+                        @Override
+                        public void registerCleanUp(final Runnable closeMemorySpace)
+                        {
+                            // Ensures the memory space gets closed with the file, if the caller
+                            // doesn't close the cursor.
+                            memorySpaceRegistration =
+                                    baseReader.fileRegistry
+                                            .registerRemovableCleanUp(new Runnable()
+                                                {
+                                                    @Override
+                                                    public void run()
+                                                    {
+                                                        memorySpaceId = -1;
+                                                        closeMemorySpace.run();
+                                                    }
+                                                });
+                        }
+                    });
+    }
+
+    /**
+     * Returns the number of elements of a block of <var>blockDimensions</var>.
+     * 
+     * @throws IllegalArgumentException If one of the block dimensions is not positive or the
+     *             block is too large for a Java array.
+     */
+    static int getBlockLength(int[] blockDimensions)
+    {
+        long blockLength = 1;
+        for (int i = 0; i < blockDimensions.length; ++i)
+        {
+            if (blockDimensions[i] <= 0)
+            {
+                throw new IllegalArgumentException("Block dimension " + i
+                        + " needs to be positive, but is " + blockDimensions[i] + ".");
+            }
+            blockLength *= blockDimensions[i];
+            if (blockLength > Integer.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("Block of dimensions "
+                        + Arrays.toString(blockDimensions) + " is too large for a Java array.");
+            }
+        }
+        return (int) blockLength;
+    }
+
+    /**
+     * Reads the current block into the array of this cursor, using the selections of
+     * <var>memorySpaceId</var> and <var>fileSpaceId</var>.
+     */
+    abstract void readBlock(HDF5 h5, long dataSetId, long memorySpaceId, long fileSpaceId);
+
+    /**
+     * Advances the cursor to the next block and reads it into the array of this cursor.
+     * 
+     * @return <code>true</code>, if there was a next block, <code>false</code> if all blocks have
+     *         been read.
+     */
+    public boolean next()
+    {
+        if (memorySpaceId < 0)
+        {
+            throw new IllegalStateException("Block cursor is closed.");
+        }
+        if (blockNumber + 1 >= totalNumberOfBlocks)
+        {
+            blockNumber = totalNumberOfBlocks;
+            return false;
+        }
+        baseReader.checkOpen();
+        if (++blockNumber > 0)
+        {
+            for (int i = index.length - 1; i >= 0; --i)
+            {
+                if (++index[i] < numberOfBlocks[i])
+                {
+                    break;
+                }
+                index[i] = 0;
+            }
+        }
+        for (int i = 0; i < index.length; ++i)
+        {
+            offset[i] = index[i] * blockDimensions[i];
+            effectiveBlockDimensions[i] = Math.min(blockDimensions[i], dimensions[i] - offset[i]);
+        }
+        final long fileSpaceId = dataSet.getDataSpaceId();
+        baseReader.h5.setHyperslabBlock(fileSpaceId, offset, effectiveBlockDimensions);
+        baseReader.h5.setHyperslabBlock(memorySpaceId, memoryOffset, effectiveBlockDimensions);
+        readBlock(baseReader.h5, dataSet.getDataSetId(), memorySpaceId, fileSpaceId);
+        return true;
+    }
+
+    /**
+     * Returns the array that the blocks are read into.
+     */
+    public T getData()
+    {
+        return data;
+    }
+
+    /**
+     * Returns the rank of the data set.
+     */
+    public int getRank()
+    {
+        return blockDimensions.length;
+    }
+
+    /**
+     * Returns the total number of blocks of this cursor.
+     */
+    public long getNumberOfBlocks()
+    {
+        return totalNumberOfBlocks;
+    }
+
+    /**
+     * Returns the running number of the current block, counted from 0 in row-major order.
+     */
+    public long getBlockNumber()
+    {
+        checkPositioned();
+        return blockNumber;
+    }
+
+    /**
+     * Returns the index of the current block in dimension <var>dim</var>.
+     */
+    public long getIndex(int dim)
+    {
+        checkPositioned();
+        return index[dim];
+    }
+
+    /**
+     * Returns the offset of the current block in the data set in dimension <var>dim</var>.
+     */
+    public long getOffset(int dim)
+    {
+        checkPositioned();
+        return offset[dim];
+    }
+
+    /**
+     * Returns the actual size of the current block in dimension <var>dim</var>. This is smaller
+     * than the block dimension for blocks at the upper border of the data set.
+     */
+    public int getBlockDimension(int dim)
+    {
+        checkPositioned();
+        return (int) effectiveBlockDimensions[dim];
+    }
+
+    private void checkPositioned()
+    {
+        if (blockNumber < 0 || blockNumber >= totalNumberOfBlocks)
+        {
+            throw new IllegalStateException("Block cursor is not positioned on a block.");
+        }
+    }
+
+    /**
+     * Releases the memory space of this cursor. Does not close the data set.
+     */
+    @Override
+    public void close()
+    {
+        if (memorySpaceId > -1)
+        {
+            baseReader.fileRegistry.deregister(memorySpaceRegistration);
+            H5Sclose(memorySpaceId);
+            memorySpaceId = -1;
+        }
+    }
+
+}
@@ -25,6 +25,8 @@ import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT8;
 import static hdf.hdf5lib.HDF5Constants.H5T_STD_I8LE;
 import static hdf.hdf5lib.HDF5Constants.H5T_STD_U8LE;
 
+import java.nio.ByteBuffer;
+
 import ch.systemsx.cisd.base.mdarray.MDArray;
 import ch.systemsx.cisd.base.mdarray.MDByteArray;
 import ch.systemsx.cisd.hdf5.cleanup.ICallableWithCleanUp;
@@ -198,6 +200,11 @@ class HDF5ByteWriter extends HDF5ByteReader implements IHDF5ByteWriter
                             baseWriter.getOrCreateDataSetId(objectPath, 
                                 features.isSigned() ? H5T_STD_I8LE : H5T_STD_U8LE, new long[]
                                 { data.length }, 1, features, registry);
+                    if (baseWriter.tryWriteParallel(dataSetId, H5T_NATIVE_INT8, new long[1],
+                            new long[] { data.length }, data, registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     H5Dwrite(dataSetId, H5T_NATIVE_INT8, H5S_ALL, H5S_ALL, H5P_DEFAULT, 
                             data);
                     return null; // Nothing to return.
@@ -402,6 +409,12 @@ class HDF5ByteWriter extends HDF5ByteReader implements IHDF5ByteWriter
         assert data != null;
 
         baseWriter.checkOpen();
+        final HDF5DataSet cachedDataSetOrNull = baseWriter.tryGetCachedDataSet(objectPath);
+        if (cachedDataSetOrNull != null && cachedDataSetOrNull.getRank() == 1)
+        {
+            writeArrayBlockWithOffset(cachedDataSetOrNull, data, dataSize, offset);
+            return;
+        }
         final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
             {
                 @Override
@@ -415,6 +428,11 @@ class HDF5ByteWriter extends HDF5ByteReader implements IHDF5ByteWriter
                             baseWriter.h5.openAndExtendDataSet(baseWriter.fileId, objectPath,
                                     baseWriter.fileFormat, new long[]
                                         { offset + dataSize }, false, registry);
+                    if (baseWriter.tryWriteParallel(dataSetId, H5T_NATIVE_INT8, slabStartOrNull,
+                            blockDimensions, data, registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     final long dataSpaceId = 
                             baseWriter.h5.getDataSpaceForDataSet(dataSetId, registry);
                     baseWriter.h5.setHyperslabBlock(dataSpaceId, slabStartOrNull, blockDimensions);
@@ -448,9 +466,11 @@ class HDF5ByteWriter extends HDF5ByteReader implements IHDF5ByteWriter
                         { offset };
                     final long[] requiredDimensions = new long[]
                         { offset + dataSize };
-                    if (baseWriter.h5.extendDataSet(dataSet, requiredDimensions, false, registry))
+                    dataSet.extend(requiredDimensions);
+                    if (baseWriter.tryWriteParallel(dataSet.getDataSetId(), H5T_NATIVE_INT8,
+                            slabStartOrNull, blockDimensions, data, registry))
                     {
-                        dataSet.setDimensions(requiredDimensions);
+                        return null; // Nothing to return.
                     }
                     final long dataSpaceId =
                             baseWriter.h5.getDataSpaceForDataSet(dataSet.getDataSetId(), registry);
@@ -650,6 +670,12 @@ class HDF5ByteWriter extends HDF5ByteReader implements IHDF5ByteWriter
                     final long dataSetId =
                             baseWriter.getOrCreateDataSetId(objectPath, features.isSigned() ? H5T_STD_I8LE : H5T_STD_U8LE, 
                                     data.longDimensions(), 1, features, registry);
+                    if (baseWriter.tryWriteParallel(dataSetId, H5T_NATIVE_INT8,
+                            new long[data.rank()], data.longDimensions(), data.getAsFlatArray(),
+                            registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     H5Dwrite(dataSetId, H5T_NATIVE_INT8, H5S_ALL, H5S_ALL, H5P_DEFAULT, 
                             data.getAsFlatArray());
                     return null; // Nothing to return.
@@ -679,6 +705,120 @@ class HDF5ByteWriter extends HDF5ByteReader implements IHDF5ByteWriter
         baseWriter.runner.call(writeRunnable);
     }
 
+    @Override
+    public void writeFromBuffer(final String objectPath, final ByteBuffer buffer,
+            final long[] dimensions)
+    {
+        writeFromBuffer(objectPath, buffer, dimensions, INT_NO_COMPRESSION);
+    }
+
+    @Override
+    public void writeFromBuffer(final String objectPath, final ByteBuffer buffer,
+            final long[] dimensions, final HDF5IntStorageFeatures features)
+    {
+        assert objectPath != null;
+        assert buffer != null;
+        assert dimensions != null;
+
+        baseWriter.checkOpen();
+        final int sizeInBytes = MDArray.getLength(dimensions) * 1;
+        HDF5Utils.checkBufferSize(buffer, sizeInBytes);
+        final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
+            {
+                @Override
+                public Void call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId =
+                            baseWriter.getOrCreateDataSetId(objectPath, features.isSigned() ? H5T_STD_I8LE : H5T_STD_U8LE, 
+                                    dimensions, 1, features, registry);
+                    baseWriter.h5.writeDataSet(dataSetId, H5T_NATIVE_INT8, H5S_ALL, H5S_ALL,
+                            buffer);
+                    return null; // Nothing to return.
+                }
+            };
+        baseWriter.runner.call(writeRunnable);
+        buffer.position(buffer.position() + sizeInBytes);
+    }
+
+    @Override
+    public void writeFromBuffer(final String objectPath, final ByteBuffer buffer,
+            final int[] blockDimensions, final long[] offset)
+    {
+        assert objectPath != null;
+        assert buffer != null;
+        assert blockDimensions != null;
+        assert offset != null;
+
+        baseWriter.checkOpen();
+        baseWriter.h5.checkRank(blockDimensions.length, offset.length);
+        final long[] dimensions = MDArray.toLong(blockDimensions);
+        final int sizeInBytes = MDArray.getLength(dimensions) * 1;
+        HDF5Utils.checkBufferSize(buffer, sizeInBytes);
+        final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
+            {
+                @Override
+                public Void call(ICleanUpRegistry registry)
+                {
+                    final long[] dataSetDimensions = new long[dimensions.length];
+                    for (int i = 0; i < offset.length; ++i)
+                    {
+                        dataSetDimensions[i] = offset[i] + dimensions[i];
+                    }
+                    final long dataSetId =
+                            baseWriter.h5.openAndExtendDataSet(baseWriter.fileId, objectPath,
+                                    baseWriter.fileFormat, dataSetDimensions, false, registry);
+                    final long dataSpaceId = 
+                            baseWriter.h5.getDataSpaceForDataSet(dataSetId, registry);
+                    baseWriter.h5.setHyperslabBlock(dataSpaceId, offset, dimensions);
+                    final long memorySpaceId = 
+                            baseWriter.h5.createSimpleDataSpace(dimensions, registry);
+                    baseWriter.h5.writeDataSet(dataSetId, H5T_NATIVE_INT8, memorySpaceId,
+                            dataSpaceId, buffer);
+                    return null; // Nothing to return.
+                }
+            };
+        baseWriter.runner.call(writeRunnable);
+        buffer.position(buffer.position() + sizeInBytes);
+    }
+
+    @Override
+    public void writeFromBuffer(final HDF5DataSet dataSet, final ByteBuffer buffer,
+            final int[] blockDimensions, final long[] offset)
+    {
+        assert dataSet != null;
+        assert buffer != null;
+        assert blockDimensions != null;
+        assert offset != null;
+
+        baseWriter.checkOpen();
+        baseWriter.h5.checkRank(blockDimensions.length, offset.length);
+        baseWriter.h5.checkRank(blockDimensions.length, dataSet.getRank());
+        final long[] dimensions = MDArray.toLong(blockDimensions);
+        final int sizeInBytes = MDArray.getLength(dimensions) * 1;
+        HDF5Utils.checkBufferSize(buffer, sizeInBytes);
+        final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
+            {
+                @Override
+                public Void call(ICleanUpRegistry registry)
+                {
+                    final long[] dataSetDimensions = new long[dimensions.length];
+                    for (int i = 0; i < offset.length; ++i)
+                    {
+                        dataSetDimensions[i] = offset[i] + dimensions[i];
+                    }
+                    dataSet.extend(dataSetDimensions);
+                    final long dataSpaceId = dataSet.getDataSpaceId(); 
+                    baseWriter.h5.setHyperslabBlock(dataSpaceId, offset, dimensions);
+                    final long memorySpaceId = dataSet.getMemorySpaceId(dimensions); 
+                    baseWriter.h5.writeDataSet(dataSet.getDataSetId(), H5T_NATIVE_INT8,
+                            memorySpaceId, dataSpaceId, buffer);
+                    return null; // Nothing to return.
+                }
+            };
+        baseWriter.runner.call(writeRunnable);
+        buffer.position(buffer.position() + sizeInBytes);
+    }
+
     @Override
     public void createMDArray(final String objectPath, final int[] dimensions)
     {
@@ -978,6 +1118,12 @@ class HDF5ByteWriter extends HDF5ByteReader implements IHDF5ByteWriter
         assert offset != null;
 
         baseWriter.checkOpen();
+        final HDF5DataSet cachedDataSetOrNull = baseWriter.tryGetCachedDataSet(objectPath);
+        if (cachedDataSetOrNull != null && cachedDataSetOrNull.getRank() == data.rank())
+        {
+            writeMDArrayBlockWithOffset(cachedDataSetOrNull, data, offset);
+            return;
+        }
         final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
             {
                 @Override
@@ -993,6 +1139,11 @@ class HDF5ByteWriter extends HDF5ByteReader implements IHDF5ByteWriter
                     final long dataSetId =
                             baseWriter.h5.openAndExtendDataSet(baseWriter.fileId, objectPath,
                                     baseWriter.fileFormat, dataSetDimensions, false, registry);
+                    if (baseWriter.tryWriteParallel(dataSetId, H5T_NATIVE_INT8, offset,
+                            dimensions, data.getAsFlatArray(), registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     final long dataSpaceId = 
                             baseWriter.h5.getDataSpaceForDataSet(dataSetId, registry);
                     baseWriter.h5.setHyperslabBlock(dataSpaceId, offset, dimensions);
@@ -1043,6 +1194,11 @@ class HDF5ByteWriter extends HDF5ByteReader implements IHDF5ByteWriter
                         dataSetDimensions[i] = offset[i] + dimensions[i];
                     }
                     dataSet.extend(dataSetDimensions);
+                    if (baseWriter.tryWriteParallel(dataSet.getDataSetId(), H5T_NATIVE_INT8,
+                            offset, dimensions, data.getAsFlatArray(), registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     final long dataSpaceId = dataSet.getDataSpaceId(); 
                     baseWriter.h5.setHyperslabBlock(dataSpaceId, offset, dimensions);
                     final long memorySpaceId = dataSet.getMemorySpaceId(dimensions); 
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+/**
+ * The hit and miss counts of a cache at some point in time.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5CacheStatistics
+{
+    private final long hits;
+
+    private final long misses;
+
+    HDF5CacheStatistics(long hits, long misses)
+    {
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Returns the number of lookups that were served from the cache.
+     */
+    public long getHits()
+    {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that were not served from the cache.
+     */
+    public long getMisses()
+    {
+        return misses;
+    }
+
+    /**
+     * Returns the fraction of lookups that were served from the cache, or 0, if there haven't been
+     * any lookups.
+     */
+    public double getHitRatio()
+    {
+        final long lookups = hits + misses;
+        return (lookups == 0) ? 0.0 : hits / (double) lookups;
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public String toString()
+    {
+        return "HDF5CacheStatistics [hits=" + hits + ", misses=" + misses + ", hitRatio="
+                + getHitRatio() + "]";
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+/**
+ * The settings of the raw data chunk cache of the HDF5 library.
+ * <p>
+ * The HDF5 library keeps decompressed chunks of a data set in a cache so that repeated access to
+ * the same chunk doesn't need to read and decompress it again. Its default size (1 MB in 521 slots)
+ * is too small for data sets with big chunks or for access patterns that cut through many chunks,
+ * e.g. reading tiles that straddle chunk boundaries. Every chunk that doesn't fit in the cache
+ * will be decompressed on every access.
+ * <p>
+ * For best performance, the cache should be able to hold all chunks touched by one block read,
+ * the number of slots should be a prime number about 100 times the number of chunks that fit in
+ * the cache. Use {@link #forChunks(long, int)} to get a spec that follows these rules.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5ChunkCacheSpec
+{
+    /** The default chunk cache of the HDF5 library. */
+    public static final HDF5ChunkCacheSpec DEFAULT = new HDF5ChunkCacheSpec(1024 * 1024, 521, 0.75);
+
+    /** A spec that disables the chunk cache. */
+    public static final HDF5ChunkCacheSpec NO_CACHE = new HDF5ChunkCacheSpec(0, 0, 0.75);
+
+    private static final int SLOTS_PER_CHUNK = 100;
+
+    private final long sizeInBytes;
+
+    private final long numberOfSlots;
+
+    private final double preemptionPolicy;
+
+    /**
+     * Creates a chunk cache spec.
+     * 
+     * @param sizeInBytes The total size of the chunk cache in bytes.
+     * @param numberOfSlots The number of chunk slots in the hash table of the cache. Should be a
+     *            prime number.
+     * @param preemptionPolicy The preemption policy <code>w0</code>, a value between 0 and 1. 0
+     *            means that the least recently used chunk is evicted first, 1 means that chunks
+     *            that have been read or written completely are evicted first.
+     */
+    public HDF5ChunkCacheSpec(long sizeInBytes, long numberOfSlots, double preemptionPolicy)
+    {
+        if (sizeInBytes < 0)
+        {
+            throw new IllegalArgumentException("Size of chunk cache must not be negative, but is "
+                    + sizeInBytes + ".");
+        }
+        if (numberOfSlots < 0)
+        {
+            throw new IllegalArgumentException(
+                    "Number of chunk cache slots must not be negative, but is " + numberOfSlots
+                            + ".");
+        }
+        if (preemptionPolicy < 0.0 || preemptionPolicy > 1.0)
+        {
+            throw new IllegalArgumentException(
+                    "Preemption policy must be between 0 and 1, but is " + preemptionPolicy + ".");
+        }
+        this.sizeInBytes = sizeInBytes;
+        this.numberOfSlots = numberOfSlots;
+        this.preemptionPolicy = preemptionPolicy;
+    }
+
+    /**
+     * Returns a chunk cache spec that can hold <var>numberOfChunks</var> chunks of
+     * <var>chunkSizeInBytes</var> bytes each (uncompressed), with the number of slots chosen as
+     * recommended by the HDF5 library and the default preemption policy.
+     */
+    public static HDF5ChunkCacheSpec forChunks(long chunkSizeInBytes, int numberOfChunks)
+    {
+        if (chunkSizeInBytes <= 0 || numberOfChunks <= 0)
+        {
+            throw new IllegalArgumentException(
+                    "Chunk size and number of chunks must be positive.");
+        }
+        return new HDF5ChunkCacheSpec(chunkSizeInBytes * numberOfChunks,
+                nextPrime((long) SLOTS_PER_CHUNK * numberOfChunks), DEFAULT.preemptionPolicy);
+    }
+
+    static long nextPrime(long n)
+    {
+        long candidate = Math.max(2, n);
+        while (isPrime(candidate) == false)
+        {
+            ++candidate;
+        }
+        return candidate;
+    }
+
+    private static boolean isPrime(long n)
+    {
+        if (n % 2 == 0)
+        {
+            return n == 2;
+        }
+        for (long d = 3; d * d <= n; d += 2)
+        {
+            if (n % d == 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the total size of the chunk cache in bytes.
+     */
+    public long getSizeInBytes()
+    {
+        return sizeInBytes;
+    }
+
+    /**
+     * Returns the number of chunk slots in the hash table of the cache.
+     */
+    public long getNumberOfSlots()
+    {
+        return numberOfSlots;
+    }
+
+    /**
+     * Returns the preemption policy <code>w0</code>.
+     */
+    public double getPreemptionPolicy()
+    {
+        return preemptionPolicy;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + (int) (sizeInBytes ^ (sizeInBytes >>> 32));
+        result = prime * result + (int) (numberOfSlots ^ (numberOfSlots >>> 32));
+        final long w0Bits = Double.doubleToLongBits(preemptionPolicy);
+        result = prime * result + (int) (w0Bits ^ (w0Bits >>> 32));
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass())
+        {
+            return false;
+        }
+        final HDF5ChunkCacheSpec other = (HDF5ChunkCacheSpec) obj;
+        return sizeInBytes == other.sizeInBytes && numberOfSlots == other.numberOfSlots
+                && Double.doubleToLongBits(preemptionPolicy) == Double
+                        .doubleToLongBits(other.preemptionPolicy);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HDF5ChunkCacheSpec [sizeInBytes=" + sizeInBytes + ", numberOfSlots="
+                + numberOfSlots + ", preemptionPolicy=" + preemptionPolicy + "]";
+    }
+
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.systemsx.cisd.hdf5;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ch.systemsx.cisd.base.mdarray.MDAbstractArray;
+
+/**
+ * The index of the chunks of a chunked data set, that is the position of each allocated chunk in
+ * the data set and in the file. Chunks that have never been written are not allocated and thus not
+ * part of the index.
+ * <p>
+ * The index is a snapshot taken at the time when it was obtained, it is not updated when the data
+ * set is changed later.
+ * <p>
+ * Obtain an index by calling {@link IHDF5ObjectReadOnlyInfoProviderHandler#getChunkIndex(String)}.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5ChunkIndex
+{
+
+    /**
+     * The information about one allocated chunk.
+     */
+    public static final class ChunkInfo
+    {
+        private final long[] offset;
+
+        private final long[] chunkCoordinates;
+
+        private final int filterMask;
+
+        private final long address;
+
+        private final long size;
+
+        ChunkInfo(long[] offset, long[] chunkCoordinates, int filterMask, long address, long size)
+        {
+            this.offset = offset;
+            this.chunkCoordinates = chunkCoordinates;
+            this.filterMask = filterMask;
+            this.address = address;
+            this.size = size;
+        }
+
+        /**
+         * Returns the offset of the chunk in the data set (in data set elements).
+         */
+        public long[] getOffset()
+        {
+            return offset;
+        }
+
+        /**
+         * Returns the coordinates of the chunk in the grid of chunks, that is the offset divided by
+         * the chunk size.
+         */
+        public long[] getChunkCoordinates()
+        {
+            return chunkCoordinates;
+        }
+
+        /**
+         * Returns the mask of the filters that have <i>not</i> been applied to the chunk.
+         */
+        public int getFilterMask()
+        {
+            return filterMask;
+        }
+
+        /**
+         * Returns the address of the chunk in the file (in bytes).
+         */
+        public long getAddress()
+        {
+            return address;
+        }
+
+        /**
+         * Returns the number of bytes the chunk occupies in the file.
+         */
+        public long getSize()
+        {
+            return size;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "ChunkInfo [offset=" + Arrays.toString(offset) + ", filterMask=" + filterMask
+                    + ", address=" + address + ", size=" + size + "]";
+        }
+
+    }
+
+    /**
+     * Orders chunks by their coordinates in the grid of chunks (row-major).
+     */
+    static final Comparator<ChunkInfo> CHUNK_COORDINATES_COMPARATOR = new Comparator<ChunkInfo>()
+        {
+            @Override
+            public int compare(ChunkInfo o1, ChunkInfo o2)
+            {
+                final long[] c1 = o1.getChunkCoordinates();
+                final long[] c2 = o2.getChunkCoordinates();
+                for (int i = 0; i < Math.min(c1.length, c2.length); ++i)
+                {
+                    final int cmp = Long.compare(c1[i], c2[i]);
+                    if (cmp != 0)
+                    {
+                        return cmp;
+                    }
+                }
+                return Integer.compare(c1.length, c2.length);
+            }
+        };
+
+    private final String dataSetPath;
+
+    private final long[] dimensions;
+
+    private final int[] chunkSizes;
+
+    private final int elementSize;
+
+    private final long[] numberOfChunksPerDimension;
+
+    private final List<ChunkInfo> chunks;
+
+    private final Map<Long, ChunkInfo> chunkMap;
+
+    private final long totalStoredSize;
+
+    HDF5ChunkIndex(String dataSetPath, long[] dimensions, int[] chunkSizes, int elementSize,
+            ChunkInfo[] chunks)
+    {
+        this.dataSetPath = dataSetPath;
+        this.dimensions = dimensions;
+        this.chunkSizes = chunkSizes;
+        this.elementSize = elementSize;
+        this.numberOfChunksPerDimension = new long[dimensions.length];
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            numberOfChunksPerDimension[i] = (dimensions[i] + chunkSizes[i] - 1) / chunkSizes[i];
+        }
+        this.chunks = Collections.unmodifiableList(Arrays.asList(chunks));
+        this.chunkMap = new HashMap<Long, ChunkInfo>(chunks.length * 2);
+        long storedSize = 0;
+        for (ChunkInfo chunk : chunks)
+        {
+            storedSize += chunk.getSize();
+            final long linearIndex = tryGetLinearIndex(chunk.getChunkCoordinates());
+            if (linearIndex >= 0)
+            {
+                chunkMap.put(linearIndex, chunk);
+            }
+        }
+        this.totalStoredSize = storedSize;
+    }
+
+    static long[] toChunkCoordinates(long[] offset, int[] chunkSizes)
+    {
+        final long[] chunkCoordinates = new long[offset.length];
+        for (int i = 0; i < offset.length; ++i)
+        {
+            chunkCoordinates[i] = offset[i] / chunkSizes[i];
+        }
+        return chunkCoordinates;
+    }
+
+    private long tryGetLinearIndex(long[] chunkCoordinates)
+    {
+        if (chunkCoordinates.length != numberOfChunksPerDimension.length)
+        {
+            return -1;
+        }
+        long linearIndex = 0;
+        for (int i = 0; i < chunkCoordinates.length; ++i)
+        {
+            if (chunkCoordinates[i] < 0 || chunkCoordinates[i] >= numberOfChunksPerDimension[i])
+            {
+                return -1;
+            }
+            linearIndex = linearIndex * numberOfChunksPerDimension[i] + chunkCoordinates[i];
+        }
+        return linearIndex;
+    }
+
+    /**
+     * Returns the path of the data set this index belongs to.
+     */
+    public String getDataSetPath()
+    {
+        return dataSetPath;
+    }
+
+    /**
+     * Returns the dimensions of the data set at the time when the index was obtained.
+     */
+    public long[] getDimensions()
+    {
+        return dimensions;
+    }
+
+    /**
+     * Returns the chunk sizes of the data set (in data set elements).
+     */
+    public int[] getChunkSizes()
+    {
+        return chunkSizes;
+    }
+
+    /**
+     * Returns the number of chunks in each dimension that are needed to cover the data set.
+     */
+    public long[] getNumberOfChunksPerDimension()
+    {
+        return numberOfChunksPerDimension;
+    }
+
+    /**
+     * Returns the number of chunks needed to cover the data set, allocated or not.
+     */
+    public long getNumberOfChunkPositions()
+    {
+        long numberOfChunkPositions = 1;
+        for (long n : numberOfChunksPerDimension)
+        {
+            numberOfChunkPositions *= n;
+        }
+        return numberOfChunkPositions;
+    }
+
+    /**
+     * Returns the number of allocated chunks.
+     */
+    public int getNumberOfChunks()
+    {
+        return chunks.size();
+    }
+
+    /**
+     * Returns all allocated chunks, in the order of their coordinates in the grid of chunks.
+     */
+    public List<ChunkInfo> getChunks()
+    {
+        return chunks;
+    }
+
+    /**
+     * Returns all allocated chunks, sorted by their address in the file. Reading the chunks in
+     * this order minimizes the seeks.
+     */
+    public List<ChunkInfo> getChunksInFileOrder()
+    {
+        final ChunkInfo[] sorted = chunks.toArray(new ChunkInfo[chunks.size()]);
+        Arrays.sort(sorted, new Comparator<ChunkInfo>()
+            {
+                @Override
+                public int compare(ChunkInfo o1, ChunkInfo o2)
+                {
+                    return Long.compare(o1.getAddress(), o2.getAddress());
+                }
+            });
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Returns the chunk at <var>chunkCoordinates</var> in the grid of chunks, or
+     * <code>null</code>, if this chunk is not allocated.
+     */
+    public ChunkInfo tryGetChunk(long... chunkCoordinates)
+    {
+        final long linearIndex = tryGetLinearIndex(chunkCoordinates);
+        return (linearIndex < 0) ? null : chunkMap.get(linearIndex);
+    }
+
+    /**
+     * Returns the chunk that contains the data set element at <var>elementOffset</var>, or
+     * <code>null</code>, if this chunk is not allocated.
+     */
+    public ChunkInfo tryGetChunkForElement(long... elementOffset)
+    {
+        if (elementOffset.length != chunkSizes.length)
+        {
+            return null;
+        }
+        return tryGetChunk(toChunkCoordinates(elementOffset, chunkSizes));
+    }
+
+    /**
+     * Returns <code>true</code>, if the chunk at <var>chunkCoordinates</var> in the grid of chunks
+     * is allocated.
+     */
+    public boolean isAllocated(long... chunkCoordinates)
+    {
+        return tryGetChunk(chunkCoordinates) != null;
+    }
+
+    /**
+     * Returns the sum of the sizes of all allocated chunks in the file (in bytes).
+     */
+    public long getTotalStoredSize()
+    {
+        return totalStoredSize;
+    }
+
+    /**
+     * Returns the size that all allocated chunks would have without any filters (in bytes).
+     */
+    public long getTotalUncompressedSize()
+    {
+        return (long) chunks.size() * MDAbstractArray.getLength(chunkSizes) * elementSize;
+    }
+
+    /**
+     * Returns the compression ratio of the allocated chunks, that is the uncompressed size divided
+     * by the stored size. Returns 1 if no chunk is allocated.
+     */
+    public double getCompressionRatio()
+    {
+        return (totalStoredSize == 0) ? 1.0 : getTotalUncompressedSize()
+                / (double) totalStoredSize;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HDF5ChunkIndex [dataSetPath=" + dataSetPath + ", dimensions="
+                + Arrays.toString(dimensions) + ", chunkSizes=" + Arrays.toString(chunkSizes)
+                + ", numberOfChunks=" + chunks.size() + ", totalStoredSize=" + totalStoredSize
+                + "]";
+    }
+
+}
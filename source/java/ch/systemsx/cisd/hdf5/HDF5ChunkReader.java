@@ -0,0 +1,109 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.systemsx.cisd.hdf5;
+
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+import ch.systemsx.cisd.hdf5.cleanup.ICallableWithCleanUp;
+import ch.systemsx.cisd.hdf5.cleanup.ICleanUpRegistry;
+
+/**
+ * Implementation of {@link IHDF5ChunkReader}.
+ * 
+ * @author Bernd Rinn
+ */
+public class HDF5ChunkReader implements IHDF5ChunkReader
+{
+
+    private final HDF5BaseReader baseReader;
+
+    HDF5ChunkReader(HDF5BaseReader baseReader)
+    {
+        assert baseReader != null;
+
+        this.baseReader = baseReader;
+    }
+
+    @Override
+    public long getStorageSize(final String objectPath, final long[] chunkOffset)
+    {
+        assert objectPath != null;
+        assert chunkOffset != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<Long> sizeCallable = new ICallableWithCleanUp<Long>()
+            {
+                @Override
+                public Long call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId = openChunkedDataSet(objectPath, registry);
+                    return baseReader.h5.getChunkStorageSize(dataSetId, chunkOffset);
+                }
+            };
+        return baseReader.runner.call(sizeCallable);
+    }
+
+    @Override
+    public HDF5RawChunk readRawChunk(final String objectPath, final long[] chunkOffset)
+    {
+        assert objectPath != null;
+        assert chunkOffset != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<HDF5RawChunk> readCallable =
+                new ICallableWithCleanUp<HDF5RawChunk>()
+                    {
+                        @Override
+                        public HDF5RawChunk call(ICleanUpRegistry registry)
+                        {
+                            final long dataSetId = openChunkedDataSet(objectPath, registry);
+                            return baseReader.h5.readRawChunk(dataSetId, chunkOffset);
+                        }
+                    };
+        return baseReader.runner.call(readCallable);
+    }
+
+    @Override
+    public HDF5RawChunk readRawChunk(final HDF5DataSet dataSet, final long[] chunkOffset)
+    {
+        assert dataSet != null;
+        assert chunkOffset != null;
+
+        baseReader.checkOpen();
+        checkChunked(dataSet);
+        return baseReader.h5.readRawChunk(dataSet.getDataSetId(), chunkOffset);
+    }
+
+    long openChunkedDataSet(final String objectPath, ICleanUpRegistry registry)
+    {
+        final long dataSetId = baseReader.h5.openDataSet(baseReader.fileId, objectPath, registry);
+        if (baseReader.h5.getLayout(dataSetId, registry) != HDF5StorageLayout.CHUNKED)
+        {
+            throw new HDF5JavaException("Data set '" + objectPath + "' is not chunked.");
+        }
+        return dataSetId;
+    }
+
+    static void checkChunked(final HDF5DataSet dataSet)
+    {
+        if (dataSet.getLayout() != HDF5StorageLayout.CHUNKED)
+        {
+            throw new HDF5JavaException("Data set '" + dataSet.getDataSetPath()
+                    + "' is not chunked.");
+        }
+    }
+
+}
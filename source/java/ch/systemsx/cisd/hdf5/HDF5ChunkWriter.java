@@ -0,0 +1,92 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.systemsx.cisd.hdf5;
+
+import ch.systemsx.cisd.hdf5.cleanup.ICallableWithCleanUp;
+import ch.systemsx.cisd.hdf5.cleanup.ICleanUpRegistry;
+
+/**
+ * Implementation of {@link IHDF5ChunkWriter}.
+ * 
+ * @author Bernd Rinn
+ */
+public class HDF5ChunkWriter extends HDF5ChunkReader implements IHDF5ChunkWriter
+{
+
+    private final HDF5BaseWriter baseWriter;
+
+    HDF5ChunkWriter(HDF5BaseWriter baseWriter)
+    {
+        super(baseWriter);
+        assert baseWriter != null;
+
+        this.baseWriter = baseWriter;
+    }
+
+    @Override
+    public void writeRawChunk(String objectPath, HDF5RawChunk chunk)
+    {
+        assert chunk != null;
+
+        writeRawChunk(objectPath, chunk.getOffset(), chunk.getData(), chunk.getFilterMask());
+    }
+
+    @Override
+    public void writeRawChunk(final String objectPath, final long[] chunkOffset,
+            final byte[] data, final int filterMask)
+    {
+        assert objectPath != null;
+        assert chunkOffset != null;
+        assert data != null;
+
+        baseWriter.checkOpen();
+        final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
+            {
+                @Override
+                public Void call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId = openChunkedDataSet(objectPath, registry);
+                    baseWriter.h5.writeRawChunk(dataSetId, chunkOffset, filterMask, data,
+                            data.length);
+                    return null; // Nothing to return.
+                }
+            };
+        baseWriter.runner.call(writeRunnable);
+    }
+
+    @Override
+    public void writeRawChunk(HDF5DataSet dataSet, HDF5RawChunk chunk)
+    {
+        assert chunk != null;
+
+        writeRawChunk(dataSet, chunk.getOffset(), chunk.getData(), chunk.getFilterMask());
+    }
+
+    @Override
+    public void writeRawChunk(HDF5DataSet dataSet, long[] chunkOffset, byte[] data,
+            int filterMask)
+    {
+        assert dataSet != null;
+        assert chunkOffset != null;
+        assert data != null;
+
+        baseWriter.checkOpen();
+        checkChunked(dataSet);
+        baseWriter.h5.writeRawChunk(dataSet.getDataSetId(), chunkOffset, filterMask, data,
+                data.length);
+    }
+
+}
@@ -52,6 +52,21 @@ class HDF5CompoundByteifyerFactory
         memberFactories.add(new HDF5CompoundMemberByteifyerEnumArrayFactory());
     }
 
+    /**
+     * Whether scalar primitive fields are accessed through method handles rather than by
+     * reflection, see {@link HDF5DirectFieldMemberByteifyer}.
+     */
+    private static volatile boolean directFieldAccess = true;
+
+    /**
+     * Sets whether compound types created from now on access scalar primitive fields through
+     * method handles (the default) or by reflection.
+     */
+    static void setDirectFieldAccess(boolean enabled)
+    {
+        directFieldAccess = enabled;
+    }
+
     /**
      * The type of access to the information.
      */
@@ -145,6 +160,10 @@ class HDF5CompoundByteifyerFactory
                         factory.createBytifyer(accessType, fieldOrNull, members[i],
                                 compoundMemberInfoOrNull, enumTypeOrNullOrNull, memberClazzOrNull,
                                 i, offsetOnDisk, offsetInMemory, fileInfoProvider);
+                if (fieldOrNull != null && directFieldAccess)
+                {
+                    result[i] = HDF5DirectFieldMemberByteifyer.tryCreate(fieldOrNull, result[i]);
+                }
             }
             if (compoundMemberInfoOrNull == null)
             {
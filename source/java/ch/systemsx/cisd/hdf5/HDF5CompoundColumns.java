@@ -0,0 +1,197 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.util.Arrays;
+
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+/**
+ * A block of rows of a compound data set, stored column by column ("struct of arrays") for a
+ * selection of its members. Members of a scalar primitive type are stored in primitive arrays (e.g.
+ * <code>double[]</code> or <code>long[]</code>), strings in <code>String[]</code> and all other
+ * members in arrays of the Java type they would be read as in a compound value object.
+ * <p>
+ * Obtain an object of this class by calling {@link IHDF5CompoundReader#readColumns(String, String...)}
+ * or one of its block variants.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5CompoundColumns
+{
+    private final String[] memberNames;
+
+    private final Object[] columns;
+
+    private final int numberOfRows;
+
+    private final long offset;
+
+    HDF5CompoundColumns(String[] memberNames, Object[] columns, int numberOfRows, long offset)
+    {
+        assert memberNames.length == columns.length;
+
+        this.memberNames = memberNames;
+        this.columns = columns;
+        this.numberOfRows = numberOfRows;
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the names of the members that have been read, in the order they were requested.
+     */
+    public String[] getMemberNames()
+    {
+        return memberNames.clone();
+    }
+
+    /**
+     * Returns the number of rows read.
+     */
+    public int getNumberOfRows()
+    {
+        return numberOfRows;
+    }
+
+    /**
+     * Returns the offset of the first row read in the data set.
+     */
+    public long getOffset()
+    {
+        return offset;
+    }
+
+    /**
+     * Returns the column of member <var>memberName</var>. The result is an array with
+     * {@link #getNumberOfRows()} elements.
+     * 
+     * @throws IllegalArgumentException If <var>memberName</var> has not been read.
+     */
+    public Object getColumn(String memberName)
+    {
+        for (int i = 0; i < memberNames.length; ++i)
+        {
+            if (memberNames[i].equals(memberName))
+            {
+                return columns[i];
+            }
+        }
+        throw new IllegalArgumentException("Member '" + memberName + "' has not been read (read: "
+                + Arrays.toString(memberNames) + ").");
+    }
+
+    /**
+     * Returns the column of the <code>byte</code> member <var>memberName</var>.
+     * 
+     * @throws IllegalArgumentException If <var>memberName</var> has not been read.
+     * @throws HDF5JavaException If <var>memberName</var> is not of type <code>byte</code>.
+     */
+    public byte[] getByteColumn(String memberName)
+    {
+        return getColumn(memberName, byte[].class);
+    }
+
+    /**
+     * Returns the column of the <code>short</code> member <var>memberName</var>.
+     * 
+     * @throws IllegalArgumentException If <var>memberName</var> has not been read.
+     * @throws HDF5JavaException If <var>memberName</var> is not of type <code>short</code>.
+     */
+    public short[] getShortColumn(String memberName)
+    {
+        return getColumn(memberName, short[].class);
+    }
+
+    /**
+     * Returns the column of the <code>int</code> member <var>memberName</var>.
+     * 
+     * @throws IllegalArgumentException If <var>memberName</var> has not been read.
+     * @throws HDF5JavaException If <var>memberName</var> is not of type <code>int</code>.
+     */
+    public int[] getIntColumn(String memberName)
+    {
+        return getColumn(memberName, int[].class);
+    }
+
+    /**
+     * Returns the column of the <code>long</code> member <var>memberName</var>.
+     * 
+     * @throws IllegalArgumentException If <var>memberName</var> has not been read.
+     * @throws HDF5JavaException If <var>memberName</var> is not of type <code>long</code>.
+     */
+    public long[] getLongColumn(String memberName)
+    {
+        return getColumn(memberName, long[].class);
+    }
+
+    /**
+     * Returns the column of the <code>float</code> member <var>memberName</var>.
+     * 
+     * @throws IllegalArgumentException If <var>memberName</var> has not been read.
+     * @throws HDF5JavaException If <var>memberName</var> is not of type <code>float</code>.
+     */
+    public float[] getFloatColumn(String memberName)
+    {
+        return getColumn(memberName, float[].class);
+    }
+
+    /**
+     * Returns the column of the <code>double</code> member <var>memberName</var>.
+     * 
+     * @throws IllegalArgumentException If <var>memberName</var> has not been read.
+     * @throws HDF5JavaException If <var>memberName</var> is not of type <code>double</code>.
+     */
+    public double[] getDoubleColumn(String memberName)
+    {
+        return getColumn(memberName, double[].class);
+    }
+
+    /**
+     * Returns the column of the string member <var>memberName</var>.
+     * 
+     * @throws IllegalArgumentException If <var>memberName</var> has not been read.
+     * @throws HDF5JavaException If <var>memberName</var> is not of a string type.
+     */
+    public String[] getStringColumn(String memberName)
+    {
+        return getColumn(memberName, String[].class);
+    }
+
+    private <T> T getColumn(String memberName, Class<T> columnClass)
+    {
+        final Object column = getColumn(memberName);
+        if (columnClass.isInstance(column) == false)
+        {
+            throw new HDF5JavaException("Member '" + memberName + "' is of type '"
+                    + column.getClass().getComponentType().getSimpleName() + "', not '"
+                    + columnClass.getComponentType().getSimpleName() + "'.");
+        }
+        return columnClass.cast(column);
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public String toString()
+    {
+        return "HDF5CompoundColumns [memberNames=" + Arrays.toString(memberNames)
+                + ", numberOfRows=" + numberOfRows + ", offset=" + offset + "]";
+    }
+
+}
@@ -22,6 +22,8 @@ import static hdf.hdf5lib.HDF5Constants.H5T_COMPOUND;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
@@ -43,6 +45,13 @@ abstract class HDF5CompoundInformationRetriever implements IHDF5CompoundInformat
 
     protected final IHDF5EnumTypeRetriever enumTypeRetriever;
 
+    /**
+     * The compound types created from Java classes, keyed by the class, the mapping and the hints.
+     * Only used for files opened read-only, as writers may commit and change types.
+     */
+    private final Map<List<Object>, HDF5CompoundType<?>> typeCache =
+            new HashMap<List<Object>, HDF5CompoundType<?>>();
+
     HDF5CompoundInformationRetriever(HDF5BaseReader baseReader,
             IHDF5EnumTypeRetriever enumTypeRetriever)
     {
@@ -51,6 +60,54 @@ abstract class HDF5CompoundInformationRetriever implements IHDF5CompoundInformat
 
         this.baseReader = baseReader;
         this.enumTypeRetriever = enumTypeRetriever;
+        baseReader.fileRegistry.registerCleanUp(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    synchronized (typeCache)
+                    {
+                        typeCache.clear();
+                    }
+                }
+            });
+    }
+
+    private boolean isTypeCacheEnabled()
+    {
+        return baseReader.readOnly;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> HDF5CompoundType<T> tryGetCachedType(List<Object> key)
+    {
+        synchronized (typeCache)
+        {
+            return (HDF5CompoundType<T>) typeCache.get(key);
+        }
+    }
+
+    private <T> HDF5CompoundType<T> cacheType(List<Object> key, HDF5CompoundType<T> type)
+    {
+        synchronized (typeCache)
+        {
+            typeCache.put(key, type);
+        }
+        return type;
+    }
+
+    private static List<Object> createTypeCacheKey(String name, Class<?> pojoClass,
+            boolean requireTypesToBeEqual, HDF5CompoundMemberMapping[] members)
+    {
+        final List<Object> key = new ArrayList<Object>(members.length + 3);
+        key.add(name);
+        key.add(pojoClass);
+        key.add(requireTypesToBeEqual);
+        for (HDF5CompoundMemberMapping member : members)
+        {
+            key.add(member.createCacheKey());
+        }
+        return key;
     }
 
     @Override
@@ -276,9 +333,22 @@ abstract class HDF5CompoundInformationRetriever implements IHDF5CompoundInformat
             boolean requireTypesToBeEqual, final HDF5CompoundMemberMapping... members)
     {
         baseReader.checkOpen();
+        final List<Object> keyOrNull =
+                isTypeCacheEnabled() ? createTypeCacheKey(name, pojoClass, requireTypesToBeEqual,
+                        members) : null;
+        if (keyOrNull != null)
+        {
+            final HDF5CompoundType<T> cachedTypeOrNull = tryGetCachedType(keyOrNull);
+            if (cachedTypeOrNull != null)
+            {
+                return cachedTypeOrNull;
+            }
+        }
         final HDF5ValueObjectByteifyer<T> objectArrayifyer =
                 baseReader.createCompoundByteifyers(pojoClass, members, null);
-        return getType(name, -1, pojoClass, requireTypesToBeEqual, objectArrayifyer);
+        final HDF5CompoundType<T> type =
+                getType(name, -1, pojoClass, requireTypesToBeEqual, objectArrayifyer);
+        return (keyOrNull != null) ? cacheType(keyOrNull, type) : type;
     }
 
     @Override
@@ -353,12 +423,25 @@ abstract class HDF5CompoundInformationRetriever implements IHDF5CompoundInformat
     public <T> HDF5CompoundType<T> getInferredType(String name, Class<T> pojoClass,
             HDF5CompoundMappingHints hints, boolean requireTypesToBeEqual)
     {
-        return getType(
-                name,
-                pojoClass,
-                requireTypesToBeEqual,
-                addEnumTypes(HDF5CompoundMemberMapping.addHints(
-                        HDF5CompoundMemberMapping.inferMapping(pojoClass), hints)));
+        // Avoids inferring the mapping by reflection if the type is already cached.
+        final List<Object> keyOrNull =
+                isTypeCacheEnabled() ? Arrays.<Object> asList("inferred", name, pojoClass,
+                        requireTypesToBeEqual, HDF5CompoundMappingHints.createCacheKey(hints))
+                        : null;
+        if (keyOrNull != null)
+        {
+            baseReader.checkOpen();
+            final HDF5CompoundType<T> cachedTypeOrNull = tryGetCachedType(keyOrNull);
+            if (cachedTypeOrNull != null)
+            {
+                return cachedTypeOrNull;
+            }
+        }
+        final HDF5CompoundType<T> type =
+                getType(name, pojoClass, requireTypesToBeEqual,
+                        addEnumTypes(HDF5CompoundMemberMapping.addHints(
+                                HDF5CompoundMemberMapping.inferMapping(pojoClass), hints)));
+        return (keyOrNull != null) ? cacheType(keyOrNull, type) : type;
     }
 
     @Override
@@ -644,6 +727,67 @@ abstract class HDF5CompoundInformationRetriever implements IHDF5CompoundInformat
         return typeForClass;
     }
 
+    /**
+     * Returns a type for reading the members <var>memberNames</var> of the compound data set
+     * <var>objectPath</var> into <code>Object[]</code>, in the given order. The memory type
+     * contains only these members, so only they are converted by the library.
+     * <p>
+     * The type holds file-level handles, thus on read-only files it is cached per data set and
+     * members, so that repeated calls don't accumulate handles until the file is closed.
+     */
+    HDF5CompoundType<Object[]> getDataSetProjectionType(final String objectPath,
+            final String[] memberNames)
+    {
+        if (memberNames.length == 0)
+        {
+            throw new IllegalArgumentException("No compound members given.");
+        }
+        if (new HashSet<String>(Arrays.asList(memberNames)).size() != memberNames.length)
+        {
+            throw new IllegalArgumentException("Duplicate compound members given: "
+                    + Arrays.toString(memberNames));
+        }
+        baseReader.checkOpen();
+        final List<Object> keyOrNull =
+                isTypeCacheEnabled() ? Arrays.<Object> asList("projection", objectPath,
+                        Arrays.asList(memberNames.clone())) : null;
+        if (keyOrNull != null)
+        {
+            final HDF5CompoundType<Object[]> cachedTypeOrNull = tryGetCachedType(keyOrNull);
+            if (cachedTypeOrNull != null)
+            {
+                return cachedTypeOrNull;
+            }
+        }
+        final CompoundTypeInformation cpdTypeInfo =
+                getFullCompoundDataSetInformation(objectPath, DataTypeInfoOptions.ALL,
+                        baseReader.fileRegistry);
+        final HDF5CompoundMemberMapping[] allMembers =
+                inferMemberMapping(Object[].class, cpdTypeInfo, null);
+        final HDF5CompoundMemberMapping[] members =
+                new HDF5CompoundMemberMapping[memberNames.length];
+        for (int i = 0; i < memberNames.length; ++i)
+        {
+            for (HDF5CompoundMemberMapping member : allMembers)
+            {
+                if (member.getMemberName().equals(memberNames[i]))
+                {
+                    members[i] = member;
+                    break;
+                }
+            }
+            if (members[i] == null)
+            {
+                throw new HDF5JavaException("Compound data set '" + objectPath
+                        + "' has no member '" + memberNames[i] + "'.");
+            }
+        }
+        final HDF5CompoundType<Object[]> type =
+                getType(cpdTypeInfo.name, cpdTypeInfo.compoundDataTypeId, Object[].class, false,
+                        baseReader.createCompoundByteifyers(Object[].class, members, null));
+        return (keyOrNull != null) ? cacheType(keyOrNull, type) : type;
+    }
+
     @Override
     public <T> HDF5CompoundType<T> getDataSetType(String objectPath, Class<T> pojoClass)
     {
@@ -16,7 +16,9 @@
 
 package ch.systemsx.cisd.hdf5;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -104,6 +106,22 @@ public class HDF5CompoundMappingHints
         return enumerationTypeMap.get(memberName);
     }
 
+    /**
+     * Returns a key that identifies the current content of <var>hintsOrNull</var>, for caching
+     * compound types.
+     */
+    static List<Object> createCacheKey(HDF5CompoundMappingHints hintsOrNull)
+    {
+        if (hintsOrNull == null)
+        {
+            return null;
+        }
+        return Arrays.<Object> asList(hintsOrNull.enumReturnType,
+                hintsOrNull.useVariableLengthStrings,
+                (hintsOrNull.enumerationTypeMap == null) ? null
+                        : new HashMap<String, HDF5EnumerationType>(hintsOrNull.enumerationTypeMap));
+    }
+
     /**
      * Returns the desired enumeration return type.
      */
@@ -19,6 +19,7 @@ package ch.systemsx.cisd.hdf5;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
@@ -1491,4 +1492,16 @@ public final class HDF5CompoundMemberMapping
     {
         return typeVariantOrNull;
     }
+
+    /**
+     * Returns a key that identifies the current content of this mapping, for caching compound
+     * types.
+     */
+    List<Object> createCacheKey()
+    {
+        return Arrays.<Object> asList(memberName, storageDataTypeId, fieldOrNull, fieldName,
+                memberClassOrNull, enumTypeNameOrNull, memberTypeLength, unsigned, variableLength,
+                reference, Arrays.toString(memberTypeDimensions), enumTypeOrNull,
+                typeVariantOrNull, HDF5CompoundMappingHints.createCacheKey(hintsOrNull));
+    }
 }
@@ -346,6 +346,66 @@ class HDF5CompoundReader extends HDF5CompoundInformationRetriever implements IHD
         return primReadCompoundArray(objectPath, blockSize, offset, type, inspectorOrNull);
     }
 
+    @Override
+    public HDF5CompoundColumns readColumns(final String objectPath, final String... memberNames)
+            throws HDF5JavaException
+    {
+        return primReadCompoundColumns(objectPath, -1, -1, memberNames);
+    }
+
+    @Override
+    public HDF5CompoundColumns readColumnsBlock(final String objectPath, final int blockSize,
+            final long blockNumber, final String... memberNames) throws HDF5JavaException
+    {
+        return primReadCompoundColumns(objectPath, blockSize, blockSize * blockNumber,
+                memberNames);
+    }
+
+    @Override
+    public HDF5CompoundColumns readColumnsBlockWithOffset(final String objectPath,
+            final int blockSize, final long offset, final String... memberNames)
+            throws HDF5JavaException
+    {
+        return primReadCompoundColumns(objectPath, blockSize, offset, memberNames);
+    }
+
+    private HDF5CompoundColumns primReadCompoundColumns(final String objectPath,
+            final int blockSize, final long offset, final String[] memberNames)
+            throws HDF5JavaException
+    {
+        baseReader.checkOpen();
+        final HDF5CompoundType<Object[]> type = getDataSetProjectionType(objectPath, memberNames);
+        final ICallableWithCleanUp<HDF5CompoundColumns> readRunnable =
+                new ICallableWithCleanUp<HDF5CompoundColumns>()
+                    {
+                        @Override
+                        public HDF5CompoundColumns call(final ICleanUpRegistry registry)
+                        {
+                            final long dataSetId =
+                                    baseReader.h5.openDataSet(baseReader.fileId, objectPath,
+                                            registry);
+                            final long storageDataTypeId =
+                                    baseReader.h5.getDataTypeForDataSet(dataSetId, registry);
+                            checkCompoundType(storageDataTypeId, objectPath, type);
+                            final DataSpaceParameters spaceParams =
+                                    baseReader.getSpaceParameters(dataSetId, offset, blockSize,
+                                            registry);
+                            final byte[] byteArr =
+                                    new byte[spaceParams.blockSize
+                                            * type.getObjectByteifyer().getRecordSizeInMemory()];
+                            baseReader.h5.readDataSet(dataSetId, type.getNativeTypeId(),
+                                    spaceParams.memorySpaceId, spaceParams.dataSpaceId, byteArr);
+                            final Object[] columns =
+                                    type.getObjectByteifyer().arrayifyColumns(storageDataTypeId,
+                                            byteArr);
+                            baseReader.h5.reclaimCompoundVL(type, byteArr);
+                            return new HDF5CompoundColumns(memberNames.clone(), columns,
+                                    spaceParams.blockSize, Math.max(0, offset));
+                        }
+                    };
+        return baseReader.runner.call(readRunnable);
+    }
+
     @Override
     public <T> Iterable<HDF5DataBlock<T[]>> getArrayBlocks(final String objectPath,
             final HDF5CompoundType<T> type) throws HDF5JavaException
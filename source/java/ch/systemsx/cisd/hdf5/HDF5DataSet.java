@@ -27,6 +27,8 @@ import java.util.Arrays;
 
 import hdf.hdf5lib.H5;
 
+import ch.systemsx.cisd.hdf5.cleanup.CleanUpRegistry;
+
 /**
  * An object to represent an HDF5 data set.
  * <p>
@@ -80,6 +82,8 @@ public class HDF5DataSet implements AutoCloseable
     
     private int fullRank;
 
+    private final CleanUpRegistry.Registration fileRegistration;
+
     HDF5DataSet(HDF5BaseReader baseReader, String datasetPath, long dataSetId, long dataSpaceId, long[] dimensions,
             long[] maxDimensionsOrNull, HDF5StorageLayout layout, boolean ownDataSpaceId)
     {
@@ -101,6 +105,15 @@ public class HDF5DataSet implements AutoCloseable
         this.memorySpaceId = -1;
         this.dataTypeId = -1;
         this.fullRank = -1;
+        // Ensures the data set gets closed with the file, if the caller doesn't close it.
+        this.fileRegistration = baseReader.fileRegistry.registerRemovableCleanUp(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    close();
+                }
+            });
     }
 
     /**
@@ -184,6 +197,14 @@ public class HDF5DataSet implements AutoCloseable
         }
     }
 
+    /**
+     * Returns the raw data chunk cache that this data set has been opened with.
+     */
+    public HDF5ChunkCacheSpec getChunkCache()
+    {
+        return h5.getChunkCache(dataSetId);
+    }
+
     long getDataTypeId()
     {
         if (dataTypeId == -1)
@@ -196,6 +217,7 @@ public class HDF5DataSet implements AutoCloseable
     @Override
     public void close()
     {
+        baseReader.fileRegistry.deregister(fileRegistration);
         closeDataSetId();
         closeDataSpaceId();
         closeMemorySpaceId();
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A size-bounded cache of open {@link HDF5DataSet} handles, keyed by data set path and evicting the
+ * least recently used handle. Evicted and invalidated handles are closed.
+ * <p>
+ * The cache is used by path-based methods to get the speed of the {@link HDF5DataSet} overloads.
+ * It has to be invalidated whenever a data set is deleted, moved or changes its dimensions through
+ * another handle than the cached one.
+ * <p>
+ * The cache itself is thread-safe, but the handles it hands out are not: a cached handle carries
+ * the selection of the last block, thus a reader or writer with this cache must only be used by
+ * one thread at a time.
+ * 
+ * @author Bernd Rinn
+ */
+final class HDF5DataSetCache
+{
+    private final HDF5BaseReader baseReader;
+
+    private final Map<String, HDF5DataSet> dataSets;
+
+    HDF5DataSetCache(HDF5BaseReader baseReader, final int maxSize)
+    {
+        assert maxSize > 0;
+
+        this.baseReader = baseReader;
+        this.dataSets = new LinkedHashMap<String, HDF5DataSet>(16, 0.75f, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, HDF5DataSet> eldest)
+                {
+                    if (size() > maxSize)
+                    {
+                        eldest.getValue().close();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+    }
+
+    /**
+     * Returns the cached handle of the data set <var>path</var>, opening it if it is not yet
+     * cached, or <code>null</code>, if <var>path</var> cannot be cached (e.g. because it is a
+     * reference).
+     */
+    synchronized HDF5DataSet tryGet(String path)
+    {
+        if (path.length() == 0 || path.charAt(0) == '\0')
+        {
+            return null;
+        }
+        final String key = HDF5Utils.toAbsolutePath(path);
+        HDF5DataSet dataSet = dataSets.get(key);
+        if (dataSet == null)
+        {
+            dataSet = baseReader.openDataSet(key);
+            dataSets.put(key, dataSet);
+        }
+        return dataSet;
+    }
+
+    /**
+     * Closes and removes the handle of the data set <var>path</var>, unless it is
+     * <var>keepOrNull</var>.
+     */
+    synchronized void invalidate(String path, HDF5DataSet keepOrNull)
+    {
+        final String key = HDF5Utils.toAbsolutePath(path);
+        final HDF5DataSet dataSet = dataSets.get(key);
+        if (dataSet != null && dataSet != keepOrNull)
+        {
+            dataSets.remove(key);
+            dataSet.close();
+        }
+    }
+
+    /**
+     * Closes and removes the handles of the object <var>path</var> and of all objects below it.
+     */
+    synchronized void invalidateSubtree(String path)
+    {
+        final String key = HDF5Utils.toAbsolutePath(path);
+        final String prefix = key.endsWith("/") ? key : key + "/";
+        final Iterator<Map.Entry<String, HDF5DataSet>> it = dataSets.entrySet().iterator();
+        while (it.hasNext())
+        {
+            final Map.Entry<String, HDF5DataSet> entry = it.next();
+            if (entry.getKey().equals(key) || entry.getKey().startsWith(prefix))
+            {
+                entry.getValue().close();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Closes and removes all handles.
+     */
+    synchronized void clear()
+    {
+        for (HDF5DataSet dataSet : dataSets.values())
+        {
+            dataSet.close();
+        }
+        dataSets.clear();
+    }
+
+    /**
+     * Returns the number of handles currently in the cache.
+     */
+    synchronized int size()
+    {
+        return dataSets.size();
+    }
+
+}
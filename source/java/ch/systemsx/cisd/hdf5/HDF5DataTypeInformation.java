@@ -214,6 +214,31 @@ public final class HDF5DataTypeInformation
         this.options = options;
     }
 
+    private HDF5DataTypeInformation(HDF5DataTypeInformation template)
+    {
+        this.arrayType = template.arrayType;
+        this.signed = template.signed;
+        this.variableLengthString = template.variableLengthString;
+        this.dataTypePathOrNull = template.dataTypePathOrNull;
+        this.nameOrNull = template.nameOrNull;
+        this.dataClass = template.dataClass;
+        this.elementSize = template.elementSize;
+        this.numberOfElements = template.numberOfElements;
+        this.encoding = template.encoding;
+        this.dimensions = template.dimensions.clone();
+        this.opaqueTagOrNull = template.opaqueTagOrNull;
+        this.options = template.options;
+        this.typeVariantOrNull = template.typeVariantOrNull;
+    }
+
+    /**
+     * Returns a copy of this object that doesn't share any mutable state with it.
+     */
+    HDF5DataTypeInformation copy()
+    {
+        return new HDF5DataTypeInformation(this);
+    }
+
     /**
      * Returns the raw data class (<code>INTEGER</code>, <code>FLOAT</code>, ...) of this type.
      * <p>
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import static ch.systemsx.cisd.hdf5.NativeByteOrderUtils.getInt;
+import static ch.systemsx.cisd.hdf5.NativeByteOrderUtils.getLong;
+import static ch.systemsx.cisd.hdf5.NativeByteOrderUtils.getShort;
+import static ch.systemsx.cisd.hdf5.NativeByteOrderUtils.putInt;
+import static ch.systemsx.cisd.hdf5.NativeByteOrderUtils.putLong;
+import static ch.systemsx.cisd.hdf5.NativeByteOrderUtils.putShort;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+import ch.systemsx.cisd.hdf5.cleanup.ICleanUpRegistry;
+
+/**
+ * A {@link HDF5MemberByteifyer} for scalar fields of primitive type (<code>byte</code>,
+ * <code>short</code>, <code>int</code>, <code>long</code>, <code>float</code> and
+ * <code>double</code>). It accesses the field through {@link MethodHandle}s bound once when the
+ * compound type is created and encodes the value in native byte order directly into the record
+ * buffer, so byteifying a record does not allocate a temporary array per member and does not go
+ * through the (synchronized) JNI conversion routines.
+ * <p>
+ * The type information (storage type, offsets, sizes) is taken from the reflective byteifyer
+ * created by the member factory, which this class delegates to.
+ * 
+ * @author Bernd Rinn
+ */
+final class HDF5DirectFieldMemberByteifyer extends HDF5MemberByteifyer
+{
+    private enum Kind
+    {
+        BYTE(byte.class, 1), SHORT(short.class, 2), INT(int.class, 4), LONG(long.class, 8), FLOAT(
+                float.class, 4), DOUBLE(double.class, 8);
+
+        private final Class<?> clazz;
+
+        private final int size;
+
+        Kind(Class<?> clazz, int size)
+        {
+            this.clazz = clazz;
+            this.size = size;
+        }
+
+        static Kind tryGetKind(Class<?> clazz)
+        {
+            for (Kind kind : values())
+            {
+                if (kind.clazz == clazz)
+                {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final HDF5MemberByteifyer delegate;
+
+    private final Kind kind;
+
+    private final MethodHandle getter;
+
+    private final MethodHandle setter;
+
+    /**
+     * Returns a byteifyer that accesses <var>field</var> directly, or <var>delegate</var>, if
+     * <var>field</var> is not a scalar primitive field whose in-memory representation matches the
+     * one of <var>delegate</var> or if no method handles can be created for it.
+     */
+    static HDF5MemberByteifyer tryCreate(Field field, HDF5MemberByteifyer delegate)
+    {
+        final Kind kindOrNull = Kind.tryGetKind(field.getType());
+        if (kindOrNull == null || delegate.getSize() != kindOrNull.size
+                || delegate.getElementSize() != kindOrNull.size
+                || delegate.isVariableLengthType() || delegate.tryGetEnumType() != null
+                || delegate.mayBeCut())
+        {
+            return delegate;
+        }
+        try
+        {
+            ReflectionUtils.ensureAccessible(field);
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle getter =
+                    lookup.unreflectGetter(field).asType(
+                            MethodType.methodType(kindOrNull.clazz, Object.class));
+            final MethodHandle setter =
+                    lookup.unreflectSetter(field).asType(
+                            MethodType.methodType(void.class, Object.class, kindOrNull.clazz));
+            return new HDF5DirectFieldMemberByteifyer(field, delegate, kindOrNull, getter, setter);
+        } catch (IllegalAccessException ex)
+        {
+            return delegate;
+        }
+    }
+
+    private HDF5DirectFieldMemberByteifyer(Field field, HDF5MemberByteifyer delegate, Kind kind,
+            MethodHandle getter, MethodHandle setter)
+    {
+        super(field, delegate.getMemberName(), delegate.getSize(), delegate.getOffsetOnDisk(),
+                delegate.getOffsetInMemory(), false, delegate.getTypeVariant());
+        this.delegate = delegate;
+        this.kind = kind;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Override
+    int getElementSize()
+    {
+        // Called by the super constructor before kind is set, with an offset that the delegate
+        // has already padded.
+        return (kind != null) ? kind.size : 0;
+    }
+
+    @Override
+    long getMemberStorageTypeId()
+    {
+        return delegate.getMemberStorageTypeId();
+    }
+
+    @Override
+    long getMemberNativeTypeId()
+    {
+        return delegate.getMemberNativeTypeId();
+    }
+
+    @Override
+    void insertType(long dataTypeId)
+    {
+        delegate.insertType(dataTypeId);
+    }
+
+    @Override
+    void insertNativeType(long dataTypeId, HDF5 h5, ICleanUpRegistry registry)
+    {
+        delegate.insertNativeType(dataTypeId, h5, registry);
+    }
+
+    @Override
+    int getOffsetInMemory()
+    {
+        return delegate.getOffsetInMemory();
+    }
+
+    @Override
+    int getTotalSizeInMemory()
+    {
+        return delegate.getTotalSizeInMemory();
+    }
+
+    @Override
+    byte[] byteify(long compoundDataTypeId, Object obj) throws IllegalAccessException
+    {
+        final byte[] result = new byte[kind.size];
+        encode(obj, result, 0);
+        return result;
+    }
+
+    @Override
+    boolean byteifyInto(long compoundDataTypeId, Object obj, byte[] barray, int recordOffset)
+    {
+        encode(obj, barray, recordOffset + offsetInMemory);
+        return true;
+    }
+
+    private void encode(Object obj, byte[] barray, int index)
+    {
+        try
+        {
+            switch (kind)
+            {
+                case BYTE:
+                    barray[index] = (byte) getter.invokeExact(obj);
+                    break;
+                case SHORT:
+                    putShort(barray, index, (short) getter.invokeExact(obj));
+                    break;
+                case INT:
+                    putInt(barray, index, (int) getter.invokeExact(obj));
+                    break;
+                case LONG:
+                    putLong(barray, index, (long) getter.invokeExact(obj));
+                    break;
+                case FLOAT:
+                    putInt(barray, index, Float.floatToRawIntBits((float) getter.invokeExact(obj)));
+                    break;
+                case DOUBLE:
+                    putLong(barray, index,
+                            Double.doubleToRawLongBits((double) getter.invokeExact(obj)));
+                    break;
+                default:
+                    throw new Error("Unknown kind.");
+            }
+        } catch (RuntimeException | Error ex)
+        {
+            throw ex;
+        } catch (Throwable th)
+        {
+            throw new HDF5JavaException("Error accessing " + describe() + ": " + th.toString());
+        }
+    }
+
+    @Override
+    void setFromByteArray(long compoundDataTypeId, Object obj, byte[] byteArr, int arrayOffset)
+    {
+        final int index = arrayOffset + offsetInMemory;
+        try
+        {
+            switch (kind)
+            {
+                case BYTE:
+                    setter.invokeExact(obj, byteArr[index]);
+                    break;
+                case SHORT:
+                    setter.invokeExact(obj, getShort(byteArr, index));
+                    break;
+                case INT:
+                    setter.invokeExact(obj, getInt(byteArr, index));
+                    break;
+                case LONG:
+                    setter.invokeExact(obj, getLong(byteArr, index));
+                    break;
+                case FLOAT:
+                    setter.invokeExact(obj, Float.intBitsToFloat(getInt(byteArr, index)));
+                    break;
+                case DOUBLE:
+                    setter.invokeExact(obj, Double.longBitsToDouble(getLong(byteArr, index)));
+                    break;
+                default:
+                    throw new Error("Unknown kind.");
+            }
+        } catch (RuntimeException | Error ex)
+        {
+            throw ex;
+        } catch (Throwable th)
+        {
+            throw new HDF5JavaException("Error accessing " + describe() + ": " + th.toString());
+        }
+    }
+
+}
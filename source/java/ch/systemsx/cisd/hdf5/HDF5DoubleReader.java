@@ -22,8 +22,10 @@ import static ch.systemsx.cisd.hdf5.MatrixUtils.createFullBlockDimensionsAndOffs
 import static hdf.hdf5lib.HDF5Constants.H5T_ARRAY;
 import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_DOUBLE;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import hdf.hdf5lib.exceptions.HDF5JavaException;
 import hdf.hdf5lib.exceptions.HDF5LibraryException;
@@ -175,6 +177,22 @@ class HDF5DoubleReader implements IHDF5DoubleReader
         assert objectPath != null;
 
         baseReader.checkOpen();
+        final HDF5MemoryMappedDataSets.MappedDataSet mappedOrNull =
+                baseReader.tryGetMemoryMapped(objectPath, H5T_NATIVE_DOUBLE);
+        if (mappedOrNull != null)
+        {
+            final double[] data = new double[mappedOrNull.getNumberOfElements()];
+            mappedOrNull.copy(0, data, 0, data.length);
+            return data;
+        }
+        final HDF5ParallelChunkReader.Plan planOrNull =
+                baseReader.tryPlanParallelRead(objectPath, H5T_NATIVE_DOUBLE);
+        if (planOrNull != null)
+        {
+            final double[] data = new double[planOrNull.getNumberOfElements()];
+            baseReader.readParallel(planOrNull, data);
+            return data;
+        }
         final ICallableWithCleanUp<double[]> readCallable = new ICallableWithCleanUp<double[]>()
             {
                 @Override
@@ -338,6 +356,87 @@ class HDF5DoubleReader implements IHDF5DoubleReader
         return baseReader.runner.call(readCallable);
     }
 
+    @Override
+    public int readToBuffer(final String objectPath, final ByteBuffer buffer)
+    {
+        assert objectPath != null;
+        assert buffer != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<Integer> readCallable = new ICallableWithCleanUp<Integer>()
+            {
+                @Override
+                public Integer call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId = 
+                            baseReader.h5.openDataSet(baseReader.fileId, objectPath, registry);
+                    final DataSpaceParameters spaceParams =
+                            baseReader.getSpaceParameters(dataSetId, registry);
+                    return readToBuffer(dataSetId, spaceParams, buffer);
+                }
+            };
+        return baseReader.runner.call(readCallable);
+    }
+
+    @Override
+    public int readToBuffer(final String objectPath, final ByteBuffer buffer,
+            final int[] blockDimensions, final long[] offset)
+    {
+        assert objectPath != null;
+        assert buffer != null;
+        assert blockDimensions != null;
+        assert offset != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<Integer> readCallable = new ICallableWithCleanUp<Integer>()
+            {
+                @Override
+                public Integer call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId = 
+                            baseReader.h5.openDataSet(baseReader.fileId, objectPath, registry);
+                    final DataSpaceParameters spaceParams =
+                            baseReader.getSpaceParameters(dataSetId, offset, blockDimensions,
+                                    registry);
+                    return readToBuffer(dataSetId, spaceParams, buffer);
+                }
+            };
+        return baseReader.runner.call(readCallable);
+    }
+
+    @Override
+    public int readToBuffer(final HDF5DataSet dataSet, final ByteBuffer buffer,
+            final int[] blockDimensions, final long[] offset)
+    {
+        assert dataSet != null;
+        assert buffer != null;
+        assert blockDimensions != null;
+        assert offset != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<Integer> readCallable = new ICallableWithCleanUp<Integer>()
+            {
+                @Override
+                public Integer call(ICleanUpRegistry registry)
+                {
+                    final DataSpaceParameters spaceParams =
+                            baseReader.getSpaceParameters(dataSet, offset, blockDimensions);
+                    return readToBuffer(dataSet.getDataSetId(), spaceParams, buffer);
+                }
+            };
+        return baseReader.runner.call(readCallable);
+    }
+
+    private int readToBuffer(long dataSetId, DataSpaceParameters spaceParams, ByteBuffer buffer)
+    {
+        final int sizeInBytes = spaceParams.blockSize * 8;
+        HDF5Utils.checkBufferSize(buffer, sizeInBytes);
+        baseReader.h5.readDataSet(dataSetId, H5T_NATIVE_DOUBLE, spaceParams.memorySpaceId,
+                spaceParams.dataSpaceId, buffer);
+        buffer.position(buffer.position() + sizeInBytes);
+        return spaceParams.blockSize;
+    }
+
     @Override
     public double[] readArrayBlock(final String objectPath, final int blockSize,
             final long blockNumber)
@@ -358,6 +457,20 @@ class HDF5DoubleReader implements IHDF5DoubleReader
         assert objectPath != null;
 
         baseReader.checkOpen();
+        final HDF5MemoryMappedDataSets.MappedDataSet mappedOrNull =
+                baseReader.tryGetMemoryMapped(objectPath, H5T_NATIVE_DOUBLE);
+        if (mappedOrNull != null && mappedOrNull.getRank() == 1 && blockSize > 0)
+        {
+            final double[] data =
+                    new double[mappedOrNull.getEffectiveBlockSize(offset, blockSize)];
+            mappedOrNull.copy(offset, data, 0, data.length);
+            return data;
+        }
+        final HDF5DataSet cachedDataSetOrNull = baseReader.tryGetCachedDataSet(objectPath);
+        if (cachedDataSetOrNull != null && cachedDataSetOrNull.getRank() == 1)
+        {
+            return readArrayBlockWithOffset(cachedDataSetOrNull, blockSize, offset);
+        }
         final ICallableWithCleanUp<double[]> readCallable = new ICallableWithCleanUp<double[]>()
             {
                 @Override
@@ -540,6 +653,14 @@ class HDF5DoubleReader implements IHDF5DoubleReader
         assert objectPath != null;
 
         baseReader.checkOpen();
+        final HDF5ParallelChunkReader.Plan planOrNull =
+                baseReader.tryPlanParallelRead(objectPath, H5T_NATIVE_DOUBLE);
+        if (planOrNull != null)
+        {
+            final double[] data = new double[planOrNull.getNumberOfElements()];
+            baseReader.readParallel(planOrNull, data);
+            return new MDDoubleArray(data, planOrNull.getDimensions());
+        }
         final ICallableWithCleanUp<MDDoubleArray> readCallable = new ICallableWithCleanUp<MDDoubleArray>()
             {
                 @Override
@@ -858,6 +979,23 @@ class HDF5DoubleReader implements IHDF5DoubleReader
         assert offset != null;
 
         baseReader.checkOpen();
+        final HDF5MemoryMappedDataSets.MappedDataSet mappedOrNull =
+                baseReader.tryGetMemoryMapped(objectPath, H5T_NATIVE_DOUBLE);
+        final int[] effectiveBlockDimensionsOrNull = (mappedOrNull != null) ? 
+                mappedOrNull.tryGetEffectiveBlockDimensions(offset, blockDimensions) : null;
+        if (effectiveBlockDimensionsOrNull != null)
+        {
+            final double[] dataBlock =
+                    new double[MDArray.getLength(effectiveBlockDimensionsOrNull)];
+            mappedOrNull.copyBlock(offset, effectiveBlockDimensionsOrNull, dataBlock);
+            return new MDDoubleArray(dataBlock, effectiveBlockDimensionsOrNull);
+        }
+        final HDF5DataSet cachedDataSetOrNull = baseReader.tryGetCachedDataSet(objectPath);
+        if (cachedDataSetOrNull != null
+                && cachedDataSetOrNull.getRank() == blockDimensions.length)
+        {
+            return readMDArrayBlockWithOffset(cachedDataSetOrNull, blockDimensions, offset);
+        }
         final ICallableWithCleanUp<MDDoubleArray> readCallable = new ICallableWithCleanUp<MDDoubleArray>()
             {
                 @Override
@@ -947,28 +1085,54 @@ class HDF5DoubleReader implements IHDF5DoubleReader
                 @Override
                 public Iterator<HDF5DataBlock<double[]>> iterator()
                 {
-                    return new Iterator<HDF5DataBlock<double[]>>()
+                    return new IHDF5CloseableIterator<HDF5DataBlock<double[]>>()
                         {
                             final HDF5DataSet dataSet = baseReader.openDataSet(dataSetPath);
                         
                             final HDF5NaturalBlock1DParameters.HDF5NaturalBlock1DIndex index =
                                     params.getNaturalBlockIndex();
 
+                            boolean closed;
+
                             @Override
                             public boolean hasNext()
                             {
-                                return index.hasNext();
+                                if (index.hasNext() == false)
+                                {
+                                    close();
+                                }
+                                return closed == false;
                             }
 
                             @Override
                             public HDF5DataBlock<double[]> next()
                             {
+                                if (closed)
+                                {
+                                    throw new NoSuchElementException();
+                                }
                                 final long offset = index.computeOffsetAndSizeGetOffset();
                                 final double[] block =
                                         readArrayBlockWithOffset(dataSet, index
                                                 .getBlockSize(), offset);
-                                return new HDF5DataBlock<double[]>(block, index.getAndIncIndex(), 
-                                        offset);
+                                final HDF5DataBlock<double[]> dataBlock =
+                                        new HDF5DataBlock<double[]>(block, index.getAndIncIndex(),
+                                                offset);
+                                if (index.hasNext() == false)
+                                {
+                                    close();
+                                }
+                                return dataBlock;
+                            }
+
+                            @Override
+                            public void close()
+                            {
+                                if (closed == false)
+                                {
+                                    closed = true;
+                                    dataSet.close();
+                                }
                             }
 
                             @Override
@@ -981,6 +1145,67 @@ class HDF5DoubleReader implements IHDF5DoubleReader
             };
     }
 
+    @Override
+    public Iterable<HDF5DataBlock<double[]>> getArrayNaturalBlocks(final String dataSetPath,
+            final HDF5PrefetchOptions prefetch) throws HDF5JavaException
+    {
+        if (prefetch.isPrefetching() == false)
+        {
+            return getArrayNaturalBlocks(dataSetPath);
+        }
+        baseReader.checkOpen();
+        final HDF5NaturalBlock1DParameters params =
+                new HDF5NaturalBlock1DParameters(baseReader.getDataSetInformation(dataSetPath));
+
+        return new Iterable<HDF5DataBlock<double[]>>()
+            {
+                @Override
+                public Iterator<HDF5DataBlock<double[]>> iterator()
+                {
+                    final HDF5PrefetchingIterator.IBlockSource<HDF5DataBlock<double[]>> source =
+                            new HDF5PrefetchingIterator.IBlockSource<HDF5DataBlock<double[]>>()
+                                {
+                                    final HDF5DataSet dataSet = baseReader.openDataSet(dataSetPath);
+
+                                    final HDF5NaturalBlock1DParameters.HDF5NaturalBlock1DIndex index =
+                                            params.getNaturalBlockIndex();
+
+                                    @Override
+                                    public HDF5DataBlock<double[]> readNext(
+                                            HDF5DataBlock<double[]> recycledBlockOrNull)
+                                    {
+                                        final long offset = index.computeOffsetAndSizeGetOffset();
+                                        final int blockSize = index.getBlockSize();
+                                        final double[] block;
+                                        if (recycledBlockOrNull != null
+                                                && recycledBlockOrNull.getData().length == blockSize)
+                                        {
+                                            block = recycledBlockOrNull.getData();
+                                            readToMDArrayBlockWithOffset(dataSet,
+                                                    new MDDoubleArray(block, new int[] { blockSize }),
+                                                    new int[] { blockSize }, new long[] { offset },
+                                                    new int[] { 0 });
+                                        } else
+                                        {
+                                            block = readArrayBlockWithOffset(dataSet, blockSize, offset);
+                                        }
+                                        return new HDF5DataBlock<double[]>(block,
+                                                index.getAndIncIndex(), offset);
+                                    }
+
+                                    @Override
+                                    public void close()
+                                    {
+                                        dataSet.close();
+                                    }
+                                };
+                    return new HDF5PrefetchingIterator<HDF5DataBlock<double[]>>(source,
+                            params.getNumberOfBlocks(), prefetch.getDepth(),
+                            baseReader.fileRegistry);
+                }
+            };
+    }
+
     @Override
     public Iterable<HDF5MDDataBlock<MDDoubleArray>> getMDArrayNaturalBlocks(final String dataSetPath)
     {
@@ -993,26 +1218,54 @@ class HDF5DoubleReader implements IHDF5DoubleReader
                 @Override
                 public Iterator<HDF5MDDataBlock<MDDoubleArray>> iterator()
                 {
-                    return new Iterator<HDF5MDDataBlock<MDDoubleArray>>()
+                    return new IHDF5CloseableIterator<HDF5MDDataBlock<MDDoubleArray>>()
                         {
+                            final HDF5DataSet dataSet = baseReader.openDataSet(dataSetPath);
+
                             final HDF5NaturalBlockMDParameters.HDF5NaturalBlockMDIndex index =
                                     params.getNaturalBlockIndex();
 
+                            boolean closed;
+
                             @Override
                             public boolean hasNext()
                             {
-                                return index.hasNext();
+                                if (index.hasNext() == false)
+                                {
+                                    close();
+                                }
+                                return closed == false;
                             }
 
                             @Override
                             public HDF5MDDataBlock<MDDoubleArray> next()
                             {
+                                if (closed)
+                                {
+                                    throw new NoSuchElementException();
+                                }
                                 final long[] offset = index.computeOffsetAndSizeGetOffsetClone();
                                 final MDDoubleArray data =
-                                        readMDArrayBlockWithOffset(dataSetPath, index
+                                        readMDArrayBlockWithOffset(dataSet, index
                                                 .getBlockSize(), offset);
-                                return new HDF5MDDataBlock<MDDoubleArray>(data, index
-                                        .getIndexClone(), offset);
+                                final HDF5MDDataBlock<MDDoubleArray> dataBlock =
+                                        new HDF5MDDataBlock<MDDoubleArray>(data, index
+                                                .getIndexClone(), offset);
+                                if (index.hasNext() == false)
+                                {
+                                    close();
+                                }
+                                return dataBlock;
+                            }
+
+                            @Override
+                            public void close()
+                            {
+                                if (closed == false)
+                                {
+                                    closed = true;
+                                    dataSet.close();
+                                }
                             }
 
                             @Override
@@ -1025,6 +1278,91 @@ class HDF5DoubleReader implements IHDF5DoubleReader
             };
     }
 
+    @Override
+    public Iterable<HDF5MDDataBlock<MDDoubleArray>> getMDArrayNaturalBlocks(
+            final String dataSetPath, final HDF5PrefetchOptions prefetch)
+    {
+        if (prefetch.isPrefetching() == false)
+        {
+            return getMDArrayNaturalBlocks(dataSetPath);
+        }
+        baseReader.checkOpen();
+        final HDF5NaturalBlockMDParameters params =
+                new HDF5NaturalBlockMDParameters(baseReader.getDataSetInformation(dataSetPath));
+
+        return new Iterable<HDF5MDDataBlock<MDDoubleArray>>()
+            {
+                @Override
+                public Iterator<HDF5MDDataBlock<MDDoubleArray>> iterator()
+                {
+                    final HDF5PrefetchingIterator.IBlockSource<HDF5MDDataBlock<MDDoubleArray>> source =
+                            new HDF5PrefetchingIterator.IBlockSource<HDF5MDDataBlock<MDDoubleArray>>()
+                                {
+                                    final HDF5DataSet dataSet = baseReader.openDataSet(dataSetPath);
+
+                                    final HDF5NaturalBlockMDParameters.HDF5NaturalBlockMDIndex index =
+                                            params.getNaturalBlockIndex();
+
+                                    @Override
+                                    public HDF5MDDataBlock<MDDoubleArray> readNext(
+                                            HDF5MDDataBlock<MDDoubleArray> recycledBlockOrNull)
+                                    {
+                                        final long[] offset = index.computeOffsetAndSizeGetOffsetClone();
+                                        final int[] blockDimensions = index.getBlockSize().clone();
+                                        final MDDoubleArray data;
+                                        if (recycledBlockOrNull != null
+                                                && Arrays.equals(recycledBlockOrNull.getData()
+                                                        .dimensions(), blockDimensions))
+                                        {
+                                            data = recycledBlockOrNull.getData();
+                                            readToMDArrayBlockWithOffset(dataSet, data,
+                                                    blockDimensions, offset,
+                                                    new int[blockDimensions.length]);
+                                        } else
+                                        {
+                                            data = readMDArrayBlockWithOffset(dataSet,
+                                                    blockDimensions, offset);
+                                        }
+                                        return new HDF5MDDataBlock<MDDoubleArray>(data,
+                                                index.getIndexClone(), offset);
+                                    }
+
+                                    @Override
+                                    public void close()
+                                    {
+                                        dataSet.close();
+                                    }
+                                };
+                    return new HDF5PrefetchingIterator<HDF5MDDataBlock<MDDoubleArray>>(source,
+                            params.getNumberOfBlocks(), prefetch.getDepth(),
+                            baseReader.fileRegistry);
+                }
+            };
+    }
+
+    @Override
+    public HDF5BlockCursor<double[]> blockCursor(final HDF5DataSet dataSet,
+            final int[] blockDimensions)
+    {
+        return blockCursor(dataSet, blockDimensions,
+                new double[HDF5BlockCursor.getBlockLength(blockDimensions)]);
+    }
+
+    @Override
+    public HDF5BlockCursor<double[]> blockCursor(final HDF5DataSet dataSet,
+            final int[] blockDimensions, final double[] array)
+    {
+        return new HDF5BlockCursor<double[]>(baseReader, dataSet, blockDimensions, array,
+                array.length)
+            {
+                @Override
+                void readBlock(HDF5 h5, long dataSetId, long memorySpaceId, long fileSpaceId)
+                {
+                    h5.readDataSet(dataSetId, H5T_NATIVE_DOUBLE, memorySpaceId, fileSpaceId, array);
+                }
+            };
+    }
+
     double[] getDoubleArrayAttribute(final long objectId, final String attributeName,
             ICleanUpRegistry registry)
     {
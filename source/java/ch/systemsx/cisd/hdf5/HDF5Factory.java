@@ -17,6 +17,7 @@
 package ch.systemsx.cisd.hdf5;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import hdf.hdf5lib.H5;
 
@@ -62,6 +63,24 @@ public final class HDF5Factory
         return HDF5FactoryProvider.get().openForReading(new File(filePath));
     }
 
+    /**
+     * Opens the HDF5 file image <var>image</var> (the remaining bytes of the buffer) for reading.
+     * The file is read from memory and never touches the disk. The library makes its own copy of
+     * the image, so the buffer may be re-used once this method returns.
+     */
+    public static IHDF5Reader openForReading(ByteBuffer image)
+    {
+        return new HDF5ReaderConfigurator(image).reader();
+    }
+
+    /**
+     * Opens the HDF5 file image <var>image</var> for reading. The file is read from memory and never touches the disk.
+     */
+    public static IHDF5Reader openFromImage(byte[] image)
+    {
+        return openForReading(ByteBuffer.wrap(image));
+    }
+
     /**
      * Opens a configurator for an HDF5 <var>file</var> for writing and reading. Configure the writer as you need and then call
      * {@link IHDF5WriterConfigurator#writer()} in order to start reading and writing the file.
@@ -98,6 +117,16 @@ public final class HDF5Factory
         return HDF5FactoryProvider.get().configureForReading(new File(filePath));
     }
 
+    /**
+     * Opens a configurator for the HDF5 file image <var>image</var> (the remaining bytes of the
+     * buffer) for reading. Configure the reader as you need and then call
+     * {@link IHDF5ReaderConfigurator#reader()} in order to start reading the file.
+     */
+    public static IHDF5ReaderConfigurator configureForReading(ByteBuffer image)
+    {
+        return new HDF5ReaderConfigurator(image);
+    }
+
     /**
      * Returns <code>true</code>, if the <var>file</var> is an HDF5 file and <code>false</code> otherwise.
      */
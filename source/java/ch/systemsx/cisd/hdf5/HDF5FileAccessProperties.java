@@ -0,0 +1,123 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.systemsx.cisd.hdf5;
+
+/**
+ * The settings of the file access property list that a reader or writer opens its file with.
+ * <p>
+ * Instances are filled by the configurators and must not be changed once a reader or writer has
+ * been created with them.
+ * 
+ * @author Bernd Rinn
+ */
+final class HDF5FileAccessProperties
+{
+    /** The default increment for the memory of files held in memory: 1 MB. */
+    static final long DEFAULT_IN_MEMORY_INCREMENT = 1024 * 1024;
+
+    private boolean inMemory;
+
+    private long inMemoryIncrement = DEFAULT_IN_MEMORY_INCREMENT;
+
+    private boolean inMemoryBackingStore;
+
+    private HDF5ChunkCacheSpec chunkCacheOrNull;
+
+    private HDF5MetadataCacheSpec metadataCacheOrNull;
+
+    /**
+     * Returns <code>true</code>, if all settings are the defaults of the HDF5 library.
+     */
+    boolean isDefault()
+    {
+        return inMemory == false && chunkCacheOrNull == null && metadataCacheOrNull == null;
+    }
+
+    /**
+     * Hold the file in memory (core driver).
+     * 
+     * @param incrementBytes The number of bytes the memory of the file grows by when it needs to
+     *            grow.
+     * @param backingStore If <code>true</code>, the file is read from disk on opening (if it
+     *            exists) and written to disk on flushing and closing. If <code>false</code>, the
+     *            file is never written to disk.
+     */
+    void setInMemory(long incrementBytes, boolean backingStore)
+    {
+        if (incrementBytes <= 0)
+        {
+            throw new IllegalArgumentException("Increment needs to be positive, but is "
+                    + incrementBytes + ".");
+        }
+        this.inMemory = true;
+        this.inMemoryIncrement = incrementBytes;
+        this.inMemoryBackingStore = backingStore;
+    }
+
+    boolean isInMemory()
+    {
+        return inMemory;
+    }
+
+    long getInMemoryIncrement()
+    {
+        return inMemoryIncrement;
+    }
+
+    boolean isInMemoryBackingStore()
+    {
+        return inMemoryBackingStore;
+    }
+
+    /**
+     * Sets the default raw data chunk cache for all data sets of the file.
+     */
+    void setChunkCache(HDF5ChunkCacheSpec chunkCache)
+    {
+        assert chunkCache != null;
+
+        this.chunkCacheOrNull = chunkCache;
+    }
+
+    /**
+     * Returns the default raw data chunk cache for all data sets of the file, or <code>null</code>,
+     * if the default of the HDF5 library should be used.
+     */
+    HDF5ChunkCacheSpec tryGetChunkCache()
+    {
+        return chunkCacheOrNull;
+    }
+
+    /**
+     * Sets the initial configuration of the metadata cache of the file.
+     */
+    void setMetadataCache(HDF5MetadataCacheSpec metadataCache)
+    {
+        assert metadataCache != null;
+
+        this.metadataCacheOrNull = metadataCache;
+    }
+
+    /**
+     * Returns the initial configuration of the metadata cache of the file, or <code>null</code>, if
+     * the default of the HDF5 library should be used.
+     */
+    HDF5MetadataCacheSpec tryGetMetadataCache()
+    {
+        return metadataCacheOrNull;
+    }
+
+}
@@ -69,6 +69,49 @@ class HDF5FileLevelReadOnlyHandler implements IHDF5FileLevelReadOnlyHandler
     {
         return baseReader.hdf5File;
     }
+
+    @Override
+    public byte[] toImage()
+    {
+        baseReader.checkOpen();
+        return baseReader.h5.getFileImage(baseReader.fileId);
+    }
+
+    @Override
+    public HDF5MetadataCacheSpec getMetadataCacheSpec()
+    {
+        baseReader.checkOpen();
+        return baseReader.h5.getMetadataCacheSpec(baseReader.fileId);
+    }
+
+    @Override
+    public HDF5MetadataCacheStatistics getMetadataCacheStatistics()
+    {
+        baseReader.checkOpen();
+        return baseReader.h5.getMetadataCacheStatistics(baseReader.fileId);
+    }
+
+    @Override
+    public void resetMetadataCacheStatistics()
+    {
+        baseReader.checkOpen();
+        baseReader.h5.resetMetadataCacheStatistics(baseReader.fileId);
+    }
+
+    @Override
+    public HDF5CacheStatistics getInformationCacheStatistics()
+    {
+        baseReader.checkOpen();
+        final HDF5InformationCache cacheOrNull = baseReader.tryGetInformationCache();
+        return (cacheOrNull == null) ? null : cacheOrNull.getStatistics();
+    }
+
+    @Override
+    public long getNumberOfOpenObjects()
+    {
+        baseReader.checkOpen();
+        return baseReader.h5.getNumberOfOpenObjects(baseReader.fileId);
+    }
     
     @Override
     public void close()
@@ -64,6 +64,14 @@ final class HDF5FileLevelReadWriteHandler extends HDF5FileLevelReadOnlyHandler i
         baseWriter.flush();
     }
 
+    @Override
+    public byte[] toImage()
+    {
+        baseWriter.checkOpen();
+        baseWriter.flush();
+        return super.toImage();
+    }
+
     @Override
     public void flushSyncBlocking()
     {
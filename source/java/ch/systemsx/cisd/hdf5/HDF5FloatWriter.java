@@ -24,6 +24,8 @@ import static hdf.hdf5lib.HDF5Constants.H5S_ALL;
 import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_FLOAT;
 import static hdf.hdf5lib.HDF5Constants.H5T_IEEE_F32LE;
 
+import java.nio.ByteBuffer;
+
 import ch.systemsx.cisd.base.mdarray.MDArray;
 import ch.systemsx.cisd.base.mdarray.MDFloatArray;
 import ch.systemsx.cisd.hdf5.cleanup.ICallableWithCleanUp;
@@ -197,6 +199,11 @@ class HDF5FloatWriter extends HDF5FloatReader implements IHDF5FloatWriter
                             baseWriter.getOrCreateDataSetId(objectPath, 
                                 H5T_IEEE_F32LE, new long[]
                                 { data.length }, 4, features, registry);
+                    if (baseWriter.tryWriteParallel(dataSetId, H5T_NATIVE_FLOAT, new long[1],
+                            new long[] { data.length }, data, registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     H5Dwrite(dataSetId, H5T_NATIVE_FLOAT, H5S_ALL, H5S_ALL, H5P_DEFAULT, 
                             data);
                     return null; // Nothing to return.
@@ -401,6 +408,12 @@ class HDF5FloatWriter extends HDF5FloatReader implements IHDF5FloatWriter
         assert data != null;
 
         baseWriter.checkOpen();
+        final HDF5DataSet cachedDataSetOrNull = baseWriter.tryGetCachedDataSet(objectPath);
+        if (cachedDataSetOrNull != null && cachedDataSetOrNull.getRank() == 1)
+        {
+            writeArrayBlockWithOffset(cachedDataSetOrNull, data, dataSize, offset);
+            return;
+        }
         final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
             {
                 @Override
@@ -414,6 +427,11 @@ class HDF5FloatWriter extends HDF5FloatReader implements IHDF5FloatWriter
                             baseWriter.h5.openAndExtendDataSet(baseWriter.fileId, objectPath,
                                     baseWriter.fileFormat, new long[]
                                         { offset + dataSize }, false, registry);
+                    if (baseWriter.tryWriteParallel(dataSetId, H5T_NATIVE_FLOAT, slabStartOrNull,
+                            blockDimensions, data, registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     final long dataSpaceId = 
                             baseWriter.h5.getDataSpaceForDataSet(dataSetId, registry);
                     baseWriter.h5.setHyperslabBlock(dataSpaceId, slabStartOrNull, blockDimensions);
@@ -447,9 +465,11 @@ class HDF5FloatWriter extends HDF5FloatReader implements IHDF5FloatWriter
                         { offset };
                     final long[] requiredDimensions = new long[]
                         { offset + dataSize };
-                    if (baseWriter.h5.extendDataSet(dataSet, requiredDimensions, false, registry))
+                    dataSet.extend(requiredDimensions);
+                    if (baseWriter.tryWriteParallel(dataSet.getDataSetId(), H5T_NATIVE_FLOAT,
+                            slabStartOrNull, blockDimensions, data, registry))
                     {
-                        dataSet.setDimensions(requiredDimensions);
+                        return null; // Nothing to return.
                     }
                     final long dataSpaceId =
                             baseWriter.h5.getDataSpaceForDataSet(dataSet.getDataSetId(), registry);
@@ -649,6 +669,12 @@ class HDF5FloatWriter extends HDF5FloatReader implements IHDF5FloatWriter
                     final long dataSetId =
                             baseWriter.getOrCreateDataSetId(objectPath, H5T_IEEE_F32LE, 
                                     data.longDimensions(), 4, features, registry);
+                    if (baseWriter.tryWriteParallel(dataSetId, H5T_NATIVE_FLOAT,
+                            new long[data.rank()], data.longDimensions(), data.getAsFlatArray(),
+                            registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     H5Dwrite(dataSetId, H5T_NATIVE_FLOAT, H5S_ALL, H5S_ALL, H5P_DEFAULT, 
                             data.getAsFlatArray());
                     return null; // Nothing to return.
@@ -678,6 +704,120 @@ class HDF5FloatWriter extends HDF5FloatReader implements IHDF5FloatWriter
         baseWriter.runner.call(writeRunnable);
     }
 
+    @Override
+    public void writeFromBuffer(final String objectPath, final ByteBuffer buffer,
+            final long[] dimensions)
+    {
+        writeFromBuffer(objectPath, buffer, dimensions, FLOAT_NO_COMPRESSION);
+    }
+
+    @Override
+    public void writeFromBuffer(final String objectPath, final ByteBuffer buffer,
+            final long[] dimensions, final HDF5FloatStorageFeatures features)
+    {
+        assert objectPath != null;
+        assert buffer != null;
+        assert dimensions != null;
+
+        baseWriter.checkOpen();
+        final int sizeInBytes = MDArray.getLength(dimensions) * 4;
+        HDF5Utils.checkBufferSize(buffer, sizeInBytes);
+        final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
+            {
+                @Override
+                public Void call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId =
+                            baseWriter.getOrCreateDataSetId(objectPath, H5T_IEEE_F32LE, 
+                                    dimensions, 4, features, registry);
+                    baseWriter.h5.writeDataSet(dataSetId, H5T_NATIVE_FLOAT, H5S_ALL, H5S_ALL,
+                            buffer);
+                    return null; // Nothing to return.
+                }
+            };
+        baseWriter.runner.call(writeRunnable);
+        buffer.position(buffer.position() + sizeInBytes);
+    }
+
+    @Override
+    public void writeFromBuffer(final String objectPath, final ByteBuffer buffer,
+            final int[] blockDimensions, final long[] offset)
+    {
+        assert objectPath != null;
+        assert buffer != null;
+        assert blockDimensions != null;
+        assert offset != null;
+
+        baseWriter.checkOpen();
+        baseWriter.h5.checkRank(blockDimensions.length, offset.length);
+        final long[] dimensions = MDArray.toLong(blockDimensions);
+        final int sizeInBytes = MDArray.getLength(dimensions) * 4;
+        HDF5Utils.checkBufferSize(buffer, sizeInBytes);
+        final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
+            {
+                @Override
+                public Void call(ICleanUpRegistry registry)
+                {
+                    final long[] dataSetDimensions = new long[dimensions.length];
+                    for (int i = 0; i < offset.length; ++i)
+                    {
+                        dataSetDimensions[i] = offset[i] + dimensions[i];
+                    }
+                    final long dataSetId =
+                            baseWriter.h5.openAndExtendDataSet(baseWriter.fileId, objectPath,
+                                    baseWriter.fileFormat, dataSetDimensions, false, registry);
+                    final long dataSpaceId = 
+                            baseWriter.h5.getDataSpaceForDataSet(dataSetId, registry);
+                    baseWriter.h5.setHyperslabBlock(dataSpaceId, offset, dimensions);
+                    final long memorySpaceId = 
+                            baseWriter.h5.createSimpleDataSpace(dimensions, registry);
+                    baseWriter.h5.writeDataSet(dataSetId, H5T_NATIVE_FLOAT, memorySpaceId,
+                            dataSpaceId, buffer);
+                    return null; // Nothing to return.
+                }
+            };
+        baseWriter.runner.call(writeRunnable);
+        buffer.position(buffer.position() + sizeInBytes);
+    }
+
+    @Override
+    public void writeFromBuffer(final HDF5DataSet dataSet, final ByteBuffer buffer,
+            final int[] blockDimensions, final long[] offset)
+    {
+        assert dataSet != null;
+        assert buffer != null;
+        assert blockDimensions != null;
+        assert offset != null;
+
+        baseWriter.checkOpen();
+        baseWriter.h5.checkRank(blockDimensions.length, offset.length);
+        baseWriter.h5.checkRank(blockDimensions.length, dataSet.getRank());
+        final long[] dimensions = MDArray.toLong(blockDimensions);
+        final int sizeInBytes = MDArray.getLength(dimensions) * 4;
+        HDF5Utils.checkBufferSize(buffer, sizeInBytes);
+        final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
+            {
+                @Override
+                public Void call(ICleanUpRegistry registry)
+                {
+                    final long[] dataSetDimensions = new long[dimensions.length];
+                    for (int i = 0; i < offset.length; ++i)
+                    {
+                        dataSetDimensions[i] = offset[i] + dimensions[i];
+                    }
+                    dataSet.extend(dataSetDimensions);
+                    final long dataSpaceId = dataSet.getDataSpaceId(); 
+                    baseWriter.h5.setHyperslabBlock(dataSpaceId, offset, dimensions);
+                    final long memorySpaceId = dataSet.getMemorySpaceId(dimensions); 
+                    baseWriter.h5.writeDataSet(dataSet.getDataSetId(), H5T_NATIVE_FLOAT,
+                            memorySpaceId, dataSpaceId, buffer);
+                    return null; // Nothing to return.
+                }
+            };
+        baseWriter.runner.call(writeRunnable);
+        buffer.position(buffer.position() + sizeInBytes);
+    }
+
     @Override
     public void createMDArray(final String objectPath, final int[] dimensions)
     {
@@ -977,6 +1117,12 @@ class HDF5FloatWriter extends HDF5FloatReader implements IHDF5FloatWriter
         assert offset != null;
 
         baseWriter.checkOpen();
+        final HDF5DataSet cachedDataSetOrNull = baseWriter.tryGetCachedDataSet(objectPath);
+        if (cachedDataSetOrNull != null && cachedDataSetOrNull.getRank() == data.rank())
+        {
+            writeMDArrayBlockWithOffset(cachedDataSetOrNull, data, offset);
+            return;
+        }
         final ICallableWithCleanUp<Void> writeRunnable = new ICallableWithCleanUp<Void>()
             {
                 @Override
@@ -992,6 +1138,11 @@ class HDF5FloatWriter extends HDF5FloatReader implements IHDF5FloatWriter
                     final long dataSetId =
                             baseWriter.h5.openAndExtendDataSet(baseWriter.fileId, objectPath,
                                     baseWriter.fileFormat, dataSetDimensions, false, registry);
+                    if (baseWriter.tryWriteParallel(dataSetId, H5T_NATIVE_FLOAT, offset,
+                            dimensions, data.getAsFlatArray(), registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     final long dataSpaceId = 
                             baseWriter.h5.getDataSpaceForDataSet(dataSetId, registry);
                     baseWriter.h5.setHyperslabBlock(dataSpaceId, offset, dimensions);
@@ -1042,6 +1193,11 @@ class HDF5FloatWriter extends HDF5FloatReader implements IHDF5FloatWriter
                         dataSetDimensions[i] = offset[i] + dimensions[i];
                     }
                     dataSet.extend(dataSetDimensions);
+                    if (baseWriter.tryWriteParallel(dataSet.getDataSetId(), H5T_NATIVE_FLOAT,
+                            offset, dimensions, data.getAsFlatArray(), registry))
+                    {
+                        return null; // Nothing to return.
+                    }
                     final long dataSpaceId = dataSet.getDataSpaceId(); 
                     baseWriter.h5.setHyperslabBlock(dataSpaceId, offset, dimensions);
                     final long memorySpaceId = dataSet.getMemorySpaceId(dimensions); 
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import static ch.systemsx.cisd.hdf5.HDF5Utils.removeInternalNames;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the (non-internal) members of a group in increasing name order that reads the
+ * member names page by page. Each page is read by one iteration of the HDF5 library over the links
+ * of the group, resuming at the index where the previous page ended.
+ * 
+ * @author Bernd Rinn
+ */
+final class HDF5GroupMemberIterator implements Iterator<String>
+{
+    private final HDF5BaseReader baseReader;
+
+    private final String groupPath;
+
+    private final int pageSize;
+
+    private long nextIndex;
+
+    private boolean exhausted;
+
+    private List<String> page;
+
+    private int pagePosition;
+
+    HDF5GroupMemberIterator(HDF5BaseReader baseReader, String groupPath, int pageSize)
+    {
+        assert baseReader != null;
+        assert groupPath != null;
+
+        if (pageSize < 1)
+        {
+            throw new IllegalArgumentException("Page size needs to be positive, but is "
+                    + pageSize + ".");
+        }
+        this.baseReader = baseReader;
+        this.groupPath = groupPath;
+        this.pageSize = pageSize;
+        // Read the first page right away so that a wrong group path fails here.
+        readPage();
+    }
+
+    private void readPage()
+    {
+        baseReader.checkOpen();
+        final List<String> names =
+                baseReader.h5.getGroupMembers(baseReader.fileId, groupPath, nextIndex, pageSize);
+        nextIndex += names.size();
+        exhausted = (names.size() < pageSize);
+        page = removeInternalNames(names, baseReader.houseKeepingNameSuffix, false);
+        pagePosition = 0;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        while (pagePosition >= page.size() && exhausted == false)
+        {
+            readPage();
+        }
+        return pagePosition < page.size();
+    }
+
+    @Override
+    public String next()
+    {
+        if (hasNext() == false)
+        {
+            throw new NoSuchElementException();
+        }
+        return page.get(pagePosition++);
+    }
+
+    @Override
+    public void remove() throws UnsupportedOperationException
+    {
+        throw new UnsupportedOperationException();
+    }
+
+}
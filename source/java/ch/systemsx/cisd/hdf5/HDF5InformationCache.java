@@ -0,0 +1,180 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A size-bounded cache of information about objects (e.g. {@link HDF5DataSetInformation},
+ * {@link HDF5ObjectInformation} or the dimensions of a data set), keyed by object path and
+ * evicting the information of the least recently used object.
+ * <p>
+ * For each object, several pieces of information can be stored under keys chosen by the caller.
+ * The cache has to be invalidated whenever an object is deleted, moved, extended or gets its
+ * attributes changed.
+ * 
+ * @author Bernd Rinn
+ */
+final class HDF5InformationCache
+{
+    /** The value stored for information that is <code>null</code>. */
+    private static final Object NULL_VALUE = new Object();
+
+    /** The value returned by {@link #lookup(String, List)} for information that is not cached. */
+    private static final Object MISSING = new Object();
+
+    private final Map<String, Map<List<Object>, Object>> objects;
+
+    private long hits;
+
+    private long misses;
+
+    HDF5InformationCache(final int maxSize)
+    {
+        assert maxSize > 0;
+
+        this.objects = new LinkedHashMap<String, Map<List<Object>, Object>>(16, 0.75f, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<String, Map<List<Object>, Object>> eldest)
+                {
+                    return size() > maxSize;
+                }
+            };
+    }
+
+    private static boolean isCacheable(String path)
+    {
+        return path.length() > 0 && path.charAt(0) != '\0';
+    }
+
+    /**
+     * Returns the information <var>key</var> about the object <var>path</var>, or a value for
+     * which {@link #isMissing(Object)} returns <code>true</code>, if it is not cached. Counts as a
+     * hit or a miss.
+     */
+    synchronized Object lookup(String path, List<Object> key)
+    {
+        final Map<List<Object>, Object> informationOrNull =
+                isCacheable(path) ? objects.get(HDF5Utils.toAbsolutePath(path)) : null;
+        final Object valueOrNull = (informationOrNull != null) ? informationOrNull.get(key) : null;
+        if (valueOrNull == null)
+        {
+            ++misses;
+            return MISSING;
+        }
+        ++hits;
+        return (valueOrNull == NULL_VALUE) ? null : valueOrNull;
+    }
+
+    /**
+     * Returns <code>true</code>, if <var>value</var> has been returned by
+     * {@link #lookup(String, List)} for information that is not cached.
+     */
+    static boolean isMissing(Object value)
+    {
+        return value == MISSING;
+    }
+
+    /**
+     * Stores <var>valueOrNull</var> as information <var>key</var> about the object
+     * <var>path</var>.
+     * 
+     * @return <var>valueOrNull</var>
+     */
+    synchronized <T> T put(String path, List<Object> key, T valueOrNull)
+    {
+        if (isCacheable(path))
+        {
+            final String absolutePath = HDF5Utils.toAbsolutePath(path);
+            Map<List<Object>, Object> information = objects.get(absolutePath);
+            if (information == null)
+            {
+                information = new HashMap<List<Object>, Object>();
+                objects.put(absolutePath, information);
+            }
+            information.put(key, (valueOrNull == null) ? NULL_VALUE : valueOrNull);
+        }
+        return valueOrNull;
+    }
+
+    /**
+     * Removes all information about the object <var>path</var>.
+     */
+    synchronized void invalidate(String path)
+    {
+        if (isCacheable(path))
+        {
+            objects.remove(HDF5Utils.toAbsolutePath(path));
+        }
+    }
+
+    /**
+     * Removes all information about the object <var>path</var> and about all objects below it.
+     */
+    synchronized void invalidateSubtree(String path)
+    {
+        if (isCacheable(path) == false)
+        {
+            clear();
+            return;
+        }
+        final String key = HDF5Utils.toAbsolutePath(path);
+        final String prefix = key.endsWith("/") ? key : key + "/";
+        final Iterator<String> it = objects.keySet().iterator();
+        while (it.hasNext())
+        {
+            final String objectPath = it.next();
+            if (objectPath.equals(key) || objectPath.startsWith(prefix))
+            {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all information.
+     */
+    synchronized void clear()
+    {
+        objects.clear();
+    }
+
+    /**
+     * Returns the number of objects currently in the cache.
+     */
+    synchronized int size()
+    {
+        return objects.size();
+    }
+
+    /**
+     * Returns the hit and miss counts of this cache.
+     */
+    synchronized HDF5CacheStatistics getStatistics()
+    {
+        return new HDF5CacheStatistics(hits, misses);
+    }
+
+}
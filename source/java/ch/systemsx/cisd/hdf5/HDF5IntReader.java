@@ -22,8 +22,10 @@ import static ch.systemsx.cisd.hdf5.MatrixUtils.createFullBlockDimensionsAndOffs
 import static hdf.hdf5lib.HDF5Constants.H5T_ARRAY;
 import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT32;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import hdf.hdf5lib.exceptions.HDF5JavaException;
 import hdf.hdf5lib.exceptions.HDF5LibraryException;
@@ -175,6 +177,22 @@ class HDF5IntReader implements IHDF5IntReader
         assert objectPath != null;
 
         baseReader.checkOpen();
+        final HDF5MemoryMappedDataSets.MappedDataSet mappedOrNull =
+                baseReader.tryGetMemoryMapped(objectPath, H5T_NATIVE_INT32);
+        if (mappedOrNull != null)
+        {
+            final int[] data = new int[mappedOrNull.getNumberOfElements()];
+            mappedOrNull.copy(0, data, 0, data.length);
+            return data;
+        }
+        final HDF5ParallelChunkReader.Plan planOrNull =
+                baseReader.tryPlanParallelRead(objectPath, H5T_NATIVE_INT32);
+        if (planOrNull != null)
+        {
+            final int[] data = new int[planOrNull.getNumberOfElements()];
+            baseReader.readParallel(planOrNull, data);
+            return data;
+        }
         final ICallableWithCleanUp<int[]> readCallable = new ICallableWithCleanUp<int[]>()
             {
                 @Override
@@ -338,6 +356,87 @@ class HDF5IntReader implements IHDF5IntReader
         return baseReader.runner.call(readCallable);
     }
 
+    @Override
+    public int readToBuffer(final String objectPath, final ByteBuffer buffer)
+    {
+        assert objectPath != null;
+        assert buffer != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<Integer> readCallable = new ICallableWithCleanUp<Integer>()
+            {
+                @Override
+                public Integer call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId = 
+                            baseReader.h5.openDataSet(baseReader.fileId, objectPath, registry);
+                    final DataSpaceParameters spaceParams =
+                            baseReader.getSpaceParameters(dataSetId, registry);
+                    return readToBuffer(dataSetId, spaceParams, buffer);
+                }
+            };
+        return baseReader.runner.call(readCallable);
+    }
+
+    @Override
+    public int readToBuffer(final String objectPath, final ByteBuffer buffer,
+            final int[] blockDimensions, final long[] offset)
+    {
+        assert objectPath != null;
+        assert buffer != null;
+        assert blockDimensions != null;
+        assert offset != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<Integer> readCallable = new ICallableWithCleanUp<Integer>()
+            {
+                @Override
+                public Integer call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId = 
+                            baseReader.h5.openDataSet(baseReader.fileId, objectPath, registry);
+                    final DataSpaceParameters spaceParams =
+                            baseReader.getSpaceParameters(dataSetId, offset, blockDimensions,
+                                    registry);
+                    return readToBuffer(dataSetId, spaceParams, buffer);
+                }
+            };
+        return baseReader.runner.call(readCallable);
+    }
+
+    @Override
+    public int readToBuffer(final HDF5DataSet dataSet, final ByteBuffer buffer,
+            final int[] blockDimensions, final long[] offset)
+    {
+        assert dataSet != null;
+        assert buffer != null;
+        assert blockDimensions != null;
+        assert offset != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<Integer> readCallable = new ICallableWithCleanUp<Integer>()
+            {
+                @Override
+                public Integer call(ICleanUpRegistry registry)
+                {
+                    final DataSpaceParameters spaceParams =
+                            baseReader.getSpaceParameters(dataSet, offset, blockDimensions);
+                    return readToBuffer(dataSet.getDataSetId(), spaceParams, buffer);
+                }
+            };
+        return baseReader.runner.call(readCallable);
+    }
+
+    private int readToBuffer(long dataSetId, DataSpaceParameters spaceParams, ByteBuffer buffer)
+    {
+        final int sizeInBytes = spaceParams.blockSize * 4;
+        HDF5Utils.checkBufferSize(buffer, sizeInBytes);
+        baseReader.h5.readDataSet(dataSetId, H5T_NATIVE_INT32, spaceParams.memorySpaceId,
+                spaceParams.dataSpaceId, buffer);
+        buffer.position(buffer.position() + sizeInBytes);
+        return spaceParams.blockSize;
+    }
+
     @Override
     public int[] readArrayBlock(final String objectPath, final int blockSize,
             final long blockNumber)
@@ -358,6 +457,20 @@ class HDF5IntReader implements IHDF5IntReader
         assert objectPath != null;
 
         baseReader.checkOpen();
+        final HDF5MemoryMappedDataSets.MappedDataSet mappedOrNull =
+                baseReader.tryGetMemoryMapped(objectPath, H5T_NATIVE_INT32);
+        if (mappedOrNull != null && mappedOrNull.getRank() == 1 && blockSize > 0)
+        {
+            final int[] data =
+                    new int[mappedOrNull.getEffectiveBlockSize(offset, blockSize)];
+            mappedOrNull.copy(offset, data, 0, data.length);
+            return data;
+        }
+        final HDF5DataSet cachedDataSetOrNull = baseReader.tryGetCachedDataSet(objectPath);
+        if (cachedDataSetOrNull != null && cachedDataSetOrNull.getRank() == 1)
+        {
+            return readArrayBlockWithOffset(cachedDataSetOrNull, blockSize, offset);
+        }
         final ICallableWithCleanUp<int[]> readCallable = new ICallableWithCleanUp<int[]>()
             {
                 @Override
@@ -540,6 +653,14 @@ class HDF5IntReader implements IHDF5IntReader
         assert objectPath != null;
 
         baseReader.checkOpen();
+        final HDF5ParallelChunkReader.Plan planOrNull =
+                baseReader.tryPlanParallelRead(objectPath, H5T_NATIVE_INT32);
+        if (planOrNull != null)
+        {
+            final int[] data = new int[planOrNull.getNumberOfElements()];
+            baseReader.readParallel(planOrNull, data);
+            return new MDIntArray(data, planOrNull.getDimensions());
+        }
         final ICallableWithCleanUp<MDIntArray> readCallable = new ICallableWithCleanUp<MDIntArray>()
             {
                 @Override
@@ -858,6 +979,23 @@ class HDF5IntReader implements IHDF5IntReader
         assert offset != null;
 
         baseReader.checkOpen();
+        final HDF5MemoryMappedDataSets.MappedDataSet mappedOrNull =
+                baseReader.tryGetMemoryMapped(objectPath, H5T_NATIVE_INT32);
+        final int[] effectiveBlockDimensionsOrNull = (mappedOrNull != null) ? 
+                mappedOrNull.tryGetEffectiveBlockDimensions(offset, blockDimensions) : null;
+        if (effectiveBlockDimensionsOrNull != null)
+        {
+            final int[] dataBlock =
+                    new int[MDArray.getLength(effectiveBlockDimensionsOrNull)];
+            mappedOrNull.copyBlock(offset, effectiveBlockDimensionsOrNull, dataBlock);
+            return new MDIntArray(dataBlock, effectiveBlockDimensionsOrNull);
+        }
+        final HDF5DataSet cachedDataSetOrNull = baseReader.tryGetCachedDataSet(objectPath);
+        if (cachedDataSetOrNull != null
+                && cachedDataSetOrNull.getRank() == blockDimensions.length)
+        {
+            return readMDArrayBlockWithOffset(cachedDataSetOrNull, blockDimensions, offset);
+        }
         final ICallableWithCleanUp<MDIntArray> readCallable = new ICallableWithCleanUp<MDIntArray>()
             {
                 @Override
@@ -947,28 +1085,54 @@ class HDF5IntReader implements IHDF5IntReader
                 @Override
                 public Iterator<HDF5DataBlock<int[]>> iterator()
                 {
-                    return new Iterator<HDF5DataBlock<int[]>>()
+                    return new IHDF5CloseableIterator<HDF5DataBlock<int[]>>()
                         {
                             final HDF5DataSet dataSet = baseReader.openDataSet(dataSetPath);
                         
                             final HDF5NaturalBlock1DParameters.HDF5NaturalBlock1DIndex index =
                                     params.getNaturalBlockIndex();
 
+                            boolean closed;
+
                             @Override
                             public boolean hasNext()
                             {
-                                return index.hasNext();
+                                if (index.hasNext() == false)
+                                {
+                                    close();
+                                }
+                                return closed == false;
                             }
 
                             @Override
                             public HDF5DataBlock<int[]> next()
                             {
+                                if (closed)
+                                {
+                                    throw new NoSuchElementException();
+                                }
                                 final long offset = index.computeOffsetAndSizeGetOffset();
                                 final int[] block =
                                         readArrayBlockWithOffset(dataSet, index
                                                 .getBlockSize(), offset);
-                                return new HDF5DataBlock<int[]>(block, index.getAndIncIndex(), 
-                                        offset);
+                                final HDF5DataBlock<int[]> dataBlock =
+                                        new HDF5DataBlock<int[]>(block, index.getAndIncIndex(),
+                                                offset);
+                                if (index.hasNext() == false)
+                                {
+                                    close();
+                                }
+                                return dataBlock;
+                            }
+
+                            @Override
+                            public void close()
+                            {
+                                if (closed == false)
+                                {
+                                    closed = true;
+                                    dataSet.close();
+                                }
                             }
 
                             @Override
@@ -981,6 +1145,67 @@ class HDF5IntReader implements IHDF5IntReader
             };
     }
 
+    @Override
+    public Iterable<HDF5DataBlock<int[]>> getArrayNaturalBlocks(final String dataSetPath,
+            final HDF5PrefetchOptions prefetch) throws HDF5JavaException
+    {
+        if (prefetch.isPrefetching() == false)
+        {
+            return getArrayNaturalBlocks(dataSetPath);
+        }
+        baseReader.checkOpen();
+        final HDF5NaturalBlock1DParameters params =
+                new HDF5NaturalBlock1DParameters(baseReader.getDataSetInformation(dataSetPath));
+
+        return new Iterable<HDF5DataBlock<int[]>>()
+            {
+                @Override
+                public Iterator<HDF5DataBlock<int[]>> iterator()
+                {
+                    final HDF5PrefetchingIterator.IBlockSource<HDF5DataBlock<int[]>> source =
+                            new HDF5PrefetchingIterator.IBlockSource<HDF5DataBlock<int[]>>()
+                                {
+                                    final HDF5DataSet dataSet = baseReader.openDataSet(dataSetPath);
+
+                                    final HDF5NaturalBlock1DParameters.HDF5NaturalBlock1DIndex index =
+                                            params.getNaturalBlockIndex();
+
+                                    @Override
+                                    public HDF5DataBlock<int[]> readNext(
+                                            HDF5DataBlock<int[]> recycledBlockOrNull)
+                                    {
+                                        final long offset = index.computeOffsetAndSizeGetOffset();
+                                        final int blockSize = index.getBlockSize();
+                                        final int[] block;
+                                        if (recycledBlockOrNull != null
+                                                && recycledBlockOrNull.getData().length == blockSize)
+                                        {
+                                            block = recycledBlockOrNull.getData();
+                                            readToMDArrayBlockWithOffset(dataSet,
+                                                    new MDIntArray(block, new int[] { blockSize }),
+                                                    new int[] { blockSize }, new long[] { offset },
+                                                    new int[] { 0 });
+                                        } else
+                                        {
+                                            block = readArrayBlockWithOffset(dataSet, blockSize, offset);
+                                        }
+                                        return new HDF5DataBlock<int[]>(block,
+                                                index.getAndIncIndex(), offset);
+                                    }
+
+                                    @Override
+                                    public void close()
+                                    {
+                                        dataSet.close();
+                                    }
+                                };
+                    return new HDF5PrefetchingIterator<HDF5DataBlock<int[]>>(source,
+                            params.getNumberOfBlocks(), prefetch.getDepth(),
+                            baseReader.fileRegistry);
+                }
+            };
+    }
+
     @Override
     public Iterable<HDF5MDDataBlock<MDIntArray>> getMDArrayNaturalBlocks(final String dataSetPath)
     {
@@ -993,26 +1218,54 @@ class HDF5IntReader implements IHDF5IntReader
                 @Override
                 public Iterator<HDF5MDDataBlock<MDIntArray>> iterator()
                 {
-                    return new Iterator<HDF5MDDataBlock<MDIntArray>>()
+                    return new IHDF5CloseableIterator<HDF5MDDataBlock<MDIntArray>>()
                         {
+                            final HDF5DataSet dataSet = baseReader.openDataSet(dataSetPath);
+
                             final HDF5NaturalBlockMDParameters.HDF5NaturalBlockMDIndex index =
                                     params.getNaturalBlockIndex();
 
+                            boolean closed;
+
                             @Override
                             public boolean hasNext()
                             {
-                                return index.hasNext();
+                                if (index.hasNext() == false)
+                                {
+                                    close();
+                                }
+                                return closed == false;
                             }
 
                             @Override
                             public HDF5MDDataBlock<MDIntArray> next()
                             {
+                                if (closed)
+                                {
+                                    throw new NoSuchElementException();
+                                }
                                 final long[] offset = index.computeOffsetAndSizeGetOffsetClone();
                                 final MDIntArray data =
-                                        readMDArrayBlockWithOffset(dataSetPath, index
+                                        readMDArrayBlockWithOffset(dataSet, index
                                                 .getBlockSize(), offset);
-                                return new HDF5MDDataBlock<MDIntArray>(data, index
-                                        .getIndexClone(), offset);
+                                final HDF5MDDataBlock<MDIntArray> dataBlock =
+                                        new HDF5MDDataBlock<MDIntArray>(data, index
+                                                .getIndexClone(), offset);
+                                if (index.hasNext() == false)
+                                {
+                                    close();
+                                }
+                                return dataBlock;
+                            }
+
+                            @Override
+                            public void close()
+                            {
+                                if (closed == false)
+                                {
+                                    closed = true;
+                                    dataSet.close();
+                                }
                             }
 
                             @Override
@@ -1025,6 +1278,91 @@ class HDF5IntReader implements IHDF5IntReader
             };
     }
 
+    @Override
+    public Iterable<HDF5MDDataBlock<MDIntArray>> getMDArrayNaturalBlocks(
+            final String dataSetPath, final HDF5PrefetchOptions prefetch)
+    {
+        if (prefetch.isPrefetching() == false)
+        {
+            return getMDArrayNaturalBlocks(dataSetPath);
+        }
+        baseReader.checkOpen();
+        final HDF5NaturalBlockMDParameters params =
+                new HDF5NaturalBlockMDParameters(baseReader.getDataSetInformation(dataSetPath));
+
+        return new Iterable<HDF5MDDataBlock<MDIntArray>>()
+            {
+                @Override
+                public Iterator<HDF5MDDataBlock<MDIntArray>> iterator()
+                {
+                    final HDF5PrefetchingIterator.IBlockSource<HDF5MDDataBlock<MDIntArray>> source =
+                            new HDF5PrefetchingIterator.IBlockSource<HDF5MDDataBlock<MDIntArray>>()
+                                {
+                                    final HDF5DataSet dataSet = baseReader.openDataSet(dataSetPath);
+
+                                    final HDF5NaturalBlockMDParameters.HDF5NaturalBlockMDIndex index =
+                                            params.getNaturalBlockIndex();
+
+                                    @Override
+                                    public HDF5MDDataBlock<MDIntArray> readNext(
+                                            HDF5MDDataBlock<MDIntArray> recycledBlockOrNull)
+                                    {
+                                        final long[] offset = index.computeOffsetAndSizeGetOffsetClone();
+                                        final int[] blockDimensions = index.getBlockSize().clone();
+                                        final MDIntArray data;
+                                        if (recycledBlockOrNull != null
+                                                && Arrays.equals(recycledBlockOrNull.getData()
+                                                        .dimensions(), blockDimensions))
+                                        {
+                                            data = recycledBlockOrNull.getData();
+                                            readToMDArrayBlockWithOffset(dataSet, data,
+                                                    blockDimensions, offset,
+                                                    new int[blockDimensions.length]);
+                                        } else
+                                        {
+                                            data = readMDArrayBlockWithOffset(dataSet,
+                                                    blockDimensions, offset);
+                                        }
+                                        return new HDF5MDDataBlock<MDIntArray>(data,
+                                                index.getIndexClone(), offset);
+                                    }
+
+                                    @Override
+                                    public void close()
+                                    {
+                                        dataSet.close();
+                                    }
+                                };
+                    return new HDF5PrefetchingIterator<HDF5MDDataBlock<MDIntArray>>(source,
+                            params.getNumberOfBlocks(), prefetch.getDepth(),
+                            baseReader.fileRegistry);
+                }
+            };
+    }
+
+    @Override
+    public HDF5BlockCursor<int[]> blockCursor(final HDF5DataSet dataSet,
+            final int[] blockDimensions)
+    {
+        return blockCursor(dataSet, blockDimensions,
+                new int[HDF5BlockCursor.getBlockLength(blockDimensions)]);
+    }
+
+    @Override
+    public HDF5BlockCursor<int[]> blockCursor(final HDF5DataSet dataSet,
+            final int[] blockDimensions, final int[] array)
+    {
+        return new HDF5BlockCursor<int[]>(baseReader, dataSet, blockDimensions, array,
+                array.length)
+            {
+                @Override
+                void readBlock(HDF5 h5, long dataSetId, long memorySpaceId, long fileSpaceId)
+                {
+                    h5.readDataSet(dataSetId, H5T_NATIVE_INT32, memorySpaceId, fileSpaceId, array);
+                }
+            };
+    }
+
     int[] getIntArrayAttribute(final long objectId, final String attributeName,
             ICleanUpRegistry registry)
     {
@@ -95,6 +95,20 @@ abstract class HDF5MemberByteifyer
 
     abstract byte[] byteify(long compoundDataTypeId, Object obj) throws IllegalAccessException;
 
+    /**
+     * Writes the member of <var>obj</var> directly into <var>barray</var>, into the record that
+     * starts at <var>recordOffset</var>.
+     * 
+     * @return <code>true</code>, if the member has been written, <code>false</code>, if this
+     *         byteifyer doesn't support direct writing and {@link #byteify(long, Object)} needs to
+     *         be used instead.
+     */
+    boolean byteifyInto(long compoundDataTypeId, Object obj, byte[] barray, int recordOffset)
+            throws IllegalAccessException
+    {
+        return false;
+    }
+
     abstract void setFromByteArray(long compoundDataTypeId, Object obj, byte[] byteArr,
             int arrayOffset) throws IllegalAccessException;
 
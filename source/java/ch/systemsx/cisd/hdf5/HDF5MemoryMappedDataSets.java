@@ -0,0 +1,457 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_DOUBLE;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_FLOAT;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT16;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT32;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT64;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT8;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT16;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT32;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT64;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT8;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+import ch.systemsx.cisd.base.mdarray.MDAbstractArray;
+import ch.systemsx.cisd.hdf5.cleanup.ICallableWithCleanUp;
+import ch.systemsx.cisd.hdf5.cleanup.ICleanUpRegistry;
+
+/**
+ * Serves reads of contiguous, unfiltered data sets of native byte order from memory mapped regions
+ * of the file, without calling into the HDF5 library (and thus without taking its lock).
+ * <p>
+ * Whether a data set can be mapped is checked with the HDF5 library on first access. The result is
+ * cached per data set path, so this must only be used with files that are not modified while they
+ * are open.
+ * 
+ * @author Bernd Rinn
+ */
+final class HDF5MemoryMappedDataSets
+{
+    /** The native memory types that can be served from a mapped region. */
+    private static final long[] MAPPABLE_MEMORY_TYPES = new long[]
+        { H5T_NATIVE_INT8, H5T_NATIVE_UINT8, H5T_NATIVE_INT16, H5T_NATIVE_UINT16,
+                H5T_NATIVE_INT32, H5T_NATIVE_UINT32, H5T_NATIVE_INT64, H5T_NATIVE_UINT64,
+                H5T_NATIVE_FLOAT, H5T_NATIVE_DOUBLE };
+
+    /** Marker for data sets that can not be mapped. */
+    private static final MappedDataSet NOT_MAPPABLE = new MappedDataSet(-1, null, null);
+
+    /**
+     * A data set mapped into memory.
+     */
+    static final class MappedDataSet
+    {
+        private final long memoryTypeId;
+
+        private final long[] dimensions;
+
+        private final long numberOfElements;
+
+        /** A typed, read-only view of the mapped region, never to be positioned directly. */
+        private final Buffer view;
+
+        private MappedDataSet(long memoryTypeId, long[] dimensions, Buffer view)
+        {
+            this.memoryTypeId = memoryTypeId;
+            this.dimensions = dimensions;
+            this.numberOfElements = (dimensions == null) ? 0 : getLength(dimensions);
+            this.view = view;
+        }
+
+        long[] getDimensions()
+        {
+            return dimensions;
+        }
+
+        int getRank()
+        {
+            return dimensions.length;
+        }
+
+        /**
+         * Returns the number of elements of the whole data set as <code>int</code>.
+         */
+        int getNumberOfElements()
+        {
+            return (int) numberOfElements;
+        }
+
+        /**
+         * Returns the size of the 1d block of <var>blockSize</var> elements starting at
+         * <var>offset</var>, truncated at the end of the data set.
+         */
+        int getEffectiveBlockSize(long offset, int blockSize)
+        {
+            final long size = dimensions[0];
+            final long maxBlockSize = size - offset;
+            if (maxBlockSize <= 0)
+            {
+                throw new HDF5JavaException("Offset " + offset + " >= Size " + size);
+            }
+            return (int) Math.min(blockSize, maxBlockSize);
+        }
+
+        /**
+         * Returns the dimensions of the block of <var>blockDimensions</var> starting at
+         * <var>offset</var>, truncated at the end of the data set. A negative block dimension
+         * denotes the whole remaining extent. Returns <code>null</code> if the rank of the block
+         * doesn't match the rank of the data set.
+         */
+        int[] tryGetEffectiveBlockDimensions(long[] offset, int[] blockDimensions)
+        {
+            if (blockDimensions.length != dimensions.length || offset.length != dimensions.length)
+            {
+                return null;
+            }
+            final int[] effectiveBlockDimensions = new int[dimensions.length];
+            for (int i = 0; i < dimensions.length; ++i)
+            {
+                final long maxBlockSize = dimensions[i] - offset[i];
+                if (maxBlockSize <= 0)
+                {
+                    throw new HDF5JavaException("Offset " + offset[i] + " >= Size "
+                            + dimensions[i]);
+                }
+                effectiveBlockDimensions[i] =
+                        (int) ((blockDimensions[i] < 0) ? maxBlockSize : Math.min(
+                                blockDimensions[i], maxBlockSize));
+            }
+            return effectiveBlockDimensions;
+        }
+
+        /**
+         * Copies <var>length</var> elements starting at element <var>offset</var> to
+         * <var>data</var>, which needs to be a primitive array of the element type of this data
+         * set.
+         */
+        void copy(long offset, Object data, int dataOffset, int length)
+        {
+            HDF5MemoryMappedDataSets.copy(view, offset, data, dataOffset, length);
+        }
+
+        /**
+         * Copies the block of <var>blockDimensions</var> starting at <var>offset</var> to
+         * <var>data</var> (in C order), copying one contiguous run of the last dimension at a
+         * time.
+         */
+        void copyBlock(long[] offset, int[] blockDimensions, Object data)
+        {
+            final int rank = dimensions.length;
+            final int runLength = blockDimensions[rank - 1];
+            final int numberOfRuns = MDAbstractArray.getLength(blockDimensions) / Math.max(1, runLength);
+            final int[] index = new int[rank];
+            for (int run = 0; run < numberOfRuns; ++run)
+            {
+                long elementOffset = 0;
+                for (int i = 0; i < rank; ++i)
+                {
+                    elementOffset = elementOffset * dimensions[i] + offset[i] + index[i];
+                }
+                copy(elementOffset, data, run * runLength, runLength);
+                // Advance the index of the run, the last dimension stays at 0.
+                for (int i = rank - 2; i >= 0; --i)
+                {
+                    if (++index[i] < blockDimensions[i])
+                    {
+                        break;
+                    }
+                    index[i] = 0;
+                }
+            }
+        }
+    }
+
+    private final HDF5BaseReader baseReader;
+
+    private final ConcurrentMap<String, MappedDataSet> mappedDataSets =
+            new ConcurrentHashMap<String, MappedDataSet>();
+
+    private RandomAccessFile fileOrNull;
+
+    HDF5MemoryMappedDataSets(HDF5BaseReader baseReader)
+    {
+        this.baseReader = baseReader;
+    }
+
+    /**
+     * Returns the data set <var>objectPath</var> mapped into memory, if it can be read with memory
+     * type <var>memoryTypeId</var> without any conversion, or <code>null</code> otherwise.
+     */
+    MappedDataSet tryGet(final String objectPath, final long memoryTypeId)
+    {
+        MappedDataSet mappedDataSet = mappedDataSets.get(objectPath);
+        if (mappedDataSet == null)
+        {
+            if (baseReader.h5.isReference(objectPath))
+            {
+                return null;
+            }
+            mappedDataSet = tryMap(objectPath);
+            final MappedDataSet previousOrNull =
+                    mappedDataSets.putIfAbsent(objectPath, mappedDataSet);
+            if (previousOrNull != null)
+            {
+                mappedDataSet = previousOrNull;
+            }
+        }
+        return (mappedDataSet.memoryTypeId == memoryTypeId) ? mappedDataSet : null;
+    }
+
+    private MappedDataSet tryMap(final String objectPath)
+    {
+        final ICallableWithCleanUp<MappedDataSet> mapCallable =
+                new ICallableWithCleanUp<MappedDataSet>()
+                    {
+                        @Override
+                        public MappedDataSet call(ICleanUpRegistry registry)
+                        {
+                            final long dataSetId =
+                                    baseReader.h5.openDataSet(baseReader.fileId, objectPath,
+                                            registry);
+                            final long address =
+                                    baseReader.h5.tryGetContiguousStorageAddress(dataSetId,
+                                            registry);
+                            if (address < 0)
+                            {
+                                return NOT_MAPPABLE;
+                            }
+                            final long dataTypeId =
+                                    baseReader.h5.getDataTypeForDataSet(dataSetId, registry);
+                            final long memoryTypeId = tryGetEqualMemoryType(dataTypeId);
+                            if (memoryTypeId < 0)
+                            {
+                                return NOT_MAPPABLE;
+                            }
+                            final int elementSize = (int) H5.H5Tget_size(memoryTypeId);
+                            final long dataSpaceId =
+                                    baseReader.h5.getDataSpaceForDataSet(dataSetId, registry);
+                            final long[] dimensions =
+                                    baseReader.h5.getDataSpaceDimensions(dataSpaceId);
+                            final long size = getLength(dimensions) * elementSize;
+                            if (dimensions.length == 0 || size > Integer.MAX_VALUE
+                                    || H5.H5Dget_storage_size(dataSetId) != size)
+                            {
+                                return NOT_MAPPABLE;
+                            }
+                            return map(memoryTypeId, elementSize, dimensions, address, size);
+                        }
+                    };
+        return baseReader.runner.call(mapCallable);
+    }
+
+    private static long tryGetEqualMemoryType(long dataTypeId)
+    {
+        for (long memoryTypeId : MAPPABLE_MEMORY_TYPES)
+        {
+            if (H5.H5Tequal(dataTypeId, memoryTypeId))
+            {
+                return memoryTypeId;
+            }
+        }
+        return -1L;
+    }
+
+    private synchronized MappedDataSet map(long memoryTypeId, int elementSize, long[] dimensions,
+            long address, long size)
+    {
+        try
+        {
+            if (fileOrNull == null)
+            {
+                fileOrNull = new RandomAccessFile(baseReader.hdf5File, "r");
+            }
+            final ByteBuffer region =
+                    fileOrNull.getChannel().map(FileChannel.MapMode.READ_ONLY, address, size)
+                            .order(ByteOrder.nativeOrder());
+            return new MappedDataSet(memoryTypeId, dimensions,
+                    createView(region, elementSize, memoryTypeId));
+        } catch (IOException ex)
+        {
+            // Fall back to reading through the HDF5 library.
+            return NOT_MAPPABLE;
+        }
+    }
+
+    private static long getLength(long[] dimensions)
+    {
+        long length = 1;
+        for (long d : dimensions)
+        {
+            length *= d;
+        }
+        return length;
+    }
+
+    /**
+     * Copies <var>length</var> elements starting at element <var>offset</var> of the typed buffer
+     * <var>view</var> to <var>data</var>, which needs to be a primitive array of the element type
+     * of the view. The position of <var>view</var> is not changed.
+     */
+    static void copy(Buffer view, long offset, Object data, int dataOffset, int length)
+    {
+        final Buffer buffer = duplicate(view);
+        buffer.position((int) offset);
+        if (data instanceof float[])
+        {
+            ((FloatBuffer) buffer).get((float[]) data, dataOffset, length);
+        } else if (data instanceof double[])
+        {
+            ((DoubleBuffer) buffer).get((double[]) data, dataOffset, length);
+        } else if (data instanceof int[])
+        {
+            ((IntBuffer) buffer).get((int[]) data, dataOffset, length);
+        } else if (data instanceof long[])
+        {
+            ((LongBuffer) buffer).get((long[]) data, dataOffset, length);
+        } else if (data instanceof short[])
+        {
+            ((ShortBuffer) buffer).get((short[]) data, dataOffset, length);
+        } else if (data instanceof byte[])
+        {
+            ((ByteBuffer) buffer).get((byte[]) data, dataOffset, length);
+        } else
+        {
+            throw new IllegalArgumentException("Unsupported array type "
+                    + data.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Copies <var>length</var> elements starting at <var>dataOffset</var> of <var>data</var>,
+     * which needs to be a primitive array of the element type of the typed buffer <var>view</var>,
+     * to <var>view</var> starting at element <var>offset</var>. The position of <var>view</var> is
+     * not changed.
+     */
+    static void put(Object data, int dataOffset, Buffer view, long offset, int length)
+    {
+        final Buffer buffer = duplicate(view);
+        buffer.position((int) offset);
+        if (data instanceof float[])
+        {
+            ((FloatBuffer) buffer).put((float[]) data, dataOffset, length);
+        } else if (data instanceof double[])
+        {
+            ((DoubleBuffer) buffer).put((double[]) data, dataOffset, length);
+        } else if (data instanceof int[])
+        {
+            ((IntBuffer) buffer).put((int[]) data, dataOffset, length);
+        } else if (data instanceof long[])
+        {
+            ((LongBuffer) buffer).put((long[]) data, dataOffset, length);
+        } else if (data instanceof short[])
+        {
+            ((ShortBuffer) buffer).put((short[]) data, dataOffset, length);
+        } else if (data instanceof byte[])
+        {
+            ((ByteBuffer) buffer).put((byte[]) data, dataOffset, length);
+        } else
+        {
+            throw new IllegalArgumentException("Unsupported array type "
+                    + data.getClass().getSimpleName());
+        }
+    }
+
+    private static Buffer duplicate(Buffer buffer)
+    {
+        if (buffer instanceof FloatBuffer)
+        {
+            return ((FloatBuffer) buffer).duplicate();
+        } else if (buffer instanceof DoubleBuffer)
+        {
+            return ((DoubleBuffer) buffer).duplicate();
+        } else if (buffer instanceof IntBuffer)
+        {
+            return ((IntBuffer) buffer).duplicate();
+        } else if (buffer instanceof LongBuffer)
+        {
+            return ((LongBuffer) buffer).duplicate();
+        } else if (buffer instanceof ShortBuffer)
+        {
+            return ((ShortBuffer) buffer).duplicate();
+        } else
+        {
+            return ((ByteBuffer) buffer).duplicate();
+        }
+    }
+
+    /**
+     * Returns a view of <var>region</var> typed by <var>memoryTypeId</var>.
+     */
+    static Buffer createView(ByteBuffer region, int elementSize, long memoryTypeId)
+    {
+        if (memoryTypeId == H5T_NATIVE_FLOAT)
+        {
+            return region.asFloatBuffer();
+        } else if (memoryTypeId == H5T_NATIVE_DOUBLE)
+        {
+            return region.asDoubleBuffer();
+        }
+        switch (elementSize)
+        {
+            case 1:
+                return region;
+            case 2:
+                return region.asShortBuffer();
+            case 4:
+                return region.asIntBuffer();
+            case 8:
+                return region.asLongBuffer();
+            default:
+                throw new IllegalStateException("Unexpected element size " + elementSize);
+        }
+    }
+
+    /**
+     * Forgets all mapped data sets and closes the file. The mapped regions are released by the
+     * garbage collector.
+     */
+    synchronized void close()
+    {
+        mappedDataSets.clear();
+        if (fileOrNull != null)
+        {
+            try
+            {
+                fileOrNull.close();
+            } catch (IOException ex)
+            {
+                // Ignore, nothing has been written.
+            }
+            fileOrNull = null;
+        }
+    }
+
+}
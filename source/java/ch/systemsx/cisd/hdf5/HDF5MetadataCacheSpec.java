@@ -0,0 +1,128 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+/**
+ * The settings of the metadata cache of the HDF5 library for one file.
+ * <p>
+ * The metadata cache holds object headers, B-tree nodes, heaps and the like. Files with many
+ * objects need a bigger metadata cache than the default of the HDF5 library (2 MB initially,
+ * adapting between 1 MB and 32 MB) to avoid reading the same metadata over and over again.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5MetadataCacheSpec
+{
+    /**
+     * The policy of the metadata cache for evicting entries and adapting its size.
+     */
+    public enum EvictionPolicy
+    {
+        /**
+         * Evict entries when the cache is full and adapt the size of the cache between the minimum
+         * and maximum size depending on the hit rate. This is the default of the HDF5 library.
+         */
+        ADAPTIVE,
+
+        /**
+         * Evict entries when the cache is full, but keep the size of the cache fixed at the initial
+         * size.
+         */
+        FIXED_SIZE,
+
+        /**
+         * Never evict entries, keeping all metadata in memory once they have been read. The cache
+         * will grow beyond its maximum size if needed. Only use this if the metadata of the file is
+         * known to fit in memory.
+         */
+        NO_EVICTION
+    }
+
+    private final long initialSize;
+
+    private final long minSize;
+
+    private final long maxSize;
+
+    private final EvictionPolicy evictionPolicy;
+
+    /**
+     * Creates a metadata cache spec.
+     * 
+     * @param initialSize The size of the cache in bytes when the file is opened.
+     * @param minSize The minimal size of the cache in bytes.
+     * @param maxSize The maximal size of the cache in bytes.
+     * @param evictionPolicy The eviction policy of the cache.
+     */
+    public HDF5MetadataCacheSpec(long initialSize, long minSize, long maxSize,
+            EvictionPolicy evictionPolicy)
+    {
+        assert evictionPolicy != null;
+
+        if (minSize <= 0 || minSize > initialSize || initialSize > maxSize)
+        {
+            throw new IllegalArgumentException(
+                    "Metadata cache sizes need to fulfill 0 < minSize <= initialSize <= maxSize, but are minSize="
+                            + minSize + ", initialSize=" + initialSize + ", maxSize=" + maxSize
+                            + ".");
+        }
+        this.initialSize = initialSize;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * Returns the size of the cache in bytes when the file is opened.
+     */
+    public long getInitialSize()
+    {
+        return initialSize;
+    }
+
+    /**
+     * Returns the minimal size of the cache in bytes.
+     */
+    public long getMinSize()
+    {
+        return minSize;
+    }
+
+    /**
+     * Returns the maximal size of the cache in bytes.
+     */
+    public long getMaxSize()
+    {
+        return maxSize;
+    }
+
+    /**
+     * Returns the eviction policy of the cache.
+     */
+    public EvictionPolicy getEvictionPolicy()
+    {
+        return evictionPolicy;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HDF5MetadataCacheSpec [initialSize=" + initialSize + ", minSize=" + minSize
+                + ", maxSize=" + maxSize + ", evictionPolicy=" + evictionPolicy + "]";
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+/**
+ * A snapshot of the statistics of the metadata cache of the HDF5 library for one file.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5MetadataCacheStatistics
+{
+    private final double hitRate;
+
+    private final long maxSize;
+
+    private final long minCleanSize;
+
+    private final long currentSize;
+
+    private final int numberOfEntries;
+
+    HDF5MetadataCacheStatistics(double hitRate, long maxSize, long minCleanSize,
+            long currentSize, int numberOfEntries)
+    {
+        this.hitRate = hitRate;
+        this.maxSize = maxSize;
+        this.minCleanSize = minCleanSize;
+        this.currentSize = currentSize;
+        this.numberOfEntries = numberOfEntries;
+    }
+
+    /**
+     * Returns the hit rate of the cache (hits / (hits + misses)) since the file has been opened or
+     * since the statistics have last been reset, or 0 if there hasn't been any access yet.
+     */
+    public double getHitRate()
+    {
+        return hitRate;
+    }
+
+    /**
+     * Returns the current maximal size of the cache in bytes.
+     */
+    public long getMaxSize()
+    {
+        return maxSize;
+    }
+
+    /**
+     * Returns the current minimal size of clean entries in the cache in bytes.
+     */
+    public long getMinCleanSize()
+    {
+        return minCleanSize;
+    }
+
+    /**
+     * Returns the number of bytes currently used by the cache.
+     */
+    public long getCurrentSize()
+    {
+        return currentSize;
+    }
+
+    /**
+     * Returns the number of entries currently in the cache.
+     */
+    public int getNumberOfEntries()
+    {
+        return numberOfEntries;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HDF5MetadataCacheStatistics [hitRate=" + hitRate + ", maxSize=" + maxSize
+                + ", minCleanSize=" + minCleanSize + ", currentSize=" + currentSize
+                + ", numberOfEntries=" + numberOfEntries + "]";
+    }
+
+}
@@ -89,4 +89,9 @@ final class HDF5NaturalBlock1DParameters
         return new HDF5NaturalBlock1DIndex();
     }
 
+    long getNumberOfBlocks()
+    {
+        return numberOfBlocks;
+    }
+
 }
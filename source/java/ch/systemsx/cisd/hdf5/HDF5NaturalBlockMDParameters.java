@@ -118,4 +118,14 @@ final class HDF5NaturalBlockMDParameters
         return new HDF5NaturalBlockMDIndex();
     }
 
+    long getNumberOfBlocks()
+    {
+        long n = 1;
+        for (long nb : numberOfBlocks)
+        {
+            n *= nb;
+        }
+        return n;
+    }
+
 }
@@ -16,11 +16,50 @@
 
 package ch.systemsx.cisd.hdf5;
 
+import static ch.systemsx.cisd.hdf5.HDF5Utils.createAttributeTypeVariantAttributeName;
 import static ch.systemsx.cisd.hdf5.HDF5Utils.removeInternalNames;
-
+import static hdf.hdf5lib.HDF5Constants.H5L_TYPE_EXTERNAL;
+import static hdf.hdf5lib.HDF5Constants.H5L_TYPE_HARD;
+import static hdf.hdf5lib.HDF5Constants.H5L_TYPE_SOFT;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_DOUBLE;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_FLOAT;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT16;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT32;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT64;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_INT8;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT16;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT32;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT64;
+import static hdf.hdf5lib.HDF5Constants.H5T_NATIVE_UINT8;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import hdf.hdf5lib.callbacks.H5L_iterate_cb;
+import hdf.hdf5lib.callbacks.H5L_iterate_t;
+import hdf.hdf5lib.callbacks.H5O_iterate_cb;
+import hdf.hdf5lib.callbacks.H5O_iterate_t;
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+import hdf.hdf5lib.structs.H5L_info_t;
+import hdf.hdf5lib.structs.H5O_info_t;
 
 import ch.systemsx.cisd.base.mdarray.MDAbstractArray;
+import ch.systemsx.cisd.base.mdarray.MDArray;
+import ch.systemsx.cisd.base.mdarray.MDByteArray;
+import ch.systemsx.cisd.base.mdarray.MDDoubleArray;
+import ch.systemsx.cisd.base.mdarray.MDFloatArray;
+import ch.systemsx.cisd.base.mdarray.MDIntArray;
+import ch.systemsx.cisd.base.mdarray.MDLongArray;
+import ch.systemsx.cisd.base.mdarray.MDShortArray;
 import ch.systemsx.cisd.hdf5.HDF5DataTypeInformation.DataTypeInfoOptions;
 import ch.systemsx.cisd.hdf5.cleanup.ICallableWithCleanUp;
 import ch.systemsx.cisd.hdf5.cleanup.ICleanUpRegistry;
@@ -56,7 +95,20 @@ class HDF5ObjectReadOnlyInfoProviderHandler implements IHDF5ObjectReadOnlyInfoPr
     public HDF5ObjectInformation getObjectInformation(final String objectPath)
     {
         baseReader.checkOpen();
-        return baseReader.h5.getObjectInfo(baseReader.fileId, objectPath, false);
+        // Only cache for read-only files as writing to an object changes its modification time.
+        final HDF5InformationCache cacheOrNull =
+                baseReader.readOnly ? baseReader.tryGetInformationCache() : null;
+        final List<Object> cacheKey = Collections.<Object> singletonList("objectInformation");
+        final Object cachedInfo =
+                (cacheOrNull != null) ? cacheOrNull.lookup(objectPath, cacheKey) : null;
+        if (cacheOrNull != null && HDF5InformationCache.isMissing(cachedInfo) == false)
+        {
+            return (HDF5ObjectInformation) cachedInfo;
+        }
+        final HDF5ObjectInformation objectInfo =
+                baseReader.h5.getObjectInfo(baseReader.fileId, objectPath, false);
+        return (cacheOrNull == null) ? objectInfo : cacheOrNull.put(objectPath, cacheKey,
+                objectInfo);
     }
 
     @Override
@@ -114,6 +166,15 @@ class HDF5ObjectReadOnlyInfoProviderHandler implements IHDF5ObjectReadOnlyInfoPr
         return baseReader.openDataSet(objectPath);
     }
 
+    @Override
+    public HDF5DataSet openDataSet(final String objectPath, final HDF5ChunkCacheSpec chunkCache)
+    {
+        assert chunkCache != null;
+
+        baseReader.checkOpen();
+        return baseReader.openDataSet(objectPath, chunkCache);
+    }
+
     @Override
     public String toHouseKeepingPath(String objectPath)
     {
@@ -255,7 +316,7 @@ class HDF5ObjectReadOnlyInfoProviderHandler implements IHDF5ObjectReadOnlyInfoPr
                             final long objectId =
                                     baseReader.h5.openObject(baseReader.fileId, objectPath,
                                             registry);
-                            return baseReader.h5.getAttributeNames(objectId, registry);
+                            return baseReader.h5.getAttributeNames(objectId);
                         }
                     };
         return baseReader.runner.call(attributeNameReaderRunnable);
@@ -316,6 +377,237 @@ class HDF5ObjectReadOnlyInfoProviderHandler implements IHDF5ObjectReadOnlyInfoPr
         return baseReader.runner.call(informationDeterminationRunnable);
     }
 
+    @Override
+    public HDF5AttributeMap readAllAttributes(final String objectPath)
+    {
+        assert objectPath != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<HDF5AttributeMap> readRunnable =
+                new ICallableWithCleanUp<HDF5AttributeMap>()
+                    {
+                        @Override
+                        public HDF5AttributeMap call(ICleanUpRegistry registry)
+                        {
+                            final long objectId =
+                                    baseReader.h5.openObject(baseReader.fileId, objectPath,
+                                            registry);
+                            return readAllAttributes(objectId, objectPath, registry);
+                        }
+                    };
+        return baseReader.runner.call(readRunnable);
+    }
+
+    @Override
+    public List<HDF5AttributeMap> readAllAttributes(final List<String> objectPaths)
+    {
+        assert objectPaths != null;
+
+        // One call per object keeps the number of open attributes bounded.
+        final List<HDF5AttributeMap> result = new ArrayList<HDF5AttributeMap>(objectPaths.size());
+        for (String objectPath : objectPaths)
+        {
+            result.add(readAllAttributes(objectPath));
+        }
+        return result;
+    }
+
+    private HDF5AttributeMap readAllAttributes(final long objectId, final String objectPath,
+            final ICleanUpRegistry registry)
+    {
+        final List<String> allNames = baseReader.h5.getAttributeNames(objectId);
+        final Set<String> allNameSet = new HashSet<String>(allNames);
+        final List<String> names =
+                removeInternalNames(allNames, baseReader.houseKeepingNameSuffix,
+                        "/".equals(objectPath));
+        final LinkedHashMap<String, Object> values = new LinkedHashMap<String, Object>();
+        final Map<String, HDF5DataTypeInformation> typeInformation =
+                new HashMap<String, HDF5DataTypeInformation>();
+        for (String attributeName : names)
+        {
+            final long attributeId =
+                    baseReader.h5.openAttribute(objectId, attributeName, registry);
+            final long dataTypeId = baseReader.h5.getDataTypeForAttribute(attributeId, registry);
+            final HDF5DataTypeInformation typeInfo =
+                    baseReader.getDataTypeInformation(dataTypeId, DataTypeInfoOptions.DEFAULT,
+                            registry);
+            final int[] dimensions;
+            if (typeInfo.isArrayType())
+            {
+                dimensions = typeInfo.getDimensions();
+            } else
+            {
+                dimensions =
+                        MDAbstractArray.toInt(baseReader.h5.getDataDimensionsForAttribute(
+                                attributeId, registry));
+                if (dimensions.length > 0)
+                {
+                    typeInfo.setDimensions(dimensions);
+                }
+            }
+            // The type variants of attributes are stored in internal attributes which we already
+            // know the names of.
+            if (allNameSet.contains(createAttributeTypeVariantAttributeName(attributeName,
+                    baseReader.houseKeepingNameSuffix)))
+            {
+                typeInfo.setTypeVariant(baseReader.tryGetTypeVariant(objectId, attributeName,
+                        registry));
+            }
+            values.put(attributeName, readAttributeValue(objectId, objectPath, attributeName,
+                    attributeId, typeInfo, dimensions, registry));
+            typeInformation.put(attributeName, typeInfo);
+        }
+        return new HDF5AttributeMap(objectPath, values, typeInformation);
+    }
+
+    private Object readAttributeValue(final long objectId, final String objectPath,
+            final String attributeName, final long attributeId,
+            final HDF5DataTypeInformation typeInfo, final int[] dimensions,
+            final ICleanUpRegistry registry)
+    {
+        switch (typeInfo.getRawDataClass())
+        {
+            case INTEGER:
+            case FLOAT:
+                return readNumericAttributeValue(attributeId, typeInfo, dimensions, registry);
+            case STRING:
+                if (typeInfo.isArrayType() == false)
+                {
+                    if (dimensions.length == 0)
+                    {
+                        return baseReader.getStringAttribute(objectId, objectPath,
+                                attributeName, false, registry);
+                    }
+                    return readStringAttributeElements(attributeId, dimensions, registry);
+                }
+                return (dimensions.length == 1) ? baseReader.getStringArrayAttribute(objectId,
+                        objectPath, attributeName, false, registry) : baseReader
+                        .getStringMDArrayAttribute(objectId, objectPath, attributeName, false,
+                                registry);
+            case BOOLEAN:
+                if (dimensions.length == 0)
+                {
+                    final long nativeDataTypeId =
+                            baseReader.h5.getNativeDataTypeForAttribute(attributeId, registry);
+                    final byte[] data =
+                            baseReader.h5.readAttributeAsByteArray(attributeId, nativeDataTypeId,
+                                    1);
+                    return baseReader.h5.tryGetBooleanValue(nativeDataTypeId, data[0]);
+                }
+                return baseReader.getAttributeAsByteArray(objectId, attributeName, registry);
+            case ENUM:
+                if (dimensions.length > 1)
+                {
+                    return baseReader.getEnumValueMDArray(attributeId, objectPath, attributeName,
+                            registry);
+                }
+                final HDF5EnumerationValueArray array =
+                        baseReader.getEnumValueArray(attributeId, objectPath, attributeName,
+                                registry);
+                return (dimensions.length == 0) ? new HDF5EnumerationValue(array.getType(),
+                        array.getOrdinal(0)) : array;
+            default:
+                return baseReader.getAttributeAsByteArray(objectId, attributeName, registry);
+        }
+    }
+
+    /**
+     * Reads the elements of a string attribute with a simple (non-scalar) data space.
+     */
+    private Object readStringAttributeElements(final long attributeId, final int[] dimensions,
+            final ICleanUpRegistry registry)
+    {
+        final long stringDataTypeId =
+                baseReader.h5.getDataTypeForAttribute(attributeId, registry);
+        final int numberOfElements = MDAbstractArray.getLength(dimensions);
+        final String[] result = new String[numberOfElements];
+        if (baseReader.h5.isVariableLengthString(stringDataTypeId))
+        {
+            baseReader.h5.readAttributeVL(attributeId, stringDataTypeId, result);
+        } else
+        {
+            final CharacterEncoding encoding =
+                    baseReader.h5.getCharacterEncoding(stringDataTypeId);
+            final int lengthPerElement = baseReader.h5.getDataTypeSize(stringDataTypeId);
+            final byte[] data =
+                    baseReader.h5.readAttributeAsByteArray(attributeId, stringDataTypeId,
+                            lengthPerElement * numberOfElements);
+            for (int i = 0, startIdx = 0; i < numberOfElements; ++i, startIdx +=
+                    lengthPerElement)
+            {
+                result[i] =
+                        StringUtils.fromBytes0Term(data, startIdx, startIdx + lengthPerElement,
+                                encoding);
+            }
+        }
+        return (dimensions.length == 1) ? result : new MDArray<String>(result, dimensions);
+    }
+
+    private Object readNumericAttributeValue(final long attributeId,
+            final HDF5DataTypeInformation typeInfo, final int[] dimensions,
+            final ICleanUpRegistry registry)
+    {
+        final boolean isFloat = (typeInfo.getRawDataClass() == HDF5DataClass.FLOAT);
+        final boolean signed = typeInfo.isSigned();
+        final int elementSize = typeInfo.getElementSize();
+        final long nativeDataTypeId;
+        if (isFloat)
+        {
+            nativeDataTypeId = (elementSize == 4) ? H5T_NATIVE_FLOAT : H5T_NATIVE_DOUBLE;
+        } else if (elementSize == 1)
+        {
+            nativeDataTypeId = signed ? H5T_NATIVE_INT8 : H5T_NATIVE_UINT8;
+        } else if (elementSize == 2)
+        {
+            nativeDataTypeId = signed ? H5T_NATIVE_INT16 : H5T_NATIVE_UINT16;
+        } else if (elementSize == 4)
+        {
+            nativeDataTypeId = signed ? H5T_NATIVE_INT32 : H5T_NATIVE_UINT32;
+        } else
+        {
+            nativeDataTypeId = signed ? H5T_NATIVE_INT64 : H5T_NATIVE_UINT64;
+        }
+        final long memoryTypeId =
+                typeInfo.isArrayType() ? baseReader.h5.createArrayType(nativeDataTypeId,
+                        dimensions, registry) : nativeDataTypeId;
+        final int len = (dimensions.length == 0) ? 1 : MDAbstractArray.getLength(dimensions);
+        final boolean scalar = (dimensions.length == 0);
+        final boolean vector = (dimensions.length == 1);
+        if (nativeDataTypeId == H5T_NATIVE_FLOAT)
+        {
+            final float[] data =
+                    baseReader.h5.readAttributeAsFloatArray(attributeId, memoryTypeId, len);
+            return scalar ? (Object) data[0] : vector ? data : new MDFloatArray(data, dimensions);
+        } else if (nativeDataTypeId == H5T_NATIVE_DOUBLE)
+        {
+            final double[] data =
+                    baseReader.h5.readAttributeAsDoubleArray(attributeId, memoryTypeId, len);
+            return scalar ? (Object) data[0] : vector ? data : new MDDoubleArray(data, dimensions);
+        } else if (nativeDataTypeId == H5T_NATIVE_INT8 || nativeDataTypeId == H5T_NATIVE_UINT8)
+        {
+            final byte[] data =
+                    baseReader.h5.readAttributeAsByteArray(attributeId, memoryTypeId, len);
+            return scalar ? (Object) data[0] : vector ? data : new MDByteArray(data, dimensions);
+        } else if (nativeDataTypeId == H5T_NATIVE_INT16
+                || nativeDataTypeId == H5T_NATIVE_UINT16)
+        {
+            final short[] data =
+                    baseReader.h5.readAttributeAsShortArray(attributeId, memoryTypeId, len);
+            return scalar ? (Object) data[0] : vector ? data : new MDShortArray(data, dimensions);
+        } else if (nativeDataTypeId == H5T_NATIVE_INT32
+                || nativeDataTypeId == H5T_NATIVE_UINT32)
+        {
+            final int[] data =
+                    baseReader.h5.readAttributeAsIntArray(attributeId, memoryTypeId, len);
+            return scalar ? (Object) data[0] : vector ? data : new MDIntArray(data, dimensions);
+        } else
+        {
+            final long[] data =
+                    baseReader.h5.readAttributeAsLongArray(attributeId, memoryTypeId, len);
+            return scalar ? (Object) data[0] : vector ? data : new MDLongArray(data, dimensions);
+        }
+    }
+
     @Override
     public HDF5DataSetInformation getDataSetInformation(final String dataSetPath)
     {
@@ -371,6 +663,36 @@ class HDF5ObjectReadOnlyInfoProviderHandler implements IHDF5ObjectReadOnlyInfoPr
         return baseReader.getSpaceDimensions(objectPath);
     }
 
+    @Override
+    public HDF5ChunkIndex getChunkIndex(final String dataSetPath)
+    {
+        assert dataSetPath != null;
+
+        final HDF5DataSetInformation info =
+                getDataSetInformation(dataSetPath, DataTypeInfoOptions.MINIMAL);
+        final int[] chunkSizes = info.tryGetChunkSizes();
+        if (info.getStorageLayout() != HDF5StorageLayout.CHUNKED || chunkSizes == null)
+        {
+            throw new HDF5JavaException("Data set '" + dataSetPath + "' is not chunked.");
+        }
+        final ICallableWithCleanUp<HDF5ChunkIndex> indexCallable =
+                new ICallableWithCleanUp<HDF5ChunkIndex>()
+                    {
+                        @Override
+                        public HDF5ChunkIndex call(ICleanUpRegistry registry)
+                        {
+                            final long dataSetId =
+                                    baseReader.h5.openDataSet(baseReader.fileId, dataSetPath,
+                                            registry);
+                            return new HDF5ChunkIndex(dataSetPath, info.getDimensions(),
+                                    chunkSizes, info.getTypeInformation().getElementSize(),
+                                    baseReader.h5.getChunkInfos(dataSetId,
+                                            info.getDimensions(), chunkSizes));
+                        }
+                    };
+        return baseReader.runner.call(indexCallable);
+    }
+
     @Override
     public int getArrayRank(String objectPath)
     {
@@ -461,6 +783,22 @@ class HDF5ObjectReadOnlyInfoProviderHandler implements IHDF5ObjectReadOnlyInfoPr
         return baseReader.getGroupMemberPaths(groupPath);
     }
 
+    @Override
+    public Iterator<String> getGroupMembersIterator(final String groupPath, final int pageSize)
+    {
+        assert groupPath != null;
+
+        return new HDF5GroupMemberIterator(baseReader, groupPath, pageSize);
+    }
+
+    @Override
+    public Spliterator<String> getGroupMembersSpliterator(final String groupPath,
+            final int pageSize)
+    {
+        return Spliterators.spliteratorUnknownSize(getGroupMembersIterator(groupPath, pageSize),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
     @Override
     public List<HDF5LinkInformation> getGroupMemberInformation(final String groupPath,
             boolean readLinkTargets)
@@ -493,6 +831,180 @@ class HDF5ObjectReadOnlyInfoProviderHandler implements IHDF5ObjectReadOnlyInfoPr
         }
     }
 
+    @Override
+    public void visit(final String rootPath, final IHDF5ObjectVisitor visitor)
+    {
+        visit(rootPath, visitor, HDF5VisitOptions.DEFAULT);
+    }
+
+    @Override
+    public void visit(final String rootPath, final IHDF5ObjectVisitor visitor,
+            final HDF5VisitOptions options)
+    {
+        assert rootPath != null;
+        assert visitor != null;
+        assert options != null;
+
+        baseReader.checkOpen();
+        final ICallableWithCleanUp<Void> visitRunnable = new ICallableWithCleanUp<Void>()
+            {
+                @Override
+                public Void call(ICleanUpRegistry registry)
+                {
+                    final long groupId =
+                            baseReader.h5.openGroup(baseReader.fileId, rootPath, registry);
+                    final ObjectVisit visit = new ObjectVisit(rootPath, visitor, options);
+                    if (options.isLinks())
+                    {
+                        baseReader.h5.visitLinks(groupId, new H5L_iterate_cb()
+                            {
+                                @Override
+                                public int callback(long locationId, String name,
+                                        H5L_info_t info, H5L_iterate_t data)
+                                {
+                                    return visit.visitLink(locationId, name, info.type);
+                                }
+                            });
+                    } else
+                    {
+                        baseReader.h5.visitObjects(groupId, new H5O_iterate_cb()
+                            {
+                                @Override
+                                public int callback(long locationId, String name,
+                                        H5O_info_t info, H5O_iterate_t data)
+                                {
+                                    return visit.visitObject(name, info.type);
+                                }
+                            });
+                    }
+                    visit.checkFailure();
+                    return null;
+                }
+            };
+        baseReader.runner.call(visitRunnable);
+    }
+
+    /**
+     * One traversal of {@link #visit(String, IHDF5ObjectVisitor, HDF5VisitOptions)}. The
+     * callbacks of the HDF5 library must not throw, so failures are kept until the traversal has
+     * returned.
+     */
+    private final class ObjectVisit
+    {
+        private final String pathPrefix;
+
+        private final IHDF5ObjectVisitor visitor;
+
+        private final HDF5VisitOptions options;
+
+        private RuntimeException failureOrNull;
+
+        ObjectVisit(String rootPath, IHDF5ObjectVisitor visitor, HDF5VisitOptions options)
+        {
+            final String absoluteRootPath = HDF5Utils.toAbsolutePath(rootPath);
+            this.pathPrefix =
+                    absoluteRootPath.endsWith("/") ? absoluteRootPath : absoluteRootPath + "/";
+            this.visitor = visitor;
+            this.options = options;
+        }
+
+        int visitObject(String name, int objectTypeId)
+        {
+            return visit(name, HDF5CommonInformation.objectTypeIdToObjectType(objectTypeId));
+        }
+
+        int visitLink(long locationId, String name, int linkType)
+        {
+            try
+            {
+                final HDF5ObjectType objectType;
+                if (linkType == H5L_TYPE_HARD)
+                {
+                    objectType =
+                            HDF5CommonInformation.objectTypeIdToObjectType(baseReader.h5
+                                    .getObjectTypeIdOfHardLink(locationId, name));
+                } else if (linkType == H5L_TYPE_SOFT)
+                {
+                    objectType = HDF5ObjectType.SOFT_LINK;
+                } else if (linkType == H5L_TYPE_EXTERNAL)
+                {
+                    objectType = HDF5ObjectType.EXTERNAL_LINK;
+                } else
+                {
+                    objectType = HDF5ObjectType.OTHER;
+                }
+                return visit(name, objectType);
+            } catch (RuntimeException ex)
+            {
+                failureOrNull = ex;
+                return 1;
+            }
+        }
+
+        /**
+         * Returns 0 to continue and 1 to stop the traversal.
+         */
+        private int visit(String relativePath, HDF5ObjectType objectType)
+        {
+            if (".".equals(relativePath))
+            {
+                return 0;
+            }
+            try
+            {
+                if (options.isIncludeInternal() == false && isInternalPath(relativePath))
+                {
+                    return 0;
+                }
+                final String objectPath = pathPrefix + relativePath;
+                if (options.accepts(objectType, objectPath) == false)
+                {
+                    return 0;
+                }
+                HDF5DataSetInformation dataSetInfoOrNull = null;
+                if (objectType == HDF5ObjectType.DATASET && options.isDataSetInformation())
+                {
+                    dataSetInfoOrNull =
+                            baseReader.getDataSetInformation(objectPath,
+                                    DataTypeInfoOptions.DEFAULT, true);
+                }
+                return visitor.visit(objectPath, objectType, dataSetInfoOrNull) ? 0 : 1;
+            } catch (RuntimeException ex)
+            {
+                failureOrNull = ex;
+                return 1;
+            }
+        }
+
+        private boolean isInternalPath(String relativePath)
+        {
+            int start = 0;
+            while (true)
+            {
+                final int end = relativePath.indexOf('/', start);
+                final String name =
+                        relativePath.substring(start, (end < 0) ? relativePath.length() : end);
+                if (HDF5Utils.isInternalName(name, baseReader.houseKeepingNameSuffix))
+                {
+                    return true;
+                }
+                if (end < 0)
+                {
+                    return false;
+                }
+                start = end + 1;
+            }
+        }
+
+        void checkFailure()
+        {
+            if (failureOrNull != null)
+            {
+                throw failureOrNull;
+            }
+        }
+    }
+
     // /////////////////////
     // Types
     // /////////////////////
@@ -0,0 +1,459 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import static hdf.hdf5lib.HDF5Constants.H5Z_FILTER_DEFLATE;
+import static hdf.hdf5lib.HDF5Constants.H5Z_FILTER_SHUFFLE;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+import ch.systemsx.cisd.base.mdarray.MDAbstractArray;
+import ch.systemsx.cisd.hdf5.cleanup.ICallableWithCleanUp;
+import ch.systemsx.cisd.hdf5.cleanup.ICleanUpRegistry;
+
+/**
+ * Reads whole chunked data sets that are compressed with deflate (and possibly shuffled) by
+ * fetching the raw chunks serially in the order of their addresses in the file and decompressing
+ * them on a pool of threads, outside of the lock of the HDF5 library.
+ * <p>
+ * Only data sets whose file type matches the memory type exactly (including the byte order), whose
+ * filter pipeline consists of nothing but deflate and shuffle and whose unallocated chunks read as
+ * zeros are handled, all other data sets are left to the HDF5 library.
+ * <p>
+ * The plans are cached per data set and memory type, as building one enumerates all chunks of the
+ * data set. This is fine as parallel decompression is only used by readers, which assume that the
+ * file isn't modified while it is open.
+ * 
+ * @author Bernd Rinn
+ */
+final class HDF5ParallelChunkReader
+{
+    /**
+     * The plan of reading a data set, i.e. everything that has been found out about it with the
+     * HDF5 library.
+     */
+    static final class Plan
+    {
+        private final String objectPath;
+
+        private final long memoryTypeId;
+
+        private final int elementSize;
+
+        private final long[] dimensions;
+
+        private final int[] chunkSizes;
+
+        private final int chunkSizeInBytes;
+
+        private final int[] filterIds;
+
+        private final List<HDF5ChunkIndex.ChunkInfo> chunksInFileOrder;
+
+        private Plan(String objectPath, long memoryTypeId, int elementSize, long[] dimensions,
+                int[] chunkSizes, int[] filterIds, HDF5ChunkIndex chunkIndex)
+        {
+            this.objectPath = objectPath;
+            this.memoryTypeId = memoryTypeId;
+            this.elementSize = elementSize;
+            this.dimensions = dimensions;
+            this.chunkSizes = chunkSizes;
+            this.chunkSizeInBytes = MDAbstractArray.getLength(chunkSizes) * elementSize;
+            this.filterIds = filterIds;
+            this.chunksInFileOrder = chunkIndex.getChunksInFileOrder();
+        }
+
+        /**
+         * Returns the dimensions of the data set.
+         */
+        int[] getDimensions()
+        {
+            return MDAbstractArray.toInt(dimensions);
+        }
+
+        /**
+         * Returns the number of elements of the whole data set.
+         */
+        int getNumberOfElements()
+        {
+            return (int) getLength(dimensions);
+        }
+
+        /**
+         * Returns the bytes of <var>chunk</var> with all filters that have been applied on writing
+         * reverted.
+         */
+        private byte[] decode(HDF5RawChunk chunk)
+        {
+            byte[] bytes = chunk.getData();
+            for (int i = filterIds.length - 1; i >= 0; --i)
+            {
+                if (chunk.isFilterApplied(i) == false)
+                {
+                    continue;
+                }
+                if (filterIds[i] == H5Z_FILTER_DEFLATE)
+                {
+                    bytes = inflate(chunk, bytes);
+                } else
+                {
+                    bytes = unshuffle(bytes, elementSize);
+                }
+            }
+            if (bytes.length != chunkSizeInBytes)
+            {
+                throw new HDF5JavaException("Chunk " + Arrays.toString(chunk.getOffset())
+                        + " of data set '" + objectPath + "' has " + bytes.length
+                        + " bytes after decoding, expected " + chunkSizeInBytes + ".");
+            }
+            return bytes;
+        }
+
+        private byte[] inflate(HDF5RawChunk chunk, byte[] compressed)
+        {
+            final Inflater inflater = new Inflater();
+            try
+            {
+                inflater.setInput(compressed);
+                final byte[] inflated = new byte[chunkSizeInBytes];
+                int length = 0;
+                while (length < inflated.length && inflater.finished() == false)
+                {
+                    final int n = inflater.inflate(inflated, length, inflated.length - length);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    {
+                        break;
+                    }
+                    length += n;
+                }
+                return (length == inflated.length) ? inflated : Arrays.copyOf(inflated, length);
+            } catch (DataFormatException ex)
+            {
+                throw new HDF5JavaException("Chunk " + Arrays.toString(chunk.getOffset())
+                        + " of data set '" + objectPath + "' is corrupt: " + ex.getMessage());
+            } finally
+            {
+                inflater.end();
+            }
+        }
+
+        /**
+         * Copies the part of the decoded chunk <var>bytes</var> at <var>chunkOffset</var> that lies
+         * within the data set to <var>data</var>, one contiguous run of the last dimension at a
+         * time.
+         */
+        private void scatter(long[] chunkOffset, byte[] bytes, Object data)
+        {
+            final Buffer view =
+                    HDF5MemoryMappedDataSets.createView(
+                            ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder()), elementSize,
+                            memoryTypeId);
+            final int rank = dimensions.length;
+            final int[] effectiveChunkSizes = new int[rank];
+            for (int i = 0; i < rank; ++i)
+            {
+                effectiveChunkSizes[i] =
+                        (int) Math.min(chunkSizes[i], dimensions[i] - chunkOffset[i]);
+                if (effectiveChunkSizes[i] <= 0)
+                {
+                    return;
+                }
+            }
+            final int runLength = effectiveChunkSizes[rank - 1];
+            final int numberOfRuns = MDAbstractArray.getLength(effectiveChunkSizes) / runLength;
+            final int[] index = new int[rank];
+            for (int run = 0; run < numberOfRuns; ++run)
+            {
+                long chunkElementOffset = 0;
+                long dataElementOffset = 0;
+                for (int i = 0; i < rank; ++i)
+                {
+                    chunkElementOffset = chunkElementOffset * chunkSizes[i] + index[i];
+                    dataElementOffset =
+                            dataElementOffset * dimensions[i] + chunkOffset[i] + index[i];
+                }
+                HDF5MemoryMappedDataSets.copy(view, chunkElementOffset, data,
+                        (int) dataElementOffset, runLength);
+                // Advance the index of the run, the last dimension stays at 0.
+                for (int i = rank - 2; i >= 0; --i)
+                {
+                    if (++index[i] < effectiveChunkSizes[i])
+                    {
+                        break;
+                    }
+                    index[i] = 0;
+                }
+            }
+        }
+    }
+
+    /** The maximal number of plans kept in the cache. */
+    private static final int MAX_CACHED_PLANS = 64;
+
+    private final HDF5BaseReader baseReader;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * The plans by data set path and memory type id. A value of <code>null</code> means that the
+     * data set isn't read in parallel.
+     */
+    private final Map<List<Object>, Plan> planCache = new LinkedHashMap<List<Object>, Plan>(16,
+            0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Plan> eldest)
+            {
+                return size() > MAX_CACHED_PLANS;
+            }
+        };
+
+    /** The maximal number of chunks that are fetched but not yet decoded. */
+    private final int maxChunksInFlight;
+
+    HDF5ParallelChunkReader(HDF5BaseReader baseReader, int numberOfThreads)
+    {
+        assert numberOfThreads > 0;
+
+        this.baseReader = baseReader;
+        this.pool = new ForkJoinPool(numberOfThreads);
+        this.maxChunksInFlight = 2 * numberOfThreads;
+    }
+
+    /**
+     * Returns the plan for reading the data set <var>objectPath</var> as a whole with memory type
+     * <var>memoryTypeId</var>, or <code>null</code>, if it can't or shouldn't be read in
+     * parallel.
+     */
+    Plan tryPlan(final String objectPath, final long memoryTypeId)
+    {
+        if (baseReader.h5.isReference(objectPath))
+        {
+            return null;
+        }
+        final List<Object> key = Arrays.<Object> asList(objectPath, memoryTypeId);
+        synchronized (planCache)
+        {
+            if (planCache.containsKey(key))
+            {
+                return planCache.get(key);
+            }
+        }
+        final Plan planOrNull = createPlan(objectPath, memoryTypeId);
+        synchronized (planCache)
+        {
+            planCache.put(key, planOrNull);
+        }
+        return planOrNull;
+    }
+
+    private Plan createPlan(final String objectPath, final long memoryTypeId)
+    {
+        final ICallableWithCleanUp<Plan> planCallable = new ICallableWithCleanUp<Plan>()
+            {
+                @Override
+                public Plan call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId =
+                            baseReader.h5.openDataSet(baseReader.fileId, objectPath, registry);
+                    final long dataTypeId =
+                            baseReader.h5.getDataTypeForDataSet(dataSetId, registry);
+                    if (H5.H5Tequal(dataTypeId, memoryTypeId) == false)
+                    {
+                        return null;
+                    }
+                    final long dataSpaceId =
+                            baseReader.h5.getDataSpaceForDataSet(dataSetId, registry);
+                    final long[] dimensions = baseReader.h5.getDataSpaceDimensions(dataSpaceId);
+                    final long numberOfElements = getLength(dimensions);
+                    if (dimensions.length == 0 || numberOfElements == 0
+                            || numberOfElements > Integer.MAX_VALUE)
+                    {
+                        return null;
+                    }
+                    final int[] chunkSizesOrNull =
+                            baseReader.h5.tryGetChunkSizes(dataSetId, dimensions.length,
+                                    registry);
+                    if (chunkSizesOrNull == null)
+                    {
+                        return null;
+                    }
+                    final int[] filterIds = baseReader.h5.getFilterIds(dataSetId, registry);
+                    if (isDeflated(filterIds) == false)
+                    {
+                        return null;
+                    }
+                    final int elementSize = (int) H5.H5Tget_size(memoryTypeId);
+                    final HDF5ChunkIndex chunkIndex =
+                            new HDF5ChunkIndex(objectPath, dimensions, chunkSizesOrNull,
+                                    elementSize, baseReader.h5.getChunkInfos(dataSetId,
+                                            dimensions, chunkSizesOrNull));
+                    final int numberOfChunks = chunkIndex.getNumberOfChunks();
+                    // With a single chunk, there is nothing to parallelize.
+                    if (numberOfChunks < 2)
+                    {
+                        return null;
+                    }
+                    if (numberOfChunks < chunkIndex.getNumberOfChunkPositions()
+                            && baseReader.h5.isFillValueZero(dataSetId, memoryTypeId,
+                                    registry) == false)
+                    {
+                        return null;
+                    }
+                    return new Plan(objectPath, memoryTypeId, elementSize, dimensions,
+                            chunkSizesOrNull, filterIds, chunkIndex);
+                }
+            };
+        return baseReader.runner.call(planCallable);
+    }
+
+    /**
+     * Reads the data set of <var>plan</var> into <var>data</var>, which needs to be a primitive
+     * array of the element type and size of the data set, initialized to zero.
+     */
+    void read(final Plan plan, final Object data)
+    {
+        final ICallableWithCleanUp<Void> readCallable = new ICallableWithCleanUp<Void>()
+            {
+                @Override
+                public Void call(ICleanUpRegistry registry)
+                {
+                    final long dataSetId =
+                            baseReader.h5.openDataSet(baseReader.fileId, plan.objectPath,
+                                    registry);
+                    final Deque<ForkJoinTask<?>> chunksInFlight =
+                            new ArrayDeque<ForkJoinTask<?>>();
+                    try
+                    {
+                        for (HDF5ChunkIndex.ChunkInfo chunkInfo : plan.chunksInFileOrder)
+                        {
+                            if (chunksInFlight.size() >= maxChunksInFlight)
+                            {
+                                chunksInFlight.removeFirst().join();
+                            }
+                            final HDF5RawChunk chunk =
+                                    baseReader.h5.readRawChunk(dataSetId, chunkInfo.getOffset());
+                            chunksInFlight.addLast(pool.submit(new Runnable()
+                                {
+                                    @Override
+                                    public void run()
+                                    {
+                                        plan.scatter(chunk.getOffset(), plan.decode(chunk),
+                                                data);
+                                    }
+                                }));
+                        }
+                        while (chunksInFlight.isEmpty() == false)
+                        {
+                            chunksInFlight.removeFirst().join();
+                        }
+                    } finally
+                    {
+                        for (ForkJoinTask<?> task : chunksInFlight)
+                        {
+                            task.cancel(false);
+                        }
+                    }
+                    return null;
+                }
+            };
+        baseReader.runner.call(readCallable);
+    }
+
+    /**
+     * Shuts down the pool of decompression threads.
+     */
+    void close()
+    {
+        pool.shutdown();
+    }
+
+    /**
+     * Returns <code>true</code>, if the filter pipeline <var>filterIds</var> consists of deflate and
+     * possibly shuffle only.
+     */
+    static boolean isDeflated(int[] filterIds)
+    {
+        boolean deflated = false;
+        for (int filterId : filterIds)
+        {
+            if (filterId == H5Z_FILTER_DEFLATE)
+            {
+                deflated = true;
+            } else if (filterId != H5Z_FILTER_SHUFFLE)
+            {
+                return false;
+            }
+        }
+        return deflated;
+    }
+
+    /**
+     * Reverts the byte shuffling of HDF5's shuffle filter: the i-th byte of all elements is
+     * stored contiguously in the shuffled representation. Trailing bytes that don't form a full
+     * element are not shuffled.
+     */
+    static byte[] unshuffle(byte[] shuffled, int elementSize)
+    {
+        if (elementSize <= 1)
+        {
+            return shuffled;
+        }
+        final byte[] unshuffled = new byte[shuffled.length];
+        final int numberOfElements = shuffled.length / elementSize;
+        for (int b = 0; b < elementSize; ++b)
+        {
+            final int shuffledOffset = b * numberOfElements;
+            for (int i = 0; i < numberOfElements; ++i)
+            {
+                unshuffled[i * elementSize + b] = shuffled[shuffledOffset + i];
+            }
+        }
+        final int shuffledLength = numberOfElements * elementSize;
+        System.arraycopy(shuffled, shuffledLength, unshuffled, shuffledLength, shuffled.length
+                - shuffledLength);
+        return unshuffled;
+    }
+
+    private static long getLength(long[] dimensions)
+    {
+        long length = 1;
+        for (long d : dimensions)
+        {
+            length *= d;
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import static hdf.hdf5lib.HDF5Constants.H5Z_FILTER_DEFLATE;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.Deflater;
+
+import hdf.hdf5lib.H5;
+
+import ch.systemsx.cisd.base.mdarray.MDAbstractArray;
+import ch.systemsx.cisd.hdf5.cleanup.ICleanUpRegistry;
+
+/**
+ * Writes blocks of chunked data sets that are compressed with deflate (and possibly shuffled) by
+ * compressing the chunks on a pool of threads, outside of the lock of the HDF5 library, and
+ * committing the compressed chunks to the file in order with direct chunk writes.
+ * <p>
+ * Only blocks that cover whole chunks (or end at the end of the data set) of data sets whose file
+ * type matches the memory type exactly (including the byte order), whose filter pipeline consists
+ * of nothing but deflate and shuffle and whose fill value is zero are handled, all other writes are
+ * left to the HDF5 library.
+ * 
+ * @author Bernd Rinn
+ */
+final class HDF5ParallelChunkWriter
+{
+    /**
+     * The layout of a data set as far as the chunk compression is concerned.
+     */
+    private static final class ChunkLayout
+    {
+        private final long memoryTypeId;
+
+        private final int elementSize;
+
+        private final int[] chunkSizes;
+
+        private final int[] filterIds;
+
+        private final int deflateLevel;
+
+        ChunkLayout(long memoryTypeId, int elementSize, int[] chunkSizes, int[] filterIds,
+                int deflateLevel)
+        {
+            this.memoryTypeId = memoryTypeId;
+            this.elementSize = elementSize;
+            this.chunkSizes = chunkSizes;
+            this.filterIds = filterIds;
+            this.deflateLevel = deflateLevel;
+        }
+
+        /**
+         * Returns the chunk at <var>chunkOffset</var> (relative to the block) of the block of
+         * <var>blockDimensions</var> in <var>data</var>, with the filter pipeline applied. Parts of
+         * the chunk outside of the block are filled with zeros.
+         */
+        byte[] encode(Object data, int[] blockDimensions, int[] chunkOffset)
+        {
+            final byte[] bytes = new byte[MDAbstractArray.getLength(chunkSizes) * elementSize];
+            final Buffer view =
+                    HDF5MemoryMappedDataSets.createView(
+                            ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder()), elementSize,
+                            memoryTypeId);
+            gather(data, blockDimensions, chunkOffset, view);
+            byte[] encoded = bytes;
+            for (int filterId : filterIds)
+            {
+                if (filterId == H5Z_FILTER_DEFLATE)
+                {
+                    encoded = deflate(encoded, deflateLevel);
+                } else
+                {
+                    encoded = shuffle(encoded, elementSize);
+                }
+            }
+            return encoded;
+        }
+
+        /**
+         * Copies the part of the block in <var>data</var> that lies within the chunk at
+         * <var>chunkOffset</var> to <var>view</var>, one contiguous run of the last dimension at a
+         * time.
+         */
+        private void gather(Object data, int[] blockDimensions, int[] chunkOffset, Buffer view)
+        {
+            final int rank = blockDimensions.length;
+            final int[] effectiveChunkSizes = new int[rank];
+            for (int i = 0; i < rank; ++i)
+            {
+                effectiveChunkSizes[i] =
+                        Math.min(chunkSizes[i], blockDimensions[i] - chunkOffset[i]);
+            }
+            final int runLength = effectiveChunkSizes[rank - 1];
+            final int numberOfRuns = MDAbstractArray.getLength(effectiveChunkSizes) / runLength;
+            final int[] index = new int[rank];
+            for (int run = 0; run < numberOfRuns; ++run)
+            {
+                long chunkElementOffset = 0;
+                long dataElementOffset = 0;
+                for (int i = 0; i < rank; ++i)
+                {
+                    chunkElementOffset = chunkElementOffset * chunkSizes[i] + index[i];
+                    dataElementOffset =
+                            dataElementOffset * blockDimensions[i] + chunkOffset[i] + index[i];
+                }
+                HDF5MemoryMappedDataSets.put(data, (int) dataElementOffset, view,
+                        chunkElementOffset, runLength);
+                // Advance the index of the run, the last dimension stays at 0.
+                for (int i = rank - 2; i >= 0; --i)
+                {
+                    if (++index[i] < effectiveChunkSizes[i])
+                    {
+                        break;
+                    }
+                    index[i] = 0;
+                }
+            }
+        }
+    }
+
+    private final HDF5BaseWriter baseWriter;
+
+    private final ForkJoinPool pool;
+
+    /** The maximal number of chunks that are being compressed but not yet written. */
+    private final int maxChunksInFlight;
+
+    HDF5ParallelChunkWriter(HDF5BaseWriter baseWriter, int numberOfThreads)
+    {
+        assert numberOfThreads > 0;
+
+        this.baseWriter = baseWriter;
+        this.pool = new ForkJoinPool(numberOfThreads);
+        this.maxChunksInFlight = 2 * numberOfThreads;
+    }
+
+    /**
+     * Writes the block of <var>blockDimensions</var> in <var>data</var> at <var>offset</var> of the
+     * data set <var>dataSetId</var>, if this can be done with direct chunk writes.
+     * 
+     * @return <code>true</code>, if the block has been written, <code>false</code>, if it needs to
+     *         be written through the HDF5 library.
+     */
+    boolean tryWrite(long dataSetId, long memoryTypeId, long[] offset, long[] blockDimensions,
+            final Object data, ICleanUpRegistry registry)
+    {
+        final ChunkLayout layoutOrNull =
+                tryGetChunkLayout(dataSetId, memoryTypeId, offset, blockDimensions, registry);
+        if (layoutOrNull == null)
+        {
+            return false;
+        }
+        final int[] blockDimensionsInt = MDAbstractArray.toInt(blockDimensions);
+        final List<int[]> chunkOffsets =
+                getChunkOffsets(blockDimensionsInt, layoutOrNull.chunkSizes);
+        // With a single chunk, there is nothing to parallelize.
+        if (chunkOffsets.size() < 2)
+        {
+            return false;
+        }
+        final Deque<ForkJoinTask<byte[]>> chunksInFlight = new ArrayDeque<ForkJoinTask<byte[]>>();
+        try
+        {
+            int nextChunkToWrite = 0;
+            for (final int[] chunkOffset : chunkOffsets)
+            {
+                if (chunksInFlight.size() >= maxChunksInFlight)
+                {
+                    writeChunk(dataSetId, offset, chunkOffsets.get(nextChunkToWrite++),
+                            chunksInFlight.removeFirst().join());
+                }
+                chunksInFlight.addLast(pool.submit(new Callable<byte[]>()
+                    {
+                        @Override
+                        public byte[] call()
+                        {
+                            return layoutOrNull.encode(data, blockDimensionsInt, chunkOffset);
+                        }
+                    }));
+            }
+            while (chunksInFlight.isEmpty() == false)
+            {
+                writeChunk(dataSetId, offset, chunkOffsets.get(nextChunkToWrite++),
+                        chunksInFlight.removeFirst().join());
+            }
+        } finally
+        {
+            for (ForkJoinTask<byte[]> task : chunksInFlight)
+            {
+                task.cancel(false);
+            }
+        }
+        return true;
+    }
+
+    private ChunkLayout tryGetChunkLayout(long dataSetId, long memoryTypeId, long[] offset,
+            long[] blockDimensions, ICleanUpRegistry registry)
+    {
+        final HDF5 h5 = baseWriter.h5;
+        final long dataTypeId = h5.getDataTypeForDataSet(dataSetId, registry);
+        if (H5.H5Tequal(dataTypeId, memoryTypeId) == false)
+        {
+            return null;
+        }
+        final long[] dimensions =
+                h5.getDataSpaceDimensions(h5.getDataSpaceForDataSet(dataSetId, registry));
+        final int rank = dimensions.length;
+        if (rank == 0 || blockDimensions.length != rank || offset.length != rank)
+        {
+            return null;
+        }
+        final int[] chunkSizesOrNull = h5.tryGetChunkSizes(dataSetId, rank, registry);
+        if (chunkSizesOrNull == null)
+        {
+            return null;
+        }
+        for (int i = 0; i < rank; ++i)
+        {
+            final long end = offset[i] + blockDimensions[i];
+            if (blockDimensions[i] == 0 || offset[i] % chunkSizesOrNull[i] != 0
+                    || end > dimensions[i]
+                    || (blockDimensions[i] % chunkSizesOrNull[i] != 0 && end != dimensions[i]))
+            {
+                return null;
+            }
+        }
+        final int[] filterIds = h5.getFilterIds(dataSetId, registry);
+        if (HDF5ParallelChunkReader.isDeflated(filterIds) == false
+                || h5.isFillValueZero(dataSetId, memoryTypeId, registry) == false)
+        {
+            return null;
+        }
+        return new ChunkLayout(memoryTypeId, (int) H5.H5Tget_size(memoryTypeId),
+                chunkSizesOrNull, filterIds, h5.getDeflateLevel(dataSetId, registry));
+    }
+
+    private void writeChunk(long dataSetId, long[] offset, int[] chunkOffset, byte[] chunk)
+    {
+        final long[] chunkOffsetInDataSet = new long[offset.length];
+        for (int i = 0; i < offset.length; ++i)
+        {
+            chunkOffsetInDataSet[i] = offset[i] + chunkOffset[i];
+        }
+        baseWriter.h5.writeRawChunk(dataSetId, chunkOffsetInDataSet, 0, chunk, chunk.length);
+    }
+
+    /**
+     * Returns the offsets (relative to the block) of all chunks of the block in C order.
+     */
+    private static List<int[]> getChunkOffsets(int[] blockDimensions, int[] chunkSizes)
+    {
+        final int rank = blockDimensions.length;
+        final int[] numberOfChunks = new int[rank];
+        for (int i = 0; i < rank; ++i)
+        {
+            numberOfChunks[i] = (blockDimensions[i] + chunkSizes[i] - 1) / chunkSizes[i];
+        }
+        final List<int[]> chunkOffsets =
+                new ArrayList<int[]>(MDAbstractArray.getLength(numberOfChunks));
+        final int[] index = new int[rank];
+        for (int n = MDAbstractArray.getLength(numberOfChunks); n > 0; --n)
+        {
+            final int[] chunkOffset = new int[rank];
+            for (int i = 0; i < rank; ++i)
+            {
+                chunkOffset[i] = index[i] * chunkSizes[i];
+            }
+            chunkOffsets.add(chunkOffset);
+            for (int i = rank - 1; i >= 0; --i)
+            {
+                if (++index[i] < numberOfChunks[i])
+                {
+                    break;
+                }
+                index[i] = 0;
+            }
+        }
+        return chunkOffsets;
+    }
+
+    /**
+     * Shuts down the pool of compression threads.
+     */
+    void close()
+    {
+        pool.shutdown();
+    }
+
+    /**
+     * Applies the byte shuffling of HDF5's shuffle filter: the i-th byte of all elements is stored
+     * contiguously. Trailing bytes that don't form a full element are not shuffled.
+     */
+    static byte[] shuffle(byte[] unshuffled, int elementSize)
+    {
+        if (elementSize <= 1)
+        {
+            return unshuffled;
+        }
+        final byte[] shuffled = new byte[unshuffled.length];
+        final int numberOfElements = unshuffled.length / elementSize;
+        for (int b = 0; b < elementSize; ++b)
+        {
+            final int shuffledOffset = b * numberOfElements;
+            for (int i = 0; i < numberOfElements; ++i)
+            {
+                shuffled[shuffledOffset + i] = unshuffled[i * elementSize + b];
+            }
+        }
+        final int shuffledLength = numberOfElements * elementSize;
+        System.arraycopy(unshuffled, shuffledLength, shuffled, shuffledLength, unshuffled.length
+                - shuffledLength);
+        return shuffled;
+    }
+
+    /**
+     * Compresses <var>bytes</var> in the zlib format, as the deflate filter of HDF5 does.
+     */
+    static byte[] deflate(byte[] bytes, int level)
+    {
+        final Deflater deflater = new Deflater(level);
+        try
+        {
+            deflater.setInput(bytes);
+            deflater.finish();
+            byte[] compressed = new byte[bytes.length + bytes.length / 1000 + 64];
+            int length = 0;
+            while (deflater.finished() == false)
+            {
+                if (length == compressed.length)
+                {
+                    compressed = Arrays.copyOf(compressed, 2 * compressed.length);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            return Arrays.copyOf(compressed, length);
+        } finally
+        {
+            deflater.end();
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+/**
+ * Options for reading ahead the natural blocks of a data set on a background thread while the
+ * current block is being processed.
+ * <p>
+ * With a prefetch depth of <var>k</var>, up to <var>k</var> blocks are read ahead. The arrays of
+ * the blocks are re-used in a ring of <code>k + 1</code> buffers, thus <i>the data of a block is
+ * only valid until <code>next()</code> is called on the iterator again</i>. Copy the data if it is
+ * needed for longer.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5PrefetchOptions
+{
+    /** Do not read ahead. */
+    public static final HDF5PrefetchOptions NO_PREFETCH = new HDF5PrefetchOptions(0);
+
+    private final int depth;
+
+    private HDF5PrefetchOptions(int depth)
+    {
+        this.depth = depth;
+    }
+
+    /**
+     * Returns options for reading ahead up to <var>depth</var> blocks.
+     */
+    public static HDF5PrefetchOptions depth(int depth)
+    {
+        if (depth < 0)
+        {
+            throw new IllegalArgumentException("Prefetch depth must not be negative, but is "
+                    + depth + ".");
+        }
+        return (depth == 0) ? NO_PREFETCH : new HDF5PrefetchOptions(depth);
+    }
+
+    /**
+     * Returns the maximal number of blocks read ahead.
+     */
+    public int getDepth()
+    {
+        return depth;
+    }
+
+    /**
+     * Returns <code>true</code>, if blocks are read ahead.
+     */
+    public boolean isPrefetching()
+    {
+        return depth > 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HDF5PrefetchOptions [depth=" + depth + "]";
+    }
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import ch.systemsx.cisd.base.exceptions.CheckedExceptionTunnel;
+import ch.systemsx.cisd.base.namedthread.NamingThreadPoolExecutor;
+import ch.systemsx.cisd.hdf5.cleanup.CleanUpRegistry;
+
+/**
+ * An iterator over the blocks of a data set that reads up to <var>depth</var> blocks ahead on a
+ * background thread. The blocks are read one after the other, never concurrently, as the
+ * {@link IBlockSource} is not thread-safe.
+ * <p>
+ * The iterator closes its source after the last block has been returned, when reading fails or
+ * when it is {@link #close() closed}. Closing cancels the pending reads, waits for the read in
+ * progress and only then closes the source. The iterator registers itself with the clean-up
+ * registry of the file, so that closing the file does the same for iterators that have been
+ * abandoned.
+ * 
+ * @author Bernd Rinn
+ */
+final class HDF5PrefetchingIterator<T> implements IHDF5CloseableIterator<T>
+{
+    /**
+     * ExecutorService for reading ahead, each iterator occupies at most one thread at a time.
+     */
+    private final static ExecutorService prefetchExecutor = new NamingThreadPoolExecutor(
+            "HDF5 Prefetch", 0, Integer.MAX_VALUE,
+            NamingThreadPoolExecutor.DEFAULT_KEEP_ALIVE_TIME_MILLIS, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<Runnable>()).daemonize();
+
+    /**
+     * The source of the blocks.
+     */
+    interface IBlockSource<T>
+    {
+        /**
+         * Reads the next block, re-using the buffer of <var>recycledBlockOrNull</var> if it is not
+         * <code>null</code> and fits.
+         */
+        T readNext(T recycledBlockOrNull);
+
+        /**
+         * Called once when the iterator is closed. No read is in progress at that time and no
+         * read will follow.
+         */
+        void close();
+    }
+
+    private final IBlockSource<T> source;
+
+    private final long numberOfBlocks;
+
+    private final int depth;
+
+    private final CleanUpRegistry fileRegistry;
+
+    private final CleanUpRegistry.Registration fileRegistration;
+
+    private final Deque<CompletableFuture<T>> prefetchedBlocks =
+            new ArrayDeque<CompletableFuture<T>>();
+
+    /** The blocks that the consumer is done with and whose buffers can be re-used. */
+    private final Queue<T> recycledBlocks = new ConcurrentLinkedQueue<T>();
+
+    /** Held while reading from the source. */
+    private final Object readLock = new Object();
+
+    private volatile boolean closed;
+
+    /** Guarded by {@link #readLock}. */
+    private boolean sourceClosed;
+
+    private CompletableFuture<T> lastReadOrNull;
+
+    private long numberOfBlocksRequested;
+
+    private long numberOfBlocksReturned;
+
+    private T currentBlockOrNull;
+
+    HDF5PrefetchingIterator(IBlockSource<T> source, long numberOfBlocks, int depth,
+            CleanUpRegistry fileRegistry)
+    {
+        assert depth > 0;
+
+        this.source = source;
+        this.numberOfBlocks = numberOfBlocks;
+        this.depth = depth;
+        this.fileRegistry = fileRegistry;
+        this.fileRegistration = fileRegistry.registerRemovableCleanUp(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    close();
+                }
+            });
+        if (numberOfBlocks == 0)
+        {
+            close();
+        } else
+        {
+            prefetch();
+        }
+    }
+
+    private void prefetch()
+    {
+        while (prefetchedBlocks.size() < depth && numberOfBlocksRequested < numberOfBlocks)
+        {
+            ++numberOfBlocksRequested;
+            if (lastReadOrNull == null)
+            {
+                lastReadOrNull = CompletableFuture.supplyAsync(new Supplier<T>()
+                    {
+                        @Override
+                        public T get()
+                        {
+                            return readNext();
+                        }
+                    }, prefetchExecutor);
+            } else
+            {
+                // Chaining the reads keeps them in order and off each other's back.
+                lastReadOrNull = lastReadOrNull.thenApplyAsync(new Function<T, T>()
+                    {
+                        @Override
+                        public T apply(T previousBlock)
+                        {
+                            return readNext();
+                        }
+                    }, prefetchExecutor);
+            }
+            prefetchedBlocks.addLast(lastReadOrNull);
+        }
+    }
+
+    /**
+     * Runs on the prefetch thread. Must not close the source: closing the data set needs the lock
+     * of the file registry, which the thread closing the file holds while waiting for this read.
+     */
+    private T readNext()
+    {
+        synchronized (readLock)
+        {
+            if (closed)
+            {
+                throw new CancellationException();
+            }
+            return source.readNext(recycledBlocks.poll());
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return closed == false && numberOfBlocksReturned < numberOfBlocks;
+    }
+
+    @Override
+    public T next()
+    {
+        final CompletableFuture<T> nextBlock;
+        synchronized (this)
+        {
+            if (hasNext() == false)
+            {
+                throw new NoSuchElementException();
+            }
+            if (currentBlockOrNull != null)
+            {
+                recycledBlocks.add(currentBlockOrNull);
+                currentBlockOrNull = null;
+            }
+            nextBlock = prefetchedBlocks.removeFirst();
+        }
+        final T block;
+        try
+        {
+            block = nextBlock.join();
+        } catch (CancellationException ex)
+        {
+            throw new IllegalStateException("The iterator has been closed.");
+        } catch (CompletionException ex)
+        {
+            close();
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex.getCause());
+        }
+        final boolean last;
+        synchronized (this)
+        {
+            last = (++numberOfBlocksReturned == numberOfBlocks);
+            currentBlockOrNull = block;
+            if (closed == false && last == false)
+            {
+                prefetch();
+            }
+        }
+        if (last)
+        {
+            close();
+        }
+        return block;
+    }
+
+    @Override
+    public void close()
+    {
+        synchronized (this)
+        {
+            if (closed == false)
+            {
+                closed = true;
+                for (CompletableFuture<T> block : prefetchedBlocks)
+                {
+                    block.cancel(false);
+                }
+                prefetchedBlocks.clear();
+                recycledBlocks.clear();
+            }
+        }
+        // Waits for the read in progress, if any.
+        synchronized (readLock)
+        {
+            if (sourceClosed)
+            {
+                return;
+            }
+            sourceClosed = true;
+        }
+        try
+        {
+            source.close();
+        } finally
+        {
+            fileRegistry.deregister(fileRegistration);
+        }
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+/**
+ * A chunk of a chunked data set as it is stored in the file, that is after the filter pipeline
+ * (e.g. shuffling and deflation) has been applied.
+ * <p>
+ * The <em>filter mask</em> tells which filters of the data set's filter pipeline have <i>not</i>
+ * been applied to the chunk: if bit <code>i</code> is set, the <code>i</code>-th filter has been
+ * skipped. A filter mask of 0 means that all filters have been applied.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5RawChunk
+{
+    private final long[] offset;
+
+    private final int filterMask;
+
+    private final byte[] data;
+
+    /**
+     * Creates a raw chunk.
+     * 
+     * @param offset The offset of the chunk in the data set (in data set elements, not in chunks).
+     * @param filterMask The mask of the filters that have <i>not</i> been applied to
+     *            <var>data</var>.
+     * @param data The stored bytes of the chunk.
+     */
+    public HDF5RawChunk(long[] offset, int filterMask, byte[] data)
+    {
+        assert offset != null;
+        assert data != null;
+
+        this.offset = offset;
+        this.filterMask = filterMask;
+        this.data = data;
+    }
+
+    /**
+     * Returns the offset of this chunk in the data set (in data set elements, not in chunks).
+     */
+    public long[] getOffset()
+    {
+        return offset;
+    }
+
+    /**
+     * Returns the mask of the filters that have <i>not</i> been applied to this chunk.
+     */
+    public int getFilterMask()
+    {
+        return filterMask;
+    }
+
+    /**
+     * Returns <code>true</code>, if the filter with index <var>filterIndex</var> in the filter
+     * pipeline of the data set has been applied to this chunk.
+     */
+    public boolean isFilterApplied(int filterIndex)
+    {
+        return (filterMask & (1 << filterIndex)) == 0;
+    }
+
+    /**
+     * Returns the stored bytes of this chunk.
+     */
+    public byte[] getData()
+    {
+        return data;
+    }
+
+    /**
+     * Returns the number of bytes this chunk occupies in the file.
+     */
+    public int getSize()
+    {
+        return data.length;
+    }
+
+}
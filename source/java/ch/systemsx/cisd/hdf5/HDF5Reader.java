@@ -85,6 +85,8 @@ class HDF5Reader implements IHDF5Reader
 
     private final IHDF5OpaqueReader opaqueReader;
 
+    private final IHDF5ChunkReader chunkReader;
+
     HDF5Reader(final HDF5BaseReader baseReader)
     {
         assert baseReader != null;
@@ -113,6 +115,7 @@ class HDF5Reader implements IHDF5Reader
         this.timeDurationReader = new HDF5TimeDurationReader(baseReader, (HDF5LongReader) longReader);
         this.referenceReader = new HDF5ReferenceReader(baseReader);
         this.opaqueReader = new HDF5OpaqueReader(baseReader);
+        this.chunkReader = new HDF5ChunkReader(baseReader);
     }
 
     void checkOpen()
@@ -202,6 +205,16 @@ class HDF5Reader implements IHDF5Reader
         return opaqueReader.readArray(objectPath);
     }
 
+    //
+    // Chunks
+    //
+
+    @Override
+    public IHDF5ChunkReader chunk()
+    {
+        return chunkReader;
+    }
+
     //
     // Boolean
     //
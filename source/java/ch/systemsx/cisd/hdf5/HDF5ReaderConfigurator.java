@@ -17,6 +17,8 @@
 package ch.systemsx.cisd.hdf5;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
 
 import ch.systemsx.cisd.hdf5.HDF5BaseReader.MDCImageGeneration;
 
@@ -29,14 +31,29 @@ import ch.systemsx.cisd.hdf5.HDF5BaseReader.MDCImageGeneration;
 class HDF5ReaderConfigurator implements IHDF5ReaderConfigurator
 {
 
+    /** Used to give each file image a unique name. */
+    private static final AtomicLong imageCounter = new AtomicLong();
+
     protected final File hdf5File;
 
+    protected final ByteBuffer fileImageOrNull;
+
     protected boolean performNumericConversions;
 
     protected boolean useUTF8CharEncoding;
 
     protected boolean autoDereference = true;
 
+    protected final HDF5FileAccessProperties fileAccessProperties = new HDF5FileAccessProperties();
+
+    protected boolean memoryMapping;
+
+    protected int parallelDecompressionThreads;
+
+    protected int dataSetCacheSize;
+
+    protected int informationCacheSize;
+
     protected HDF5Reader readerWriterOrNull;
     
     HDF5ReaderConfigurator(File hdf5File)
@@ -44,6 +61,15 @@ class HDF5ReaderConfigurator implements IHDF5ReaderConfigurator
         assert hdf5File != null;
 
         this.hdf5File = hdf5File.getAbsoluteFile();
+        this.fileImageOrNull = null;
+    }
+
+    HDF5ReaderConfigurator(ByteBuffer fileImage)
+    {
+        assert fileImage != null;
+
+        this.hdf5File = new File("image-" + imageCounter.incrementAndGet() + ".h5");
+        this.fileImageOrNull = fileImage;
     }
 
     @Override
@@ -70,15 +96,118 @@ class HDF5ReaderConfigurator implements IHDF5ReaderConfigurator
         return this;
     }
 
+    @Override
+    public HDF5ReaderConfigurator inMemory()
+    {
+        fileAccessProperties.setInMemory(HDF5FileAccessProperties.DEFAULT_IN_MEMORY_INCREMENT,
+                false);
+        return this;
+    }
+
+    @Override
+    public HDF5ReaderConfigurator chunkCache(long sizeInBytes, long numberOfSlots,
+            double preemptionPolicy)
+    {
+        fileAccessProperties.setChunkCache(new HDF5ChunkCacheSpec(sizeInBytes, numberOfSlots,
+                preemptionPolicy));
+        return this;
+    }
+
+    @Override
+    public HDF5ReaderConfigurator metadataCache(long initialSize, long minSize, long maxSize,
+            HDF5MetadataCacheSpec.EvictionPolicy evictionPolicy)
+    {
+        fileAccessProperties.setMetadataCache(new HDF5MetadataCacheSpec(initialSize, minSize,
+                maxSize, evictionPolicy));
+        return this;
+    }
+
+    @Override
+    public HDF5ReaderConfigurator memoryMapping()
+    {
+        this.memoryMapping = true;
+        return this;
+    }
+
+    @Override
+    public HDF5ReaderConfigurator parallelDecompression(int numberOfThreads)
+    {
+        if (numberOfThreads < 1)
+        {
+            throw new IllegalArgumentException("Number of threads needs to be positive, but is "
+                    + numberOfThreads + ".");
+        }
+        this.parallelDecompressionThreads = numberOfThreads;
+        return this;
+    }
+
+    @Override
+    public HDF5ReaderConfigurator dataSetCache(int maxSize)
+    {
+        if (maxSize < 1)
+        {
+            throw new IllegalArgumentException("Size of data set cache needs to be positive, but is "
+                    + maxSize + ".");
+        }
+        this.dataSetCacheSize = maxSize;
+        return this;
+    }
+
+    @Override
+    public HDF5ReaderConfigurator informationCache(int maxSize)
+    {
+        if (maxSize < 1)
+        {
+            throw new IllegalArgumentException(
+                    "Size of information cache needs to be positive, but is " + maxSize + ".");
+        }
+        this.informationCacheSize = maxSize;
+        return this;
+    }
+
     @Override
     public IHDF5Reader reader()
     {
         if (readerWriterOrNull == null)
         {
-            readerWriterOrNull =
-                    new HDF5Reader(new HDF5BaseReader(hdf5File, performNumericConversions,
-                            autoDereference, IHDF5WriterConfigurator.FileFormatVersionBounds.getDefault(), 
-                            MDCImageGeneration.NO_GENERATE_MDC_IMAGE, false, ""));
+            final HDF5BaseReader baseReader;
+            if (fileImageOrNull != null)
+            {
+                if (memoryMapping)
+                {
+                    throw new IllegalStateException(
+                            "Memory mapping is not supported for readers of file images.");
+                }
+                baseReader =
+                        new HDF5BaseReader(hdf5File.getPath(), fileImageOrNull,
+                                performNumericConversions, false, autoDereference, "",
+                                fileAccessProperties);
+            } else
+            {
+                baseReader =
+                        new HDF5BaseReader(hdf5File, performNumericConversions, false,
+                                autoDereference,
+                                IHDF5WriterConfigurator.FileFormatVersionBounds.getDefault(),
+                                MDCImageGeneration.NO_GENERATE_MDC_IMAGE, false, "",
+                                fileAccessProperties);
+            }
+            if (memoryMapping)
+            {
+                baseReader.enableMemoryMapping();
+            }
+            if (parallelDecompressionThreads > 0)
+            {
+                baseReader.enableParallelDecompression(parallelDecompressionThreads);
+            }
+            if (dataSetCacheSize > 0)
+            {
+                baseReader.enableDataSetCache(dataSetCacheSize);
+            }
+            if (informationCacheSize > 0)
+            {
+                baseReader.enableInformationCache(informationCacheSize);
+            }
+            readerWriterOrNull = new HDF5Reader(baseReader);
         }
         return readerWriterOrNull;
     }
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+/**
+ * A pool of {@link IHDF5Reader}s on one HDF5 file, for reading the file from many threads
+ * concurrently.
+ * <p>
+ * A reader and the {@link HDF5DataSet}s opened with it must not be used by more than one thread at
+ * a time. The pool hands out each reader to one thread at a time in a {@link Lease}. The data sets
+ * opened through a lease are cached with the reader, so that repeated requests don't pay for
+ * opening the file or the data sets. Each call of {@link #lease()} returns a new {@link Lease}, so
+ * a lease that has been given back stays unusable even when its reader is leased again. The
+ * number of open readers and of cached data sets per reader is bounded, thus bounding the number
+ * of native handles.
+ * <p>
+ * A typical pattern for using this class is:
+ * 
+ * <pre>
+ * try (final HDF5ReaderPool.Lease lease = pool.lease())
+ * {
+ *     final HDF5DataSet dataSet = lease.dataSet(&quot;/path/to/ds&quot;);
+ *     final float[] block = lease.reader().float32().readArrayBlock(dataSet, 1000, i);
+ *     ... work with block ...
+ * }
+ * </pre>
+ * 
+ * <i>Note that calls into the HDF5 library are serialized. Use
+ * {@link IHDF5ReaderConfigurator#memoryMapping()} to let reads of different threads overlap.</i>
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5ReaderPool implements AutoCloseable
+{
+    /** The default maximal number of data sets cached per reader. */
+    public static final int DEFAULT_MAX_DATA_SETS_PER_READER = 16;
+
+    /**
+     * A factory for the readers of a pool, e.g. to configure them.
+     */
+    public interface IReaderFactory
+    {
+        /**
+         * Returns a new reader of <var>file</var>.
+         */
+        public IHDF5Reader createReader(File file);
+    }
+
+    private static final IReaderFactory DEFAULT_READER_FACTORY = new IReaderFactory()
+        {
+            @Override
+            public IHDF5Reader createReader(File file)
+            {
+                return HDF5FactoryProvider.get().openForReading(file);
+            }
+        };
+
+    /**
+     * A reader of the pool, together with the data sets opened through it.
+     */
+    private final class PooledReader
+    {
+        private final IHDF5Reader reader;
+
+        private final Map<String, HDF5DataSet> dataSets;
+
+        private PooledReader(IHDF5Reader reader)
+        {
+            this.reader = reader;
+            this.dataSets = new LinkedHashMap<String, HDF5DataSet>(16, 0.75f, true)
+                {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, HDF5DataSet> eldest)
+                    {
+                        if (size() > maxDataSetsPerReader)
+                        {
+                            eldest.getValue().close();
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+        }
+
+        private HDF5DataSet dataSet(String dataSetPath)
+        {
+            HDF5DataSet dataSet = dataSets.get(dataSetPath);
+            if (dataSet == null)
+            {
+                dataSet = reader.object().openDataSet(dataSetPath);
+                dataSets.put(dataSetPath, dataSet);
+            }
+            return dataSet;
+        }
+
+        private void close()
+        {
+            for (HDF5DataSet dataSet : dataSets.values())
+            {
+                dataSet.close();
+            }
+            dataSets.clear();
+            reader.close();
+        }
+    }
+
+    /**
+     * A reader leased from the pool, together with the data sets opened through it. Give it back
+     * to the pool by calling {@link #close()}.
+     */
+    public final class Lease implements AutoCloseable
+    {
+        private final PooledReader pooledReader;
+
+        private boolean leased = true;
+
+        private Lease(PooledReader pooledReader)
+        {
+            this.pooledReader = pooledReader;
+        }
+
+        /**
+         * Returns the reader of this lease.
+         */
+        public IHDF5Reader reader()
+        {
+            checkLeased();
+            return pooledReader.reader;
+        }
+
+        /**
+         * Returns the data set <var>dataSetPath</var> opened with the reader of this lease. The
+         * data set is cached for later leases and must not be closed by the caller.
+         */
+        public HDF5DataSet dataSet(String dataSetPath)
+        {
+            checkLeased();
+            return pooledReader.dataSet(dataSetPath);
+        }
+
+        private void checkLeased()
+        {
+            if (leased == false)
+            {
+                throw new HDF5JavaException("Lease has already been given back to the pool.");
+            }
+        }
+
+        /**
+         * Gives the reader back to the pool.
+         */
+        @Override
+        public void close()
+        {
+            if (leased)
+            {
+                leased = false;
+                giveBack(pooledReader);
+            }
+        }
+    }
+
+    private final File file;
+
+    private final int maxDataSetsPerReader;
+
+    private final IReaderFactory readerFactory;
+
+    private final Semaphore permits;
+
+    private final LinkedBlockingDeque<PooledReader> idleReaders =
+            new LinkedBlockingDeque<PooledReader>();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool of at most <var>maxReaders</var> readers of <var>file</var>.
+     */
+    public HDF5ReaderPool(File file, int maxReaders)
+    {
+        this(file, maxReaders, DEFAULT_MAX_DATA_SETS_PER_READER, DEFAULT_READER_FACTORY);
+    }
+
+    /**
+     * Creates a pool of at most <var>maxReaders</var> readers of <var>file</var>, each caching at
+     * most <var>maxDataSetsPerReader</var> data sets, with the readers created by
+     * <var>readerFactory</var>.
+     */
+    public HDF5ReaderPool(File file, int maxReaders, int maxDataSetsPerReader,
+            IReaderFactory readerFactory)
+    {
+        assert file != null;
+        assert readerFactory != null;
+
+        if (maxReaders <= 0 || maxDataSetsPerReader <= 0)
+        {
+            throw new IllegalArgumentException(
+                    "Maximal number of readers and data sets per reader need to be positive.");
+        }
+        this.file = file;
+        this.maxDataSetsPerReader = maxDataSetsPerReader;
+        this.readerFactory = readerFactory;
+        this.permits = new Semaphore(maxReaders, true);
+    }
+
+    /**
+     * Leases a reader from the pool, opening a new one if no reader is idle, waiting if the
+     * maximal number of readers is in use.
+     */
+    public Lease lease()
+    {
+        checkOpen();
+        permits.acquireUninterruptibly();
+        try
+        {
+            checkOpen();
+            PooledReader pooledReader = idleReaders.pollFirst();
+            if (pooledReader == null)
+            {
+                pooledReader = new PooledReader(readerFactory.createReader(file));
+            }
+            return new Lease(pooledReader);
+        } catch (RuntimeException ex)
+        {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    private void giveBack(PooledReader pooledReader)
+    {
+        if (closed)
+        {
+            pooledReader.close();
+        } else
+        {
+            // LIFO order keeps the data set caches of the most recently used readers warm.
+            idleReaders.addFirst(pooledReader);
+            if (closed && idleReaders.remove(pooledReader))
+            {
+                pooledReader.close();
+            }
+        }
+        permits.release();
+    }
+
+    /**
+     * Returns the number of readers currently open and idle in the pool.
+     */
+    public int getNumberOfIdleReaders()
+    {
+        return idleReaders.size();
+    }
+
+    private void checkOpen()
+    {
+        if (closed)
+        {
+            throw new HDF5JavaException("Reader pool of file '" + file.getPath()
+                    + "' is closed.");
+        }
+    }
+
+    /**
+     * Closes all idle readers of the pool. Readers that are leased are closed when they are given
+     * back.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        final List<PooledReader> pooledReaders = new ArrayList<PooledReader>();
+        idleReaders.drainTo(pooledReaders);
+        for (PooledReader pooledReader : pooledReaders)
+        {
+            pooledReader.close();
+        }
+    }
+
+}
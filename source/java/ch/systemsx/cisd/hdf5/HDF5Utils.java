@@ -17,6 +17,7 @@
 package ch.systemsx.cisd.hdf5;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.List;
 
@@ -190,6 +191,15 @@ final class HDF5Utils
         }
     }
 
+    /**
+     * Returns <var>path</var> with a leading '/', the form in which paths are used as keys of the
+     * caches.
+     */
+    static String toAbsolutePath(String path)
+    {
+        return (path.length() > 0 && path.charAt(0) == '/') ? path : "/" + path;
+    }
+
     static boolean isEmpty(long[] dimensions)
     {
         for (long d : dimensions)
@@ -563,4 +573,18 @@ final class HDF5Utils
         return true;
     }
 
+    /**
+     * Checks that <var>buffer</var> has at least <var>requiredBytes</var> remaining.
+     * 
+     * @throws HDF5JavaException If <var>buffer</var> is too small.
+     */
+    static void checkBufferSize(ByteBuffer buffer, long requiredBytes) throws HDF5JavaException
+    {
+        if (buffer.remaining() < requiredBytes)
+        {
+            throw new HDF5JavaException("Buffer has " + buffer.remaining()
+                    + " bytes remaining, but " + requiredBytes + " bytes are required.");
+        }
+    }
+
 }
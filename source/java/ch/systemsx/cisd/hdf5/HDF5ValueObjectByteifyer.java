@@ -16,6 +16,11 @@
 
 package ch.systemsx.cisd.hdf5;
 
+import static ch.systemsx.cisd.hdf5.NativeByteOrderUtils.getInt;
+import static ch.systemsx.cisd.hdf5.NativeByteOrderUtils.getLong;
+import static ch.systemsx.cisd.hdf5.NativeByteOrderUtils.getShort;
+
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,6 +49,8 @@ class HDF5ValueObjectByteifyer<T>
 
     private final int[] vlMemberIndices;
 
+    private final Class<?>[] memberClasses;
+
     private Class<?> cachedRecordClass;
 
     private Constructor<?> cachedDefaultConstructor;
@@ -92,6 +99,11 @@ class HDF5ValueObjectByteifyer<T>
         byteifyers =
                 HDF5CompoundByteifyerFactory.createMemberByteifyers(clazz, fileInfoProvider,
                         compoundTypeInfoOrNull, members);
+        memberClasses = new Class<?>[members.length];
+        for (int i = 0; i < members.length; ++i)
+        {
+            memberClasses[i] = members[i].tryGetMemberClass();
+        }
         int numberOfVLMembers = 0;
         if (compoundTypeInfoOrNull != null)
         {
@@ -161,6 +173,10 @@ class HDF5ValueObjectByteifyer<T>
             {
                 try
                 {
+                    if (byteifyer.byteifyInto(compoundDataTypeId, obj, barray, offset))
+                    {
+                        continue;
+                    }
                     final byte[] b = byteifyer.byteify(compoundDataTypeId, obj);
                     if (b.length > byteifyer.getSize() && byteifyer.mayBeCut() == false)
                     {
@@ -192,6 +208,10 @@ class HDF5ValueObjectByteifyer<T>
         {
             try
             {
+                if (byteifyer.byteifyInto(compoundDataTypeId, obj, barray, 0))
+                {
+                    continue;
+                }
                 final byte[] b = byteifyer.byteify(compoundDataTypeId, obj);
                 if (b.length > byteifyer.getSize() && byteifyer.mayBeCut() == false)
                 {
@@ -238,6 +258,112 @@ class HDF5ValueObjectByteifyer<T>
         return primArrayifyScalar(compoundDataTypeId, byteArr, recordClass, 0);
     }
 
+    /**
+     * Converts <var>byteArr</var> into one array per member ("column"). Requires this byteifyer to
+     * have been created for <code>Object[]</code>. Scalar members of primitive type are decoded
+     * directly into primitive arrays, all other members are converted by their member byteifyer
+     * into arrays of the member class of their mapping (or <code>Object[]</code>, if the mapping
+     * has no member class).
+     */
+    public Object[] arrayifyColumns(long compoundDataTypeId, byte[] byteArr)
+    {
+        final int length = byteArr.length / recordSizeInMemory;
+        if (length * recordSizeInMemory != byteArr.length)
+        {
+            throw new HDF5JavaException("Illegal byte array for compound type (length "
+                    + byteArr.length + " is not a multiple of record size " + recordSizeInMemory
+                    + ")");
+        }
+        final Object[] columns = new Object[byteifyers.length];
+        final Object[] row = new Object[byteifyers.length];
+        for (int i = 0; i < byteifyers.length; ++i)
+        {
+            final HDF5MemberByteifyer byteifyer = byteifyers[i];
+            final Class<?> memberClassOrNull = memberClasses[i];
+            columns[i] = tryArrayifyPrimitiveColumn(byteifyer, memberClassOrNull, byteArr, length);
+            if (columns[i] != null)
+            {
+                continue;
+            }
+            columns[i] =
+                    Array.newInstance((memberClassOrNull != null) ? memberClassOrNull
+                            : Object.class, length);
+            int offset = 0;
+            for (int j = 0; j < length; ++j)
+            {
+                try
+                {
+                    byteifyer.setFromByteArray(compoundDataTypeId, row, byteArr, offset);
+                } catch (IllegalAccessException ex)
+                {
+                    throw new HDF5JavaException("Error accessing " + byteifyer.describe());
+                }
+                Array.set(columns[i], j, row[i]);
+                offset += recordSizeInMemory;
+            }
+        }
+        return columns;
+    }
+
+    private Object tryArrayifyPrimitiveColumn(HDF5MemberByteifyer byteifyer,
+            Class<?> memberClassOrNull, byte[] byteArr, int length)
+    {
+        final int size = byteifyer.getSize();
+        int index = byteifyer.getOffsetInMemory();
+        if (memberClassOrNull == byte.class && size == 1)
+        {
+            final byte[] column = new byte[length];
+            for (int j = 0; j < length; ++j, index += recordSizeInMemory)
+            {
+                column[j] = byteArr[index];
+            }
+            return column;
+        } else if (memberClassOrNull == short.class && size == 2)
+        {
+            final short[] column = new short[length];
+            for (int j = 0; j < length; ++j, index += recordSizeInMemory)
+            {
+                column[j] = getShort(byteArr, index);
+            }
+            return column;
+        } else if (memberClassOrNull == int.class && size == 4)
+        {
+            final int[] column = new int[length];
+            for (int j = 0; j < length; ++j, index += recordSizeInMemory)
+            {
+                column[j] = getInt(byteArr, index);
+            }
+            return column;
+        } else if (memberClassOrNull == long.class && size == 8)
+        {
+            final long[] column = new long[length];
+            for (int j = 0; j < length; ++j, index += recordSizeInMemory)
+            {
+                column[j] = getLong(byteArr, index);
+            }
+            return column;
+        } else if (memberClassOrNull == float.class && size == 4)
+        {
+            final float[] column = new float[length];
+            for (int j = 0; j < length; ++j, index += recordSizeInMemory)
+            {
+                column[j] = Float.intBitsToFloat(getInt(byteArr, index));
+            }
+            return column;
+        } else if (memberClassOrNull == double.class && size == 8)
+        {
+            final double[] column = new double[length];
+            for (int j = 0; j < length; ++j, index += recordSizeInMemory)
+            {
+                column[j] = Double.longBitsToDouble(getLong(byteArr, index));
+            }
+            return column;
+        } else
+        {
+            return null;
+        }
+    }
+
     private T primArrayifyScalar(long compoundDataTypeId, byte[] byteArr, Class<T> recordClass,
             int offset)
     {
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.regex.Pattern;
+
+/**
+ * Options for visiting the objects of an HDF5 file with
+ * {@link IHDF5ObjectReadOnlyInfoProviderHandler#visit(String, IHDF5ObjectVisitor, HDF5VisitOptions)}.
+ * <p>
+ * Objects of this class are immutable, each of the methods that sets an option returns a new
+ * object.
+ * 
+ * @author Bernd Rinn
+ */
+public final class HDF5VisitOptions
+{
+    /**
+     * Visit each object once, don't visit internal objects, don't filter and don't read data set
+     * information.
+     */
+    public static final HDF5VisitOptions DEFAULT = new HDF5VisitOptions(false, false, false,
+            null, null);
+
+    private final boolean links;
+
+    private final boolean dataSetInformation;
+
+    private final boolean includeInternal;
+
+    private final EnumSet<HDF5ObjectType> objectTypesOrNull;
+
+    private final Pattern pathPatternOrNull;
+
+    private HDF5VisitOptions(boolean links, boolean dataSetInformation, boolean includeInternal,
+            EnumSet<HDF5ObjectType> objectTypesOrNull, Pattern pathPatternOrNull)
+    {
+        this.links = links;
+        this.dataSetInformation = dataSetInformation;
+        this.includeInternal = includeInternal;
+        this.objectTypesOrNull = objectTypesOrNull;
+        this.pathPatternOrNull = pathPatternOrNull;
+    }
+
+    /**
+     * Returns options to visit links rather than objects. Every link is visited, including soft
+     * and external links (which are not followed), and an object with several hard links is
+     * visited once for each of them. Finding the type of the object a hard link points to costs an
+     * additional call to the HDF5 library per link.
+     */
+    public HDF5VisitOptions links()
+    {
+        return new HDF5VisitOptions(true, dataSetInformation, includeInternal, objectTypesOrNull,
+                pathPatternOrNull);
+    }
+
+    /**
+     * Returns options that read the {@link HDF5DataSetInformation} (dimensions and data type) of
+     * each data set visited. This opens each data set visited.
+     */
+    public HDF5VisitOptions dataSetInformation()
+    {
+        return new HDF5VisitOptions(links, true, includeInternal, objectTypesOrNull,
+                pathPatternOrNull);
+    }
+
+    /**
+     * Returns options that visit internal objects (e.g. committed data types of the library), too.
+     */
+    public HDF5VisitOptions includeInternal()
+    {
+        return new HDF5VisitOptions(links, dataSetInformation, true, objectTypesOrNull,
+                pathPatternOrNull);
+    }
+
+    /**
+     * Returns options that only pass objects of one of <var>objectTypes</var> to the visitor.
+     */
+    public HDF5VisitOptions objectTypes(HDF5ObjectType... objectTypes)
+    {
+        if (objectTypes.length == 0)
+        {
+            throw new IllegalArgumentException("At least one object type needs to be given.");
+        }
+        return new HDF5VisitOptions(links, dataSetInformation, includeInternal,
+                EnumSet.copyOf(Arrays.asList(objectTypes)), pathPatternOrNull);
+    }
+
+    /**
+     * Returns options that only pass objects to the visitor whose absolute path matches the regular
+     * expression <var>pathRegex</var>, e.g. <code>"/raw/.*"</code>.
+     */
+    public HDF5VisitOptions pathPattern(String pathRegex)
+    {
+        return new HDF5VisitOptions(links, dataSetInformation, includeInternal, objectTypesOrNull,
+                Pattern.compile(pathRegex));
+    }
+
+    /**
+     * Returns <code>true</code>, if links rather than objects are visited.
+     */
+    public boolean isLinks()
+    {
+        return links;
+    }
+
+    /**
+     * Returns <code>true</code>, if the data set information is read for each data set visited.
+     */
+    public boolean isDataSetInformation()
+    {
+        return dataSetInformation;
+    }
+
+    /**
+     * Returns <code>true</code>, if internal objects are visited.
+     */
+    public boolean isIncludeInternal()
+    {
+        return includeInternal;
+    }
+
+    /**
+     * Returns <code>true</code>, if an object of <var>objectType</var> at <var>objectPath</var>
+     * passes the filters of these options.
+     */
+    boolean accepts(HDF5ObjectType objectType, String objectPath)
+    {
+        return (objectTypesOrNull == null || objectTypesOrNull.contains(objectType))
+                && (pathPatternOrNull == null || pathPatternOrNull.matcher(objectPath).matches());
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HDF5VisitOptions [links=" + links + ", dataSetInformation=" + dataSetInformation
+                + ", includeInternal=" + includeInternal + ", objectTypes=" + objectTypesOrNull
+                + ", pathPattern=" + pathPatternOrNull + "]";
+    }
+
+}
@@ -85,6 +85,8 @@ final class HDF5Writer extends HDF5Reader implements IHDF5Writer
 
     private final IHDF5OpaqueWriter opaqueWriter;
 
+    private final IHDF5ChunkWriter chunkWriter;
+
     HDF5Writer(HDF5BaseWriter baseWriter)
     {
         super(baseWriter);
@@ -113,6 +115,7 @@ final class HDF5Writer extends HDF5Reader implements IHDF5Writer
                 new HDF5TimeDurationWriter(baseWriter, (HDF5LongReader) longReader);
         this.referenceWriter = new HDF5ReferenceWriter(baseWriter);
         this.opaqueWriter = new HDF5OpaqueWriter(baseWriter);
+        this.chunkWriter = new HDF5ChunkWriter(baseWriter);
     }
 
     HDF5BaseWriter getBaseWriter()
@@ -206,6 +209,16 @@ final class HDF5Writer extends HDF5Reader implements IHDF5Writer
         return opaqueWriter;
     }
 
+    //
+    // Chunks
+    //
+
+    @Override
+    public IHDF5ChunkWriter chunk()
+    {
+        return chunkWriter;
+    }
+
     //
     // Date
     //
@@ -45,6 +45,8 @@ final class HDF5WriterConfigurator extends HDF5ReaderConfigurator implements
     
     private String houseKeepingNameSuffix = "";
 
+    private int parallelCompressionThreads;
+
     // For Windows, use a blocking sync mode by default as otherwise the mandatory locks are up for
     // some surprises after the file has been closed.
     private SyncMode syncMode = OSUtilities.isWindows() ? SyncMode.SYNC_ON_FLUSH_BLOCK
@@ -145,17 +147,83 @@ final class HDF5WriterConfigurator extends HDF5ReaderConfigurator implements
         return (HDF5WriterConfigurator) super.noAutoDereference();
     }
 
+    @Override
+    public HDF5WriterConfigurator inMemory()
+    {
+        return inMemory(HDF5FileAccessProperties.DEFAULT_IN_MEMORY_INCREMENT, true);
+    }
+
+    @Override
+    public HDF5WriterConfigurator inMemory(long incrementBytes, boolean backingStore)
+    {
+        fileAccessProperties.setInMemory(incrementBytes, backingStore);
+        return this;
+    }
+
+    @Override
+    public HDF5WriterConfigurator chunkCache(long sizeInBytes, long numberOfSlots,
+            double preemptionPolicy)
+    {
+        return (HDF5WriterConfigurator) super.chunkCache(sizeInBytes, numberOfSlots,
+                preemptionPolicy);
+    }
+
+    @Override
+    public HDF5WriterConfigurator metadataCache(long initialSize, long minSize, long maxSize,
+            HDF5MetadataCacheSpec.EvictionPolicy evictionPolicy)
+    {
+        return (HDF5WriterConfigurator) super.metadataCache(initialSize, minSize, maxSize,
+                evictionPolicy);
+    }
+
+    @Override
+    public HDF5WriterConfigurator dataSetCache(int maxSize)
+    {
+        return (HDF5WriterConfigurator) super.dataSetCache(maxSize);
+    }
+
+    @Override
+    public HDF5WriterConfigurator informationCache(int maxSize)
+    {
+        return (HDF5WriterConfigurator) super.informationCache(maxSize);
+    }
+
+    @Override
+    public HDF5WriterConfigurator parallelCompression(int numberOfThreads)
+    {
+        if (numberOfThreads < 1)
+        {
+            throw new IllegalArgumentException("Number of threads needs to be positive, but is "
+                    + numberOfThreads + ".");
+        }
+        this.parallelCompressionThreads = numberOfThreads;
+        return this;
+    }
+
     @Override
     public IHDF5Writer writer()
     {
         if (readerWriterOrNull == null)
         {
-            readerWriterOrNull =
-                    new HDF5Writer(new HDF5BaseWriter(hdf5File, performNumericConversions,
+            final HDF5BaseWriter baseWriter =
+                    new HDF5BaseWriter(hdf5File, performNumericConversions,
                             useUTF8CharEncoding, autoDereference, fileFormatVersionBounds,
                             mdcImageGeneration, useExtentableDataTypes, overwriteFile, 
                             keepDataSetIfExists, useSimpleDataSpaceForAttributes, houseKeepingNameSuffix, 
-                            syncMode));
+                            syncMode, fileAccessProperties);
+            if (parallelCompressionThreads > 0)
+            {
+                baseWriter.enableParallelCompression(parallelCompressionThreads);
+            }
+            if (dataSetCacheSize > 0)
+            {
+                baseWriter.enableDataSetCache(dataSetCacheSize);
+            }
+            if (informationCacheSize > 0)
+            {
+                baseWriter.enableInformationCache(informationCacheSize);
+            }
+            readerWriterOrNull = new HDF5Writer(baseWriter);
         }
         return (HDF5Writer) readerWriterOrNull;
     }
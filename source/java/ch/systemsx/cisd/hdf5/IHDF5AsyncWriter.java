@@ -0,0 +1,224 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.util.concurrent.CompletableFuture;
+
+import ch.systemsx.cisd.base.mdarray.MDByteArray;
+import ch.systemsx.cisd.base.mdarray.MDDoubleArray;
+import ch.systemsx.cisd.base.mdarray.MDFloatArray;
+import ch.systemsx.cisd.base.mdarray.MDIntArray;
+import ch.systemsx.cisd.base.mdarray.MDLongArray;
+import ch.systemsx.cisd.base.mdarray.MDShortArray;
+
+/**
+ * A facade to an {@link IHDF5Writer} that performs the writes on a dedicated I/O thread, so that
+ * the threads producing the data don't block on the I/O.
+ * <p>
+ * The writes are queued in a bounded queue and performed in the order in which they have been
+ * submitted. Each method returns a {@link CompletableFuture} that completes when the write has been
+ * performed. If a write fails, its future and the futures of all writes queued after it complete
+ * exceptionally with the same exception, all subsequent writes fail immediately and
+ * {@link #close()} re-throws the exception.
+ * <p>
+ * Obtain an asynchronous writer with {@link HDF5AsyncWriter#HDF5AsyncWriter(IHDF5Writer, int)}.
+ * The wrapped writer must not be used directly while the asynchronous writer is open.
+ * 
+ * @author Bernd Rinn
+ */
+public interface IHDF5AsyncWriter extends AutoCloseable
+{
+    /**
+     * What to do when a write is submitted while the queue is full.
+     */
+    public enum Backpressure
+    {
+        /** Block the submitting thread until there is space in the queue. */
+        BLOCK,
+
+        /**
+         * Reject the write by throwing a
+         * {@link java.util.concurrent.RejectedExecutionException}.
+         */
+        FAIL
+    }
+
+    /**
+     * How to handle the arrays of data submitted for writing.
+     */
+    public enum BufferHandling
+    {
+        /**
+         * Take ownership of the array, i.e. the caller must not modify it until the future of the
+         * write has completed.
+         */
+        TAKE_OWNERSHIP,
+
+        /** Copy the array on submission, so that the caller can re-use it right away. */
+        COPY
+    }
+
+    /**
+     * A write operation to be performed on the I/O thread.
+     */
+    public interface IWriteOperation
+    {
+        /**
+         * Performs the write with <var>writer</var>.
+         */
+        public void write(IHDF5Writer writer);
+    }
+
+    /**
+     * Submits the write <var>operation</var>. Any arrays that the operation refers to are owned by
+     * the operation until the future has completed.
+     */
+    public CompletableFuture<Void> submit(IWriteOperation operation);
+
+    /**
+     * Submits writing the first <var>dataSize</var> elements of <var>data</var> to the data set
+     * <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5FloatWriter#writeArrayBlockWithOffset(String, float[], int, long)
+     */
+    public CompletableFuture<Void> writeArrayBlockWithOffset(String objectPath, float[] data,
+            int dataSize, long offset);
+
+    /**
+     * Submits writing the first <var>dataSize</var> elements of <var>data</var> to the data set
+     * <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5DoubleWriter#writeArrayBlockWithOffset(String, double[], int, long)
+     */
+    public CompletableFuture<Void> writeArrayBlockWithOffset(String objectPath, double[] data,
+            int dataSize, long offset);
+
+    /**
+     * Submits writing the first <var>dataSize</var> elements of <var>data</var> to the data set
+     * <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5IntWriter#writeArrayBlockWithOffset(String, int[], int, long)
+     */
+    public CompletableFuture<Void> writeArrayBlockWithOffset(String objectPath, int[] data,
+            int dataSize, long offset);
+
+    /**
+     * Submits writing the first <var>dataSize</var> elements of <var>data</var> to the data set
+     * <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5LongWriter#writeArrayBlockWithOffset(String, long[], int, long)
+     */
+    public CompletableFuture<Void> writeArrayBlockWithOffset(String objectPath, long[] data,
+            int dataSize, long offset);
+
+    /**
+     * Submits writing the first <var>dataSize</var> elements of <var>data</var> to the data set
+     * <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5ShortWriter#writeArrayBlockWithOffset(String, short[], int, long)
+     */
+    public CompletableFuture<Void> writeArrayBlockWithOffset(String objectPath, short[] data,
+            int dataSize, long offset);
+
+    /**
+     * Submits writing the first <var>dataSize</var> elements of <var>data</var> to the data set
+     * <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5ByteWriter#writeArrayBlockWithOffset(String, byte[], int, long)
+     */
+    public CompletableFuture<Void> writeArrayBlockWithOffset(String objectPath, byte[] data,
+            int dataSize, long offset);
+
+    /**
+     * Submits writing <var>data</var> to the data set <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5FloatWriter#writeMDArrayBlockWithOffset(String, MDFloatArray, long[])
+     */
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(String objectPath,
+            MDFloatArray data, long[] offset);
+
+    /**
+     * Submits writing <var>data</var> to the data set <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5DoubleWriter#writeMDArrayBlockWithOffset(String, MDDoubleArray, long[])
+     */
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(String objectPath,
+            MDDoubleArray data, long[] offset);
+
+    /**
+     * Submits writing <var>data</var> to the data set <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5IntWriter#writeMDArrayBlockWithOffset(String, MDIntArray, long[])
+     */
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(String objectPath,
+            MDIntArray data, long[] offset);
+
+    /**
+     * Submits writing <var>data</var> to the data set <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5LongWriter#writeMDArrayBlockWithOffset(String, MDLongArray, long[])
+     */
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(String objectPath,
+            MDLongArray data, long[] offset);
+
+    /**
+     * Submits writing <var>data</var> to the data set <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5ShortWriter#writeMDArrayBlockWithOffset(String, MDShortArray, long[])
+     */
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(String objectPath,
+            MDShortArray data, long[] offset);
+
+    /**
+     * Submits writing <var>data</var> to the data set <var>objectPath</var> at <var>offset</var>.
+     * 
+     * @see IHDF5ByteWriter#writeMDArrayBlockWithOffset(String, MDByteArray, long[])
+     */
+    public CompletableFuture<Void> writeMDArrayBlockWithOffset(String objectPath,
+            MDByteArray data, long[] offset);
+
+    /**
+     * Submits flushing the file after all writes submitted before, honoring the
+     * {@link IHDF5WriterConfigurator.SyncMode} of the writer.
+     * 
+     * @see IHDF5FileLevelReadWriteHandler#flush()
+     */
+    public CompletableFuture<Void> flush();
+
+    /**
+     * Submits flushing the file after all writes submitted before and waiting for the file to be
+     * synchronized to the disk, regardless of the {@link IHDF5WriterConfigurator.SyncMode} of the
+     * writer.
+     * 
+     * @see IHDF5FileLevelReadWriteHandler#flushSyncBlocking()
+     */
+    public CompletableFuture<Void> flushSyncBlocking();
+
+    /**
+     * Returns the number of writes that are queued but not yet started.
+     */
+    public int getNumberOfQueuedWrites();
+
+    /**
+     * Performs all queued writes and closes the wrapped writer.
+     * 
+     * @throws RuntimeException The exception of the first write that failed, if any.
+     */
+    @Override
+    public void close();
+
+}
@@ -16,6 +16,8 @@
 
 package ch.systemsx.cisd.hdf5;
 
+import java.nio.ByteBuffer;
+
 import ch.systemsx.cisd.base.mdarray.MDByteArray;
 
 /**
@@ -535,6 +537,69 @@ public interface IHDF5ByteWriter extends IHDF5ByteReader
      */
     public void writeMDArray(String objectPath, MDByteArray data, HDF5DataSetTemplate template);
 
+    /**
+     * Writes out a multi-dimensional <code>byte</code> array of the given <var>dimensions</var>
+     * from the direct <var>buffer</var>, starting at its current position. The native library reads
+     * straight from the memory of the buffer, there is no intermediate copy. The values need to be
+     * stored in native byte order (see {@link java.nio.ByteOrder#nativeOrder()}) and in row-major
+     * order. The position of <var>buffer</var> is advanced by the number of bytes written.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param buffer The direct buffer to write the data from.
+     * @param dimensions The dimensions of the data set.
+     * @throws hdf.hdf5lib.exceptions.HDF5JavaException If <var>buffer</var> is not a direct buffer
+     *             or has not enough bytes remaining.
+     */
+    public void writeFromBuffer(String objectPath, ByteBuffer buffer, long[] dimensions);
+
+    /**
+     * Writes out a multi-dimensional <code>byte</code> array of the given <var>dimensions</var>
+     * from the direct <var>buffer</var>, starting at its current position. See
+     * {@link #writeFromBuffer(String, ByteBuffer, long[])} for details.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param buffer The direct buffer to write the data from.
+     * @param dimensions The dimensions of the data set.
+     * @param features The storage features of the data set.
+     * @throws hdf.hdf5lib.exceptions.HDF5JavaException If <var>buffer</var> is not a direct buffer
+     *             or has not enough bytes remaining.
+     */
+    public void writeFromBuffer(String objectPath, ByteBuffer buffer, long[] dimensions,
+            HDF5IntStorageFeatures features);
+
+    /**
+     * Writes out a block of a multi-dimensional <code>byte</code> array from the direct
+     * <var>buffer</var>, starting at its current position. See
+     * {@link #writeFromBuffer(String, ByteBuffer, long[])} for details.
+     * <p>
+     * <i>Note:</i>The object identified by <var>objectPath</var> needs to exist when this method is
+     * called. This method will <i>not</i> create the array.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param buffer The direct buffer to write the data from.
+     * @param blockDimensions The extent of the block in each dimension.
+     * @param offset The offset in the data set to start writing to in each dimension.
+     * @throws hdf.hdf5lib.exceptions.HDF5JavaException If <var>buffer</var> is not a direct buffer
+     *             or has not enough bytes remaining.
+     */
+    public void writeFromBuffer(String objectPath, ByteBuffer buffer, int[] blockDimensions,
+            long[] offset);
+
+    /**
+     * Writes out a block of a multi-dimensional <code>byte</code> array from the direct
+     * <var>buffer</var>, starting at its current position. See
+     * {@link #writeFromBuffer(String, ByteBuffer, long[])} for details.
+     * 
+     * @param dataSet The data set to write to.
+     * @param buffer The direct buffer to write the data from.
+     * @param blockDimensions The extent of the block in each dimension.
+     * @param offset The offset in the data set to start writing to in each dimension.
+     * @throws hdf.hdf5lib.exceptions.HDF5JavaException If <var>buffer</var> is not a direct buffer
+     *             or has not enough bytes remaining.
+     */
+    public void writeFromBuffer(HDF5DataSet dataSet, ByteBuffer buffer, int[] blockDimensions,
+            long[] offset);
+
     /**
      * Writes out a slice of a multi-dimensional <code>byte</code> array. The slice is defined by
      * "bound indices", each of which is fixed to a given value. The <var>data</var> object only  
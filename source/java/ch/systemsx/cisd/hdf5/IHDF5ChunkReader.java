@@ -0,0 +1,68 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.systemsx.cisd.hdf5;
+
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+/**
+ * An interface that provides methods for reading the chunks of chunked data sets as they are
+ * stored in the file, that is without running them through the filter pipeline of the HDF5
+ * library. This allows e.g. to decompress chunks in the application or to copy compressed data
+ * sets between files without decompressing and re-compressing them.
+ * <p>
+ * Chunks are addressed by their <em>chunk offset</em>, that is the offset of their first element
+ * in the data set. The chunk offset needs to be a multiple of the chunk size in each dimension.
+ * <p>
+ * Obtain an object implementing this interface by calling {@link IHDF5Reader#chunk()}.
+ * 
+ * @author Bernd Rinn
+ */
+public interface IHDF5ChunkReader
+{
+
+    /**
+     * Returns the number of bytes that the chunk at <var>chunkOffset</var> occupies in the file.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param chunkOffset The offset of the chunk in the data set (in data set elements).
+     * @return The storage size of the chunk in bytes.
+     * @throws HDF5JavaException If the data set is not chunked.
+     */
+    public long getStorageSize(String objectPath, long[] chunkOffset) throws HDF5JavaException;
+
+    /**
+     * Reads the chunk at <var>chunkOffset</var> as it is stored in the file.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param chunkOffset The offset of the chunk in the data set (in data set elements).
+     * @return The stored bytes and the filter mask of the chunk.
+     * @throws HDF5JavaException If the data set is not chunked.
+     */
+    public HDF5RawChunk readRawChunk(String objectPath, long[] chunkOffset)
+            throws HDF5JavaException;
+
+    /**
+     * Reads the chunk at <var>chunkOffset</var> as it is stored in the file.
+     * 
+     * @param dataSet The handle of the data set to read from.
+     * @param chunkOffset The offset of the chunk in the data set (in data set elements).
+     * @return The stored bytes and the filter mask of the chunk.
+     * @throws HDF5JavaException If the data set is not chunked.
+     */
+    public HDF5RawChunk readRawChunk(HDF5DataSet dataSet, long[] chunkOffset)
+            throws HDF5JavaException;
+
+}
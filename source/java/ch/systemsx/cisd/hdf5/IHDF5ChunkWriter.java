@@ -0,0 +1,84 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.systemsx.cisd.hdf5;
+
+import hdf.hdf5lib.exceptions.HDF5JavaException;
+
+/**
+ * An interface that provides methods for writing the chunks of chunked data sets as they are
+ * stored in the file, that is without running them through the filter pipeline of the HDF5
+ * library. The data of a chunk need to be in exactly the form that the filters of the data set
+ * would have produced, the filter mask tells which filters have <i>not</i> been applied.
+ * <p>
+ * The data set needs to exist and needs to be large enough to contain the chunk. Create it e.g.
+ * with {@link IHDF5IntWriter#createMDArray(String, long[], int[], HDF5IntStorageFeatures)}.
+ * <p>
+ * Obtain an object implementing this interface by calling {@link IHDF5Writer#chunk()}.
+ * 
+ * @author Bernd Rinn
+ */
+public interface IHDF5ChunkWriter extends IHDF5ChunkReader
+{
+
+    /**
+     * Writes <var>chunk</var> to the data set <var>objectPath</var>, at the offset given by the
+     * chunk.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param chunk The chunk to write, e.g. as obtained from
+     *            {@link IHDF5ChunkReader#readRawChunk(String, long[])}.
+     * @throws HDF5JavaException If the data set is not chunked.
+     */
+    public void writeRawChunk(String objectPath, HDF5RawChunk chunk) throws HDF5JavaException;
+
+    /**
+     * Writes <var>data</var> as the chunk at <var>chunkOffset</var> to the data set
+     * <var>objectPath</var>.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param chunkOffset The offset of the chunk in the data set (in data set elements).
+     * @param data The bytes of the chunk, as produced by the filter pipeline.
+     * @param filterMask The mask of the filters that have <i>not</i> been applied to
+     *            <var>data</var>, 0 if all filters have been applied.
+     * @throws HDF5JavaException If the data set is not chunked.
+     */
+    public void writeRawChunk(String objectPath, long[] chunkOffset, byte[] data, int filterMask)
+            throws HDF5JavaException;
+
+    /**
+     * Writes <var>chunk</var> to <var>dataSet</var>, at the offset given by the chunk.
+     * 
+     * @param dataSet The handle of the data set to write to.
+     * @param chunk The chunk to write, e.g. as obtained from
+     *            {@link IHDF5ChunkReader#readRawChunk(HDF5DataSet, long[])}.
+     * @throws HDF5JavaException If the data set is not chunked.
+     */
+    public void writeRawChunk(HDF5DataSet dataSet, HDF5RawChunk chunk) throws HDF5JavaException;
+
+    /**
+     * Writes <var>data</var> as the chunk at <var>chunkOffset</var> to <var>dataSet</var>.
+     * 
+     * @param dataSet The handle of the data set to write to.
+     * @param chunkOffset The offset of the chunk in the data set (in data set elements).
+     * @param data The bytes of the chunk, as produced by the filter pipeline.
+     * @param filterMask The mask of the filters that have <i>not</i> been applied to
+     *            <var>data</var>, 0 if all filters have been applied.
+     * @throws HDF5JavaException If the data set is not chunked.
+     */
+    public void writeRawChunk(HDF5DataSet dataSet, long[] chunkOffset, byte[] data,
+            int filterMask) throws HDF5JavaException;
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.util.Iterator;
+
+/**
+ * An {@link Iterator} that holds resources of the HDF5 file, like an open data set, while it is
+ * iterating.
+ * <p>
+ * The resources are released automatically when the iterator has returned its last element or
+ * when the file is closed. An iteration that is abandoned before that should call {@link #close()},
+ * e.g.:
+ * 
+ * <pre>
+ * final Iterator&lt;HDF5DataBlock&lt;int[]&gt;&gt; it =
+ *         reader.int32().getArrayNaturalBlocks(&quot;ds&quot;).iterator();
+ * try
+ * {
+ *     while (it.hasNext())
+ *     {
+ *         ...
+ *     }
+ * } finally
+ * {
+ *     ((IHDF5CloseableIterator&lt;?&gt;) it).close();
+ * }
+ * </pre>
+ * 
+ * @author Bernd Rinn
+ */
+public interface IHDF5CloseableIterator<T> extends Iterator<T>, AutoCloseable
+{
+    /**
+     * Releases the resources of this iterator. After calling this method, {@link #hasNext()}
+     * returns <code>false</code>. Calling this method more than once is a no-op.
+     */
+    @Override
+    public void close();
+}
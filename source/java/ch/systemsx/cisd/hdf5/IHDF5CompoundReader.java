@@ -260,6 +260,53 @@ public interface IHDF5CompoundReader extends IHDF5CompoundInformationRetriever
             int blockSize, long offset, IByteArrayInspector inspectorOrNull)
             throws HDF5JavaException;
 
+    /**
+     * Reads the members <var>memberNames</var> of the compound data set <var>objectPath</var> into
+     * one array per member ("column"). Only the selected members are converted by the library,
+     * and no Java object is created per row for members of primitive type.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param memberNames The names of the compound members to read.
+     * @return The columns read from the data set.
+     * @throws HDF5JavaException If the <var>objectPath</var> is not a compound data set or has no
+     *             member of one of the <var>memberNames</var>.
+     */
+    public HDF5CompoundColumns readColumns(String objectPath, String... memberNames)
+            throws HDF5JavaException;
+
+    /**
+     * Reads the members <var>memberNames</var> of a block of the compound data set (of rank 1)
+     * <var>objectPath</var> into one array per member ("column").
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param blockSize The block size (this will be the length of the columns returned if the data
+     *            set is long enough).
+     * @param blockNumber The number of the block to read (starting with 0, offset: multiply with
+     *            <var>blockSize</var>).
+     * @param memberNames The names of the compound members to read.
+     * @return The columns read from the data set.
+     * @throws HDF5JavaException If the <var>objectPath</var> is not a compound data set or has no
+     *             member of one of the <var>memberNames</var>.
+     */
+    public HDF5CompoundColumns readColumnsBlock(String objectPath, int blockSize,
+            long blockNumber, String... memberNames) throws HDF5JavaException;
+
+    /**
+     * Reads the members <var>memberNames</var> of a block of the compound data set (of rank 1)
+     * <var>objectPath</var> into one array per member ("column").
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param blockSize The block size (this will be the length of the columns returned if the data
+     *            set is long enough).
+     * @param offset The offset of the block to read (starting with 0).
+     * @param memberNames The names of the compound members to read.
+     * @return The columns read from the data set.
+     * @throws HDF5JavaException If the <var>objectPath</var> is not a compound data set or has no
+     *             member of one of the <var>memberNames</var>.
+     */
+    public HDF5CompoundColumns readColumnsBlockWithOffset(String objectPath, int blockSize,
+            long offset, String... memberNames) throws HDF5JavaException;
+
     /**
      * Provides all natural blocks of this one-dimensional data set of compounds to iterate over.
      * 
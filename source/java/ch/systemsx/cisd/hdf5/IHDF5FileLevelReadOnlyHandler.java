@@ -61,6 +61,46 @@ public interface IHDF5FileLevelReadOnlyHandler
      */
     public File getFile();
 
+    /**
+     * Returns the image of the file, that is the bytes that the file has (or would have) on disk.
+     * The image can be opened again with {@link HDF5Factory#openFromImage(byte[])}.
+     */
+    public byte[] toImage();
+
+    /**
+     * Returns the current configuration of the metadata cache of this file.
+     * <p>
+     * <i>Note: the initial size is reported as the current size of the cache.</i>
+     */
+    public HDF5MetadataCacheSpec getMetadataCacheSpec();
+
+    /**
+     * Returns the current statistics (hit rate and sizes) of the metadata cache of this file. Use
+     * it to check whether the metadata cache is big enough for the number of objects in this file.
+     */
+    public HDF5MetadataCacheStatistics getMetadataCacheStatistics();
+
+    /**
+     * Resets the hit rate statistics of the metadata cache of this file, e.g. to measure the hit
+     * rate of one phase of processing.
+     */
+    public void resetMetadataCacheStatistics();
+
+    /**
+     * Returns the hit and miss counts of the information cache of this reader or writer, or
+     * <code>null</code>, if the information cache is not enabled.
+     * 
+     * @see IHDF5ReaderConfigurator#informationCache(int)
+     */
+    public HDF5CacheStatistics getInformationCacheStatistics();
+
+    /**
+     * Returns the number of HDF5 objects (data sets, groups, data types and attributes) that are
+     * currently open in this file. Use it to check that a long-lived reader or writer doesn't leak
+     * handles, e.g. {@link HDF5DataSet}s that are never closed.
+     */
+    public long getNumberOfOpenObjects();
+
     // /////////////////////
     // Status
     // /////////////////////
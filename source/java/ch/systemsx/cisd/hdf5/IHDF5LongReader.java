@@ -16,6 +16,8 @@
 
 package ch.systemsx.cisd.hdf5;
 
+import java.nio.ByteBuffer;
+
 import hdf.hdf5lib.exceptions.HDF5JavaException;
 
 import ch.systemsx.cisd.base.mdarray.MDLongArray;
@@ -159,6 +161,51 @@ public interface IHDF5LongReader
             MDLongArray array, int[] blockDimensions, long[] offset,
             int[] memoryOffset);
 
+    /**
+     * Reads the <code>long</code> data set <var>objectPath</var> into the direct
+     * <var>buffer</var>, starting at its current position. The native library writes straight into
+     * the memory of the buffer, there is no intermediate copy. The values are stored in native byte
+     * order (see {@link java.nio.ByteOrder#nativeOrder()}) and in row-major order if the data set
+     * is multi-dimensional. The position of <var>buffer</var> is advanced by the number of bytes
+     * read.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param buffer The direct buffer to read the data into.
+     * @return The number of values read.
+     * @throws HDF5JavaException If <var>buffer</var> is not a direct buffer.
+     */
+    public int readToBuffer(String objectPath, ByteBuffer buffer) throws HDF5JavaException;
+
+    /**
+     * Reads a block of the multi-dimensional <code>long</code> array data set
+     * <var>objectPath</var> into the direct <var>buffer</var>, starting at its current position.
+     * See {@link #readToBuffer(String, ByteBuffer)} for details.
+     * 
+     * @param objectPath The name (including path information) of the data set object in the file.
+     * @param buffer The direct buffer to read the data into.
+     * @param blockDimensions The extent of the block in each dimension.
+     * @param offset The offset in the data set to start reading from in each dimension.
+     * @return The number of values read.
+     * @throws HDF5JavaException If <var>buffer</var> is not a direct buffer.
+     */
+    public int readToBuffer(String objectPath, ByteBuffer buffer, int[] blockDimensions,
+            long[] offset) throws HDF5JavaException;
+
+    /**
+     * Reads a block of the multi-dimensional <code>long</code> array <var>dataSet</var> into
+     * the direct <var>buffer</var>, starting at its current position. See
+     * {@link #readToBuffer(String, ByteBuffer)} for details.
+     * 
+     * @param dataSet The data set to read from.
+     * @param buffer The direct buffer to read the data into.
+     * @param blockDimensions The extent of the block in each dimension.
+     * @param offset The offset in the data set to start reading from in each dimension.
+     * @return The number of values read.
+     * @throws HDF5JavaException If <var>buffer</var> is not a direct buffer.
+     */
+    public int readToBuffer(HDF5DataSet dataSet, ByteBuffer buffer, int[] blockDimensions,
+            long[] offset) throws HDF5JavaException;
+
     /**
      * Reads a block from a <code>long</code> array (of rank 1) from the data set 
      * <var>objectPath</var>.
@@ -537,6 +584,9 @@ public interface IHDF5LongReader
     
     /**
      * Provides all natural blocks of this one-dimensional data set to iterate over.
+     * <p>
+     * The iterators are {@link IHDF5CloseableIterator}s. If an iteration is abandoned before the
+     * last block, close the iterator to close the data set.
      * 
      * @see HDF5DataBlock
      * @throws HDF5JavaException If the data set is not of rank 1.
@@ -545,11 +595,75 @@ public interface IHDF5LongReader
     									String dataSetPath)
             throws HDF5JavaException;
 
+    /**
+     * Provides all natural blocks of this one-dimensional data set to iterate over, reading up to
+     * <code>prefetch.getDepth()</code> blocks ahead on a background thread.
+     * <p>
+     * <i>The arrays of the blocks are re-used, thus a block is only valid until
+     * <code>next()</code> is called on the iterator again.</i>
+     * <p>
+     * The iterators are {@link IHDF5CloseableIterator}s. If an iteration is abandoned before the
+     * last block, close the iterator to stop reading ahead and to close the data set.
+     * 
+     * @see HDF5DataBlock
+     * @see HDF5PrefetchOptions
+     * @throws HDF5JavaException If the data set is not of rank 1.
+     */
+    public Iterable<HDF5DataBlock<long[]>> getArrayNaturalBlocks(
+                                        String dataSetPath, HDF5PrefetchOptions prefetch)
+            throws HDF5JavaException;
+
     /**
      * Provides all natural blocks of this multi-dimensional data set to iterate over.
+     * <p>
+     * The iterators are {@link IHDF5CloseableIterator}s. If an iteration is abandoned before the
+     * last block, close the iterator to close the data set.
      * 
      * @see HDF5MDDataBlock
      */
     public Iterable<HDF5MDDataBlock<MDLongArray>> getMDArrayNaturalBlocks(
     									String dataSetPath);
+
+    /**
+     * Provides all natural blocks of this multi-dimensional data set to iterate over, reading up
+     * to <code>prefetch.getDepth()</code> blocks ahead on a background thread.
+     * <p>
+     * <i>The arrays of the blocks are re-used, thus a block is only valid until
+     * <code>next()</code> is called on the iterator again.</i>
+     * <p>
+     * The iterators are {@link IHDF5CloseableIterator}s. If an iteration is abandoned before the
+     * last block, close the iterator to stop reading ahead and to close the data set.
+     * 
+     * @see HDF5MDDataBlock
+     * @see HDF5PrefetchOptions
+     */
+    public Iterable<HDF5MDDataBlock<MDLongArray>> getMDArrayNaturalBlocks(
+                                        String dataSetPath, HDF5PrefetchOptions prefetch);
+
+    /**
+     * Returns a cursor over the blocks of <var>blockDimensions</var> of <var>dataSet</var>. The
+     * cursor allocates one array that is refilled on each call of {@link HDF5BlockCursor#next()}.
+     * 
+     * @param dataSet The handle of the data set to read from. It needs to be kept open while the
+     *            cursor is in use.
+     * @param blockDimensions The dimensions of the blocks to read. Needs to be of the rank of the
+     *            data set.
+     * @see HDF5BlockCursor
+     */
+    public HDF5BlockCursor<long[]> blockCursor(HDF5DataSet dataSet, int[] blockDimensions);
+
+    /**
+     * Returns a cursor over the blocks of <var>blockDimensions</var> of <var>dataSet</var>. The
+     * cursor refills <var>array</var> on each call of {@link HDF5BlockCursor#next()}.
+     * 
+     * @param dataSet The handle of the data set to read from. It needs to be kept open while the
+     *            cursor is in use.
+     * @param blockDimensions The dimensions of the blocks to read. Needs to be of the rank of the
+     *            data set.
+     * @param array The array to read the blocks into. Needs to be at least as long as the product
+     *            of <var>blockDimensions</var>.
+     * @see HDF5BlockCursor
+     */
+    public HDF5BlockCursor<long[]> blockCursor(HDF5DataSet dataSet, int[] blockDimensions,
+            long[] array);
 }
@@ -16,7 +16,9 @@
 
 package ch.systemsx.cisd.hdf5;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 
 import ch.systemsx.cisd.hdf5.HDF5DataTypeInformation.DataTypeInfoOptions;
 
@@ -85,6 +87,18 @@ public interface IHDF5ObjectReadOnlyInfoProviderHandler
      */
     public HDF5DataSet openDataSet(final String objectPath);
 
+    /**
+     * Opens a data set for reading (reader and writer) or writing (writer) with its own raw data
+     * chunk cache, overriding the default chunk cache of the file.
+     * <p>
+     * Use this for chunked data sets that are read in blocks which don't align with the chunks, so
+     * that each chunk is only read and decompressed once.
+     * 
+     * @param objectPath The name (with path) of the data set to open
+     * @param chunkCache The chunk cache to open the data set with.
+     */
+    public HDF5DataSet openDataSet(final String objectPath, final HDF5ChunkCacheSpec chunkCache);
+
     /**
      * Creates and returns an internal (house-keeping) version of <var>objectPath</var>.
      */
@@ -237,6 +251,29 @@ public interface IHDF5ObjectReadOnlyInfoProviderHandler
     public HDF5DataTypeInformation getAttributeInformation(final String objectPath,
             final String attributeName, final DataTypeInfoOptions dataTypeInfoOptions);
 
+    /**
+     * Reads all attributes of <var>objectPath</var>, except for internal attributes (see
+     * {@link #getAttributeNames(String)}), opening the object only once. This is considerably
+     * faster than reading the attributes one by one with the typed readers.
+     * 
+     * @param objectPath The name (including path information) of the object (data set or group) to
+     *            read the attributes of.
+     * @return The attributes of <var>objectPath</var>, see {@link HDF5AttributeMap} for the Java
+     *         types of the values.
+     */
+    public HDF5AttributeMap readAllAttributes(final String objectPath);
+
+    /**
+     * Reads all attributes of each of <var>objectPaths</var>, see
+     * {@link #readAllAttributes(String)}.
+     * 
+     * @param objectPaths The names (including path information) of the objects (data sets or
+     *            groups) to read the attributes of.
+     * @return The attributes of each of <var>objectPaths</var>, in the order of
+     *         <var>objectPaths</var>.
+     */
+    public List<HDF5AttributeMap> readAllAttributes(final List<String> objectPaths);
+
     /**
      * Returns the information about a data set as a {@link HDF5DataSetInformation} object. It is a
      * failure condition if the <var>objectPath</var> does not exist or does not identify a data
@@ -299,6 +336,18 @@ public interface IHDF5ObjectReadOnlyInfoProviderHandler
      */
     public long[] getSpaceDimensions(final String objectPath);
 
+    /**
+     * Returns the index of the allocated chunks of the chunked data set <var>dataSetPath</var>.
+     * The index provides the offset, file address and stored size of each chunk, e.g. to read
+     * chunks in file order or to estimate the compression ratio without reading any data.
+     * <p>
+     * It is a failure condition if the <var>dataSetPath</var> does not exist or does not identify a
+     * chunked data set.
+     * 
+     * @param dataSetPath The name (including path information) of the data set.
+     */
+    public HDF5ChunkIndex getChunkIndex(final String dataSetPath);
+
     /**
      * Returns the rank of the array of <var>objectPath</var> (0 if this is no array type). It is a
      * failure condition if the <var>objectPath</var> does not exist or does not identify a data
@@ -380,6 +429,35 @@ public interface IHDF5ObjectReadOnlyInfoProviderHandler
      */
     public List<String> getGroupMemberPaths(final String groupPath);
 
+    /**
+     * Returns an iterator over the members of <var>groupPath</var> in increasing name order. Unlike
+     * {@link #getGroupMembers(String)}, it doesn't read all member names at once, but in pages of
+     * <var>pageSize</var> names, each page continuing at the index where the previous one ended.
+     * Thus the first names are available right away, and memory consumption is bounded, even for
+     * groups with millions of members.
+     * <p>
+     * <i>The group must not be changed while iterating.</i>
+     * 
+     * @param groupPath The path of the group to get the members for.
+     * @param pageSize The number of member names to read at once.
+     * @throws IllegalArgumentException If <var>groupPath</var> is not a group or
+     *             <var>pageSize</var> is not positive.
+     */
+    public Iterator<String> getGroupMembersIterator(final String groupPath, final int pageSize);
+
+    /**
+     * Returns a {@link Spliterator} over the members of <var>groupPath</var> in increasing name
+     * order, see {@link #getGroupMembersIterator(String, int)}. Use it to process the members in a
+     * stream, e.g. <code>StreamSupport.stream(spliterator, false)</code>.
+     * 
+     * @param groupPath The path of the group to get the members for.
+     * @param pageSize The number of member names to read at once.
+     * @throws IllegalArgumentException If <var>groupPath</var> is not a group or
+     *             <var>pageSize</var> is not positive.
+     */
+    public Spliterator<String> getGroupMembersSpliterator(final String groupPath,
+            final int pageSize);
+
     /**
      * Returns the link information about the members of <var>groupPath</var>. The order is
      * <i>not</i> well defined.
@@ -407,6 +485,34 @@ public interface IHDF5ObjectReadOnlyInfoProviderHandler
     public List<HDF5LinkInformation> getAllGroupMemberInformation(final String groupPath,
             boolean readLinkTargets);
 
+    /**
+     * Visits all objects below the group <var>rootPath</var> (but not <var>rootPath</var> itself),
+     * see {@link #visit(String, IHDF5ObjectVisitor, HDF5VisitOptions)}, with
+     * {@link HDF5VisitOptions#DEFAULT}.
+     */
+    public void visit(final String rootPath, final IHDF5ObjectVisitor visitor);
+
+    /**
+     * Visits all objects (or links, see {@link HDF5VisitOptions#links()}) below the group
+     * <var>rootPath</var> (but not <var>rootPath</var> itself) and passes those that match the
+     * filters of <var>options</var> to <var>visitor</var>, in increasing order of their paths.
+     * <p>
+     * The whole tree is traversed by one call to the HDF5 library and the objects are passed to
+     * the visitor as they are found, so no group is opened by this method except
+     * <var>rootPath</var> and the memory needed does not depend on the size of the tree. This is
+     * much faster for large files than calling {@link #getGroupMemberInformation(String, boolean)}
+     * recursively.
+     * <p>
+     * <i>Don't modify the file from within the visitor.</i>
+     * 
+     * @param rootPath The path of the group to start the traversal at.
+     * @param visitor The visitor to pass the objects to. Visiting stops when it returns
+     *            <code>false</code>.
+     * @param options The options of the traversal, see {@link HDF5VisitOptions}.
+     */
+    public void visit(final String rootPath, final IHDF5ObjectVisitor visitor,
+            final HDF5VisitOptions options);
+
     // /////////////////////
     // Types
     // /////////////////////
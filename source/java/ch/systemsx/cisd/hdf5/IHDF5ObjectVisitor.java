@@ -0,0 +1,40 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+/**
+ * A visitor of the objects of an HDF5 file, see
+ * {@link IHDF5ObjectReadOnlyInfoProviderHandler#visit(String, IHDF5ObjectVisitor, HDF5VisitOptions)}.
+ * 
+ * @author Bernd Rinn
+ */
+public interface IHDF5ObjectVisitor
+{
+    /**
+     * Called for each object visited.
+     * 
+     * @param objectPath The absolute path of the object (or link).
+     * @param objectType The type of the object (or link).
+     * @param dataSetInfoOrNull The information about the data set (dimensions and data type), if
+     *            <var>objectType</var> is {@link HDF5ObjectType#DATASET} and
+     *            {@link HDF5VisitOptions#dataSetInformation()} is set, or <code>null</code>
+     *            otherwise.
+     * @return <code>true</code> to continue visiting, <code>false</code> to stop.
+     */
+    public boolean visit(String objectPath, HDF5ObjectType objectType,
+            HDF5DataSetInformation dataSetInfoOrNull);
+}
@@ -105,6 +105,15 @@ public interface IHDF5Reader extends IHDF5SimpleReader
      */
     public IHDF5OpaqueReader opaque();
 
+    // /////////////////////
+    // Chunks
+    // /////////////////////
+
+    /**
+     * Returns the reader for the raw (stored) chunks of chunked data sets.
+     */
+    public IHDF5ChunkReader chunk();
+
     // /////////////////////
     // Boolean
     // /////////////////////
@@ -52,6 +52,109 @@ public interface IHDF5ReaderConfigurator
      * <i>Note: automatic dereferencing is switched on by default.</i>
      */
     public IHDF5ReaderConfigurator noAutoDereference();
+
+    /**
+     * Reads the whole file into memory on opening (using the core driver of the HDF5 library), so
+     * that all subsequent reads are served from memory.
+     * <p>
+     * Use this for small to medium sized files that are accessed randomly. Has no effect on readers
+     * opened from a file image.
+     */
+    public IHDF5ReaderConfigurator inMemory();
+
+    /**
+     * Sets the raw data chunk cache that all data sets of the file are opened with (unless
+     * overridden by {@link IHDF5ObjectReadOnlyInfoProviderHandler#openDataSet(String, HDF5ChunkCacheSpec)}).
+     * <p>
+     * The default chunk cache of the HDF5 library is 1 MB in 521 slots. See
+     * {@link HDF5ChunkCacheSpec} on how to choose the values.
+     * 
+     * @param sizeInBytes The total size of the chunk cache of each data set in bytes.
+     * @param numberOfSlots The number of chunk slots in the hash table of the cache. Should be a
+     *            prime number.
+     * @param preemptionPolicy The preemption policy <code>w0</code>, a value between 0 and 1.
+     */
+    public IHDF5ReaderConfigurator chunkCache(long sizeInBytes, long numberOfSlots,
+            double preemptionPolicy);
+
+    /**
+     * Sets the configuration of the metadata cache that the file is opened with.
+     * <p>
+     * Use {@link IHDF5FileLevelReadOnlyHandler#getMetadataCacheStatistics()} to check the effect.
+     * 
+     * @param initialSize The size of the cache in bytes when the file is opened.
+     * @param minSize The minimal size of the cache in bytes.
+     * @param maxSize The maximal size of the cache in bytes.
+     * @param evictionPolicy The eviction policy of the cache.
+     */
+    public IHDF5ReaderConfigurator metadataCache(long initialSize, long minSize, long maxSize,
+            HDF5MetadataCacheSpec.EvictionPolicy evictionPolicy);
+
+    /**
+     * Serves <code>readArray()</code>, <code>readArrayBlockWithOffset()</code> and
+     * <code>readMDArrayBlockWithOffset()</code> of the primitive readers from memory mapped
+     * regions of the file, without calling into the HDF5 library, for all data sets that are
+     * stored contiguously, without filters and with a data type that matches the type read
+     * exactly (including the byte order). All other data sets are read through the HDF5 library as
+     * usual.
+     * <p>
+     * Reads served from memory mapped regions don't take the lock of the HDF5 library and thus
+     * scale with the number of threads. Only use it for files that are not modified while they are
+     * open. Has no effect on writers and on data sets larger than 2 GB.
+     * 
+     * @throws IllegalStateException When the reader is created, if it reads a file image.
+     */
+    public IHDF5ReaderConfigurator memoryMapping();
+
+    /**
+     * Decompresses the chunks of <code>readArray()</code> and <code>readMDArray()</code> of the
+     * primitive readers on <var>numberOfThreads</var> threads, for all chunked data sets that are
+     * compressed with deflate (and possibly shuffled) and have a data type that matches the type
+     * read exactly (including the byte order). The compressed chunks are fetched from the file one
+     * after the other in the order of their addresses, the decompression happens outside of the
+     * lock of the HDF5 library. All other data sets are read through the HDF5 library as usual.
+     * Block-wise reads, including the natural block iterators, are not decompressed in parallel.
+     * <p>
+     * Only use it for files that are not modified while they are open. Has no effect on writers.
+     */
+    public IHDF5ReaderConfigurator parallelDecompression(int numberOfThreads);
+
+    /**
+     * Keeps up to <var>maxSize</var> data sets open in a least-recently-used cache. The path-based
+     * <code>readArrayBlockWithOffset()</code>, <code>readMDArrayBlockWithOffset()</code>,
+     * <code>writeArrayBlockWithOffset()</code> and <code>writeMDArrayBlockWithOffset()</code> (and
+     * the methods based on them) of the primitive readers and writers then use the cached
+     * {@link HDF5DataSet} instead of opening and closing the data set on each call, which speeds up
+     * reading or writing many small blocks considerably.
+     * <p>
+     * The cache is kept consistent when data sets are deleted, moved or extended through this
+     * reader or writer. Don't use it for files that are modified by others while they are open.
+     * <p>
+     * <i>Enabling the cache restricts the reader or writer to one thread at a time:</i> a cached
+     * {@link HDF5DataSet} keeps the selection of the last block in its file space and memory
+     * space, so two threads accessing the same data set concurrently would overwrite each other's
+     * selection. Use an {@link HDF5ReaderPool} or separate readers for multi-threaded access.
+     */
+    public IHDF5ReaderConfigurator dataSetCache(int maxSize);
+
+    /**
+     * Keeps the information about up to <var>maxSize</var> objects in a least-recently-used cache,
+     * keyed by path. This covers the {@link HDF5DataSetInformation} (including the
+     * {@link HDF5DataTypeInformation}), the dimensions, the rank and the type variant of data
+     * sets, and, for read-only files, the {@link HDF5ObjectInformation}. Repeatedly asking for
+     * the same information, like the primitive readers do on each block read, then doesn't go to
+     * the HDF5 library anymore.
+     * <p>
+     * The cache is kept consistent when objects are deleted, moved or extended and when attributes
+     * are changed through this reader or writer. Don't use it for files that are modified by
+     * others while they are open. The hit ratio of the cache is available from
+     * {@link IHDF5FileLevelReadOnlyHandler#getInformationCacheStatistics()}.
+     * <p>
+     * <i>Note that this cache is maintained by JHDF5 and is independent of the metadata cache of
+     * the HDF5 library, see
+     * {@link #metadataCache(long, long, long, HDF5MetadataCacheSpec.EvictionPolicy)}.</i>
+     */
+    public IHDF5ReaderConfigurator informationCache(int maxSize);
     
     /**
      * Returns an {@link IHDF5Reader} based on this configuration.
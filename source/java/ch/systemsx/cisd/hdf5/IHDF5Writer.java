@@ -114,6 +114,16 @@ public interface IHDF5Writer extends IHDF5Reader, IHDF5SimpleWriter
     @Override
     public IHDF5OpaqueWriter opaque();
 
+    // /////////////////////
+    // Chunks
+    // /////////////////////
+
+    /**
+     * Returns the writer for the raw (stored) chunks of chunked data sets.
+     */
+    @Override
+    public IHDF5ChunkWriter chunk();
+
     // /////////////////////
     // Boolean
     // /////////////////////
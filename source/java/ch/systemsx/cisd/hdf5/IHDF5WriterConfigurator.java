@@ -314,6 +314,59 @@ public interface IHDF5WriterConfigurator extends IHDF5ReaderConfigurator
     @Override
     public IHDF5WriterConfigurator noAutoDereference();
 
+    /**
+     * Holds the file in memory (using the core driver of the HDF5 library), with the file being
+     * read from disk on opening (if it exists) and written to disk on flushing and closing.
+     * <p>
+     * Equivalent to <code>inMemory(1024 * 1024, true)</code>.
+     */
+    @Override
+    public IHDF5WriterConfigurator inMemory();
+
+    /**
+     * Holds the file in memory (using the core driver of the HDF5 library).
+     * <p>
+     * With a backing store, the HDF5 library writes the file to disk on
+     * {@link IHDF5FileLevelReadWriteHandler#flush()} and on closing, and the {@link SyncMode} is
+     * honored as for files on disk. Without a backing store, the {@link SyncMode} is ignored.
+     * 
+     * @param incrementBytes The number of bytes the memory of the file grows by when it needs to
+     *            grow. Choosing this close to the expected size of the file avoids re-allocations.
+     * @param backingStore If <code>true</code>, the file is read from disk on opening (if it
+     *            exists) and written to disk on flushing and closing. If <code>false</code>, the
+     *            file is never written to disk, use {@link IHDF5FileLevelReadOnlyHandler#toImage()} to get its
+     *            content before closing it.
+     */
+    public IHDF5WriterConfigurator inMemory(long incrementBytes, boolean backingStore);
+
+    @Override
+    public IHDF5WriterConfigurator chunkCache(long sizeInBytes, long numberOfSlots,
+            double preemptionPolicy);
+
+    @Override
+    public IHDF5WriterConfigurator metadataCache(long initialSize, long minSize, long maxSize,
+            HDF5MetadataCacheSpec.EvictionPolicy evictionPolicy);
+
+    @Override
+    public IHDF5WriterConfigurator dataSetCache(int maxSize);
+
+    @Override
+    public IHDF5WriterConfigurator informationCache(int maxSize);
+
+    /**
+     * Compresses the chunks of writes of the primitive writers on <var>numberOfThreads</var>
+     * threads and commits the compressed chunks to the file in order with direct chunk writes. This
+     * applies to <code>writeArray()</code>, <code>writeArrayBlock*()</code>,
+     * <code>writeMDArray()</code> and <code>writeMDArrayBlock*()</code> of data sets that are
+     * compressed with deflate (and possibly shuffled), if the data type in the file matches the
+     * type written exactly and the block written covers whole chunks (or ends at the end of the
+     * data set). All other writes go through the filter pipeline of the HDF5 library as usual.
+     * <p>
+     * The files written are the same as the ones written by the HDF5 library and can be read by
+     * all HDF5 tools.
+     */
+    public IHDF5WriterConfigurator parallelCompression(int numberOfThreads);
+
     /**
      * Sets the suffix that is used to mark and recognize house keeping files and groups. An empty string ("") encodes for the default, which is two
      * leading and two trailing underscores ("__NAME__").
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.nio.ByteOrder;
+
+/**
+ * Utilities for encoding and decoding primitive values in native byte order in Java, without
+ * calling into the native library.
+ * 
+ * @author Bernd Rinn
+ */
+final class NativeByteOrderUtils
+{
+    private static final boolean LITTLE_ENDIAN =
+            (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
+
+    private NativeByteOrderUtils()
+    {
+        // Not to be instantiated.
+    }
+
+    static void putShort(byte[] barray, int index, short value)
+    {
+        if (LITTLE_ENDIAN)
+        {
+            barray[index] = (byte) value;
+            barray[index + 1] = (byte) (value >>> 8);
+        } else
+        {
+            barray[index] = (byte) (value >>> 8);
+            barray[index + 1] = (byte) value;
+        }
+    }
+
+    static void putInt(byte[] barray, int index, int value)
+    {
+        if (LITTLE_ENDIAN)
+        {
+            barray[index] = (byte) value;
+            barray[index + 1] = (byte) (value >>> 8);
+            barray[index + 2] = (byte) (value >>> 16);
+            barray[index + 3] = (byte) (value >>> 24);
+        } else
+        {
+            barray[index] = (byte) (value >>> 24);
+            barray[index + 1] = (byte) (value >>> 16);
+            barray[index + 2] = (byte) (value >>> 8);
+            barray[index + 3] = (byte) value;
+        }
+    }
+
+    static void putLong(byte[] barray, int index, long value)
+    {
+        if (LITTLE_ENDIAN)
+        {
+            putInt(barray, index, (int) value);
+            putInt(barray, index + 4, (int) (value >>> 32));
+        } else
+        {
+            putInt(barray, index, (int) (value >>> 32));
+            putInt(barray, index + 4, (int) value);
+        }
+    }
+
+    static short getShort(byte[] barray, int index)
+    {
+        if (LITTLE_ENDIAN)
+        {
+            return (short) ((barray[index] & 0xff) | (barray[index + 1] << 8));
+        } else
+        {
+            return (short) ((barray[index] << 8) | (barray[index + 1] & 0xff));
+        }
+    }
+
+    static int getInt(byte[] barray, int index)
+    {
+        if (LITTLE_ENDIAN)
+        {
+            return (barray[index] & 0xff) | ((barray[index + 1] & 0xff) << 8)
+                    | ((barray[index + 2] & 0xff) << 16) | (barray[index + 3] << 24);
+        } else
+        {
+            return (barray[index] << 24) | ((barray[index + 1] & 0xff) << 16)
+                    | ((barray[index + 2] & 0xff) << 8) | (barray[index + 3] & 0xff);
+        }
+    }
+
+    static long getLong(byte[] barray, int index)
+    {
+        if (LITTLE_ENDIAN)
+        {
+            return (getInt(barray, index) & 0xffffffffL) | ((long) getInt(barray, index + 4) << 32);
+        } else
+        {
+            return ((long) getInt(barray, index) << 32) | (getInt(barray, index + 4) & 0xffffffffL);
+        }
+    }
+
+}
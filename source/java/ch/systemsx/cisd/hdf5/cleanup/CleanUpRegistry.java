@@ -16,19 +16,41 @@
 
 package ch.systemsx.cisd.hdf5.cleanup;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * A class that allows registering items for clean up and that allows to perform the clean up later.
  * <p>
+ * Clean-ups registered with {@link #registerRemovableCleanUp(Runnable)} can be removed again in
+ * constant time with {@link #deregister(Registration)}, so that long-lived registries don't grow
+ * with every resource that is opened and closed again.
+ * <p>
  * <em>This is an internal implementation class that is not meant to be used by users of the library.</em>
  * 
  * @author Bernd Rinn
  */
 public class CleanUpRegistry implements ICleanUpRegistry
 {
-    private final List<Runnable> cleanUpList = new ArrayList<Runnable>();
+    /**
+     * A registered clean-up that can be removed from the registry before it is performed.
+     */
+    public static final class Registration
+    {
+        private final Runnable cleanUp;
+
+        private Registration previous;
+
+        private Registration next;
+
+        private boolean registered;
+
+        private Registration(Runnable cleanUp)
+        {
+            this.cleanUp = cleanUp;
+        }
+    }
+
+    private Registration last;
+
+    private int size;
 
     /**
      * Creates a synchronized version of a {@link CleanUpRegistry}. 
@@ -38,9 +60,21 @@ public class CleanUpRegistry implements ICleanUpRegistry
         return new CleanUpRegistry()
             {
                 @Override
-                public synchronized void registerCleanUp(Runnable cleanUp)
+                public synchronized Registration registerRemovableCleanUp(Runnable cleanUp)
+                {
+                    return super.registerRemovableCleanUp(cleanUp);
+                }
+
+                @Override
+                public synchronized void deregister(Registration registration)
                 {
-                    super.registerCleanUp(cleanUp);
+                    super.deregister(registration);
+                }
+
+                @Override
+                public synchronized int size()
+                {
+                    return super.size();
                 }
 
                 @Override
@@ -54,11 +88,65 @@ public class CleanUpRegistry implements ICleanUpRegistry
     @Override
     public void registerCleanUp(Runnable cleanUp)
     {
-        cleanUpList.add(cleanUp);
+        registerRemovableCleanUp(cleanUp);
+    }
+
+    /**
+     * Registers a clean-up like {@link #registerCleanUp(Runnable)} and returns a registration
+     * that can be used to remove it again with {@link #deregister(Registration)}.
+     */
+    public Registration registerRemovableCleanUp(Runnable cleanUp)
+    {
+        final Registration registration = new Registration(cleanUp);
+        registration.previous = last;
+        if (last != null)
+        {
+            last.next = registration;
+        }
+        last = registration;
+        registration.registered = true;
+        ++size;
+        return registration;
+    }
+
+    /**
+     * Removes <var>registration</var> from this registry without performing its clean-up. Does
+     * nothing, if the clean-up has already been removed or performed.
+     */
+    public void deregister(Registration registration)
+    {
+        if (registration.registered == false)
+        {
+            return;
+        }
+        if (registration.next != null)
+        {
+            registration.next.previous = registration.previous;
+        } else
+        {
+            last = registration.previous;
+        }
+        if (registration.previous != null)
+        {
+            registration.previous.next = registration.next;
+        }
+        registration.previous = null;
+        registration.next = null;
+        registration.registered = false;
+        --size;
+    }
+
+    /**
+     * Returns the number of clean-ups currently registered.
+     */
+    public int size()
+    {
+        return size;
     }
 
     /**
-     * Performs all clean-ups registered with {@link #registerCleanUp(Runnable)}.
+     * Performs all clean-ups registered with {@link #registerCleanUp(Runnable)} in the reverse
+     * order of their registration.
      * 
      * @param suppressExceptions If <code>true</code>, all exceptions that happen during clean-up
      *            will be suppressed.
@@ -66,12 +154,14 @@ public class CleanUpRegistry implements ICleanUpRegistry
     public void cleanUp(boolean suppressExceptions)
     {
         RuntimeException exceptionDuringCleanUp = null;
-        for (int i = cleanUpList.size() - 1; i >= 0; --i)
+        // Clean-ups may deregister other clean-ups, thus always take the last one still registered.
+        while (last != null)
         {
-            final Runnable runnable = cleanUpList.get(i);
+            final Registration registration = last;
+            deregister(registration);
             try
             {
-                runnable.run();
+                registration.cleanUp.run();
             } catch (RuntimeException ex)
             {
                 if (suppressExceptions == false && exceptionDuringCleanUp == null)
@@ -80,7 +170,6 @@ public class CleanUpRegistry implements ICleanUpRegistry
                 }
             }
         }
-        cleanUpList.clear();
         if (exceptionDuringCleanUp != null)
         {
             throw exceptionDuringCleanUp;
@@ -418,6 +418,38 @@ public class H5 implements java.io.Serializable {
      **/
     private synchronized static native boolean H5is_library_threadsafe();
 
+    /**
+     * Sets the strategy used to serialize the data-path calls (<code>H5Dread*</code> and <code>H5Dwrite*</code> for
+     * primitive arrays and direct buffers and raw chunks). All other calls always synchronize on the class lock.
+     * <p>
+     * As the mode {@link H5LockMode#THREADSAFE_LIBRARY} lets data-path calls run concurrently with other calls into the
+     * HDF5 library, it is only honored if the library has been built with thread-safety enabled. Otherwise
+     * {@link H5LockMode#GLOBAL} is used.
+     *
+     * @param mode
+     *            The requested lock mode.
+     *
+     * @return the lock mode that is effectively used.
+     **/
+    public synchronized static H5LockMode setLockMode(H5LockMode mode) {
+        if (mode != H5LockMode.GLOBAL && H5is_library_threadsafe() == false) {
+            H5Lock.setMode(H5LockMode.GLOBAL);
+        }
+        else {
+            H5Lock.setMode(mode);
+        }
+        return H5Lock.getMode();
+    }
+
+    /**
+     * Returns the strategy currently used to serialize the data-path calls.
+     *
+     * @return the current lock mode.
+     **/
+    public static H5LockMode getLockMode() {
+        return H5Lock.getMode();
+    }
+
     // /////// unimplemented ////////
     // H5_DLL herr_t H5free_memory(void *mem);
     // H5_DLL void *H5allocate_memory(size_t size, hbool_t clear);
@@ -1503,16 +1535,21 @@ public class H5 implements java.io.Serializable {
      * @exception NullPointerException
      *                - data buffer is null.
      **/
-    public synchronized static native int H5Dread(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dread(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, byte[] obj, boolean isCriticalPinning) throws HDF5LibraryException,
             NullPointerException;
 
-    public synchronized static int H5Dread(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+    public static int H5Dread(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
             long xfer_plist_id, byte[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dread(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dread(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dread(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
-    public synchronized static int H5Dread(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+    public static int H5Dread(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
             long xfer_plist_id, Object obj) throws HDF5Exception, HDF5LibraryException, NullPointerException {
         return H5Dread(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, obj, true);
     }
@@ -1545,7 +1582,20 @@ public class H5 implements java.io.Serializable {
      * @exception NullPointerException
      *                - data object is null.
      **/
-    public synchronized static int H5Dread(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+    public static int H5Dread(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+            long xfer_plist_id, Object obj, boolean isCriticalPinning) throws HDF5Exception, HDF5LibraryException,
+            NullPointerException {
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dread_object(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, obj,
+                    isCriticalPinning);
+        }
+        synchronized (H5.class) {
+            return H5Dread_object(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, obj,
+                    isCriticalPinning);
+        }
+    }
+
+    private static int H5Dread_object(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
             long xfer_plist_id, Object obj, boolean isCriticalPinning) throws HDF5Exception, HDF5LibraryException,
             NullPointerException {
         int status = -1;
@@ -1612,40 +1662,104 @@ public class H5 implements java.io.Serializable {
         return status;
     }
 
-    public synchronized static native int H5Dread_double(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dread_double(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, double[] buf, boolean isCriticalPinning)
                     throws HDF5LibraryException, NullPointerException;
 
-    public synchronized static int H5Dread_double(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dread_double(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, double[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dread_double(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dread_double(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dread_double(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+    }
+
+    /**
+     * H5Dread reads a (partial) dataset, specified by its identifier dataset_id, from the file directly into the
+     * memory of the direct buffer buf, without an intermediate copy. The data are stored starting at the current
+     * position of buf, the position itself is not changed.
+     *
+     * @param dataset_id
+     *            Identifier of the dataset read from.
+     * @param mem_type_id
+     *            Identifier of the memory datatype.
+     * @param mem_space_id
+     *            Identifier of the memory dataspace.
+     * @param file_space_id
+     *            Identifier of the dataset's dataspace in the file.
+     * @param xfer_plist_id
+     *            Identifier of a transfer property list for this I/O operation.
+     * @param buf
+     *            Direct buffer to store data read from the file.
+     *
+     * @return a non-negative value if successful
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception NullPointerException
+     *                - data buffer is null.
+     * @exception IllegalArgumentException
+     *                - buf is not a direct buffer or has not enough space remaining.
+     **/
+    public static int H5Dread(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+            long xfer_plist_id, ByteBuffer buf) throws HDF5LibraryException, NullPointerException,
+            IllegalArgumentException {
+        if (H5Lock.isThreadSafeLibrary()) {
+            return _H5Dread_buffer(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf,
+                    buf.position());
+        }
+        synchronized (H5.class) {
+            return _H5Dread_buffer(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf,
+                    buf.position());
+        }
     }
 
-    public synchronized static native int H5Dread_float(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int _H5Dread_buffer(long dataset_id, long mem_type_id, long mem_space_id,
+            long file_space_id, long xfer_plist_id, ByteBuffer buf, long buf_offset) throws HDF5LibraryException,
+            NullPointerException, IllegalArgumentException;
+
+    private static native int H5Dread_float(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, float[] buf, boolean isCriticalPinning)
                     throws HDF5LibraryException, NullPointerException;
 
-    public synchronized static int H5Dread_float(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dread_float(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, float[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dread_float(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dread_float(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dread_float(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
-    public synchronized static native int H5Dread_int(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dread_int(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, int[] buf, boolean isCriticalPinning) throws HDF5LibraryException,
             NullPointerException;
 
-    public synchronized static int H5Dread_int(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dread_int(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, int[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dread_int(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dread_int(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dread_int(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
-    public synchronized static native int H5Dread_long(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dread_long(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, long[] buf, boolean isCriticalPinning) throws HDF5LibraryException,
             NullPointerException;
 
-    public synchronized static int H5Dread_long(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dread_long(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, long[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dread_long(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dread_long(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dread_long(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
     public synchronized static native int H5Dread_reg_ref(long dataset_id, long mem_type_id, long mem_space_id,
@@ -1654,13 +1768,18 @@ public class H5 implements java.io.Serializable {
     public synchronized static native int H5Dread_reg_ref_data(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, String[] buf) throws HDF5LibraryException, NullPointerException;
 
-    public synchronized static native int H5Dread_short(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dread_short(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, short[] buf, boolean isCriticalPinning)
                     throws HDF5LibraryException, NullPointerException;
 
-    public synchronized static int H5Dread_short(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dread_short(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, short[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dread_short(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dread_short(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dread_short(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
     public synchronized static native int H5DreadVL(long dataset_id, long mem_type_id, long mem_space_id,
@@ -1758,16 +1877,21 @@ public class H5 implements java.io.Serializable {
      * @exception NullPointerException
      *                - name is null.
      **/
-    public synchronized static native int H5Dwrite(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dwrite(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, byte[] buf, boolean isCriticalPinning) throws HDF5LibraryException,
             NullPointerException;
 
-    public synchronized static int H5Dwrite(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+    public static int H5Dwrite(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
             long xfer_plist_id, byte[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dwrite(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dwrite(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dwrite(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
-    public synchronized static int H5Dwrite(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+    public static int H5Dwrite(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
             long xfer_plist_id, Object obj) throws HDF5Exception, HDF5LibraryException, NullPointerException {
         return H5Dwrite(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, obj, true);
     }
@@ -1800,7 +1924,20 @@ public class H5 implements java.io.Serializable {
      * @exception NullPointerException
      *                - data object is null.
      **/
-    public synchronized static int H5Dwrite(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+    public static int H5Dwrite(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+            long xfer_plist_id, Object obj, boolean isCriticalPinning) throws HDF5Exception, HDF5LibraryException,
+            NullPointerException {
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dwrite_object(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, obj,
+                    isCriticalPinning);
+        }
+        synchronized (H5.class) {
+            return H5Dwrite_object(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, obj,
+                    isCriticalPinning);
+        }
+    }
+
+    private static int H5Dwrite_object(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
             long xfer_plist_id, Object obj, boolean isCriticalPinning) throws HDF5Exception, HDF5LibraryException,
             NullPointerException {
         int status = -1;
@@ -1859,49 +1996,118 @@ public class H5 implements java.io.Serializable {
         return status;
     }
 
-    public synchronized static native int H5Dwrite_double(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dwrite_double(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, double[] buf, boolean isCriticalPinning)
                     throws HDF5LibraryException, NullPointerException;
 
-    public synchronized static int H5Dwrite_double(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dwrite_double(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, double[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dwrite_double(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dwrite_double(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dwrite_double(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
-    public synchronized static native int H5Dwrite_float(long dataset_id, long mem_type_id, long mem_space_id,
+    /**
+     * H5Dwrite writes a (partial) dataset, specified by its identifier dataset_id, directly from the memory of the
+     * direct buffer buf into the file, without an intermediate copy. The data are taken starting at the current
+     * position of buf, the position itself is not changed.
+     *
+     * @param dataset_id
+     *            Identifier of the dataset write to.
+     * @param mem_type_id
+     *            Identifier of the memory datatype.
+     * @param mem_space_id
+     *            Identifier of the memory dataspace.
+     * @param file_space_id
+     *            Identifier of the dataset's dataspace in the file.
+     * @param xfer_plist_id
+     *            Identifier of a transfer property list for this I/O operation.
+     * @param buf
+     *            Direct buffer with data to be written to the file.
+     *
+     * @return a non-negative value if successful
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception NullPointerException
+     *                - data buffer is null.
+     * @exception IllegalArgumentException
+     *                - buf is not a direct buffer or has not enough data remaining.
+     **/
+    public static int H5Dwrite(long dataset_id, long mem_type_id, long mem_space_id, long file_space_id,
+            long xfer_plist_id, ByteBuffer buf) throws HDF5LibraryException, NullPointerException,
+            IllegalArgumentException {
+        if (H5Lock.isThreadSafeLibrary()) {
+            return _H5Dwrite_buffer(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf,
+                    buf.position());
+        }
+        synchronized (H5.class) {
+            return _H5Dwrite_buffer(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf,
+                    buf.position());
+        }
+    }
+
+    private static native int _H5Dwrite_buffer(long dataset_id, long mem_type_id, long mem_space_id,
+            long file_space_id, long xfer_plist_id, ByteBuffer buf, long buf_offset) throws HDF5LibraryException,
+            NullPointerException, IllegalArgumentException;
+
+    private static native int H5Dwrite_float(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, float[] buf, boolean isCriticalPinning)
                     throws HDF5LibraryException, NullPointerException;
 
-    public synchronized static int H5Dwrite_float(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dwrite_float(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, float[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dwrite_float(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dwrite_float(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dwrite_float(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
-    public synchronized static native int H5Dwrite_int(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dwrite_int(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, int[] buf, boolean isCriticalPinning) throws HDF5LibraryException,
             NullPointerException;
 
-    public synchronized static int H5Dwrite_int(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dwrite_int(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, int[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dwrite_int(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dwrite_int(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dwrite_int(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
-    public synchronized static native int H5Dwrite_long(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dwrite_long(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, long[] buf, boolean isCriticalPinning) throws HDF5LibraryException,
             NullPointerException;
 
-    public synchronized static int H5Dwrite_long(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dwrite_long(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, long[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dwrite_long(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dwrite_long(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dwrite_long(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
-    public synchronized static native int H5Dwrite_short(long dataset_id, long mem_type_id, long mem_space_id,
+    private static native int H5Dwrite_short(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, short[] buf, boolean isCriticalPinning)
                     throws HDF5LibraryException, NullPointerException;
 
-    public synchronized static int H5Dwrite_short(long dataset_id, long mem_type_id, long mem_space_id,
+    public static int H5Dwrite_short(long dataset_id, long mem_type_id, long mem_space_id,
             long file_space_id, long xfer_plist_id, short[] buf) throws HDF5LibraryException, NullPointerException {
-        return H5Dwrite_short(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        if (H5Lock.isThreadSafeLibrary()) {
+            return H5Dwrite_short(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
+        synchronized (H5.class) {
+            return H5Dwrite_short(dataset_id, mem_type_id, mem_space_id, file_space_id, xfer_plist_id, buf, true);
+        }
     }
 
     public synchronized static native int H5Dwrite_string(long dataset_id, long mem_type_id, long mem_space_id,
@@ -1965,9 +2171,184 @@ public class H5 implements java.io.Serializable {
      **/
     public synchronized static native void H5Drefresh(long dset_id) throws HDF5LibraryException;
 
+    /**
+     * H5Dget_chunk_storage_size returns the size in bytes allocated in the file for the raw data chunk of a chunked
+     * dataset that starts at the logical offset given by offset.
+     *
+     * @param dset_id
+     *            IN: Identifier of the dataset.
+     * @param offset
+     *            IN: Logical offset of the chunk in the dataset, in dataset elements.
+     *
+     * @return the storage size of the chunk in bytes.
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception NullPointerException
+     *                - offset is null.
+     **/
+    public synchronized static native long H5Dget_chunk_storage_size(long dset_id, long[] offset)
+            throws HDF5LibraryException, NullPointerException;
+
+    /**
+     * H5Dread_chunk reads the raw data chunk that starts at the logical offset given by offset from the dataset
+     * dset_id, bypassing the filter pipeline. The data are returned as stored in the file, that is, still
+     * compressed if the dataset uses compression.
+     *
+     * @param dset_id
+     *            IN: Identifier of the dataset.
+     * @param dxpl_id
+     *            IN: Identifier of a transfer property list for this I/O operation.
+     * @param offset
+     *            IN: Logical offset of the chunk in the dataset, in dataset elements.
+     * @param filter_mask
+     *            OUT: An array of length at least 1, element 0 receives the mask of the filters that were
+     *            <i>not</i> applied to the chunk when it was written.
+     * @param buf
+     *            OUT: Buffer to store the chunk in. Needs to be at least as large as
+     *            {@link #H5Dget_chunk_storage_size(long, long[])}.
+     *
+     * @return a non-negative value if successful
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception NullPointerException
+     *                - an array is null.
+     * @exception IllegalArgumentException
+     *                - buf is too small or filter_mask has length 0.
+     **/
+    public static int H5Dread_chunk(long dset_id, long dxpl_id, long[] offset, int[] filter_mask, byte[] buf)
+            throws HDF5LibraryException, NullPointerException, IllegalArgumentException {
+        if (H5Lock.isThreadSafeLibrary()) {
+            return _H5Dread_chunk(dset_id, dxpl_id, offset, filter_mask, buf);
+        }
+        synchronized (H5.class) {
+            return _H5Dread_chunk(dset_id, dxpl_id, offset, filter_mask, buf);
+        }
+    }
+
+    private static native int _H5Dread_chunk(long dset_id, long dxpl_id, long[] offset, int[] filter_mask,
+            byte[] buf) throws HDF5LibraryException, NullPointerException, IllegalArgumentException;
+
+    /**
+     * H5Dwrite_chunk writes the first data_size bytes of buf as the raw data chunk that starts at the logical offset
+     * given by offset to the dataset dset_id, bypassing the filter pipeline. The data need to already be in the form
+     * that the filters given by filter_mask would have produced.
+     *
+     * @param dset_id
+     *            IN: Identifier of the dataset.
+     * @param dxpl_id
+     *            IN: Identifier of a transfer property list for this I/O operation.
+     * @param filter_mask
+     *            IN: Mask of the filters of the dataset's pipeline that have <i>not</i> been applied to the chunk.
+     * @param offset
+     *            IN: Logical offset of the chunk in the dataset, in dataset elements.
+     * @param buf
+     *            IN: Buffer with the chunk data.
+     * @param data_size
+     *            IN: The number of bytes of buf to write.
+     *
+     * @return a non-negative value if successful
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception NullPointerException
+     *                - an array is null.
+     * @exception IllegalArgumentException
+     *                - data_size is negative or larger than buf.
+     **/
+    public static int H5Dwrite_chunk(long dset_id, long dxpl_id, int filter_mask, long[] offset, byte[] buf,
+            int data_size) throws HDF5LibraryException, NullPointerException, IllegalArgumentException {
+        if (H5Lock.isThreadSafeLibrary()) {
+            return _H5Dwrite_chunk(dset_id, dxpl_id, filter_mask, offset, buf, data_size);
+        }
+        synchronized (H5.class) {
+            return _H5Dwrite_chunk(dset_id, dxpl_id, filter_mask, offset, buf, data_size);
+        }
+    }
+
+    private static native int _H5Dwrite_chunk(long dset_id, long dxpl_id, int filter_mask, long[] offset,
+            byte[] buf, int data_size) throws HDF5LibraryException, NullPointerException, IllegalArgumentException;
+
+    /**
+     * H5Dget_num_chunks returns the number of chunks that have been allocated in the file for the chunked dataset
+     * dset_id and that intersect with the selection of fspace_id.
+     *
+     * @param dset_id
+     *            IN: Identifier of the dataset.
+     * @param fspace_id
+     *            IN: Identifier of the file dataspace, or H5S_ALL for all chunks of the dataset.
+     *
+     * @return the number of allocated chunks.
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     **/
+    public synchronized static native long H5Dget_num_chunks(long dset_id, long fspace_id)
+            throws HDF5LibraryException;
+
+    /**
+     * H5Dget_chunk_info retrieves the offset, filter mask, file address and storage size of the allocated chunk with
+     * the given index in the chunked dataset dset_id. Each of the output arrays may be null if the information isn't
+     * needed.
+     * <p>
+     * Note that the HDF5 library walks the chunk index from its start on each call, so enumerating all chunks with
+     * this method is quadratic in the number of chunks. Prefer {@link #H5Dget_chunk_info_by_coord} where possible.
+     *
+     * @param dset_id
+     *            IN: Identifier of the dataset.
+     * @param fspace_id
+     *            IN: Identifier of the file dataspace, or H5S_ALL for all chunks of the dataset.
+     * @param index
+     *            IN: Index of the chunk, between 0 and {@link #H5Dget_num_chunks(long, long)} - 1.
+     * @param offset
+     *            OUT: Logical offset of the chunk in the dataset, in dataset elements. Its length needs to be the
+     *            rank of the dataset.
+     * @param filter_mask
+     *            OUT: Element 0 receives the mask of the filters that were <i>not</i> applied to the chunk.
+     * @param addr_size
+     *            OUT: Element 0 receives the file address of the chunk, element 1 its storage size in bytes.
+     *
+     * @return a non-negative value if successful
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception IllegalArgumentException
+     *                - an output array is too small.
+     **/
+    public synchronized static native int H5Dget_chunk_info(long dset_id, long fspace_id, long index,
+            long[] offset, int[] filter_mask, long[] addr_size) throws HDF5LibraryException,
+            IllegalArgumentException;
+
+    /**
+     * H5Dget_chunk_info_by_coord retrieves the filter mask, file address and storage size of the chunk that starts
+     * at the logical offset given by offset in the chunked dataset dset_id. If the chunk is not allocated, the
+     * address will be -1 and the size 0. Each of the output arrays may be null if the information isn't needed.
+     *
+     * @param dset_id
+     *            IN: Identifier of the dataset.
+     * @param offset
+     *            IN: Logical offset of the chunk in the dataset, in dataset elements.
+     * @param filter_mask
+     *            OUT: Element 0 receives the mask of the filters that were <i>not</i> applied to the chunk.
+     * @param addr_size
+     *            OUT: Element 0 receives the file address of the chunk, element 1 its storage size in bytes.
+     *
+     * @return a non-negative value if successful
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception NullPointerException
+     *                - offset is null.
+     * @exception IllegalArgumentException
+     *                - an output array is too small.
+     **/
+    public synchronized static native int H5Dget_chunk_info_by_coord(long dset_id, long[] offset,
+            int[] filter_mask, long[] addr_size) throws HDF5LibraryException, NullPointerException,
+            IllegalArgumentException;
+
     // /////// unimplemented ////////
     // H5_DLL herr_t H5Ddebug(hid_t dset_id);
-    // H5_DLL herr_t H5Dget_chunk_storage_size(hid_t dset_id, const hsize_t *offset, hsize_t *chunk_bytes);
     // H5_DLL herr_t H5Dformat_convert(hid_t dset_id);
     // H5_DLL herr_t H5Dget_chunk_index_type(hid_t did, H5D_chunk_index_t *idx_type);
 
@@ -2483,6 +2864,22 @@ public class H5 implements java.io.Serializable {
 
     public synchronized static native long H5Fget_filesize(long file_id) throws HDF5LibraryException;
 
+    /**
+     * H5Fget_file_image copies the image of the open file file_id into buf. If the file is opened for writing, it is
+     * flushed first.
+     *
+     * @param file_id
+     *            IN: Identifier of the file.
+     * @param buf
+     *            OUT: Buffer to store the file image in, or null to only query the size of the image.
+     *
+     * @return the size of the file image in bytes.
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library, e.g. if buf is too small.
+     **/
+    public synchronized static native long H5Fget_file_image(long file_id, byte[] buf) throws HDF5LibraryException;
+
     /**
      * H5Fget_freespace returns the amount of space that is unused by any objects in the file.
      *
@@ -2753,7 +3150,6 @@ public class H5 implements java.io.Serializable {
     // /////// unimplemented ////////
     // H5_DLL herr_t H5Fget_eoa(hid_t file_id, haddr_t *eoa);
     // H5_DLL herr_t H5Fincrement_filesize(hid_t file_id, hsize_t increment);
-    // ssize_t H5Fget_file_image(hid_t file_id, void * buf_ptr, size_t buf_len);
     // herr_t H5Fget_metadata_read_retry_info(hid_t file_id, H5F_retry_info_t *info);
     // ssize_t H5Fget_free_sections(hid_t file_id, H5F_mem_t type, size_t nsects, H5F_sect_info_t *sect_info/*out*/);
     // H5_DLL herr_t H5Fset_libver_bounds(hid_t file_id, H5F_libver_t low, H5F_libver_t high);
@@ -2784,38 +3180,35 @@ public class H5 implements java.io.Serializable {
     // H5Fget_vfd_handle(int file_id, int fapl)
     //             throws HDF5LibraryException;
 
-    // /**
-    // * H5Fget_mdc_config loads the current metadata cache configuration into
-    // * the instance of H5AC_cache_config_t pointed to by the config_ptr
-    // parameter.
-    // *
-    // * @param file_id IN: Identifier of the target file
-    // * @param config_ptr IN/OUT: Pointer to the instance of
-    // H5AC_cache_config_t in which the current metadata cache configuration is to be reported.
-    // *
-    // * @return none
-    // *
-    // * @exception HDF5LibraryException - Error from the HDF-5 Library.
-    // * @exception NullPointerException - config_ptr is null.
-    // **/
-    // public synchronized static native void H5Fget_mdc_config(int file_id, H5AC_cache_config_t config_ptr)
-    //             throws HDF5LibraryException, NullPointerException;
+    /**
+     * H5Fget_mdc_config returns the current metadata cache configuration of the target file.
+     *
+     * @param file_id
+     *            IN: Identifier of the target file
+     *
+     * @return the current metadata cache configuration
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     **/
+    public synchronized static native H5AC_cache_config_t H5Fget_mdc_config(long file_id)
+            throws HDF5LibraryException;
 
-    // /**
-    // * H5Fset_mdc_config attempts to configure the file's metadata cache
-    // according to the configuration supplied.
-    // *
-    // * @param file_id IN: Identifier of the target file
-    // * @param config_ptr IN: Pointer to the instance of H5AC_cache_config_t
-    // containing the desired configuration.
-    // *
-    // * @return none
-    // *
-    // * @exception HDF5LibraryException - Error from the HDF-5 Library.
-    // * @exception NullPointerException - config_ptr is null.
-    // **/
-    // public synchronized static native int H5Fset_mdc_config(int file_id, H5AC_cache_config_t config_ptr)
-    //             throws HDF5LibraryException, NullPointerException;
+    /**
+     * H5Fset_mdc_config attempts to configure the file's metadata cache according to the configuration supplied.
+     *
+     * @param file_id
+     *            IN: Identifier of the target file
+     * @param config_ptr
+     *            IN: The desired configuration.
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception NullPointerException
+     *                - config_ptr is null.
+     **/
+    public synchronized static native void H5Fset_mdc_config(long file_id, H5AC_cache_config_t config_ptr)
+            throws HDF5LibraryException, NullPointerException;
 
     // ////////////////////////////////////////////////////////////
     // //
@@ -7116,6 +7509,64 @@ public class H5 implements java.io.Serializable {
     public synchronized static native int H5Pset_fapl_core(long fapl_id, long increment, boolean backing_store)
             throws HDF5LibraryException, NullPointerException;
 
+    /**
+     * H5Pset_file_image sets an initial file image in the file access property list fapl_id, so that a file opened
+     * with the core driver and this property list is read from memory instead of from disk. The library makes its own
+     * copy of the image.
+     *
+     * @param fapl_id
+     *            IN: Identifier of the file access property list.
+     * @param buf
+     *            IN: The file image.
+     *
+     * @return a non-negative value if successful
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception NullPointerException
+     *                - buf is null.
+     **/
+    public synchronized static int H5Pset_file_image(long fapl_id, byte[] buf) throws HDF5LibraryException,
+            NullPointerException {
+        return _H5Pset_file_image(fapl_id, buf, 0, buf.length);
+    }
+
+    /**
+     * H5Pset_file_image sets an initial file image in the file access property list fapl_id, so that a file opened
+     * with the core driver and this property list is read from memory instead of from disk. The image consists of
+     * the remaining bytes of buf, the position of buf is not changed. The library makes its own copy of the image.
+     *
+     * @param fapl_id
+     *            IN: Identifier of the file access property list.
+     * @param buf
+     *            IN: The file image.
+     *
+     * @return a non-negative value if successful
+     *
+     * @exception HDF5LibraryException
+     *                - Error from the HDF-5 Library.
+     * @exception NullPointerException
+     *                - buf is null.
+     **/
+    public synchronized static int H5Pset_file_image(long fapl_id, ByteBuffer buf) throws HDF5LibraryException,
+            NullPointerException {
+        if (buf.isDirect()) {
+            return _H5Pset_file_image_buffer(fapl_id, buf, buf.position(), buf.remaining());
+        }
+        if (buf.hasArray()) {
+            return _H5Pset_file_image(fapl_id, buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+        }
+        final byte[] image = new byte[buf.remaining()];
+        buf.duplicate().get(image);
+        return _H5Pset_file_image(fapl_id, image, 0, image.length);
+    }
+
+    private static native int _H5Pset_file_image(long fapl_id, byte[] buf, int buf_offset, int buf_len)
+            throws HDF5LibraryException, NullPointerException, IllegalArgumentException;
+
+    private static native int _H5Pset_file_image_buffer(long fapl_id, ByteBuffer buf, long buf_offset, long buf_len)
+            throws HDF5LibraryException, NullPointerException, IllegalArgumentException;
+
     /**
      * H5Pget_fapl_direct Retrieve direct I/O settings.
      *
@@ -7260,7 +7711,6 @@ public class H5 implements java.io.Serializable {
     // herr_t H5Pget_multi_type(hid_t fapl_id, H5FD_mem_t *type)
     // herr_t H5Pset_multi_type(hid_t fapl_id, H5FD_mem_t type)
     // herr_t H5Pget_file_image(hid_t fapl_id, void **buf_ptr_ptr, size_t *buf_len_ptr);
-    // herr_t H5Pset_file_image(hid_t fapl_id, void *buf_ptr, size_t buf_len);
     // herr_t H5Pget_file_image_callbacks(hid_t fapl_id, H5FD_file_image_callbacks_t *callbacks_ptr);
     // herr_t H5Pset_file_image_callbacks(hid_t fapl_id, H5FD_file_image_callbacks_t *callbacks_ptr);
     // herr_t H5Pset_core_write_tracking(hid_t fapl_id, hbool_t is_enabled, size_t page_size);
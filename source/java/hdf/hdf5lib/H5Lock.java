@@ -0,0 +1,54 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hdf.hdf5lib;
+
+/**
+ * Holds the current {@link H5LockMode} that the data-path calls of {@link H5} consult. In
+ * {@link H5LockMode#GLOBAL} mode these calls synchronize on <code>H5.class</code>, in
+ * {@link H5LockMode#THREADSAFE_LIBRARY} mode they call into the library without any Java-side
+ * synchronization.
+ *
+ * @author Bernd Rinn
+ */
+final class H5Lock
+{
+    private static volatile H5LockMode mode = H5LockMode.GLOBAL;
+
+    private H5Lock()
+    {
+        // Not to be instantiated.
+    }
+
+    static H5LockMode getMode()
+    {
+        return mode;
+    }
+
+    static void setMode(H5LockMode newMode)
+    {
+        mode = newMode;
+    }
+
+    /**
+     * Returns <code>true</code> if data transfers may skip synchronizing on <code>H5.class</code>.
+     */
+    static boolean isThreadSafeLibrary()
+    {
+        return mode == H5LockMode.THREADSAFE_LIBRARY;
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hdf.hdf5lib;
+
+/**
+ * The strategy that {@link H5} uses to serialize the data-path calls, that is <code>H5Dread*</code>
+ * and <code>H5Dwrite*</code> for primitive arrays, direct buffers and raw chunks. All other calls of
+ * {@link H5} always synchronize on the class lock.
+ * <p>
+ * The mode {@link #THREADSAFE_LIBRARY} is only safe if the HDF5 library has been built with
+ * thread-safety enabled. {@link H5#setLockMode(H5LockMode)} will fall back to {@link #GLOBAL} if
+ * this is not the case.
+ *
+ * @author Bernd Rinn
+ */
+public enum H5LockMode
+{
+    /**
+     * All calls synchronize on the class lock of {@link H5}. This is the default.
+     */
+    GLOBAL,
+
+    /**
+     * Data-path calls do not take any lock on the Java side, but rely on the locking of the
+     * thread-safe HDF5 library. Note that the thread-safe library serializes all calls on its own
+     * global mutex, so this mode does not make calls into the library run in parallel. It only
+     * removes the additional lock on the Java side.
+     */
+    THREADSAFE_LIBRARY
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.io.File;
+
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+/**
+ * Compares the method handle based byteifyers for scalar primitive fields with the reflective
+ * ones, by converting an array of records (1 million by default, or the number given as first
+ * argument) to and from its in-memory compound representation.
+ *
+ * @author Bernd Rinn
+ */
+public class HDF5CompoundByteifyerSpeedTest
+{
+
+    private static final int ROUNDS = 5;
+
+    static class Measurement
+    {
+        byte b;
+
+        short s;
+
+        int i;
+
+        long timestamp;
+
+        float f;
+
+        double value;
+
+        double error;
+
+        Measurement()
+        {
+        }
+
+        Measurement(int n)
+        {
+            this.b = (byte) n;
+            this.s = (short) (n * 3);
+            this.i = n;
+            this.timestamp = 1000L * n;
+            this.f = n / 3f;
+            this.value = n * 1.5;
+            this.error = 1.0 / (n + 1);
+        }
+    }
+
+    private static long checksum(Measurement[] records)
+    {
+        long sum = 0;
+        for (Measurement m : records)
+        {
+            sum += m.b + m.s + m.i + m.timestamp + (long) m.f + (long) m.value;
+        }
+        return sum;
+    }
+
+    private static void run(IHDF5Writer writer, Measurement[] records, boolean direct)
+    {
+        HDF5CompoundByteifyerFactory.setDirectFieldAccess(direct);
+        final HDF5CompoundType<Measurement> type =
+                writer.compound().getInferredType(Measurement.class);
+        final HDF5ValueObjectByteifyer<Measurement> byteifyer = type.getObjectByteifyer();
+        final long typeId = type.getStorageTypeId();
+        for (int round = 1; round <= ROUNDS; ++round)
+        {
+            final long start = System.nanoTime();
+            final byte[] bytes = byteifyer.byteify(typeId, records);
+            final long mid = System.nanoTime();
+            final Measurement[] recordsRead =
+                    byteifyer.arrayify(typeId, bytes, Measurement.class);
+            final long end = System.nanoTime();
+            System.out.printf("%s, round %d: byteify %.1f ns / record, arrayify %.1f ns / record"
+                    + " (checksum %d)\n", direct ? "method handles" : "reflection", round,
+                    (mid - start) / (double) records.length, (end - mid)
+                            / (double) records.length, checksum(recordsRead));
+        }
+    }
+
+    public static void main(String[] args)
+    {
+        final int numberOfRecords = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+        final File file = new File("compoundbyteifyer.h5");
+        file.delete();
+        file.deleteOnExit();
+        final Measurement[] records = new Measurement[numberOfRecords];
+        for (int i = 0; i < records.length; ++i)
+        {
+            records[i] = new Measurement(i);
+        }
+        System.out.printf("%d records, checksum %d\n", numberOfRecords, checksum(records));
+        try
+        {
+            final IHDF5Writer writer = HDF5Factory.open(file);
+            try
+            {
+                run(writer, records, false);
+                run(writer, records, true);
+            } finally
+            {
+                HDF5CompoundByteifyerFactory.setDirectFieldAccess(true);
+                writer.close();
+            }
+        } catch (HDF5LibraryException ex)
+        {
+            System.err.println(ex.getHDF5ErrorStackAsString());
+        }
+    }
+}
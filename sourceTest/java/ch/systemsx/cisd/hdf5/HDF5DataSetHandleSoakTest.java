@@ -0,0 +1,92 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.io.File;
+
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+/**
+ * Opens and closes a data set of a long-lived reader many times (10 million by default, or the
+ * number given as first argument) and checks that neither the clean-up registry of the file nor
+ * the number of open HDF5 objects nor the heap grows.
+ *
+ * @author Bernd Rinn
+ */
+public class HDF5DataSetHandleSoakTest
+{
+
+    private static final int REPORT_INTERVAL = 1000000;
+
+    private static long usedMemory()
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args)
+    {
+        final long numberOfCycles = (args.length > 0) ? Long.parseLong(args[0]) : 10000000L;
+        final File file = new File("datasethandlesoak.h5");
+        file.delete();
+        file.deleteOnExit();
+        try
+        {
+            final IHDF5Writer writer = HDF5Factory.open(file);
+            writer.int32().writeArray("/ds", new int[] { 1, 2, 3, 4 });
+            writer.close();
+        } catch (HDF5LibraryException ex)
+        {
+            System.err.println(ex.getHDF5ErrorStackAsString());
+            return;
+        }
+        final IHDF5Reader reader = HDF5Factory.openForReading(file);
+        final HDF5BaseReader baseReader = ((HDF5IntReader) reader.int32()).getBaseReader();
+        final int cleanUpsAtStart = baseReader.getNumberOfFileCleanUps();
+        final long openObjectsAtStart = reader.file().getNumberOfOpenObjects();
+        final long memoryAtStart = usedMemory();
+        final long start = System.currentTimeMillis();
+        for (long i = 1; i <= numberOfCycles; ++i)
+        {
+            try (final HDF5DataSet ds = reader.object().openDataSet("/ds"))
+            {
+                reader.int32().readArrayBlockWithOffset(ds, 1, i % 4);
+            }
+            if (i % REPORT_INTERVAL == 0 || i == numberOfCycles)
+            {
+                System.out.printf("%d cycles: %d clean-ups, %d open objects, %.1f MB heap "
+                        + "(%.1f us / cycle)\n", i, baseReader.getNumberOfFileCleanUps(),
+                        reader.file().getNumberOfOpenObjects(),
+                        usedMemory() / 1e6, (System.currentTimeMillis() - start) * 1e3 / i);
+            }
+        }
+        final int cleanUpsAtEnd = baseReader.getNumberOfFileCleanUps();
+        final long openObjectsAtEnd = reader.file().getNumberOfOpenObjects();
+        final long memoryAtEnd = usedMemory();
+        reader.close();
+        System.out.printf("Heap: %.1f MB at start, %.1f MB at end\n", memoryAtStart / 1e6,
+                memoryAtEnd / 1e6);
+        if (cleanUpsAtEnd != cleanUpsAtStart || openObjectsAtEnd != openObjectsAtStart)
+        {
+            System.out.printf("FAILED: %d -> %d clean-ups, %d -> %d open objects\n",
+                    cleanUpsAtStart, cleanUpsAtEnd, openObjectsAtStart, openObjectsAtEnd);
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+}
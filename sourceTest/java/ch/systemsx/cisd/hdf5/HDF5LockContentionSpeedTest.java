@@ -0,0 +1,114 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.io.File;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.H5LockMode;
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+import ch.systemsx.cisd.hdf5.IHDF5WriterConfigurator.SyncMode;
+
+/**
+ * Measures the read throughput of several threads, each reading from its own file, for all
+ * {@link H5LockMode}s.
+ *
+ * @author Bernd Rinn
+ */
+public class HDF5LockContentionSpeedTest
+{
+
+    private static final int NUMBER_OF_THREADS = 8;
+
+    private static final int NUMBER_OF_READS = 20;
+
+    private static final int BLOCK_SIZE = 1000000;
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        final File[] files = new File[NUMBER_OF_THREADS];
+        final float[] arr = new float[BLOCK_SIZE];
+        for (int i = 0; i < arr.length; ++i)
+        {
+            arr[i] = (float) Math.random();
+        }
+        try
+        {
+            for (int i = 0; i < NUMBER_OF_THREADS; ++i)
+            {
+                files[i] = new File("lockcontention" + i + ".h5");
+                files[i].delete();
+                files[i].deleteOnExit();
+                final IHDF5Writer writer =
+                        HDF5FactoryProvider.get().configure(files[i]).syncMode(SyncMode.NO_SYNC)
+                                .writer();
+                writer.float32().writeArray("/f", arr);
+                writer.close();
+            }
+        } catch (HDF5LibraryException ex)
+        {
+            System.err.println(ex.getHDF5ErrorStackAsString());
+            return;
+        }
+        for (H5LockMode mode : H5LockMode.values())
+        {
+            final H5LockMode effectiveMode = H5.setLockMode(mode);
+            if (effectiveMode != mode)
+            {
+                System.out.printf("%s: not supported by this HDF5 library, skipping\n", mode);
+                continue;
+            }
+            final Thread[] threads = new Thread[NUMBER_OF_THREADS];
+            for (int i = 0; i < NUMBER_OF_THREADS; ++i)
+            {
+                final File file = files[i];
+                threads[i] = new Thread(new Runnable()
+                    {
+                        @Override
+                        public void run()
+                        {
+                            final IHDF5Reader reader = HDF5Factory.openForReading(file);
+                            try
+                            {
+                                for (int j = 0; j < NUMBER_OF_READS; ++j)
+                                {
+                                    reader.float32().readArray("/f");
+                                }
+                            } finally
+                            {
+                                reader.close();
+                            }
+                        }
+                    });
+            }
+            final long start = System.currentTimeMillis();
+            for (Thread thread : threads)
+            {
+                thread.start();
+            }
+            for (Thread thread : threads)
+            {
+                thread.join();
+            }
+            final float time = (System.currentTimeMillis() - start) / 1000.f;
+            final float megaBytes = NUMBER_OF_THREADS * NUMBER_OF_READS * 4.f * BLOCK_SIZE / 1e6f;
+            System.out.printf("%s: %.2f s (%.1f MB/s)\n", mode, time, megaBytes / time);
+        }
+        H5.setLockMode(H5LockMode.GLOBAL);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.io.File;
+
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+import ch.systemsx.cisd.hdf5.HDF5DataTypeInformation.DataTypeInfoOptions;
+
+/**
+ * Measures the lookup of the path of a named data type in a file with many (1000 by default, or
+ * the number given as first argument) committed enum types. It compares the fingerprint index of
+ * {@link HDF5BaseReader#tryGetDataTypePath(long)} with a linear scan over all named types that
+ * compares each of them by the library.
+ *
+ * @author Bernd Rinn
+ */
+public class HDF5NamedDataTypeLookupSpeedTest
+{
+
+    private static final int LOOKUPS = 10000;
+
+    private static String[] getValues(int i)
+    {
+        return new String[]
+            { "A" + i, "B" + i, "C" + i };
+    }
+
+    public static void main(String[] args)
+    {
+        final int numberOfTypes = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+        final File file = new File("nameddatatypelookup.h5");
+        file.delete();
+        file.deleteOnExit();
+        try
+        {
+            final IHDF5Writer writer = HDF5Factory.open(file);
+            for (int i = 0; i < numberOfTypes; ++i)
+            {
+                final HDF5EnumerationType type =
+                        writer.enumeration().getType("E" + i, getValues(i));
+                if (i == numberOfTypes - 1)
+                {
+                    writer.enumeration().write("ds", new HDF5EnumerationValue(type, 0));
+                }
+            }
+            writer.close();
+        } catch (HDF5LibraryException ex)
+        {
+            System.err.println(ex.getHDF5ErrorStackAsString());
+            return;
+        }
+
+        final IHDF5Reader reader = HDF5Factory.openForReading(file);
+        final HDF5BaseReader baseReader = ((HDF5IntReader) reader.int32()).getBaseReader();
+        final long[] namedTypeIds = new long[numberOfTypes];
+        for (int i = 0; i < numberOfTypes; ++i)
+        {
+            namedTypeIds[i] =
+                    baseReader.getDataTypeId(HDF5Utils.createDataTypePath(HDF5Utils.ENUM_PREFIX,
+                            baseReader.houseKeepingNameSuffix, "E" + i));
+        }
+        // The type searched for is the last one, i.e. the worst case for a linear scan.
+        final long typeId =
+                reader.enumeration().getType("E" + (numberOfTypes - 1)).getStorageTypeId();
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; ++i)
+        {
+            for (long namedTypeId : namedTypeIds)
+            {
+                if (baseReader.h5.dataTypesAreEqual(typeId, namedTypeId))
+                {
+                    ++found;
+                    break;
+                }
+            }
+        }
+        System.out.printf("Linear scan over %d types: %.1f us / lookup (%d found)\n",
+                numberOfTypes, (System.nanoTime() - start) / 1e3 / LOOKUPS, found);
+
+        start = System.nanoTime();
+        found = 0;
+        for (int i = 0; i < LOOKUPS; ++i)
+        {
+            if (baseReader.tryGetDataTypePath(typeId) != null)
+            {
+                ++found;
+            }
+        }
+        System.out.printf("Fingerprint index over %d types: %.1f us / lookup (%d found)\n",
+                numberOfTypes, (System.nanoTime() - start) / 1e3 / LOOKUPS, found);
+
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; ++i)
+        {
+            reader.object().getDataSetInformation("ds", DataTypeInfoOptions.PATH);
+        }
+        System.out.printf("getDataSetInformation() with data type path: %.1f us / call (%s)\n",
+                (System.nanoTime() - start) / 1e3 / LOOKUPS,
+                reader.object().getDataSetInformation("ds", DataTypeInfoOptions.PATH)
+                        .getTypeInformation().tryGetDataTypePath());
+        reader.close();
+    }
+}
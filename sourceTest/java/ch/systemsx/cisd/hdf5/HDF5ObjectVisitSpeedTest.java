@@ -0,0 +1,96 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.io.File;
+
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+/**
+ * Measures listing all objects of a file with many groups (100 groups of 100 data sets by
+ * default, or the numbers given as arguments). It compares calling
+ * {@link IHDF5ObjectReadOnlyInfoProviderHandler#getGroupMemberInformation(String, boolean)}
+ * recursively with one traversal by
+ * {@link IHDF5ObjectReadOnlyInfoProviderHandler#visit(String, IHDF5ObjectVisitor)}.
+ *
+ * @author Bernd Rinn
+ */
+public class HDF5ObjectVisitSpeedTest
+{
+
+    private static int listRecursively(IHDF5Reader reader, String groupPath)
+    {
+        int count = 0;
+        for (HDF5LinkInformation link : reader.object().getGroupMemberInformation(groupPath,
+                false))
+        {
+            ++count;
+            if (link.isGroup())
+            {
+                count += listRecursively(reader, link.getPath());
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args)
+    {
+        final int numberOfGroups = (args.length > 0) ? Integer.parseInt(args[0]) : 100;
+        final int numberOfDataSets = (args.length > 1) ? Integer.parseInt(args[1]) : 100;
+        final File file = new File("objectvisit.h5");
+        file.delete();
+        file.deleteOnExit();
+        try
+        {
+            final IHDF5Writer writer = HDF5Factory.open(file);
+            for (int i = 0; i < numberOfGroups; ++i)
+            {
+                for (int j = 0; j < numberOfDataSets; ++j)
+                {
+                    writer.int32().write("/g" + i + "/ds" + j, j);
+                }
+            }
+            writer.close();
+        } catch (HDF5LibraryException ex)
+        {
+            System.err.println(ex.getHDF5ErrorStackAsString());
+            return;
+        }
+
+        final IHDF5Reader reader = HDF5Factory.openForReading(file);
+        long start = System.nanoTime();
+        final int recursiveCount = listRecursively(reader, "/");
+        System.out.printf("Recursive getGroupMemberInformation(): %.1f ms (%d objects)\n",
+                (System.nanoTime() - start) / 1e6, recursiveCount);
+
+        final int[] visitCount = new int[1];
+        start = System.nanoTime();
+        reader.object().visit("/", new IHDF5ObjectVisitor()
+            {
+                @Override
+                public boolean visit(String objectPath, HDF5ObjectType objectType,
+                        HDF5DataSetInformation dataSetInfoOrNull)
+                {
+                    ++visitCount[0];
+                    return true;
+                }
+            });
+        System.out.printf("visit(): %.1f ms (%d objects)\n", (System.nanoTime() - start) / 1e6,
+                visitCount[0]);
+        reader.close();
+    }
+}
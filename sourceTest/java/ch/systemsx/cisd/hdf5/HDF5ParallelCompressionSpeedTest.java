@@ -0,0 +1,89 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.io.File;
+
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+import ch.systemsx.cisd.hdf5.IHDF5WriterConfigurator.SyncMode;
+
+/**
+ * Measures the write throughput of a shuffled and deflated data set for all deflate levels, with
+ * the filter pipeline of the HDF5 library and with
+ * {@link IHDF5WriterConfigurator#parallelCompression(int)}.
+ *
+ * @author Bernd Rinn
+ */
+public class HDF5ParallelCompressionSpeedTest
+{
+
+    private static final int NUMBER_OF_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private static final int SIZE = 32 * 1024 * 1024;
+
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    public static void main(String[] args)
+    {
+        final File file = new File("parallelcompression.h5");
+        file.deleteOnExit();
+        final float[] arr = new float[SIZE];
+        for (int i = 0; i < arr.length; ++i)
+        {
+            // Compressible, but not trivially so.
+            arr[i] = (float) Math.round(Math.sin(i / 1000.) * 1000.) + i % 7;
+        }
+        try
+        {
+            for (int level = 1; level <= 9; ++level)
+            {
+                final HDF5FloatStorageFeatures features =
+                        HDF5FloatStorageFeatures.build().deflateLevel((byte) level)
+                                .shuffleBeforeDeflate(true).features();
+                final float serialTime = write(file, arr, features, 0);
+                final float parallelTime = write(file, arr, features, NUMBER_OF_THREADS);
+                final float megaBytes = 4.f * SIZE / 1e6f;
+                System.out.printf(
+                        "Level %d: library %.2f s (%.1f MB/s), %d threads %.2f s (%.1f MB/s)\n",
+                        level, serialTime, megaBytes / serialTime, NUMBER_OF_THREADS,
+                        parallelTime, megaBytes / parallelTime);
+            }
+        } catch (HDF5LibraryException ex)
+        {
+            System.err.println(ex.getHDF5ErrorStackAsString());
+        }
+    }
+
+    private static float write(File file, float[] arr, HDF5FloatStorageFeatures features,
+            int numberOfThreads)
+    {
+        file.delete();
+        final IHDF5WriterConfigurator configurator =
+                HDF5FactoryProvider.get().configure(file).syncMode(SyncMode.NO_SYNC);
+        if (numberOfThreads > 0)
+        {
+            configurator.parallelCompression(numberOfThreads);
+        }
+        final long start = System.currentTimeMillis();
+        final IHDF5Writer writer = configurator.writer();
+        writer.float32().createArray("/f", arr.length, CHUNK_SIZE, features);
+        writer.float32().writeArrayBlock("/f", arr, 0);
+        writer.close();
+        return (System.currentTimeMillis() - start) / 1000.f;
+    }
+}
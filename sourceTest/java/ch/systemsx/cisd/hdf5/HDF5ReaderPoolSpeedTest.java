@@ -0,0 +1,139 @@
+/*
+ * Copyright 2007 - 2018 ETH Zuerich, CISD and SIS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.hdf5;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+import ch.systemsx.cisd.hdf5.IHDF5WriterConfigurator.SyncMode;
+
+/**
+ * Compares the throughput of small random block reads of many threads, opening a new reader per
+ * request versus leasing readers from a {@link HDF5ReaderPool}.
+ * 
+ * @author Bernd Rinn
+ */
+public class HDF5ReaderPoolSpeedTest
+{
+
+    private static final int NUMBER_OF_THREADS = 8;
+
+    private static final int NUMBER_OF_REQUESTS = 2000;
+
+    private static final int SIZE = 1000000;
+
+    private static final int BLOCK_SIZE = 100;
+
+    private interface IRequest
+    {
+        void run(long offset);
+    }
+
+    private static float measure(final IRequest request) throws InterruptedException
+    {
+        final AtomicLong checksum = new AtomicLong();
+        final Thread[] threads = new Thread[NUMBER_OF_THREADS];
+        for (int i = 0; i < NUMBER_OF_THREADS; ++i)
+        {
+            threads[i] = new Thread(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        for (int j = 0; j < NUMBER_OF_REQUESTS; ++j)
+                        {
+                            final long offset = (long) (Math.random() * (SIZE - BLOCK_SIZE));
+                            request.run(offset);
+                            checksum.incrementAndGet();
+                        }
+                    }
+                });
+        }
+        final long start = System.currentTimeMillis();
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        return (System.currentTimeMillis() - start) / 1000.f;
+    }
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        final File file = new File("readerpool.h5");
+        file.delete();
+        file.deleteOnExit();
+        final float[] arr = new float[SIZE];
+        for (int i = 0; i < arr.length; ++i)
+        {
+            arr[i] = (float) Math.random();
+        }
+        try
+        {
+            final IHDF5Writer writer =
+                    HDF5FactoryProvider.get().configure(file).syncMode(SyncMode.NO_SYNC)
+                            .writer();
+            writer.float32().writeArray("/f", arr, HDF5FloatStorageFeatures.FLOAT_CHUNKED);
+            writer.close();
+        } catch (HDF5LibraryException ex)
+        {
+            System.err.println(ex.getHDF5ErrorStackAsString());
+            return;
+        }
+        final int numberOfRequests = NUMBER_OF_THREADS * NUMBER_OF_REQUESTS;
+
+        final float openPerRequestTime = measure(new IRequest()
+            {
+                @Override
+                public void run(long offset)
+                {
+                    final IHDF5Reader reader = HDF5Factory.openForReading(file);
+                    try
+                    {
+                        reader.float32().readArrayBlockWithOffset("/f", BLOCK_SIZE, offset);
+                    } finally
+                    {
+                        reader.close();
+                    }
+                }
+            });
+        System.out.printf("Open per request: %.2f s (%.0f requests/s)\n", openPerRequestTime,
+                numberOfRequests / openPerRequestTime);
+
+        final HDF5ReaderPool pool = new HDF5ReaderPool(file, NUMBER_OF_THREADS);
+        final float poolTime = measure(new IRequest()
+            {
+                @Override
+                public void run(long offset)
+                {
+                    try (final HDF5ReaderPool.Lease lease = pool.lease())
+                    {
+                        lease.reader().float32().readArrayBlockWithOffset(lease.dataSet("/f"),
+                                BLOCK_SIZE, offset);
+                    }
+                }
+            });
+        pool.close();
+        System.out.printf("Reader pool: %.2f s (%.0f requests/s)\n", poolTime, numberOfRequests
+                / poolTime);
+    }
+}
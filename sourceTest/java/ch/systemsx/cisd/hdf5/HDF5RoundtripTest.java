@@ -50,17 +50,26 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
@@ -86,11 +95,13 @@ import ch.systemsx.cisd.base.utilities.OSUtilities;
 import ch.systemsx.cisd.hdf5.HDF5CompoundMappingHints.EnumReturnType;
 import ch.systemsx.cisd.hdf5.HDF5DataTypeInformation.DataTypeInfoOptions;
 import ch.systemsx.cisd.hdf5.IHDF5WriterConfigurator.SyncMode;
+import ch.systemsx.cisd.hdf5.cleanup.CleanUpRegistry;
 import ch.systemsx.cisd.hdf5.exceptions.HDF5SpaceRankMismatch;
 import ch.systemsx.cisd.hdf5.hdf5lib.HDFHelper;
 import hdf.hdf5lib.H5;
 import hdf.hdf5lib.HDF5Constants;
 import hdf.hdf5lib.exceptions.HDF5DatatypeInterfaceException;
+import hdf.hdf5lib.exceptions.HDF5Exception;
 import hdf.hdf5lib.exceptions.HDF5JavaException;
 import hdf.hdf5lib.exceptions.HDF5LibraryException;
 import hdf.hdf5lib.exceptions.HDF5SymbolTableException;
@@ -3248,6 +3259,276 @@ public class HDF5RoundtripTest
         reader.close();
     }
 
+    @Test(dataProvider = "provideSizes")
+    public void testIterateOverFloatArrayInNaturalBlocksWithPrefetch(int blockSize,
+            int dataSetSize)
+    {
+        final File datasetFile =
+                new File(workingDirectory, "iterateOverFloatArrayInNaturalBlocksWithPrefetch.h5");
+        datasetFile.delete();
+        assertFalse(datasetFile.exists());
+        datasetFile.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(datasetFile);
+        final String dsName = "ds";
+        final float[] arrayWritten = new float[dataSetSize];
+        for (int i = 0; i < dataSetSize; ++i)
+        {
+            arrayWritten[i] = i;
+        }
+        writer.float32().createArray(dsName, dataSetSize, blockSize);
+        writer.float32().writeArrayBlock(dsName, arrayWritten, 0);
+        writer.close();
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(datasetFile);
+        for (int depth = 1; depth <= 3; ++depth)
+        {
+            int i = 0;
+            for (HDF5DataBlock<float[]> block : reader.float32().getArrayNaturalBlocks(dsName,
+                    HDF5PrefetchOptions.depth(depth)))
+            {
+                assertEquals(i, block.getIndex());
+                assertEquals(blockSize * i, block.getOffset());
+                final float[] arrayReadBlock = block.getData();
+                final float[] arrayWrittenBlock = new float[arrayReadBlock.length];
+                System.arraycopy(arrayWritten, (int) block.getOffset(), arrayWrittenBlock, 0,
+                        arrayWrittenBlock.length);
+                assertTrue(Arrays.equals(arrayWrittenBlock, arrayReadBlock));
+                ++i;
+            }
+            assertEquals(dataSetSize / blockSize + (dataSetSize % blockSize != 0 ? 1 : 0), i);
+        }
+        reader.close();
+    }
+
+    @Test(dataProvider = "provideMDSizes")
+    public void testIterateOverMDFloatArrayInNaturalBlocksWithPrefetch(int[] blockSize,
+            long[] dataSetSize, float[] firstNumberPerIteration, int[][] blockSizePerIteration)
+    {
+        final File datasetFile =
+                new File(workingDirectory, "iterateOverMDFloatArrayInNaturalBlocksWithPrefetch.h5");
+        datasetFile.delete();
+        assertFalse(datasetFile.exists());
+        datasetFile.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(datasetFile);
+        final String dsName = "ds";
+        final float[] flattenedArray = new float[getNumberOfElements(dataSetSize)];
+        for (int i = 0; i < flattenedArray.length; ++i)
+        {
+            flattenedArray[i] = i;
+        }
+        final MDFloatArray arrayWritten = new MDFloatArray(flattenedArray, dataSetSize);
+        writer.float32().createMDArray(dsName, dataSetSize, blockSize);
+        writer.float32().writeMDArrayBlock(dsName, arrayWritten, new long[blockSize.length]);
+        writer.close();
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(datasetFile);
+        int i = 0;
+        for (HDF5MDDataBlock<MDFloatArray> block : reader.float32().getMDArrayNaturalBlocks(dsName,
+                HDF5PrefetchOptions.depth(2)))
+        {
+            assertEquals(firstNumberPerIteration[i], block.getData().get(0, 0));
+            assertTrue(Arrays.equals(block.getData().dimensions(), blockSizePerIteration[i]));
+            ++i;
+        }
+        assertEquals(firstNumberPerIteration.length, i);
+        reader.close();
+    }
+
+    @Test
+    public void testAbandonPrefetchingIterator()
+    {
+        final File datasetFile = new File(workingDirectory, "abandonPrefetchingIterator.h5");
+        datasetFile.delete();
+        assertFalse(datasetFile.exists());
+        datasetFile.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(datasetFile);
+        writer.int32().createArray("ds", 100L, 2);
+        writer.int32().writeArrayBlock("ds", new int[100], 0);
+        writer.close();
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(datasetFile);
+        final HDF5BaseReader baseReader = ((HDF5IntReader) reader.int32()).getBaseReader();
+        final int cleanUpsAtStart = baseReader.getNumberOfFileCleanUps();
+        final long openObjectsAtStart = reader.file().getNumberOfOpenObjects();
+        final Iterator<HDF5DataBlock<int[]>> it =
+                reader.int32().getArrayNaturalBlocks("ds", HDF5PrefetchOptions.depth(3))
+                        .iterator();
+        assertEquals(0, it.next().getIndex());
+        ((IHDF5CloseableIterator<?>) it).close();
+        assertFalse(it.hasNext());
+        assertEquals(cleanUpsAtStart, baseReader.getNumberOfFileCleanUps());
+        assertEquals(openObjectsAtStart, reader.file().getNumberOfOpenObjects());
+        // Iterating to the end releases the data set, too.
+        int n = 0;
+        for (HDF5MDDataBlock<MDIntArray> block : reader.int32().getMDArrayNaturalBlocks("ds",
+                HDF5PrefetchOptions.depth(2)))
+        {
+            assertEquals(n++, block.getIndex()[0]);
+        }
+        assertEquals(50, n);
+        assertEquals(cleanUpsAtStart, baseReader.getNumberOfFileCleanUps());
+        // An abandoned iterator is closed with the file.
+        final Iterator<HDF5DataBlock<int[]>> abandoned =
+                reader.int32().getArrayNaturalBlocks("ds", HDF5PrefetchOptions.depth(3))
+                        .iterator();
+        abandoned.next();
+        assertEquals(cleanUpsAtStart + 2, baseReader.getNumberOfFileCleanUps());
+        reader.close();
+        assertFalse(abandoned.hasNext());
+    }
+
+    @Test
+    public void testAbandonNaturalBlockIterator()
+    {
+        final File datasetFile = new File(workingDirectory, "abandonNaturalBlockIterator.h5");
+        datasetFile.delete();
+        assertFalse(datasetFile.exists());
+        datasetFile.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(datasetFile);
+        writer.int32().createArray("ds", 8L, 2);
+        writer.int32().writeArrayBlock("ds", new int[8], 0);
+        writer.close();
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(datasetFile);
+        final HDF5BaseReader baseReader = ((HDF5IntReader) reader.int32()).getBaseReader();
+        final int cleanUpsAtStart = baseReader.getNumberOfFileCleanUps();
+        final long openObjectsAtStart = reader.file().getNumberOfOpenObjects();
+        final Iterator<HDF5DataBlock<int[]>> it =
+                reader.int32().getArrayNaturalBlocks("ds").iterator();
+        assertEquals(0, it.next().getIndex());
+        ((IHDF5CloseableIterator<?>) it).close();
+        assertFalse(it.hasNext());
+        final Iterator<HDF5MDDataBlock<MDIntArray>> mdIt =
+                reader.int32().getMDArrayNaturalBlocks("ds").iterator();
+        assertEquals(0, mdIt.next().getIndex()[0]);
+        ((IHDF5CloseableIterator<?>) mdIt).close();
+        assertFalse(mdIt.hasNext());
+        assertEquals(cleanUpsAtStart, baseReader.getNumberOfFileCleanUps());
+        assertEquals(openObjectsAtStart, reader.file().getNumberOfOpenObjects());
+        // Returning the last block closes the data set, even without a call of hasNext().
+        final Iterator<HDF5DataBlock<int[]>> toTheEnd =
+                reader.int32().getArrayNaturalBlocks("ds").iterator();
+        for (int i = 0; i < 4; ++i)
+        {
+            toTheEnd.next();
+        }
+        assertEquals(cleanUpsAtStart, baseReader.getNumberOfFileCleanUps());
+        reader.close();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativePrefetchDepth()
+    {
+        HDF5PrefetchOptions.depth(-1);
+    }
+
+    @Test
+    public void testBlockCursorClosedWithFile()
+    {
+        final File datasetFile = new File(workingDirectory, "blockCursorClosedWithFile.h5");
+        datasetFile.delete();
+        assertFalse(datasetFile.exists());
+        datasetFile.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(datasetFile);
+        writer.int32().writeArray("ds", new int[] { 1, 2, 3, 4 });
+        writer.close();
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(datasetFile);
+        final HDF5BaseReader baseReader = ((HDF5IntReader) reader.int32()).getBaseReader();
+        final HDF5DataSet ds = reader.object().openDataSet("ds");
+        final int cleanUpsAtStart = baseReader.getNumberOfFileCleanUps();
+        try (final HDF5BlockCursor<int[]> cursor = reader.int32().blockCursor(ds, new int[] { 2 }))
+        {
+            assertEquals(cleanUpsAtStart + 1, baseReader.getNumberOfFileCleanUps());
+            assertTrue(cursor.next());
+        }
+        assertEquals(cleanUpsAtStart, baseReader.getNumberOfFileCleanUps());
+        final HDF5BlockCursor<int[]> notClosed = reader.int32().blockCursor(ds, new int[] { 2 });
+        assertEquals(cleanUpsAtStart + 1, baseReader.getNumberOfFileCleanUps());
+        reader.close();
+        // Has been closed with the file, closing it again is a no-op.
+        notClosed.close();
+    }
+
+    @Test
+    public void testBlockCursor()
+    {
+        final File datasetFile = new File(workingDirectory, "blockCursor.h5");
+        datasetFile.delete();
+        assertFalse(datasetFile.exists());
+        datasetFile.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(datasetFile);
+        final double[] flattenedArray = new double[5 * 7];
+        for (int i = 0; i < flattenedArray.length; ++i)
+        {
+            flattenedArray[i] = i;
+        }
+        final MDDoubleArray arrayWritten = new MDDoubleArray(flattenedArray, new int[] { 5, 7 });
+        writer.float64().writeMDArray("ds", arrayWritten);
+        writer.int32().writeArray("ds1D", new int[] { 1, 2, 3, 4, 5, 6, 7 });
+        writer.close();
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(datasetFile);
+        try (final HDF5DataSet ds = reader.object().openDataSet("ds");
+                final HDF5BlockCursor<double[]> cursor =
+                        reader.float64().blockCursor(ds, new int[] { 2, 3 }))
+        {
+            assertEquals(9, cursor.getNumberOfBlocks());
+            final double[] data = cursor.getData();
+            assertEquals(6, data.length);
+            int n = 0;
+            while (cursor.next())
+            {
+                assertTrue(data == cursor.getData());
+                assertEquals(n, cursor.getBlockNumber());
+                assertEquals(n / 3, cursor.getIndex(0));
+                assertEquals(n % 3, cursor.getIndex(1));
+                assertEquals(2 * (n / 3), cursor.getOffset(0));
+                assertEquals(3 * (n % 3), cursor.getOffset(1));
+                assertEquals((n / 3 == 2) ? 1 : 2, cursor.getBlockDimension(0));
+                assertEquals((n % 3 == 2) ? 1 : 3, cursor.getBlockDimension(1));
+                for (int i = 0; i < cursor.getBlockDimension(0); ++i)
+                {
+                    for (int j = 0; j < cursor.getBlockDimension(1); ++j)
+                    {
+                        assertEquals(arrayWritten.get((int) cursor.getOffset(0) + i,
+                                (int) cursor.getOffset(1) + j), data[i * 3 + j]);
+                    }
+                }
+                ++n;
+            }
+            assertEquals(9, n);
+            assertFalse(cursor.next());
+        }
+        final int[] buffer = new int[3];
+        try (final HDF5DataSet ds = reader.object().openDataSet("ds1D");
+                final HDF5BlockCursor<int[]> cursor =
+                        reader.int32().blockCursor(ds, new int[] { 3 }, buffer))
+        {
+            assertTrue(cursor.next());
+            assertTrue(Arrays.equals(new int[] { 1, 2, 3 }, buffer));
+            assertTrue(cursor.next());
+            assertTrue(Arrays.equals(new int[] { 4, 5, 6 }, buffer));
+            assertTrue(cursor.next());
+            assertEquals(1, cursor.getBlockDimension(0));
+            assertEquals(7, buffer[0]);
+            assertFalse(cursor.next());
+        }
+        reader.close();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBlockCursorArrayTooSmall()
+    {
+        final File datasetFile = new File(workingDirectory, "blockCursorArrayTooSmall.h5");
+        datasetFile.delete();
+        assertFalse(datasetFile.exists());
+        datasetFile.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(datasetFile);
+        writer.int32().writeArray("ds", new int[10]);
+        try (final HDF5DataSet ds = writer.object().openDataSet("ds"))
+        {
+            writer.int32().blockCursor(ds, new int[] { 5 }, new int[4]);
+        } finally
+        {
+            writer.close();
+        }
+    }
+
     private static int getNumberOfElements(long[] size)
     {
         int elements = 1;
@@ -3299,83 +3580,1272 @@ public class HDF5RoundtripTest
     }
 
     @Test
-    public void testStringArrayUTF8WithZeroChar()
+    public void testStringArrayUTF8WithZeroChar()
+    {
+        final File stringArrayFile = new File(workingDirectory, "stringArrayUTF8WithZeroChar.h5");
+        stringArrayFile.delete();
+        assertFalse(stringArrayFile.exists());
+        stringArrayFile.deleteOnExit();
+        final IHDF5Writer writer =
+                HDF5FactoryProvider.get().configure(stringArrayFile).useUTF8CharacterEncoding()
+                        .writer();
+        final String[] data = new String[]
+            { "abc", "ABCxxx", "\u00b6\000\u00bc\u09ab" };
+        final String dataSetName = "/aStringArray";
+        writer.writeStringArray(dataSetName, data);
+        writer.close();
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(stringArrayFile);
+        final String[] dataStored = reader.string().readArrayRaw(dataSetName);
+        assertEquals(3, dataStored.length);
+        assertEquals(StringUtils.rightPad("abc", 8, "\0"), dataStored[0]);
+        assertEquals(StringUtils.rightPad("ABCxxx", 8, "\0"), dataStored[1]);
+        assertEquals("\u00b6\000\u00bc\u09ab", dataStored[2]);
+        reader.close();
+    }
+
+    private static void fillArray(float mult, float[] data)
+    {
+        for (int i = 0; i < data.length; ++i)
+        {
+            data[i] = mult * i;
+        }
+    }
+
+    private static void fillArray(short mult, short[] data)
+    {
+        for (short i = 0; i < data.length; ++i)
+        {
+            data[i] = (short) (mult * i);
+        }
+    }
+
+    private static void fillArray(long mult, long[] data)
+    {
+        for (int i = 0; i < data.length; ++i)
+        {
+            data[i] = mult * i;
+        }
+    }
+
+    @Test
+    public void testFloatArrayBlockWithPreopenedDataSet()
+    {
+        final File floatArrayFile = new File(workingDirectory, "testFloatArrayBlockWithPreopenedDataSet.h5");
+        floatArrayFile.delete();
+        assertFalse(floatArrayFile.exists());
+        floatArrayFile.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(floatArrayFile);
+        final float[] dataWritten = new float[128];
+        writer.int32().createArray("ds", dataWritten.length);
+        try (final HDF5DataSet ds = writer.int32().createArrayAndOpen("ds", dataWritten.length))
+        {
+            for (long bx = 0; bx < 8; ++bx)
+            {
+                fillArray(bx + 1, dataWritten);
+                writer.float32().writeArrayBlock(ds, dataWritten, bx);
+            }
+        }
+        writer.close();
+
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(floatArrayFile);
+        try (final HDF5DataSet ds = reader.object().openDataSet("ds"))
+        {
+            for (long bx = 0; bx < 8; ++bx)
+            {
+                fillArray(bx + 1, dataWritten);
+                final float[] dataRead =
+                        reader.float32().readArrayBlock(ds, dataWritten.length, bx);
+                assertTrue("" + bx, Arrays.equals(dataWritten, dataRead));
+            }
+        }
+        reader.close();
+    }
+
+    @Test
+    public void testDirectBufferReadWrite()
+    {
+        final File file = new File(workingDirectory, "testDirectBufferReadWrite.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final ByteBuffer writeBuffer =
+                ByteBuffer.allocateDirect(8 * 12).order(java.nio.ByteOrder.nativeOrder());
+        for (int i = 0; i < 12; ++i)
+        {
+            writeBuffer.putDouble(i * 8, i + 0.5);
+        }
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.float64().writeFromBuffer("ds", writeBuffer, new long[] { 3, 4 });
+        assertEquals(96, writeBuffer.position());
+        writer.int32().createMDArray("ids", new long[] { 4, 4 }, new int[] { 2, 2 });
+        final ByteBuffer intBuffer =
+                ByteBuffer.allocateDirect(4 * 4).order(java.nio.ByteOrder.nativeOrder());
+        intBuffer.asIntBuffer().put(new int[] { 1, 2, 3, 4 });
+        writer.int32().writeFromBuffer("ids", intBuffer, new int[] { 2, 2 }, new long[] { 2, 2 });
+        writer.close();
+
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        final ByteBuffer readBuffer =
+                ByteBuffer.allocateDirect(8 + 8 * 12).order(java.nio.ByteOrder.nativeOrder());
+        readBuffer.position(8);
+        assertEquals(12, reader.float64().readToBuffer("ds", readBuffer));
+        assertEquals(8 + 96, readBuffer.position());
+        for (int i = 0; i < 12; ++i)
+        {
+            assertEquals(i + 0.5, readBuffer.getDouble(8 + i * 8));
+        }
+        readBuffer.clear();
+        assertEquals(2, reader.float64().readToBuffer("ds", readBuffer, new int[] { 1, 2 },
+                new long[] { 1, 1 }));
+        assertEquals(5.5, readBuffer.getDouble(0));
+        assertEquals(6.5, readBuffer.getDouble(8));
+        final MDIntArray ids = reader.int32().readMDArray("ids");
+        assertEquals(0, ids.get(1, 1));
+        assertEquals(1, ids.get(2, 2));
+        assertEquals(4, ids.get(3, 3));
+        try
+        {
+            reader.float64().readToBuffer("ds", ByteBuffer.allocateDirect(8));
+            fail("Buffer too small not detected.");
+        } catch (HDF5JavaException ex)
+        {
+            assertEquals("Buffer has 8 bytes remaining, but 96 bytes are required.",
+                    ex.getMessage());
+        }
+        try
+        {
+            reader.float64().readToBuffer("ds", ByteBuffer.allocate(96));
+            fail("Heap buffer not detected.");
+        } catch (HDF5JavaException ex)
+        {
+            assertEquals("Only direct buffers are supported.", ex.getMessage());
+        }
+        reader.close();
+    }
+
+    @Test
+    public void testRawChunkCopy()
+    {
+        final File file = new File(workingDirectory, "testRawChunkCopy.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final MDIntArray data = new MDIntArray(new int[] { 8, 8 });
+        for (int i = 0; i < 8; ++i)
+        {
+            for (int j = 0; j < 8; ++j)
+            {
+                data.set(i % 3 + j, i, j);
+            }
+        }
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().createMDArray("ds", new long[] { 8, 8 }, new int[] { 4, 4 },
+                HDF5IntStorageFeatures.INT_DEFLATE);
+        writer.int32().writeMDArrayBlockWithOffset("ds", data, new long[] { 0, 0 });
+        writer.int32().createMDArray("copy", new long[] { 8, 8 }, new int[] { 4, 4 },
+                HDF5IntStorageFeatures.INT_DEFLATE);
+        writer.int32().writeArray("contiguous", new int[] { 1, 2, 3 },
+                HDF5IntStorageFeatures.INT_CONTIGUOUS);
+        try (final HDF5DataSet copy = writer.object().openDataSet("copy"))
+        {
+            for (long i = 0; i < 8; i += 4)
+            {
+                for (long j = 0; j < 8; j += 4)
+                {
+                    final long[] offset = new long[] { i, j };
+                    final HDF5RawChunk chunk = writer.chunk().readRawChunk("ds", offset);
+                    assertEquals(0, chunk.getFilterMask());
+                    assertTrue(chunk.isFilterApplied(0));
+                    assertTrue(Arrays.equals(offset, chunk.getOffset()));
+                    assertEquals(writer.chunk().getStorageSize("ds", offset), chunk.getSize());
+                    assertTrue(chunk.getSize() < 4 * 4 * 4);
+                    writer.chunk().writeRawChunk(copy, chunk);
+                }
+            }
+        }
+        try
+        {
+            writer.chunk().readRawChunk("contiguous", new long[] { 0 });
+            fail("Non-chunked data set not detected.");
+        } catch (HDF5JavaException ex)
+        {
+            assertEquals("Data set 'contiguous' is not chunked.", ex.getMessage());
+        }
+        writer.close();
+
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        assertEquals(data, reader.int32().readMDArray("copy"));
+        reader.close();
+    }
+
+    @Test
+    public void testFileImage() throws IOException
+    {
+        final File file = new File(workingDirectory, "testFileImage.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.float32().writeArray("f", new float[] { 1f, 2f, 3f });
+        writer.string().write("s", "some string");
+        final byte[] image = writer.file().toImage();
+        writer.close();
+
+        final IHDF5Reader imageReader = HDF5Factory.openFromImage(image);
+        assertTrue(Arrays.equals(new float[] { 1f, 2f, 3f }, imageReader.float32().readArray("f")));
+        assertEquals("some string", imageReader.string().read("s"));
+        // Two images need to be independent of each other.
+        final IHDF5Reader diskImageReader =
+                HDF5Factory.openFromImage(FileUtils.readFileToByteArray(file));
+        assertEquals("some string", diskImageReader.string().read("s"));
+        imageReader.close();
+        diskImageReader.close();
+
+        final ByteBuffer directImage = ByteBuffer.allocateDirect(image.length + 4);
+        directImage.position(4);
+        directImage.put(image);
+        directImage.position(4);
+        final IHDF5Reader bufferReader = HDF5Factory.openForReading(directImage);
+        assertEquals(4, directImage.position());
+        assertTrue(Arrays.equals(new float[] { 1f, 2f, 3f }, bufferReader.float32().readArray("f")));
+        bufferReader.close();
+    }
+
+    @Test
+    public void testFileImageConfigured()
+    {
+        final File file = new File(workingDirectory, "testFileImageConfigured.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().writeArray("i", new int[] { 1, 2, 3 });
+        final byte[] image = writer.file().toImage();
+        writer.close();
+
+        final IHDF5Reader reader =
+                HDF5Factory.configureForReading(ByteBuffer.wrap(image))
+                        .metadataCache(4 * 1024 * 1024, 2 * 1024 * 1024, 8 * 1024 * 1024,
+                                HDF5MetadataCacheSpec.EvictionPolicy.FIXED_SIZE)
+                        .dataSetCache(4).informationCache(16).reader();
+        assertEquals(8 * 1024 * 1024, reader.file().getMetadataCacheSpec().getMaxSize());
+        assertNotNull(reader.file().getInformationCacheStatistics());
+        assertTrue(Arrays.equals(new int[] { 1, 2, 3 }, reader.int32().readArray("i")));
+        assertTrue(Arrays.equals(new int[] { 2, 3 },
+                reader.int32().readArrayBlockWithOffset("i", 2, 1)));
+        reader.close();
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testFileImageMemoryMapping()
+    {
+        final File file = new File(workingDirectory, "testFileImageMemoryMapping.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().writeArray("i", new int[] { 1, 2, 3 });
+        final byte[] image = writer.file().toImage();
+        writer.close();
+
+        HDF5Factory.configureForReading(ByteBuffer.wrap(image)).memoryMapping().reader();
+    }
+
+    @Test
+    public void testInMemory()
+    {
+        final File file = new File(workingDirectory, "testInMemory.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer transientWriter =
+                HDF5FactoryProvider.get().configure(file).inMemory(64 * 1024, false).writer();
+        transientWriter.int32().writeArray("i", new int[] { 1, 2, 3 });
+        final byte[] image = transientWriter.file().toImage();
+        transientWriter.close();
+        assertFalse(file.exists());
+        final IHDF5Reader imageReader = HDF5Factory.openFromImage(image);
+        assertTrue(Arrays.equals(new int[] { 1, 2, 3 }, imageReader.int32().readArray("i")));
+        imageReader.close();
+
+        final IHDF5Writer writer = HDF5FactoryProvider.get().configure(file).inMemory().writer();
+        writer.int32().writeArray("i", new int[] { 4, 5, 6 });
+        writer.file().flush();
+        writer.close();
+        assertTrue(file.exists());
+        final IHDF5Reader reader =
+                HDF5FactoryProvider.get().configureForReading(file).inMemory().reader();
+        assertTrue(Arrays.equals(new int[] { 4, 5, 6 }, reader.int32().readArray("i")));
+        reader.close();
+
+        final IHDF5Writer syncingWriter =
+                HDF5FactoryProvider.get().configure(file).inMemory()
+                        .syncMode(SyncMode.SYNC_BLOCK).writer();
+        syncingWriter.int32().writeArray("j", new int[] { 7, 8 });
+        syncingWriter.file().flush();
+        syncingWriter.close();
+        final IHDF5Reader syncedReader = HDF5FactoryProvider.get().openForReading(file);
+        assertTrue(Arrays.equals(new int[] { 7, 8 }, syncedReader.int32().readArray("j")));
+        syncedReader.close();
+    }
+
+    @Test
+    public void testChunkCache()
+    {
+        final File file = new File(workingDirectory, "testChunkCache.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer =
+                HDF5FactoryProvider.get().configure(file).chunkCache(4 * 1024 * 1024, 1009, 0.5)
+                        .writer();
+        writer.int32().createMDArray("ds", new long[] { 64, 64 }, new int[] { 16, 16 },
+                HDF5IntStorageFeatures.INT_DEFLATE);
+        writer.int32().writeMDArray("ds", new MDIntArray(new int[] { 64, 64 }));
+        writer.close();
+
+        final IHDF5Reader reader =
+                HDF5FactoryProvider.get().configureForReading(file)
+                        .chunkCache(4 * 1024 * 1024, 1009, 0.5).reader();
+        final HDF5DataSet defaultCacheDataSet = reader.object().openDataSet("ds");
+        assertEquals(new HDF5ChunkCacheSpec(4 * 1024 * 1024, 1009, 0.5),
+                defaultCacheDataSet.getChunkCache());
+        defaultCacheDataSet.close();
+        final HDF5ChunkCacheSpec spec = HDF5ChunkCacheSpec.forChunks(16 * 16 * 4, 16);
+        assertEquals(16 * 16 * 4 * 16, spec.getSizeInBytes());
+        assertEquals(1601, spec.getNumberOfSlots());
+        final HDF5DataSet dataSet = reader.object().openDataSet("ds", spec);
+        assertEquals(spec, dataSet.getChunkCache());
+        final MDIntArray block = reader.int32().readMDArrayBlockWithOffset(dataSet,
+                new int[] { 24, 24 }, new long[] { 8, 8 });
+        assertTrue(Arrays.equals(new int[] { 24, 24 }, block.dimensions()));
+        dataSet.close();
+        reader.close();
+    }
+
+    @Test
+    public void testMetadataCache()
+    {
+        final File file = new File(workingDirectory, "testMetadataCache.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        for (int i = 0; i < 100; ++i)
+        {
+            writer.int32().write("g/i" + i, i);
+        }
+        writer.close();
+
+        final IHDF5Reader reader =
+                HDF5FactoryProvider.get().configureForReading(file)
+                        .metadataCache(4 * 1024 * 1024, 2 * 1024 * 1024, 8 * 1024 * 1024,
+                                HDF5MetadataCacheSpec.EvictionPolicy.FIXED_SIZE)
+                        .reader();
+        final HDF5MetadataCacheSpec spec = reader.file().getMetadataCacheSpec();
+        assertEquals(2 * 1024 * 1024, spec.getMinSize());
+        assertEquals(8 * 1024 * 1024, spec.getMaxSize());
+        assertEquals(HDF5MetadataCacheSpec.EvictionPolicy.FIXED_SIZE, spec.getEvictionPolicy());
+        reader.file().resetMetadataCacheStatistics();
+        for (int j = 0; j < 2; ++j)
+        {
+            for (int i = 0; i < 100; ++i)
+            {
+                assertEquals(i, reader.int32().read("g/i" + i));
+            }
+        }
+        final HDF5MetadataCacheStatistics stats = reader.file().getMetadataCacheStatistics();
+        assertTrue(stats.getHitRate() > 0.0);
+        assertTrue(stats.getCurrentSize() > 0);
+        assertTrue(stats.getNumberOfEntries() > 0);
+        reader.close();
+    }
+
+    @Test
+    public void testMemoryMapping()
+    {
+        final File file = new File(workingDirectory, "testMemoryMapping.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final float[] floats = new float[] { 1f, 2f, 3f, 4f, 5f };
+        final long[] longs = new long[12];
+        for (int i = 0; i < longs.length; ++i)
+        {
+            longs[i] = i;
+        }
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.float32().writeArray("f", floats, HDF5FloatStorageFeatures.FLOAT_CONTIGUOUS);
+        writer.float32().writeArray("fz", floats, HDF5FloatStorageFeatures.FLOAT_DEFLATE);
+        writer.int64().writeMDArray("l", new MDLongArray(longs, new int[] { 3, 4 }),
+                HDF5IntStorageFeatures.INT_CONTIGUOUS);
+        writer.close();
+
+        final IHDF5Reader reader =
+                HDF5FactoryProvider.get().configureForReading(file).memoryMapping().reader();
+        assertTrue(Arrays.equals(floats, reader.float32().readArray("f")));
+        assertTrue(Arrays.equals(new float[] { 4f, 5f },
+                reader.float32().readArrayBlockWithOffset("f", 3, 3)));
+        // Falls back to the HDF5 library for filtered data sets and type conversions.
+        assertTrue(Arrays.equals(floats, reader.float32().readArray("fz")));
+        assertTrue(Arrays.equals(new double[] { 1., 2., 3., 4., 5. },
+                reader.float64().readArray("f")));
+        assertTrue(Arrays.equals(longs, reader.int64().readArray("l")));
+        final MDLongArray block =
+                reader.int64().readMDArrayBlockWithOffset("l", new int[] { 2, 3 },
+                        new long[] { 1, 2 });
+        assertTrue(Arrays.equals(new int[] { 2, 2 }, block.dimensions()));
+        assertTrue(Arrays.equals(new long[] { 6, 7, 10, 11 }, block.getAsFlatArray()));
+        reader.close();
+    }
+
+    @Test
+    public void testParallelDecompression()
+    {
+        final File file = new File(workingDirectory, "testParallelDecompression.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final float[] floats = new float[1000];
+        for (int i = 0; i < floats.length; ++i)
+        {
+            floats[i] = i / 3f;
+        }
+        final int[] ints = new int[10 * 7];
+        for (int i = 0; i < ints.length; ++i)
+        {
+            ints[i] = i;
+        }
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.float32().createArray("f", floats.length, 64,
+                HDF5FloatStorageFeatures.FLOAT_SHUFFLE_DEFLATE);
+        writer.float32().writeArrayBlock("f", floats, 0);
+        writer.int32().createMDArray("i", new long[] { 10, 7 }, new int[] { 4, 3 },
+                HDF5IntStorageFeatures.INT_DEFLATE);
+        writer.int32().writeMDArray("i", new MDIntArray(ints, new int[] { 10, 7 }));
+        // Only the chunk at (4, 3) gets allocated, the others need to read as zero.
+        writer.int32().createMDArray("sparse", new long[] { 8, 6 }, new int[] { 4, 3 },
+                HDF5IntStorageFeatures.INT_DEFLATE);
+        writer.int32().writeMDArrayBlock("sparse",
+                new MDIntArray(new int[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 }, new int[]
+                    { 4, 3 }), new long[] { 1, 1 });
+        writer.int32().writeArray("scaled", ints, HDF5IntStorageFeatures.INT_AUTO_SCALING_DEFLATE);
+        writer.close();
+
+        final IHDF5Reader reader =
+                HDF5FactoryProvider.get().configureForReading(file).parallelDecompression(4)
+                        .reader();
+        assertTrue(Arrays.equals(floats, reader.float32().readArray("f")));
+        final MDIntArray mdInts = reader.int32().readMDArray("i");
+        assertTrue(Arrays.equals(new int[] { 10, 7 }, mdInts.dimensions()));
+        assertTrue(Arrays.equals(ints, mdInts.getAsFlatArray()));
+        final MDIntArray sparse = reader.int32().readMDArray("sparse");
+        assertEquals(0, sparse.get(0, 0));
+        assertEquals(0, sparse.get(3, 2));
+        assertEquals(1, sparse.get(4, 3));
+        assertEquals(5, sparse.get(5, 4));
+        assertEquals(12, sparse.get(7, 5));
+        // Falls back to the HDF5 library for the scale-offset filter and type conversions.
+        assertTrue(Arrays.equals(ints, reader.int32().readArray("scaled")));
+        assertEquals(floats[999], (float) reader.float64().readArray("f")[999]);
+        // Second reads use the cached plans.
+        assertTrue(Arrays.equals(floats, reader.float32().readArray("f")));
+        assertEquals(12, reader.int32().readMDArray("sparse").get(7, 5));
+        reader.close();
+    }
+
+    @Test
+    public void testParallelCompression()
+    {
+        final File file = new File(workingDirectory, "testParallelCompression.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final float[] floats = new float[1000];
+        for (int i = 0; i < floats.length; ++i)
+        {
+            floats[i] = i / 3f;
+        }
+        final int[] ints = new int[10 * 7];
+        for (int i = 0; i < ints.length; ++i)
+        {
+            ints[i] = i;
+        }
+        final IHDF5Writer writer =
+                HDF5FactoryProvider.get().configure(file).parallelCompression(4).writer();
+        writer.float32().createArray("f", floats.length, 64,
+                HDF5FloatStorageFeatures.FLOAT_SHUFFLE_DEFLATE);
+        writer.float32().writeArrayBlock("f", floats, 0);
+        writer.int32().createMDArray("i", new long[] { 10, 7 }, new int[] { 4, 3 },
+                HDF5IntStorageFeatures.INT_DEFLATE);
+        writer.int32().writeMDArrayBlockWithOffset("i", new MDIntArray(ints, new int[] { 10, 7 }),
+                new long[] { 0, 0 });
+        // Not aligned to the chunks, falls back to the HDF5 library.
+        writer.int32().writeMDArrayBlockWithOffset("i", new MDIntArray(new int[] { -1, -2 },
+                new int[] { 1, 2 }), new long[] { 1, 1 });
+        writer.close();
+        ints[8] = -1;
+        ints[9] = -2;
+
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        assertTrue(Arrays.equals(floats, reader.float32().readArray("f")));
+        final MDIntArray mdInts = reader.int32().readMDArray("i");
+        assertTrue(Arrays.equals(new int[] { 10, 7 }, mdInts.dimensions()));
+        assertTrue(Arrays.equals(ints, mdInts.getAsFlatArray()));
+        final HDF5ChunkIndex index = reader.object().getChunkIndex("i");
+        assertEquals(9, index.getNumberOfChunks());
+        reader.close();
+    }
+
+    @Test
+    public void testDataSetCache()
+    {
+        final File file = new File(workingDirectory, "testDataSetCache.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer =
+                HDF5FactoryProvider.get().configure(file).dataSetCache(2).writer();
+        final String[] names = new String[] { "a", "b", "/c" };
+        for (String name : names)
+        {
+            writer.int32().createArray(name, 0L, 4);
+        }
+        // Three data sets in a cache of size 2 force evictions.
+        for (int i = 0; i < 10; ++i)
+        {
+            for (String name : names)
+            {
+                writer.int32().writeArrayBlock(name, new int[] { i, i + 1, i + 2, i + 3 }, i);
+            }
+        }
+        for (String name : names)
+        {
+            assertEquals(40, writer.object().getSize(name));
+            final int[] block = writer.int32().readArrayBlockWithOffset(name, 4, 36);
+            assertTrue(Arrays.equals(new int[] { 9, 10, 11, 12 }, block));
+        }
+        // "c" and "/c" share the same cached handle.
+        writer.int32().writeArrayBlock("c", new int[] { 42, 43, 44, 45 }, 10);
+        assertTrue(Arrays.equals(new int[] { 42, 43, 44, 45 },
+                writer.int32().readArrayBlockWithOffset("c", 4, 40)));
+        writer.object().setDataSetSize("c", 6);
+        assertEquals(6, writer.int32().readArrayBlockWithOffset("c", 8, 0).length);
+        writer.object().delete("a");
+        writer.int32().createMDArray("a", new long[] { 2, 3 }, new int[] { 1, 3 });
+        writer.int32().writeMDArrayBlockWithOffset("a", new MDIntArray(new int[] { 1, 2, 3 },
+                new int[] { 1, 3 }), new long[] { 1, 0 });
+        assertTrue(Arrays.equals(new int[] { 1, 2, 3 }, writer.int32()
+                .readMDArrayBlockWithOffset("a", new int[] { 1, 3 }, new long[] { 1, 0 })
+                .getAsFlatArray()));
+        writer.object().move("b", "/g/b");
+        writer.int32().writeArrayBlockWithOffset("/g/b", new int[] { -1 }, 1, 40);
+        assertEquals(41, writer.object().getSize("/g/b"));
+        writer.int32().writeArray("b", new int[] { 7, 8 });
+        assertTrue(Arrays.equals(new int[] { 7, 8 },
+                writer.int32().readArrayBlockWithOffset("b", 2, 0)));
+        writer.close();
+
+        final IHDF5Reader reader =
+                HDF5FactoryProvider.get().configureForReading(file).dataSetCache(1).reader();
+        for (int i = 0; i < 10; ++i)
+        {
+            assertTrue(Arrays.equals(new int[] { i, i + 1, i + 2, i + 3 },
+                    reader.int32().readArrayBlock("/g/b", 4, i)));
+            assertTrue(Arrays.equals(new int[] { 0, 1, 2, 3, 4, 5 },
+                    reader.int32().readArrayBlock("c", 6, 0)));
+        }
+        assertTrue(Arrays.equals(new int[] { -1 },
+                reader.int32().readArrayBlockWithOffset("/g/b", 1, 40)));
+        reader.close();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDataSetCacheInvalidSize()
+    {
+        HDF5FactoryProvider.get().configureForReading(new File(workingDirectory, "dummy.h5"))
+                .dataSetCache(0);
+    }
+
+    @Test
+    public void testInformationCache()
+    {
+        final File file = new File(workingDirectory, "testInformationCache.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer =
+                HDF5FactoryProvider.get().configure(file).informationCache(2).writer();
+        writer.int64().createArray("ds", 0L, 4);
+        final HDF5DataSetInformation info = writer.object().getDataSetInformation("ds");
+        final HDF5DataSetInformation cachedInfo = writer.object().getDataSetInformation("/ds");
+        assertEquals(info, cachedInfo);
+        // The cached information must not be shared with callers.
+        assertFalse(info == cachedInfo);
+        info.getDimensions()[0] = 17;
+        assertEquals(0, writer.object().getDataSetInformation("ds").getDimensions()[0]);
+        assertEquals(0, writer.object().getSize("ds"));
+        HDF5CacheStatistics statistics = writer.file().getInformationCacheStatistics();
+        assertTrue(statistics.getHits() >= 1);
+        assertTrue(statistics.getMisses() >= 1);
+        // Extending the data set invalidates its information.
+        writer.int64().writeArrayBlock("ds", new long[] { 1, 2, 3, 4 }, 0);
+        assertEquals(4, writer.object().getSize("ds"));
+        assertTrue(Arrays.equals(new long[] { 4 }, writer.object().getDimensions("ds")));
+        writer.object().setDataSetSize("ds", 2);
+        assertEquals(2, writer.object().getSize("ds"));
+        // Changing attributes invalidates the information about the object.
+        assertNull(writer.object().tryGetTypeVariant("ds"));
+        writer.object().setTypeVariant("ds",
+                HDF5DataTypeVariant.TIMESTAMP_MILLISECONDS_SINCE_START_OF_THE_EPOCH);
+        assertEquals(HDF5DataTypeVariant.TIMESTAMP_MILLISECONDS_SINCE_START_OF_THE_EPOCH,
+                writer.object().tryGetTypeVariant("ds"));
+        assertEquals(HDF5DataTypeVariant.TIMESTAMP_MILLISECONDS_SINCE_START_OF_THE_EPOCH,
+                writer.object().getDataSetInformation("ds").tryGetTypeVariant());
+        writer.object().deleteTypeVariant("ds");
+        assertNull(writer.object().tryGetTypeVariant("ds"));
+        // Moving and deleting invalidates the information about the subtree.
+        writer.int32().writeArray("/g/a", new int[] { 1, 2, 3 });
+        assertEquals(3, writer.object().getSize("/g/a"));
+        writer.object().move("/g", "/h");
+        writer.int32().writeArray("/g/a", new int[] { 1 });
+        assertEquals(1, writer.object().getSize("/g/a"));
+        assertEquals(3, writer.object().getSize("/h/a"));
+        writer.object().delete("/h");
+        writer.int32().writeArray("/h/a", new int[] { 1, 2 });
+        assertEquals(2, writer.object().getSize("/h/a"));
+        writer.close();
+
+        final IHDF5Reader reader =
+                HDF5FactoryProvider.get().configureForReading(file).informationCache(10).reader();
+        assertEquals(0, reader.file().getInformationCacheStatistics().getHits());
+        final HDF5ObjectInformation objectInfo = reader.object().getObjectInformation("ds");
+        assertTrue(objectInfo == reader.object().getObjectInformation("ds"));
+        for (int i = 0; i < 10; ++i)
+        {
+            assertEquals(1, reader.object().getSize("/g/a"));
+            assertEquals(1, reader.object().getRank("ds"));
+        }
+        statistics = reader.file().getInformationCacheStatistics();
+        assertTrue(statistics.getHitRatio() > 0.8);
+        reader.close();
+
+        final IHDF5Reader uncachedReader = HDF5FactoryProvider.get().openForReading(file);
+        assertNull(uncachedReader.file().getInformationCacheStatistics());
+        uncachedReader.close();
+    }
+
+    @Test
+    public void testVisit()
+    {
+        final File file = new File(workingDirectory, "testVisit.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().writeArray("/a/x", new int[] { 1, 2, 3 });
+        writer.float64().writeMatrix("/a/b/y", new double[][] { { 1, 2 }, { 3, 4 } });
+        writer.object().createGroup("/c");
+        writer.object().createSoftLink("/a/x", "/c/link");
+        writer.object().createHardLink("/a/x", "/c/hard");
+        writer.enumeration().getType("color", new String[] { "RED", "GREEN", "BLUE" });
+        writer.close();
+
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        final List<String> paths = new ArrayList<String>();
+        final List<HDF5ObjectType> types = new ArrayList<HDF5ObjectType>();
+        final IHDF5ObjectVisitor collector = new IHDF5ObjectVisitor()
+            {
+                @Override
+                public boolean visit(String objectPath, HDF5ObjectType objectType,
+                        HDF5DataSetInformation dataSetInfoOrNull)
+                {
+                    paths.add(objectPath);
+                    types.add(objectType);
+                    return true;
+                }
+            };
+        // Objects: each object once, the internal data type group is left out.
+        reader.object().visit("/", collector);
+        assertEquals(Arrays.asList("/a", "/a/b", "/a/b/y", "/a/x", "/c"), paths);
+        assertEquals(Arrays.asList(HDF5ObjectType.GROUP, HDF5ObjectType.GROUP,
+                HDF5ObjectType.DATASET, HDF5ObjectType.DATASET, HDF5ObjectType.GROUP), types);
+
+        // Links: every link, symbolic links are not followed.
+        paths.clear();
+        types.clear();
+        reader.object().visit("/c", collector, HDF5VisitOptions.DEFAULT.links());
+        assertEquals(Arrays.asList("/c/hard", "/c/link"), paths);
+        assertEquals(Arrays.asList(HDF5ObjectType.DATASET, HDF5ObjectType.SOFT_LINK), types);
+
+        // Filters and data set information.
+        final List<String> summaries = new ArrayList<String>();
+        reader.object().visit("/",
+                new IHDF5ObjectVisitor()
+                    {
+                        @Override
+                        public boolean visit(String objectPath, HDF5ObjectType objectType,
+                                HDF5DataSetInformation dataSetInfoOrNull)
+                        {
+                            summaries.add(objectPath + ":"
+                                    + Arrays.toString(dataSetInfoOrNull.getDimensions()) + ":"
+                                    + dataSetInfoOrNull.getTypeInformation().getDataClass());
+                            return true;
+                        }
+                    }, HDF5VisitOptions.DEFAULT.dataSetInformation()
+                        .objectTypes(HDF5ObjectType.DATASET).pathPattern("/a/.*"));
+        assertEquals(Arrays.asList("/a/b/y:[2, 2]:FLOAT", "/a/x:[3]:INTEGER"), summaries);
+
+        // Internal objects and stopping early.
+        paths.clear();
+        reader.object().visit("/", new IHDF5ObjectVisitor()
+            {
+                @Override
+                public boolean visit(String objectPath, HDF5ObjectType objectType,
+                        HDF5DataSetInformation dataSetInfoOrNull)
+                {
+                    paths.add(objectPath);
+                    return objectType != HDF5ObjectType.DATATYPE;
+                }
+            }, HDF5VisitOptions.DEFAULT.includeInternal());
+        assertEquals(HDF5ObjectType.DATATYPE, reader.object().getObjectType(
+                paths.get(paths.size() - 1)));
+        assertFalse(paths.contains("/c"));
+
+        // Exceptions of the visitor are passed on.
+        try
+        {
+            reader.object().visit("/", new IHDF5ObjectVisitor()
+                {
+                    @Override
+                    public boolean visit(String objectPath, HDF5ObjectType objectType,
+                            HDF5DataSetInformation dataSetInfoOrNull)
+                    {
+                        throw new IllegalStateException(objectPath);
+                    }
+                });
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex)
+        {
+            assertEquals("/a", ex.getMessage());
+        }
+        reader.close();
+    }
+
+    @Test
+    public void testGroupMembersIterator()
+    {
+        final File file = new File(workingDirectory, "testGroupMembersIterator.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        final List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 25; ++i)
+        {
+            final String name = String.format("ds%02d", i);
+            writer.int32().write("/g/" + name, i);
+            expected.add(name);
+        }
+        writer.object().createGroup("/empty");
+        // Creates an internal group in the root group.
+        writer.enumeration().getType("color", new String[] { "RED", "GREEN", "BLUE" });
+        writer.close();
+
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        for (int pageSize : new int[] { 1, 7, 25, 100 })
+        {
+            final List<String> members = new ArrayList<String>();
+            final Iterator<String> it = reader.object().getGroupMembersIterator("/g", pageSize);
+            while (it.hasNext())
+            {
+                members.add(it.next());
+            }
+            assertEquals(expected, members);
+            try
+            {
+                it.next();
+                fail("Expected NoSuchElementException");
+            } catch (NoSuchElementException ex)
+            {
+                // Expected
+            }
+        }
+        assertFalse(reader.object().getGroupMembersIterator("/empty", 10).hasNext());
+        final List<String> rootMembers = new ArrayList<String>();
+        final Iterator<String> rootIt = reader.object().getGroupMembersIterator("/", 1);
+        while (rootIt.hasNext())
+        {
+            rootMembers.add(rootIt.next());
+        }
+        assertEquals(Arrays.asList("empty", "g"), rootMembers);
+        assertEquals(25, StreamSupport.stream(
+                reader.object().getGroupMembersSpliterator("/g", 10), false).count());
+        assertEquals(expected.subList(0, 3), StreamSupport.stream(
+                reader.object().getGroupMembersSpliterator("/g", 2), false).limit(3)
+                .collect(Collectors.toList()));
+        reader.close();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testGroupMembersIteratorInvalidPageSize()
+    {
+        final File file = new File(workingDirectory, "testGroupMembersIteratorInvalidPageSize.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        try
+        {
+            writer.object().getGroupMembersIterator("/", 0);
+        } finally
+        {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testInformationCacheLookup()
+    {
+        final HDF5InformationCache cache = new HDF5InformationCache(1);
+        final List<Object> key = Arrays.<Object> asList("key");
+        assertTrue(HDF5InformationCache.isMissing(cache.lookup("a", key)));
+        cache.put("a", key, null);
+        assertNull(cache.lookup("/a", key));
+        cache.put("b", key, "value");
+        // Has been evicted by "b".
+        assertTrue(HDF5InformationCache.isMissing(cache.lookup("a", key)));
+        assertEquals("value", cache.lookup("b", key));
+        cache.invalidate("b");
+        assertTrue(HDF5InformationCache.isMissing(cache.lookup("b", key)));
+        assertEquals(2, cache.getStatistics().getHits());
+        assertEquals(3, cache.getStatistics().getMisses());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInformationCacheInvalidSize()
+    {
+        HDF5FactoryProvider.get().configureForReading(new File(workingDirectory, "dummy.h5"))
+                .informationCache(0);
+    }
+
+    @Test
+    public void testReadAllAttributes()
+    {
+        final File file = new File(workingDirectory, "testReadAllAttributes.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().writeArray("ds", new int[] { 1, 2, 3 });
+        writer.int8().setAttr("ds", "b", (byte) -3);
+        writer.int64().setAttr("ds", "l", 17L);
+        writer.float64().setAttr("ds", "d", 3.5);
+        writer.float32().setArrayAttr("ds", "fa", new float[] { 1f, 2f });
+        writer.int16().setMDArrayAttr("ds", "smd", new MDShortArray(new short[] { 1, 2, 3, 4 },
+                new int[] { 2, 2 }));
+        writer.string().setAttr("ds", "s", "abc");
+        writer.string().setArrayAttr("ds", "sa", new String[] { "x", "yz" });
+        writer.bool().setAttr("ds", "bool", true);
+        final HDF5EnumerationType enumType =
+                writer.enumeration().getType("color", new String[] { "RED", "GREEN", "BLUE" });
+        writer.enumeration().setAttr("ds", "e", new HDF5EnumerationValue(enumType, "GREEN"));
+        writer.time().setAttr("ds", "t", 1000L);
+        writer.close();
+
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        final HDF5AttributeMap attributes = reader.object().readAllAttributes("ds");
+        assertEquals("ds", attributes.getObjectPath());
+        // The type variant attribute of "t" is internal.
+        assertEquals(reader.object().getAttributeNames("ds"), attributes.getNames());
+        assertEquals(11, attributes.size());
+        assertEquals(-3, attributes.getInt("b"));
+        assertEquals(Byte.valueOf((byte) -3), attributes.getValue("b"));
+        assertEquals(17L, attributes.getLong("l"));
+        assertEquals(3.5, attributes.getDouble("d"));
+        assertTrue(Arrays.equals(new float[] { 1f, 2f },
+                attributes.getValue("fa", float[].class)));
+        assertEquals(new MDShortArray(new short[] { 1, 2, 3, 4 }, new int[] { 2, 2 }),
+                attributes.getValue("smd"));
+        assertEquals("abc", attributes.getString("s"));
+        assertTrue(Arrays.equals(new String[] { "x", "yz" },
+                attributes.getValue("sa", String[].class)));
+        assertTrue(attributes.getBoolean("bool"));
+        assertEquals("GREEN", attributes.getEnum("e").getValue());
+        assertEquals(1000L, attributes.getLong("t"));
+        assertTrue(attributes.getTypeInformation("t").isTimeStamp());
+        assertEquals(HDF5DataClass.FLOAT, attributes.getTypeInformation("fa").getDataClass());
+        assertTrue(Arrays.equals(new int[] { 2, 2 }, attributes.getTypeInformation("smd")
+                .getDimensions()));
+        assertEquals(reader.string().getAttr("ds", "s"), attributes.asMap().get("s"));
+        try
+        {
+            attributes.getLong("d");
+            fail("Expected HDF5JavaException");
+        } catch (HDF5JavaException ex)
+        {
+            assertEquals("Attribute 'd' of object 'ds' is of type 'Double', not 'long'.",
+                    ex.getMessage());
+        }
+        try
+        {
+            attributes.getValue("nonexistent");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex)
+        {
+            // Expected
+        }
+        final List<HDF5AttributeMap> all =
+                reader.object().readAllAttributes(Arrays.asList("ds", "/"));
+        assertEquals(2, all.size());
+        assertEquals(11, all.get(0).size());
+        assertEquals(0, all.get(1).size());
+        reader.close();
+    }
+
+    @Test
+    public void testReadAllAttributesUnsignedAndSimpleDataSpace()
+    {
+        final File file =
+                new File(workingDirectory, "testReadAllAttributesUnsignedAndSimpleDataSpace.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().writeArray("ds", new int[] { 1, 2, 3 });
+        writer.uint8().setAttr("ds", "ub", (byte) 200);
+        writer.uint32().setArrayAttr("ds", "ui", new int[] { -16, 1 });
+        writer.close();
+        // A string attribute with a simple data space rather than a string array type.
+        final long fileId =
+                hdf.hdf5lib.H5.H5Fopen(file.getAbsolutePath(),
+                        hdf.hdf5lib.HDF5Constants.H5F_ACC_RDWR,
+                        hdf.hdf5lib.HDF5Constants.H5P_DEFAULT);
+        final long dsId =
+                hdf.hdf5lib.H5.H5Dopen(fileId, "/ds", hdf.hdf5lib.HDF5Constants.H5P_DEFAULT);
+        final long typeId = hdf.hdf5lib.H5.H5Tcopy(hdf.hdf5lib.HDF5Constants.H5T_C_S1);
+        hdf.hdf5lib.H5.H5Tset_size(typeId, 3);
+        final long spcId = hdf.hdf5lib.H5.H5Screate_simple(1, new long[] { 2 }, null);
+        final long attrId =
+                hdf.hdf5lib.H5.H5Acreate(dsId, "ss", typeId, spcId,
+                        hdf.hdf5lib.HDF5Constants.H5P_DEFAULT,
+                        hdf.hdf5lib.HDF5Constants.H5P_DEFAULT);
+        hdf.hdf5lib.H5.H5Awrite(attrId, typeId, new byte[] { 'a', 'b', 0, 'c', 'd', 'e' });
+        hdf.hdf5lib.H5.H5Aclose(attrId);
+        hdf.hdf5lib.H5.H5Sclose(spcId);
+        hdf.hdf5lib.H5.H5Tclose(typeId);
+        hdf.hdf5lib.H5.H5Dclose(dsId);
+        hdf.hdf5lib.H5.H5Fclose(fileId);
+
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        final HDF5AttributeMap attributes = reader.object().readAllAttributes("ds");
+        assertEquals(3, attributes.size());
+        // Unsigned values keep their bit pattern instead of being clamped to the signed range.
+        assertEquals(Byte.valueOf((byte) 200), attributes.getValue("ub"));
+        assertTrue(Arrays.equals(new int[] { -16, 1 }, attributes.getValue("ui", int[].class)));
+        assertTrue(Arrays.equals(new String[] { "ab", "cde" },
+                attributes.getValue("ss", String[].class)));
+        reader.close();
+    }
+
+    @Test
+    public void testCleanUpRegistryDeregistration()
+    {
+        final CleanUpRegistry registry = CleanUpRegistry.createSynchonized();
+        final StringBuilder log = new StringBuilder();
+        final CleanUpRegistry.Registration[] registrations = new CleanUpRegistry.Registration[4];
+        for (int i = 0; i < registrations.length; ++i)
+        {
+            final int n = i;
+            registrations[i] = registry.registerRemovableCleanUp(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        log.append(n);
+                        if (n == 3)
+                        {
+                            // Clean-ups may deregister clean-ups that haven't run yet.
+                            registry.deregister(registrations[2]);
+                        }
+                    }
+                });
+        }
+        assertEquals(4, registry.size());
+        registry.deregister(registrations[1]);
+        registry.deregister(registrations[1]);
+        assertEquals(3, registry.size());
+        registry.cleanUp(false);
+        assertEquals("30", log.toString());
+        assertEquals(0, registry.size());
+        registry.deregister(registrations[0]);
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testDataSetHandlesDoNotAccumulate()
+    {
+        final File file = new File(workingDirectory, "testDataSetHandlesDoNotAccumulate.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().createArray("ds", 8L, 2);
+        writer.int32().writeArrayBlock("ds", new int[] { 1, 2, 3, 4, 5, 6, 7, 8 }, 0);
+        final HDF5BaseWriter baseWriter = ((HDF5Writer) writer).getBaseWriter();
+        final int writerCleanUpsAtStart = baseWriter.getNumberOfFileCleanUps();
+        for (int i = 0; i < 1000; ++i)
+        {
+            try (final HDF5DataSet ds = writer.int32().createArrayAndOpen("created" + i, 4))
+            {
+                writer.int32().writeArrayBlockWithOffset(ds, new int[] { i }, 1, 0);
+            }
+        }
+        assertEquals(writerCleanUpsAtStart, baseWriter.getNumberOfFileCleanUps());
+        writer.close();
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        final HDF5BaseReader baseReader = ((HDF5IntReader) reader.int32()).getBaseReader();
+        final int cleanUpsAtStart = baseReader.getNumberOfFileCleanUps();
+        final long openObjectsAtStart = reader.file().getNumberOfOpenObjects();
+        for (int i = 0; i < 10000; ++i)
+        {
+            try (final HDF5DataSet ds = reader.object().openDataSet("ds"))
+            {
+                assertEquals(i % 8 + 1, reader.int32().readArrayBlockWithOffset(ds, 1, i % 8)[0]);
+            }
+        }
+        for (int i = 0; i < 100; ++i)
+        {
+            int n = 0;
+            for (HDF5DataBlock<int[]> block : reader.int32().getArrayNaturalBlocks("ds"))
+            {
+                assertEquals(2, block.getData().length);
+                ++n;
+            }
+            assertEquals(4, n);
+            for (HDF5MDDataBlock<MDIntArray> block : reader.int32().getMDArrayNaturalBlocks("ds"))
+            {
+                assertEquals(2, block.getData().size());
+            }
+        }
+        assertEquals(cleanUpsAtStart, baseReader.getNumberOfFileCleanUps());
+        assertEquals(openObjectsAtStart, reader.file().getNumberOfOpenObjects());
+        final HDF5DataSet notClosed = reader.object().openDataSet("ds");
+        assertEquals(cleanUpsAtStart + 1, baseReader.getNumberOfFileCleanUps());
+        assertEquals(openObjectsAtStart + 1, reader.file().getNumberOfOpenObjects());
+        reader.close();
+        // Has been closed with the file, closing it again is a no-op.
+        notClosed.close();
+    }
+
+    @Test
+    public void testAsyncWriter() throws Exception
     {
-        final File stringArrayFile = new File(workingDirectory, "stringArrayUTF8WithZeroChar.h5");
-        stringArrayFile.delete();
-        assertFalse(stringArrayFile.exists());
-        stringArrayFile.deleteOnExit();
-        final IHDF5Writer writer =
-                HDF5FactoryProvider.get().configure(stringArrayFile).useUTF8CharacterEncoding()
-                        .writer();
-        final String[] data = new String[]
-            { "abc", "ABCxxx", "\u00b6\000\u00bc\u09ab" };
-        final String dataSetName = "/aStringArray";
-        writer.writeStringArray(dataSetName, data);
-        writer.close();
-        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(stringArrayFile);
-        final String[] dataStored = reader.string().readArrayRaw(dataSetName);
-        assertEquals(3, dataStored.length);
-        assertEquals(StringUtils.rightPad("abc", 8, "\0"), dataStored[0]);
-        assertEquals(StringUtils.rightPad("ABCxxx", 8, "\0"), dataStored[1]);
-        assertEquals("\u00b6\000\u00bc\u09ab", dataStored[2]);
+        final File file = new File(workingDirectory, "testAsyncWriter.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().createArray("ds", 1000L, 100);
+        final IHDF5AsyncWriter asyncWriter =
+                new HDF5AsyncWriter(writer, 2, IHDF5AsyncWriter.Backpressure.BLOCK,
+                        IHDF5AsyncWriter.BufferHandling.COPY);
+        final int[] block = new int[100];
+        for (int i = 0; i < 10; ++i)
+        {
+            // The buffer is re-used right away, as it is copied on submission.
+            Arrays.fill(block, i);
+            asyncWriter.writeArrayBlockWithOffset("ds", block, block.length, i * 100L);
+        }
+        asyncWriter.flush().get();
+        assertEquals(0, asyncWriter.getNumberOfQueuedWrites());
+        final CompletableFuture<Void> failedWrite =
+                asyncWriter.writeArrayBlockWithOffset("doesNotExist", block, block.length, 0L);
+        try
+        {
+            failedWrite.get();
+            fail("Write to non-existing data set not detected.");
+        } catch (ExecutionException ex)
+        {
+            assertTrue(ex.getCause() instanceof HDF5Exception);
+        }
+        // All writes after the failure fail with the same exception.
+        assertTrue(asyncWriter.flush().isCompletedExceptionally());
+        try
+        {
+            asyncWriter.close();
+            fail("Failed write not propagated to close().");
+        } catch (HDF5Exception ex)
+        {
+            // Expected.
+        }
+
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        final int[] data = reader.int32().readArray("ds");
+        for (int i = 0; i < data.length; ++i)
+        {
+            assertEquals(i / 100, data[i]);
+        }
         reader.close();
     }
 
-    private static void fillArray(float mult, float[] data)
+    @Test
+    public void testReaderPool() throws InterruptedException
     {
+        final File file = new File(workingDirectory, "testReaderPool.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final int[] data = new int[1000];
         for (int i = 0; i < data.length; ++i)
         {
-            data[i] = mult * i;
+            data[i] = i;
         }
-    }
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().writeArray("ds", data);
+        writer.close();
 
-    private static void fillArray(short mult, short[] data)
-    {
-        for (short i = 0; i < data.length; ++i)
+        final HDF5ReaderPool pool = new HDF5ReaderPool(file, 2);
+        final AtomicInteger failures = new AtomicInteger();
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; ++i)
         {
-            data[i] = (short) (mult * i);
+            final int offset = i * 100;
+            threads[i] = new Thread(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        for (int j = 0; j < 10; ++j)
+                        {
+                            try (final HDF5ReaderPool.Lease lease = pool.lease())
+                            {
+                                final int[] block =
+                                        lease.reader().int32().readArrayBlockWithOffset(
+                                                lease.dataSet("ds"), 10, offset + j);
+                                if (block[0] != offset + j)
+                                {
+                                    failures.incrementAndGet();
+                                }
+                            } catch (RuntimeException ex)
+                            {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            threads[i].start();
         }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertTrue(pool.getNumberOfIdleReaders() <= 2);
+        pool.close();
+        assertEquals(0, pool.getNumberOfIdleReaders());
     }
 
-    private static void fillArray(long mult, long[] data)
+    @Test
+    public void testReaderPoolStaleLease()
     {
-        for (int i = 0; i < data.length; ++i)
+        final File file = new File(workingDirectory, "testReaderPoolStaleLease.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().writeArray("ds", new int[] { 1, 2, 3 });
+        writer.close();
+
+        final HDF5ReaderPool pool = new HDF5ReaderPool(file, 1);
+        final HDF5ReaderPool.Lease first = pool.lease();
+        final HDF5DataSet dataSet = first.dataSet("ds");
+        first.close();
+        final HDF5ReaderPool.Lease second = pool.lease();
+        assertFalse(first == second);
+        // The reader and its data set cache are re-used, but the stale lease stays unusable.
+        assertTrue(dataSet == second.dataSet("ds"));
+        try
         {
-            data[i] = mult * i;
+            first.reader();
+            fail("Expected HDF5JavaException");
+        } catch (HDF5JavaException ex)
+        {
+            assertEquals("Lease has already been given back to the pool.", ex.getMessage());
         }
+        // Closing the stale lease again must not give back the reader of the second lease.
+        first.close();
+        assertEquals(0, pool.getNumberOfIdleReaders());
+        second.close();
+        assertEquals(1, pool.getNumberOfIdleReaders());
+        pool.close();
     }
 
     @Test
-    public void testFloatArrayBlockWithPreopenedDataSet()
+    public void testChunkIndex()
     {
-        final File floatArrayFile = new File(workingDirectory, "testFloatArrayBlockWithPreopenedDataSet.h5");
-        floatArrayFile.delete();
-        assertFalse(floatArrayFile.exists());
-        floatArrayFile.deleteOnExit();
-        final IHDF5Writer writer = HDF5FactoryProvider.get().open(floatArrayFile);
-        final float[] dataWritten = new float[128];
-        writer.int32().createArray("ds", dataWritten.length);
-        try (final HDF5DataSet ds = writer.int32().createArrayAndOpen("ds", dataWritten.length))
-        {
-            for (long bx = 0; bx < 8; ++bx)
-            {
-                fillArray(bx + 1, dataWritten);
-                writer.float32().writeArrayBlock(ds, dataWritten, bx);
-            }
-        }
+        final File file = new File(workingDirectory, "testChunkIndex.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5FactoryProvider.get().open(file);
+        writer.int32().createMDArray("ds", new long[] { 8, 6 }, new int[] { 4, 4 },
+                HDF5IntStorageFeatures.INT_DEFLATE);
+        writer.int32().writeMDArrayBlock("ds", new MDIntArray(new int[] { 4, 4 }),
+                new long[] { 1, 0 });
+        writer.int32().writeMDArrayBlockWithOffset("ds", new MDIntArray(new int[] { 4, 2 }),
+                new long[] { 0, 4 });
+        writer.int32().writeArray("contiguous", new int[] { 1, 2, 3 },
+                HDF5IntStorageFeatures.INT_CONTIGUOUS);
+        writer.int32().createArray("sparse", 1000L, 1, HDF5IntStorageFeatures.INT_CHUNKED);
+        writer.int32().writeArrayBlockWithOffset("sparse", new int[] { 1 }, 1, 999L);
+        writer.int32().writeArrayBlockWithOffset("sparse", new int[] { 2 }, 1, 17L);
         writer.close();
 
-        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(floatArrayFile);
-        try (final HDF5DataSet ds = reader.object().openDataSet("ds"))
+        final IHDF5Reader reader = HDF5FactoryProvider.get().openForReading(file);
+        final HDF5ChunkIndex index = reader.object().getChunkIndex("ds");
+        assertEquals("ds", index.getDataSetPath());
+        assertTrue(Arrays.equals(new int[] { 4, 4 }, index.getChunkSizes()));
+        assertTrue(Arrays.equals(new long[] { 2, 2 }, index.getNumberOfChunksPerDimension()));
+        assertEquals(4, index.getNumberOfChunkPositions());
+        assertEquals(2, index.getNumberOfChunks());
+        assertFalse(index.isAllocated(0, 0));
+        assertNull(index.tryGetChunk(1, 1));
+        assertNull(index.tryGetChunk(2, 0));
+        final HDF5ChunkIndex.ChunkInfo chunk10 = index.tryGetChunk(1, 0);
+        assertNotNull(chunk10);
+        assertTrue(Arrays.equals(new long[] { 4, 0 }, chunk10.getOffset()));
+        assertEquals(0, chunk10.getFilterMask());
+        assertEquals(reader.chunk().getStorageSize("ds", new long[] { 4, 0 }), chunk10.getSize());
+        final HDF5ChunkIndex.ChunkInfo chunk01 = index.tryGetChunkForElement(2, 5);
+        assertNotNull(chunk01);
+        assertTrue(Arrays.equals(new long[] { 0, 1 }, chunk01.getChunkCoordinates()));
+        assertTrue(chunk01.getAddress() != chunk10.getAddress());
+        assertEquals(chunk01.getSize() + chunk10.getSize(), index.getTotalStoredSize());
+        assertEquals(2 * 4 * 4 * 4, index.getTotalUncompressedSize());
+        assertTrue(index.getCompressionRatio() > 1.0);
+        final List<HDF5ChunkIndex.ChunkInfo> inFileOrder = index.getChunksInFileOrder();
+        assertEquals(2, inFileOrder.size());
+        assertTrue(inFileOrder.get(0).getAddress() < inFileOrder.get(1).getAddress());
+        assertTrue(Arrays.equals(new long[] { 0, 1 }, index.getChunks().get(0)
+                .getChunkCoordinates()));
+        assertTrue(Arrays.equals(new long[] { 1, 0 }, index.getChunks().get(1)
+                .getChunkCoordinates()));
+        // Very sparse: enumerated by index rather than by coordinates.
+        final HDF5ChunkIndex sparseIndex = reader.object().getChunkIndex("sparse");
+        assertEquals(1000, sparseIndex.getNumberOfChunkPositions());
+        assertEquals(2, sparseIndex.getNumberOfChunks());
+        assertTrue(Arrays.equals(new long[] { 17 }, sparseIndex.getChunks().get(0)
+                .getChunkCoordinates()));
+        assertTrue(Arrays.equals(new long[] { 999 }, sparseIndex.getChunks().get(1)
+                .getChunkCoordinates()));
+        try
         {
-            for (long bx = 0; bx < 8; ++bx)
-            {
-                fillArray(bx + 1, dataWritten);
-                final float[] dataRead =
-                        reader.float32().readArrayBlock(ds, dataWritten.length, bx);
-                assertTrue("" + bx, Arrays.equals(dataWritten, dataRead));
-            }
+            reader.object().getChunkIndex("contiguous");
+            fail("Non-chunked data set not detected.");
+        } catch (HDF5JavaException ex)
+        {
+            assertEquals("Data set 'contiguous' is not chunked.", ex.getMessage());
         }
         reader.close();
     }
@@ -6815,6 +8285,38 @@ public class HDF5RoundtripTest
         reader.close();
     }
 
+    @Test
+    public void testNamedDataTypeLookup()
+    {
+        final File file = new File(workingDirectory, "namedDataTypeLookup.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5Factory.open(file);
+        for (int i = 0; i < 20; ++i)
+        {
+            // Pairs of types with the same member names in different order.
+            final String[] values = (i % 2 == 0) ? new String[]
+                { "A" + i / 2, "B", "C" } : new String[]
+                { "C", "B", "A" + i / 2 };
+            final HDF5EnumerationType type = writer.enumeration().getType("E" + i, values);
+            writer.enumeration().write("ds" + i, new HDF5EnumerationValue(type, 1));
+        }
+        writer.close();
+
+        final IHDF5Reader reader = HDF5Factory.openForReading(file);
+        for (int i = 0; i < 20; ++i)
+        {
+            final HDF5DataTypeInformation typeInfo =
+                    reader.object().getDataSetInformation("ds" + i, DataTypeInfoOptions.ALL)
+                            .getTypeInformation();
+            assertEquals("E" + i, typeInfo.tryGetName());
+            assertEquals(HDF5Utils.createDataTypePath(HDF5Utils.ENUM_PREFIX, "", "E" + i),
+                    typeInfo.tryGetDataTypePath());
+        }
+        reader.close();
+    }
+
     @Test
     public void testEnum()
     {
@@ -9073,6 +10575,203 @@ public class HDF5RoundtripTest
         reader.close();
     }
 
+    @Test
+    public void testCompoundTypeCache()
+    {
+        final File file = new File(workingDirectory, "compoundTypeCache.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final IHDF5Writer writer = HDF5Factory.open(file);
+        final SimpleRecord recordWritten = new SimpleRecord(2.2f, 17, (short) 10, "Some String");
+        writer.compound().write("cpd", recordWritten);
+        final HDF5CompoundType<SimpleRecord> writerType1 =
+                writer.compound().getInferredType(SimpleRecord.class);
+        final HDF5CompoundType<SimpleRecord> writerType2 =
+                writer.compound().getInferredType(SimpleRecord.class);
+        assertFalse(writerType1 == writerType2);
+        writer.close();
+
+        IHDF5Reader reader = HDF5Factory.openForReading(file);
+        final HDF5CompoundType<SimpleRecord> inferredType1 =
+                reader.compound().getInferredType(SimpleRecord.class);
+        final HDF5CompoundType<SimpleRecord> inferredType2 =
+                reader.compound().getInferredType(SimpleRecord.class);
+        assertTrue(inferredType1 == inferredType2);
+        final HDF5CompoundType<SimpleRecord> mappedType1 =
+                reader.compound().getType(SimpleRecord.class,
+                        HDF5CompoundMemberMapping.inferMapping(SimpleRecord.class));
+        final HDF5CompoundType<SimpleRecord> mappedType2 =
+                reader.compound().getType(SimpleRecord.class,
+                        HDF5CompoundMemberMapping.inferMapping(SimpleRecord.class));
+        assertTrue(mappedType1 == mappedType2);
+        final HDF5CompoundType<SimpleRecord> vlType =
+                reader.compound().getInferredType(SimpleRecord.class,
+                        new HDF5CompoundMappingHints().useVariableLengthStrings());
+        assertFalse(vlType == inferredType1);
+        assertEquals(recordWritten, reader.compound().read("cpd", inferredType1));
+        reader.close();
+
+        reader = HDF5Factory.openForReading(file);
+        final HDF5CompoundType<SimpleRecord> inferredType3 =
+                reader.compound().getInferredType(SimpleRecord.class);
+        assertFalse(inferredType1 == inferredType3);
+        assertEquals(recordWritten, reader.compound().read("cpd", inferredType3));
+        reader.close();
+    }
+
+    @Test
+    public void testCompoundDirectFieldAccess()
+    {
+        final File file = new File(workingDirectory, "compoundDirectFieldAccess.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final PrimitiveRecord[] recordsWritten = new PrimitiveRecord[100];
+        for (int i = 0; i < recordsWritten.length; ++i)
+        {
+            recordsWritten[i] =
+                    new PrimitiveRecord((byte) -i, (short) (i * -300), i * 0x1010101,
+                            i * -0x101010101L, i / -7f, i * Math.PI);
+        }
+        final IHDF5Writer writer = HDF5Factory.open(file);
+        final HDF5CompoundType<PrimitiveRecord> type =
+                writer.compound().getInferredType(PrimitiveRecord.class);
+        for (HDF5MemberByteifyer byteifyer : type.getObjectByteifyer().getByteifyers())
+        {
+            assertTrue(byteifyer.describe(), byteifyer instanceof HDF5DirectFieldMemberByteifyer);
+        }
+        writer.compound().writeArray("direct", type, recordsWritten);
+        writer.compound().write("directScalar", type, recordsWritten[17]);
+        HDF5CompoundByteifyerFactory.setDirectFieldAccess(false);
+        try
+        {
+            final HDF5CompoundType<PrimitiveRecord> reflectiveType =
+                    writer.compound().getInferredType(PrimitiveRecord.class);
+            for (HDF5MemberByteifyer byteifyer : reflectiveType.getObjectByteifyer()
+                    .getByteifyers())
+            {
+                assertFalse(byteifyer.describe(),
+                        byteifyer instanceof HDF5DirectFieldMemberByteifyer);
+            }
+            writer.compound().writeArray("reflective", reflectiveType, recordsWritten);
+            writer.close();
+
+            final IHDF5Reader reader = HDF5Factory.openForReading(file);
+            assertTrue(Arrays.equals(recordsWritten,
+                    reader.compound().readArray("direct", PrimitiveRecord.class)));
+            assertEquals(recordsWritten[17],
+                    reader.compound().read("directScalar", PrimitiveRecord.class));
+            reader.close();
+        } finally
+        {
+            HDF5CompoundByteifyerFactory.setDirectFieldAccess(true);
+        }
+        final IHDF5Reader reader = HDF5Factory.openForReading(file);
+        assertTrue(Arrays.equals(recordsWritten,
+                reader.compound().readArray("reflective", PrimitiveRecord.class)));
+        assertTrue(Arrays.equals(recordsWritten,
+                reader.compound().readArray("direct", PrimitiveRecord.class)));
+        assertEquals(recordsWritten[17],
+                reader.compound().read("directScalar", PrimitiveRecord.class));
+        reader.close();
+    }
+
+    @Test
+    public void testCompoundReadColumns()
+    {
+        final File file = new File(workingDirectory, "compoundReadColumns.h5");
+        file.delete();
+        assertFalse(file.exists());
+        file.deleteOnExit();
+        final PrimitiveRecord[] primitiveRecords = new PrimitiveRecord[50];
+        final SimpleRecord[] simpleRecords = new SimpleRecord[50];
+        for (int i = 0; i < primitiveRecords.length; ++i)
+        {
+            primitiveRecords[i] =
+                    new PrimitiveRecord((byte) i, (short) -i, i * 1000, i * -100000000000L,
+                            i / 4f, i * Math.E);
+            simpleRecords[i] = new SimpleRecord(i / 2f, -i, (short) i, "s" + i);
+        }
+        final IHDF5Writer writer = HDF5Factory.open(file);
+        writer.compound().writeArray("primitive", primitiveRecords);
+        writer.compound().writeArray("simple", simpleRecords);
+        writer.close();
+
+        final IHDF5Reader reader = HDF5Factory.openForReading(file);
+        final HDF5CompoundColumns columns = reader.compound().readColumns("primitive", "d", "l");
+        assertTrue(Arrays.equals(new String[]
+            { "d", "l" }, columns.getMemberNames()));
+        assertEquals(primitiveRecords.length, columns.getNumberOfRows());
+        assertEquals(0, columns.getOffset());
+        final double[] dColumn = columns.getDoubleColumn("d");
+        final long[] lColumn = columns.getLongColumn("l");
+        for (int i = 0; i < primitiveRecords.length; ++i)
+        {
+            assertEquals(primitiveRecords[i].d, dColumn[i]);
+            assertEquals(primitiveRecords[i].l, lColumn[i]);
+        }
+        try
+        {
+            columns.getIntColumn("d");
+            fail("Type mismatch not detected.");
+        } catch (HDF5JavaException ex)
+        {
+            assertEquals("Member 'd' is of type 'double', not 'int'.", ex.getMessage());
+        }
+        try
+        {
+            columns.getColumn("i");
+            fail("Member that has not been read not detected.");
+        } catch (IllegalArgumentException ex)
+        {
+            // Expected
+        }
+
+        final HDF5CompoundColumns block =
+                reader.compound().readColumnsBlockWithOffset("primitive", 10, 35, "b", "s", "i",
+                        "f");
+        assertEquals(10, block.getNumberOfRows());
+        assertEquals(35, block.getOffset());
+        for (int i = 0; i < 10; ++i)
+        {
+            final PrimitiveRecord record = primitiveRecords[35 + i];
+            assertEquals(record.b, block.getByteColumn("b")[i]);
+            assertEquals(record.s, block.getShortColumn("s")[i]);
+            assertEquals(record.i, block.getIntColumn("i")[i]);
+            assertEquals(record.f, block.getFloatColumn("f")[i]);
+        }
+
+        final HDF5CompoundColumns stringBlock =
+                reader.compound().readColumnsBlock("simple", 20, 1, "s", "i");
+        assertEquals(20, stringBlock.getNumberOfRows());
+        assertEquals(20, stringBlock.getOffset());
+        for (int i = 0; i < 20; ++i)
+        {
+            assertEquals(simpleRecords[20 + i].getS(), stringBlock.getStringColumn("s")[i]);
+            assertEquals(simpleRecords[20 + i].getI(), stringBlock.getIntColumn("i")[i]);
+        }
+        try
+        {
+            reader.compound().readColumns("simple", "f", "doesNotExist");
+            fail("Non-existing member not detected.");
+        } catch (HDF5JavaException ex)
+        {
+            assertEquals("Compound data set 'simple' has no member 'doesNotExist'.",
+                    ex.getMessage());
+        }
+        // Repeated reads of the same columns re-use the type and don't accumulate handles.
+        final HDF5BaseReader baseReader = ((HDF5IntReader) reader.int32()).getBaseReader();
+        final int cleanUps = baseReader.getNumberOfFileCleanUps();
+        for (int i = 0; i < 100; ++i)
+        {
+            assertEquals(primitiveRecords.length,
+                    reader.compound().readColumns("primitive", "d", "l").getNumberOfRows());
+        }
+        assertEquals(cleanUps, baseReader.getNumberOfFileCleanUps());
+        reader.close();
+    }
+
     @Test
     public void testCompoundHintVLString()
     {
@@ -10676,6 +12375,66 @@ public class HDF5RoundtripTest
         reader.close();
     }
 
+    static class PrimitiveRecord
+    {
+        private byte b;
+
+        private short s;
+
+        private int i;
+
+        private long l;
+
+        private float f;
+
+        private double d;
+
+        PrimitiveRecord()
+        {
+        }
+
+        PrimitiveRecord(byte b, short s, int i, long l, float f, double d)
+        {
+            this.b = b;
+            this.s = s;
+            this.i = i;
+            this.l = l;
+            this.f = f;
+            this.d = d;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Arrays.hashCode(new Object[]
+                { b, s, i, l, f, d });
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass())
+            {
+                return false;
+            }
+            final PrimitiveRecord other = (PrimitiveRecord) obj;
+            return b == other.b && s == other.s && i == other.i && l == other.l
+                    && Float.floatToIntBits(f) == Float.floatToIntBits(other.f)
+                    && Double.doubleToLongBits(d) == Double.doubleToLongBits(other.d);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "PrimitiveRecord [b=" + b + ", s=" + s + ", i=" + i + ", l=" + l + ", f=" + f
+                    + ", d=" + d + "]";
+        }
+    }
+
     static class SimpleRecord
     {
         private float f;